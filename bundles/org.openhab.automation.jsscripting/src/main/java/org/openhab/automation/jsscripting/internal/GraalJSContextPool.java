@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of pre-initialized {@link OpenhabGraalJSScriptEngine}s.
+ * <p>
+ * Creating a polyglot context and evaluating the global script is done on a background thread, so that loading a
+ * script only needs to take an already warm engine from the pool. All engines share the polyglot engine of the
+ * {@link GraalJSScriptEngineFactory}, so the parsed code of the cached sources is shared as well.
+ * <p>
+ * The openhab-js injection depends on the engine identifier and the script extensions of the script, so it is still
+ * performed on first invocation.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class GraalJSContextPool {
+
+    private final Logger logger = LoggerFactory.getLogger(GraalJSContextPool.class);
+
+    private final BlockingQueue<OpenhabGraalJSScriptEngine> engines = new LinkedBlockingQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Supplier<OpenhabGraalJSScriptEngine> engineSupplier;
+    private final ExecutorService executor = Executors
+            .newSingleThreadExecutor(new NamedThreadFactory("jsscripting-context-pool", true));
+
+    private volatile int size;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new pool and starts filling it in the background.
+     *
+     * @param engineSupplier creates a new, uninitialized engine
+     * @param size the number of pre-initialized engines to keep
+     */
+    GraalJSContextPool(Supplier<OpenhabGraalJSScriptEngine> engineSupplier, int size) {
+        this.engineSupplier = engineSupplier;
+        this.size = size;
+        refill();
+    }
+
+    /**
+     * Takes a pre-initialized engine from the pool. If the pool is empty, a new engine is created in the calling
+     * thread.
+     *
+     * @return an engine that has not been used by any script yet
+     */
+    OpenhabGraalJSScriptEngine take() {
+        OpenhabGraalJSScriptEngine engine = engines.poll();
+        refill();
+        if (engine == null) {
+            logger.debug("Context pool is empty, creating a new engine.");
+            return engineSupplier.get();
+        }
+        return engine;
+    }
+
+    /**
+     * Changes the number of pre-initialized engines to keep.
+     *
+     * @param size the new pool size
+     */
+    void resize(int size) {
+        this.size = size;
+        while (engines.size() > size) {
+            close(engines.poll());
+        }
+        refill();
+    }
+
+    /**
+     * Closes all pooled engines and stops the background initialization.
+     */
+    void close() {
+        closed = true;
+        executor.shutdownNow();
+        OpenhabGraalJSScriptEngine engine;
+        while ((engine = engines.poll()) != null) {
+            close(engine);
+        }
+    }
+
+    private void refill() {
+        while (!closed && engines.size() + pending.get() < size) {
+            pending.incrementAndGet();
+            try {
+                executor.execute(this::createEngine);
+            } catch (RejectedExecutionException e) {
+                pending.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void createEngine() {
+        OpenhabGraalJSScriptEngine engine = null;
+        try {
+            engine = engineSupplier.get();
+            engine.preInitialize();
+            if (closed || engines.size() >= size) {
+                close(engine);
+            } else {
+                engines.add(engine);
+                logger.trace("Added pre-initialized engine to the context pool, {} engines available.",
+                        engines.size());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to pre-initialize GraalJS script engine: {}", e.getMessage(), e);
+            close(engine);
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    private void close(@Nullable OpenhabGraalJSScriptEngine engine) {
+        if (engine == null) {
+            return;
+        }
+        try {
+            engine.close();
+        } catch (Exception e) {
+            logger.debug("Failed to close pooled engine: {}", e.getMessage());
+        }
+    }
+}
@@ -37,6 +37,8 @@ public class GraalJSScriptEngineConfiguration {
     private static final String CFG_DEBUGGER_ENABLED = "debuggerEnabled";
     private static final String CFG_DEBUGGER_PORT = "debuggerPort";
     private static final String CFG_LOCK_ACQUISITION_TIMEOUT = "lockAcquisitionTimeout";
+    private static final String CFG_CONTEXT_POOL_SIZE = "contextPoolSize";
+    private static final String CFG_CODE_CACHE_ENABLED = "codeCacheEnabled";
 
     private static final int INJECTION_ENABLED_FOR_SCRIPT_MODULES_ONLY = 1;
     private static final int INJECTION_ENABLED_FOR_SCRIPT_MODULES_AND_TRANSFORMATIONS = 2;
@@ -47,6 +49,8 @@ public class GraalJSScriptEngineConfiguration {
     /** The default lock acquisition timeout in seconds */
     private static final long LOCK_ACQUISITION_TIMEOUT_DEFAULT = 5L;
 
+    private static final int CONTEXT_POOL_SIZE_DEFAULT = 2;
+
     private int injectionEnabled = INJECTION_ENABLED_FOR_ALL_SCRIPTS;
     private boolean injectionCachingEnabled = true;
     private boolean scriptConditionWrapperEnabled = false;
@@ -55,6 +59,8 @@ public class GraalJSScriptEngineConfiguration {
     private boolean debuggerEnabled = false;
     private int debuggerPort = DEBUGGER_PORT_DEFAULT;
     private long lockAcquisitionTimeout = TimeUnit.SECONDS.toMillis(LOCK_ACQUISITION_TIMEOUT_DEFAULT);
+    private int contextPoolSize = CONTEXT_POOL_SIZE_DEFAULT;
+    private boolean codeCacheEnabled = false;
 
     /**
      * Create a new configuration instance from the given parameters.
@@ -78,6 +84,7 @@ public class GraalJSScriptEngineConfiguration {
         boolean oldDebuggerEnabled = debuggerEnabled;
         int oldDebuggerPort = debuggerPort;
         long oldLockAcquisitionTimeout = lockAcquisitionTimeout;
+        boolean oldCodeCacheEnabled = codeCacheEnabled;
 
         this.update(config);
 
@@ -117,6 +124,10 @@ public class GraalJSScriptEngineConfiguration {
                     "JavaScript Scripting lock acquisition timeout changed from {} to {} milliseconds. Rules created with JavaScript scripts might need to be reloaded for the changes to apply.",
                     oldLockAcquisitionTimeout, lockAcquisitionTimeout);
         }
+        if (oldCodeCacheEnabled != codeCacheEnabled) {
+            logger.warn("{} code cache for JavaScript Scripting. Restart openHAB to apply this change.",
+                    codeCacheEnabled ? "Enabled" : "Disabled");
+        }
     }
 
     /**
@@ -141,6 +152,9 @@ public class GraalJSScriptEngineConfiguration {
         debuggerPort = ConfigParser.valueAsOrElse(config.get(CFG_DEBUGGER_PORT), Integer.class, DEBUGGER_PORT_DEFAULT);
         lockAcquisitionTimeout = TimeUnit.SECONDS.toMillis(ConfigParser
                 .valueAsOrElse(config.get(CFG_LOCK_ACQUISITION_TIMEOUT), Long.class, LOCK_ACQUISITION_TIMEOUT_DEFAULT));
+        contextPoolSize = Math.max(0, ConfigParser.valueAsOrElse(config.get(CFG_CONTEXT_POOL_SIZE), Integer.class,
+                CONTEXT_POOL_SIZE_DEFAULT));
+        codeCacheEnabled = ConfigParser.valueAsOrElse(config.get(CFG_CODE_CACHE_ENABLED), Boolean.class, false);
     }
 
     /**
@@ -208,4 +222,15 @@ public class GraalJSScriptEngineConfiguration {
     public long getLockAcquisitionTimeout() {
         return lockAcquisitionTimeout;
     }
+
+    /**
+     * @return The number of pre-initialized script engines to keep, 0 if pooling is disabled.
+     */
+    public int getContextPoolSize() {
+        return contextPoolSize;
+    }
+
+    public boolean isCodeCacheEnabled() {
+        return codeCacheEnabled;
+    }
 }
@@ -12,6 +12,8 @@
  */
 package org.openhab.automation.jsscripting.internal;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
@@ -59,6 +61,9 @@ public class GraalJSScriptEngineFactory implements ScriptEngineFactory {
     public static final String SCRIPT_TYPE = "application/javascript";
     public static final String SCRIPT_FILE_EXTENSION = "js";
 
+    private static final Path CODE_CACHE_PATH = Paths.get(OpenHAB.getUserDataFolder(), "cache",
+            "org.graalvm.polyglot", "jsscripting-engine.image");
+
     private static final String LANG_NOT_INITIALIZED_MSG = "Graal JavaScript language not initialized. Restart openHAB to initialize available Graal languages properly.";
 
     private static final List<String> SCRIPT_TYPES = List.of(SCRIPT_TYPE, SCRIPT_FILE_EXTENSION, "graaljs",
@@ -75,6 +80,8 @@ public class GraalJSScriptEngineFactory implements ScriptEngineFactory {
     private final JSScriptServiceUtil jsScriptServiceUtil;
     private final JSDependencyTracker jsDependencyTracker;
 
+    private @Nullable GraalJSContextPool contextPool;
+
     @Activate
     public GraalJSScriptEngineFactory(final @Reference JSScriptServiceUtil jsScriptServiceUtil, //
             final @Reference JSDependencyTracker jsDependencyTracker, //
@@ -111,13 +118,45 @@ public class GraalJSScriptEngineFactory implements ScriptEngineFactory {
             }
             logger.info("Debugger support is enabled for JavaScript Scripting.");
             this.engine = engine;
+        } else if (configuration.isCodeCacheEnabled()) {
+            this.engine = createEngineWithCodeCache();
         } else {
             this.engine = createEngineBuilder().build();
         }
 
         if (getLanguage() == null) {
             logger.error(LANG_NOT_INITIALIZED_MSG);
+        } else {
+            updateContextPool();
+        }
+    }
+
+    /**
+     * Creates an engine that loads its code cache from the user data folder, or stores it there when it is closed if no
+     * cache has been written yet. Auxiliary engine caching is not supported by all GraalVM distributions, so this falls
+     * back to an engine without code cache.
+     */
+    private Engine createEngineWithCodeCache() {
+        boolean load = Files.isRegularFile(CODE_CACHE_PATH);
+        Engine.Builder engineBuilder = createEngineBuilder() //
+                .option(load ? "engine.CacheLoad" : "engine.CacheStore", CODE_CACHE_PATH.toString());
+        try {
+            Engine engine = engineBuilder.build();
+            logger.debug("{} code cache '{}' for JavaScript Scripting.", load ? "Loaded" : "Storing", CODE_CACHE_PATH);
+            return engine;
+        } catch (RuntimeException e) {
+            logger.info("Failed to initialize the code cache for JavaScript Scripting. Continuing without code cache: {}",
+                    e.getMessage());
+            if (load) {
+                try {
+                    // the cache might be outdated, so let it be recreated
+                    Files.deleteIfExists(CODE_CACHE_PATH);
+                } catch (IOException ioe) {
+                    logger.debug("Failed to delete code cache '{}': {}", CODE_CACHE_PATH, ioe.getMessage());
+                }
+            }
         }
+        return createEngineBuilder().build();
     }
 
     private Engine.Builder createEngineBuilder() {
@@ -134,12 +173,35 @@ public class GraalJSScriptEngineFactory implements ScriptEngineFactory {
 
     @Deactivate
     public void dispose() {
+        GraalJSContextPool contextPool = this.contextPool;
+        if (contextPool != null) {
+            contextPool.close();
+            this.contextPool = null;
+        }
         this.engine.close();
     }
 
     @Modified
     protected void modified(Map<String, ?> config) {
         configuration.modified(config);
+        updateContextPool();
+    }
+
+    private synchronized void updateContextPool() {
+        // pre-initialized contexts would show up as anonymous contexts in the debugger, so don't pool when debugging
+        int poolSize = configuration.isDebuggerEnabled() ? 0 : configuration.getContextPoolSize();
+        GraalJSContextPool contextPool = this.contextPool;
+        if (contextPool == null) {
+            if (poolSize > 0) {
+                this.contextPool = new GraalJSContextPool(this::createOpenhabScriptEngine, poolSize);
+            }
+        } else {
+            contextPool.resize(poolSize);
+        }
+    }
+
+    private OpenhabGraalJSScriptEngine createOpenhabScriptEngine() {
+        return new OpenhabGraalJSScriptEngine(configuration, engine, jsScriptServiceUtil, jsDependencyTracker);
     }
 
     @Override
@@ -161,8 +223,9 @@ public class GraalJSScriptEngineFactory implements ScriptEngineFactory {
             logger.error(LANG_NOT_INITIALIZED_MSG);
             return null;
         }
+        GraalJSContextPool contextPool = this.contextPool;
         return new DebuggingGraalScriptEngine<>(
-                new OpenhabGraalJSScriptEngine(configuration, engine, jsScriptServiceUtil, jsDependencyTracker));
+                contextPool != null ? contextPool.take() : createOpenhabScriptEngine());
     }
 
     @Override
@@ -15,22 +15,29 @@ package org.openhab.automation.jsscripting.internal;
 import java.util.concurrent.locks.Lock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.jsscripting.internal.threading.InstrumentedLock;
+import org.openhab.automation.jsscripting.internal.threading.ScriptEngineLockMetrics;
 import org.openhab.core.automation.module.script.action.ScriptExecution;
 import org.openhab.core.scheduler.Scheduler;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 
 /**
  * OSGi utility service for providing easy access to script services.
  *
  * @author Florian Hotze - Initial contribution
+ * @author Contributors to the openHAB project - Optional script engine lock metrics
  */
 @Component(immediate = true, service = JSScriptServiceUtil.class)
 @NonNullByDefault
 public class JSScriptServiceUtil {
     private final Scheduler scheduler;
     private final ScriptExecution scriptExecution;
+    private volatile @Nullable ScriptEngineLockMetrics scriptEngineLockMetrics;
 
     @Activate
     public JSScriptServiceUtil(final @Reference Scheduler scheduler, final @Reference ScriptExecution scriptExecution) {
@@ -49,4 +56,27 @@ public class JSScriptServiceUtil {
     public JSRuntimeFeatures getJSRuntimeFeatures(Lock lock) {
         return new JSRuntimeFeatures(lock, this);
     }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setScriptEngineLockMetrics(ScriptEngineLockMetrics scriptEngineLockMetrics) {
+        this.scriptEngineLockMetrics = scriptEngineLockMetrics;
+    }
+
+    protected void unsetScriptEngineLockMetrics(ScriptEngineLockMetrics scriptEngineLockMetrics) {
+        this.scriptEngineLockMetrics = null;
+    }
+
+    /**
+     * Publish the metrics of an engine lock, if the monitoring service is available.
+     *
+     * @param lock the lock of the engine
+     * @param engineIdentifier the identifier of the engine
+     * @param language the language of the engine
+     */
+    public void bindLockMetrics(InstrumentedLock lock, String engineIdentifier, String language) {
+        ScriptEngineLockMetrics scriptEngineLockMetrics = this.scriptEngineLockMetrics;
+        if (scriptEngineLockMetrics != null) {
+            scriptEngineLockMetrics.bind(lock, engineIdentifier, language);
+        }
+    }
 }
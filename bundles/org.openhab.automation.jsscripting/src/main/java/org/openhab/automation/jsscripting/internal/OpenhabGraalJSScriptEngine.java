@@ -35,7 +35,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -58,6 +57,7 @@ import org.openhab.automation.jsscripting.internal.fs.watch.JSDependencyTracker;
 import org.openhab.automation.jsscripting.internal.scope.ScriptExtensionModuleProvider;
 import org.openhab.automation.jsscripting.internal.scriptengine.InvocationInterceptingScriptEngineWithInvocableAndCompilableAndAutoCloseable;
 import org.openhab.automation.jsscripting.internal.scriptengine.helper.LifecycleTracker;
+import org.openhab.automation.jsscripting.internal.threading.InstrumentedLock;
 import org.openhab.automation.jsscripting.internal.util.Slf4jOutputStream;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.automation.module.script.LockableScriptEngine;
@@ -79,6 +79,7 @@ import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
  * @author Jonathan Gilbert - Initial contribution
  * @author Dan Cunningham - Script injections
  * @author Florian Hotze - Create lock object for multi-thread synchronization; Inject the {@link JSRuntimeFeatures}
+ * @author Contributors to the openHAB project - Instrumented the engine lock
  *         into the JS context; Fix memory leak caused by HostObject by making HostAccess reference static; Switch to
  *         {@link Lock} for multi-thread synchronization; globals and openhab-js injection code caching
  */
@@ -157,8 +158,9 @@ public class OpenhabGraalJSScriptEngine
 
     private final Logger logger = LoggerFactory.getLogger(OpenhabGraalJSScriptEngine.class);
 
-    /** {@link Lock} synchronization of multi-thread access */
-    private final Lock lock = new ReentrantLock();
+    /** {@link Lock} synchronization of multi-thread access, instrumented to expose contention metrics */
+    private final InstrumentedLock lock = new InstrumentedLock();
+    private final JSScriptServiceUtil jsScriptServiceUtil;
     private final JSRuntimeFeatures jsRuntimeFeatures;
     private final LifecycleTracker lifecycleTracker = new LifecycleTracker();
     private final GraalJSScriptEngineConfiguration configuration;
@@ -168,8 +170,13 @@ public class OpenhabGraalJSScriptEngine
     private String engineIdentifier = "<uninitialized>";
 
     private boolean initialized = false;
+    private boolean globalsInitialized = false;
     private boolean closed = false;
 
+    // startup times in nanoseconds, used for debug logging of the script loading performance
+    private final long contextCreationTime;
+    private long globalsInitializationTime = 0;
+
     /**
      * Creates an implementation of ScriptEngine {@code (& Invocable)}, wrapping the contained engine,
      * that tracks the script lifecycle and provides hooks for scripts to do so too.
@@ -177,7 +184,9 @@ public class OpenhabGraalJSScriptEngine
     public OpenhabGraalJSScriptEngine(GraalJSScriptEngineConfiguration configuration, Engine engine,
             JSScriptServiceUtil jsScriptServiceUtil, JSDependencyTracker jsDependencyTracker) {
         super(null); // delegate depends on fields not yet initialized, so we cannot set it immediately
+        long startTime = System.nanoTime();
         this.configuration = configuration;
+        this.jsScriptServiceUtil = jsScriptServiceUtil;
         this.jsRuntimeFeatures = jsScriptServiceUtil.getJSRuntimeFeatures(lock);
 
         Logger contextLogger = LoggerFactory
@@ -269,6 +278,40 @@ public class OpenhabGraalJSScriptEngine
                 .option("js.ecmascript-version", "2025") //
                 // enable CommonJS module support
                 .option("js.commonjs-require", "true"));
+        this.contextCreationTime = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Performs the script independent part of the initialization, i.e. injects the {@link JSRuntimeFeatures} and
+     * evaluates the global script. This is used by the {@link GraalJSContextPool} to warm up engines in the background,
+     * before they are handed out to a script.
+     */
+    void preInitialize() {
+        lock.lock();
+        try {
+            initializeGlobals();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void initializeGlobals() {
+        if (globalsInitialized) {
+            return;
+        }
+        long startTime = System.nanoTime();
+
+        // Injections into the JS runtime
+        jsRuntimeFeatures.getFeatures().forEach((key, obj) -> {
+            logger.debug("Injecting {} into the context of engine '{}' ...", key, engineIdentifier);
+            delegate.put(key, obj);
+        });
+
+        logger.debug("Evaluating cached global script for engine '{}' ...", engineIdentifier);
+        delegate.getPolyglotContext().eval(GLOBAL_SOURCE);
+
+        globalsInitialized = true;
+        globalsInitializationTime = System.nanoTime() - startTime;
     }
 
     @Override
@@ -283,6 +326,8 @@ public class OpenhabGraalJSScriptEngine
         if (initialized) {
             return;
         }
+        long startTime = System.nanoTime();
+        boolean preInitialized = globalsInitialized;
 
         ScriptContext ctx = delegate.getContext();
         if (ctx == null) {
@@ -296,6 +341,8 @@ public class OpenhabGraalJSScriptEngine
         }
         this.engineIdentifier = localEngineIdentifier;
 
+        jsScriptServiceUtil.bindLockMetrics(lock, localEngineIdentifier, LANGUAGE_ID);
+
         ScriptExtensionAccessor scriptExtensionAccessor = (ScriptExtensionAccessor) ctx
                 .getAttribute(CONTEXT_KEY_EXTENSION_ACCESSOR);
         if (scriptExtensionAccessor == null) {
@@ -321,12 +368,6 @@ public class OpenhabGraalJSScriptEngine
         delegate.getBindings(ScriptContext.ENGINE_SCOPE).put(REQUIRE_WRAPPER_NAME, wrapRequireFn);
         delegate.put("require", wrapRequireFn.apply((Function<Object[], Object>) delegate.get("require")));
 
-        // Injections into the JS runtime
-        jsRuntimeFeatures.getFeatures().forEach((key, obj) -> {
-            logger.debug("Injecting {} into the context of engine '{}' ...", key, engineIdentifier);
-            delegate.put(key, obj);
-        });
-
         initialized = true;
 
         if (logger.isDebugEnabled()) {
@@ -343,9 +384,9 @@ public class OpenhabGraalJSScriptEngine
         }
 
         try {
-            logger.debug("Evaluating cached global script for engine '{}' ...", engineIdentifier);
-            delegate.getPolyglotContext().eval(GLOBAL_SOURCE);
+            initializeGlobals();
 
+            long injectionStartTime = System.nanoTime();
             if (configuration.isInjectionEnabledForAllScripts()
                     || (isScriptModule() && configuration.isInjectionEnabledForScriptModules())
                     || (isTransformation() && configuration.isInjectionEnabledForTransformations())) {
@@ -360,6 +401,15 @@ public class OpenhabGraalJSScriptEngine
                 }
             }
             logger.debug("Successfully initialized GraalJS script engine '{}'.", engineIdentifier);
+
+            if (logger.isDebugEnabled()) {
+                long now = System.nanoTime();
+                logger.debug(
+                        "Startup times of engine '{}': total {} ms (context creation {} ms, globals {} ms, openhab-js injection {} ms), pre-initialized: {}",
+                        engineIdentifier, toMillis(now - startTime + (preInitialized ? 0 : contextCreationTime)),
+                        toMillis(contextCreationTime), toMillis(globalsInitializationTime),
+                        toMillis(now - injectionStartTime), preInitialized);
+            }
         } catch (ScriptException e) {
             logger.error("Could not inject global script", e);
         }
@@ -453,6 +503,7 @@ public class OpenhabGraalJSScriptEngine
             try {
                 jsRuntimeFeatures.close();
                 this.lifecycleTracker.dispose();
+                lock.unbindMetrics();
             } finally {
                 logger.debug("Engine '{}' disposed.", engineIdentifier);
                 super.close();
@@ -575,6 +626,10 @@ public class OpenhabGraalJSScriptEngine
         return new InputStreamReader(ioStream);
     }
 
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
     @Override
     public @NonNull Lock getLock() {
         return lock;
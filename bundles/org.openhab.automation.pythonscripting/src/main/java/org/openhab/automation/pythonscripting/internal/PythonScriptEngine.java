@@ -31,7 +31,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -54,6 +53,7 @@ import org.openhab.automation.pythonscripting.internal.context.ThreadLocalContex
 import org.openhab.automation.pythonscripting.internal.fs.DelegatingFileSystem;
 import org.openhab.automation.pythonscripting.internal.provider.LifecycleTracker;
 import org.openhab.automation.pythonscripting.internal.provider.ScriptExtensionModuleProvider;
+import org.openhab.automation.pythonscripting.internal.scriptengine.InstrumentedLock;
 import org.openhab.automation.pythonscripting.internal.scriptengine.InvocationInterceptingPythonScriptEngine;
 import org.openhab.automation.pythonscripting.internal.scriptengine.graal.GraalPythonScriptEngine;
 import org.openhab.core.automation.module.script.LockableScriptEngine;
@@ -74,6 +74,7 @@ import org.slf4j.event.Level;
  *
  * @author Holger Hees - Initial contribution
  * @author Jeff James - Initial contribution
+ * @author Contributors to the openHAB project - Instrumented the engine lock
  */
 public class PythonScriptEngine extends InvocationInterceptingPythonScriptEngine implements LockableScriptEngine {
     private final Logger logger = LoggerFactory.getLogger(PythonScriptEngine.class);
@@ -129,10 +130,11 @@ public class PythonScriptEngine extends InvocationInterceptingPythonScriptEngine
 
             .build();
 
-    /** {@link Lock} synchronization of multi-thread access */
-    private final Lock lock = new ReentrantLock();
+    /** {@link Lock} synchronization of multi-thread access, instrumented to expose contention metrics */
+    private final InstrumentedLock lock = new InstrumentedLock();
 
     private PythonScriptEngineConfiguration pythonScriptEngineConfiguration;
+    private final PythonScriptEngineFactory pythonScriptEngineFactory;
 
     private boolean initialized = false;
 
@@ -154,6 +156,7 @@ public class PythonScriptEngine extends InvocationInterceptingPythonScriptEngine
     public PythonScriptEngine(PythonScriptEngineConfiguration pythonScriptEngineConfiguration, Engine engine,
             PythonScriptEngineFactory pythonScriptEngineFactory) {
         this.pythonScriptEngineConfiguration = pythonScriptEngineConfiguration;
+        this.pythonScriptEngineFactory = pythonScriptEngineFactory;
 
         this.scriptOutputStream = new ContextOutput(new ThreadLocalContextOutputLogger(logger, Level.INFO));
         this.scriptErrorStream = new ContextOutput(new ThreadLocalContextOutputLogger(logger, Level.ERROR));
@@ -237,6 +240,8 @@ public class PythonScriptEngine extends InvocationInterceptingPythonScriptEngine
             logger.warn("Failed to retrieve script identifier");
         }
 
+        pythonScriptEngineFactory.bindLockMetrics(lock, this.engineIdentifier, GraalPythonScriptEngine.LANGUAGE_ID);
+
         logger.debug("Initializing GraalPython script engine '{}' ...", this.engineIdentifier);
 
         if (pythonScriptEngineConfiguration.isDependencyTrackingEnabled()) {
@@ -442,6 +447,7 @@ public class PythonScriptEngine extends InvocationInterceptingPythonScriptEngine
             }
         }
 
+        lock.unbindMetrics();
         lock.unlock();
     }
 
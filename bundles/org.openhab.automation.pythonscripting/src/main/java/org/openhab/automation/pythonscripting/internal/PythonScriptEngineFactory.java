@@ -25,6 +25,8 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.Language;
 import org.openhab.automation.pythonscripting.internal.fs.PythonDependencyTracker;
+import org.openhab.automation.pythonscripting.internal.scriptengine.InstrumentedLock;
+import org.openhab.automation.pythonscripting.internal.scriptengine.ScriptEngineLockMetrics;
 import org.openhab.automation.pythonscripting.internal.scriptengine.graal.GraalPythonScriptEngine;
 import org.openhab.automation.pythonscripting.internal.scriptengine.graal.GraalPythonScriptEngine.ScriptEngineProvider;
 import org.openhab.core.automation.module.script.ScriptDependencyTracker;
@@ -37,6 +39,8 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +49,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author Holger Hees - Initial contribution
  * @author Jeff James - Initial contribution
+ * @author Contributors to the openHAB project - Optional script engine lock metrics
  */
 @Component(service = { ScriptEngineFactory.class, PythonScriptEngineFactory.class }, //
         configurationPid = "org.openhab.automation.pythonscripting", //
@@ -68,6 +73,8 @@ public class PythonScriptEngineFactory implements ScriptEngineFactory, ScriptEng
      */
     private final Engine engine;
 
+    private volatile @Nullable ScriptEngineLockMetrics scriptEngineLockMetrics;
+
     @Activate
     public PythonScriptEngineFactory(final @Reference PythonDependencyTracker pythonDependencyTracker,
             final @Reference TimeZoneProvider timeZoneProvider, Map<String, Object> config) {
@@ -126,6 +133,29 @@ public class PythonScriptEngineFactory implements ScriptEngineFactory, ScriptEng
         logger.debug("Unloading PythonScriptEngineFactory");
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setScriptEngineLockMetrics(ScriptEngineLockMetrics scriptEngineLockMetrics) {
+        this.scriptEngineLockMetrics = scriptEngineLockMetrics;
+    }
+
+    protected void unsetScriptEngineLockMetrics(ScriptEngineLockMetrics scriptEngineLockMetrics) {
+        this.scriptEngineLockMetrics = null;
+    }
+
+    /**
+     * Publish the metrics of an engine lock, if the monitoring service is available.
+     *
+     * @param lock the lock of the engine
+     * @param engineIdentifier the identifier of the engine
+     * @param language the language of the engine
+     */
+    public void bindLockMetrics(InstrumentedLock lock, String engineIdentifier, String language) {
+        ScriptEngineLockMetrics scriptEngineLockMetrics = this.scriptEngineLockMetrics;
+        if (scriptEngineLockMetrics != null) {
+            scriptEngineLockMetrics.bind(lock, engineIdentifier, language);
+        }
+    }
+
     @Modified
     protected void modified(Map<String, Object> config) {
         this.configuration.modified(config, this);
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pythonscripting.internal.scriptengine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A {@link ReentrantLock} based {@link Lock} that measures how long threads wait for the lock and how long it is held.
+ * <p>
+ * The times are passed to the {@link Metrics} bound with {@link #bindMetrics(Metrics)}, nothing is measured as long as
+ * none are bound. Reentrant acquisitions are not measured separately.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class InstrumentedLock implements Lock {
+
+    /**
+     * Receives the measured times of an {@link InstrumentedLock}.
+     */
+    public interface Metrics {
+        void recordWait(long nanos);
+
+        void recordHold(long nanos);
+
+        /**
+         * Called when the metrics are unbound from the lock.
+         */
+        void close();
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // only accessed by the thread holding the lock
+    private long acquireTime;
+
+    private volatile @Nullable Metrics metrics;
+
+    /**
+     * Passes the measured times of this lock to the given metrics, replacing the metrics bound before.
+     */
+    public synchronized void bindMetrics(Metrics metrics) {
+        unbindMetrics();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Stops passing the measured times of this lock to the bound metrics and closes them.
+     */
+    public synchronized void unbindMetrics() {
+        Metrics metrics = this.metrics;
+        this.metrics = null;
+        if (metrics != null) {
+            metrics.close();
+        }
+    }
+
+    /**
+     * @return the number of threads currently waiting for this lock
+     */
+    public int getQueueLength() {
+        return lock.getQueueLength();
+    }
+
+    @Override
+    public void lock() {
+        long start = System.nanoTime();
+        lock.lock();
+        acquired(start);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        long start = System.nanoTime();
+        lock.lockInterruptibly();
+        acquired(start);
+    }
+
+    @Override
+    public boolean tryLock() {
+        long start = System.nanoTime();
+        if (lock.tryLock()) {
+            acquired(start);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, @Nullable TimeUnit unit) throws InterruptedException {
+        long start = System.nanoTime();
+        if (lock.tryLock(time, unit)) {
+            acquired(start);
+            return true;
+        }
+        Metrics metrics = this.metrics;
+        if (metrics != null) {
+            metrics.recordWait(System.nanoTime() - start);
+        }
+        return false;
+    }
+
+    @Override
+    public void unlock() {
+        if (lock.getHoldCount() == 1) {
+            Metrics metrics = this.metrics;
+            if (metrics != null) {
+                metrics.recordHold(System.nanoTime() - acquireTime);
+            }
+        }
+        lock.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return lock.newCondition();
+    }
+
+    private void acquired(long start) {
+        if (lock.getHoldCount() != 1) {
+            return;
+        }
+        long now = System.nanoTime();
+        acquireTime = now;
+        Metrics metrics = this.metrics;
+        if (metrics != null) {
+            metrics.recordWait(now - start);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pythonscripting.internal.scriptengine;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes the wait time, the hold time and the queue length of the {@link InstrumentedLock}s of the script engines
+ * to the openHAB meter registry, tagged with the engine identifier.
+ * <p>
+ * This is the only class using Micrometer, which is imported optionally. The engines reference this component
+ * optionally, so they work without the monitoring service or Micrometer.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@Component(service = ScriptEngineLockMetrics.class)
+@NonNullByDefault
+public class ScriptEngineLockMetrics {
+
+    private static final String METRIC_PREFIX = "openhab.script.engine.lock.";
+
+    private final MeterRegistryProvider meterRegistryProvider;
+
+    @Activate
+    public ScriptEngineLockMetrics(final @Reference MeterRegistryProvider meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    /**
+     * Publishes the metrics of the lock until they are unbound from it.
+     *
+     * @param lock the lock of the engine
+     * @param engineIdentifier the identifier of the engine
+     * @param language the language of the engine
+     */
+    public void bind(InstrumentedLock lock, String engineIdentifier, String language) {
+        lock.bindMetrics(new LockMeters(meterRegistryProvider.getOHMeterRegistry(), lock, engineIdentifier, language));
+    }
+
+    private static class LockMeters implements InstrumentedLock.Metrics {
+        private final MeterRegistry meterRegistry;
+        private final Timer waitTimer;
+        private final Timer holdTimer;
+        private final List<Meter> meters;
+
+        private LockMeters(MeterRegistry meterRegistry, InstrumentedLock lock, String engineIdentifier,
+                String language) {
+            Tags tags = Tags.of("engine", engineIdentifier, "language", language);
+            this.meterRegistry = meterRegistry;
+            this.waitTimer = Timer.builder(METRIC_PREFIX + "wait").description("Time spent waiting for the engine lock")
+                    .tags(tags).register(meterRegistry);
+            this.holdTimer = Timer.builder(METRIC_PREFIX + "hold").description("Time the engine lock has been held")
+                    .tags(tags).register(meterRegistry);
+            Gauge queueGauge = Gauge.builder(METRIC_PREFIX + "queue", lock, InstrumentedLock::getQueueLength)
+                    .description("Number of threads waiting for the engine lock").tags(tags).register(meterRegistry);
+            this.meters = List.of(waitTimer, holdTimer, queueGauge);
+        }
+
+        @Override
+        public void recordWait(long nanos) {
+            waitTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void recordHold(long nanos) {
+            holdTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void close() {
+            meters.forEach(meterRegistry::remove);
+        }
+    }
+}
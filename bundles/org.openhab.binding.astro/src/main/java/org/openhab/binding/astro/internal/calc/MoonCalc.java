@@ -278,9 +278,9 @@ public class MoonCalc {
     }
 
     /**
-     * Sets the azimuth, elevation and zodiac in the moon object.
+     * Calculates the moon position (azimuth, elevation and ecliptic longitude) at the specified julian date.
      */
-    private MoonPosition getMoonPosition(double julianDate, double latitude, double longitude) {
+    public MoonPosition getMoonPosition(double julianDate, double latitude, double longitude) {
         double lat = Math.toRadians(latitude);
         double lon = Math.toRadians(longitude);
 
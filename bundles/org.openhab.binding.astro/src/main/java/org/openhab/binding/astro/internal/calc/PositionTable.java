@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.function.DoubleFunction;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.astro.internal.model.Position;
+import org.openhab.binding.astro.internal.util.DateTimeUtils;
+
+/**
+ * Azimuth and elevation of a celestial body at a fixed location, calculated once for every minute of an UTC day.
+ * Positions in between are linearly interpolated, so looking up a position takes constant time.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class PositionTable {
+    public static final int SECONDS_PER_STEP = 60;
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+    private static final int STEPS = (int) (SECONDS_PER_DAY / SECONDS_PER_STEP);
+
+    private final Instant start;
+    private final double[] azimuths = new double[STEPS + 1];
+    private final double[] elevations = new double[STEPS + 1];
+
+    /**
+     * @param instant an instant of the UTC day to calculate the table for
+     * @param positionAtJulianDate calculates the position at a julian date
+     */
+    public PositionTable(Instant instant, DoubleFunction<Position> positionAtJulianDate) {
+        start = instant.truncatedTo(ChronoUnit.DAYS);
+        double startJulianDate = DateTimeUtils.instantToJulianDay(start);
+        for (int i = 0; i <= STEPS; i++) {
+            Position position = positionAtJulianDate
+                    .apply(startJulianDate + i * SECONDS_PER_STEP / (double) SECONDS_PER_DAY);
+            azimuths[i] = position.getAzimuthAsDouble();
+            elevations[i] = position.getElevationAsDouble();
+        }
+    }
+
+    /**
+     * @return the UTC day of the instant, as days since the epoch
+     */
+    public static long getEpochDay(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_DAY);
+    }
+
+    /**
+     * Returns the interpolated position at an instant of the day of this table.
+     *
+     * @throws IllegalArgumentException if the instant is not within the day of this table
+     */
+    public Position getPosition(Instant instant) {
+        double seconds = (instant.getEpochSecond() - start.getEpochSecond()) + instant.getNano() / 1e9;
+        if (seconds < 0 || seconds > STEPS * SECONDS_PER_STEP) {
+            throw new IllegalArgumentException("Instant " + instant + " is not on the day starting at " + start);
+        }
+        int index = Math.min((int) (seconds / SECONDS_PER_STEP), STEPS - 1);
+        double fraction = seconds / SECONDS_PER_STEP - index;
+
+        double elevation = elevations[index] + (elevations[index + 1] - elevations[index]) * fraction;
+        // interpolate the azimuth along the shorter arc, it wraps around at 360°
+        double azimuthDelta = azimuths[index + 1] - azimuths[index];
+        if (azimuthDelta > 180) {
+            azimuthDelta -= 360;
+        } else if (azimuthDelta < -180) {
+            azimuthDelta += 360;
+        }
+        double azimuth = azimuths[index] + azimuthDelta * fraction;
+        if (azimuth < 0) {
+            azimuth += 360;
+        } else if (azimuth >= 360) {
+            azimuth -= 360;
+        }
+        return new Position(azimuth, elevation);
+    }
+}
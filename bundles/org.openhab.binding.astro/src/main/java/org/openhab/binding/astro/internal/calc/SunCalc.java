@@ -87,10 +87,16 @@ public class SunCalc {
     }
 
     public Position getPosition(Calendar calendar, double latitude, double longitude) {
+        return getPosition(DateTimeUtils.dateToJulianDate(calendar), latitude, longitude);
+    }
+
+    /**
+     * Calculates the sun position (azimuth and elevation) at the specified julian date.
+     */
+    public Position getPosition(double j, double latitude, double longitude) {
         double lw = Math.toRadians(-longitude);
         double phi = Math.toRadians(latitude);
 
-        double j = DateTimeUtils.dateToJulianDate(calendar);
         double m = getSolarMeanAnomaly(j);
         double c = getEquationOfCenter(m);
         double lsun = getEclipticLongitude(m, c);
@@ -29,6 +29,7 @@ import java.util.Collection;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -43,6 +44,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.astro.internal.AstroBindingConstants;
 import org.openhab.binding.astro.internal.action.AstroActions;
+import org.openhab.binding.astro.internal.calc.PositionTable;
 import org.openhab.binding.astro.internal.config.AstroChannelConfig;
 import org.openhab.binding.astro.internal.config.AstroThingConfig;
 import org.openhab.binding.astro.internal.job.Job;
@@ -115,6 +117,7 @@ import org.slf4j.LoggerFactory;
  * @author Gerhard Riegler - Initial contribution
  * @author Amit Kumar Mondal - Implementation to be compliant with ESH Scheduler
  * @author Ravi Nadahar - Refactored scheduling
+ * @author Contributors to the openHAB project - Cache positions in daily tables
  */
 @NonNullByDefault
 public abstract class AstroThingHandler extends BaseThingHandler {
@@ -138,6 +141,11 @@ public abstract class AstroThingHandler extends BaseThingHandler {
      */
     private static final long MAX_SCHEDULE_DIFFERENCE_MS = 20L;
 
+    /**
+     * Number of days kept in the day caches. Besides today, rules typically query yesterday and tomorrow.
+     */
+    protected static final int DAY_CACHE_SIZE = 3;
+
     /** Logger Instance */
     private final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
     private final SimpleDateFormat loggerFormatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS", Locale.ROOT);
@@ -164,6 +172,9 @@ public abstract class AstroThingHandler extends BaseThingHandler {
 
     private final Set<String> positionalChannels;
 
+    // Position tables by UTC epoch day, all access must be guarded by the map itself
+    private final Map<Long, PositionTable> positionTables = createDayCache();
+
     public AstroThingHandler(Thing thing, final CronScheduler scheduler, final TimeZoneProvider timeZoneProvider,
             LocaleProvider localeProvider, InstantSource instantSource, Set<String> positionalChannels) {
         super(thing);
@@ -179,6 +190,7 @@ public abstract class AstroThingHandler extends BaseThingHandler {
         logger.debug("Initializing thing {}", getThing().getUID());
         String thingUid = getThing().getUID().toString();
         thingConfig = getConfigAs(AstroThingConfig.class);
+        clearDayCaches();
         boolean validConfig = true;
         String geoLocation = thingConfig.geolocation;
         if (geoLocation == null || geoLocation.trim().isEmpty()) {
@@ -214,6 +226,7 @@ public abstract class AstroThingHandler extends BaseThingHandler {
     public void dispose() {
         logger.debug("Disposing thing {}", getThing().getUID());
         stopJobs();
+        clearDayCaches();
         logger.debug("Thing {} disposed", getThing().getUID());
     }
 
@@ -491,7 +504,53 @@ public abstract class AstroThingHandler extends BaseThingHandler {
      */
     public abstract Planet getPlanetAt(ZonedDateTime date, Locale locale);
 
-    public abstract Position getPositionAt(ZonedDateTime date);
+    /**
+     * Calculates the position of the planet at the configured location.
+     *
+     * @param julianDate the moment in time.
+     * @return The resulting {@link Position}.
+     */
+    protected abstract Position calculatePosition(double julianDate);
+
+    /**
+     * Returns the position of the planet at the specified moment in time. The position is interpolated from a table
+     * which is calculated once per day.
+     *
+     * @param date the moment in time.
+     * @return The resulting {@link Position}.
+     */
+    public Position getPositionAt(ZonedDateTime date) {
+        Instant instant = date.toInstant();
+        PositionTable table;
+        synchronized (positionTables) {
+            table = positionTables.computeIfAbsent(PositionTable.getEpochDay(instant),
+                    day -> new PositionTable(instant, this::calculatePosition));
+        }
+        return table.getPosition(instant);
+    }
+
+    /**
+     * Drops all cached calculations, for instance because the location has changed.
+     */
+    protected void clearDayCaches() {
+        synchronized (positionTables) {
+            positionTables.clear();
+        }
+    }
+
+    /**
+     * Creates a map which keeps the {@link #DAY_CACHE_SIZE} most recently used entries. The map is not thread-safe.
+     */
+    protected static <K, V> Map<K, V> createDayCache() {
+        return new LinkedHashMap<>(DAY_CACHE_SIZE + 1, 1f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<K, V> eldest) {
+                return size() > DAY_CACHE_SIZE;
+            }
+        };
+    }
 
     public State getAzimuth(ZonedDateTime date) {
         return getPositionAt(date).getAzimuth();
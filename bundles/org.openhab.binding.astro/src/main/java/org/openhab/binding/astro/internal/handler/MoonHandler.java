@@ -49,6 +49,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author Gerhard Riegler - Initial contribution
  * @author Amit Kumar Mondal - Implementation to be compliant with ESH Scheduler
+ * @author Contributors to the openHAB project - Tabulate positions per day
  */
 @NonNullByDefault
 public class MoonHandler extends AstroThingHandler {
@@ -181,12 +182,9 @@ public class MoonHandler extends AstroThingHandler {
     }
 
     @Override
-    public Position getPositionAt(ZonedDateTime date) {
-        Moon localMoon = getPlanetAt(date, Locale.ROOT);
+    protected Position calculatePosition(double julianDate) {
         double latitude = thingConfig.latitude instanceof Double value ? value : 0;
         double longitude = thingConfig.longitude instanceof Double value ? value : 0;
-        moonCalc.setPositionalInfo(GregorianCalendar.from(date), latitude, longitude, localMoon,
-                TimeZone.getTimeZone(date.getZone()));
-        return localMoon.getPosition();
+        return moonCalc.getMoonPosition(julianDate, latitude, longitude);
     }
 }
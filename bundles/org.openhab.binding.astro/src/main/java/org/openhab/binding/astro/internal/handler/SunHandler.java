@@ -15,11 +15,13 @@ package org.openhab.binding.astro.internal.handler;
 import static org.openhab.binding.astro.internal.AstroBindingConstants.*;
 
 import java.time.InstantSource;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 
@@ -55,6 +57,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author Gerhard Riegler - Initial contribution
  * @author Amit Kumar Mondal - Implementation to be compliant with ESH Scheduler
+ * @author Contributors to the openHAB project - Cache event times and positions per day
  */
 @NonNullByDefault
 public class SunHandler extends AstroThingHandler {
@@ -66,6 +69,16 @@ public class SunHandler extends AstroThingHandler {
     private final Logger logger = LoggerFactory.getLogger(SunHandler.class);
     volatile @Nullable Sun sun;
 
+    // The ranges of all sun phases by day, all access must be guarded by the map itself
+    private final Map<DayKey, Map<SunPhase, Range>> dailyRanges = createDayCache();
+
+    /**
+     * The day a set of ranges is calculated for. The ranges depend on the zone of the requested date and on the zone
+     * of the system, because both are used by the calculation.
+     */
+    private record DayKey(LocalDate date, ZoneId zone, ZoneId systemZone) {
+    }
+
     /**
      * Constructor
      */
@@ -82,11 +95,9 @@ public class SunHandler extends AstroThingHandler {
         Locale locale = localeProvider.getLocale();
         ZonedDateTime now = instantSource.instant().atZone(zoneId);
         Sun sun = getPlanetAt(now, locale);
-        double latitude = thingConfig.latitude instanceof Double value ? value : 0;
-        double longitude = thingConfig.longitude instanceof Double value ? value : 0;
         double altitude = thingConfig.altitude instanceof Double value ? value : 0;
         Calendar calendar = DateTimeUtils.calFromInstantSource(instantSource, zone, locale);
-        sunCalc.setPositionalInfo(calendar, latitude, longitude, sun);
+        sun.setPosition(getPositionAt(now));
 
         sun.setCircadian(CircadianCalc.calculate(calendar, sun.getRise(), sun.getSet(), sun.getRange(SunPhase.NOON)));
         sun.setRadiation(RadiationCalc.calculate(now, sun.getPosition().getElevationAsDouble(), altitude));
@@ -314,16 +325,8 @@ public class SunHandler extends AstroThingHandler {
                 thingConfig.useMeteorologicalSeason, TimeZone.getTimeZone(timeZoneProvider.getTimeZone()), Locale.ROOT);
     }
 
-    private Sun getPositionedSunAt(ZonedDateTime date) {
-        Sun localSun = getPlanetAt(date, Locale.ROOT);
-        double latitude = thingConfig.latitude instanceof Double value ? value : 0;
-        double longitude = thingConfig.longitude instanceof Double value ? value : 0;
-        sunCalc.setPositionalInfo(GregorianCalendar.from(date), latitude, longitude, localSun);
-        return localSun;
-    }
-
     public @Nullable ZonedDateTime getEventTime(SunPhase sunPhase, ZonedDateTime date, boolean begin) {
-        Range eventRange = getPlanetAt(date, Locale.ROOT).getAllRanges().get(sunPhase);
+        Range eventRange = getRangesAt(date).get(sunPhase);
         if (eventRange != null) {
             Calendar cal = begin ? eventRange.getStart() : eventRange.getEnd();
             return cal == null ? null : ZonedDateTime.ofInstant(cal.toInstant(), date.getZone());
@@ -331,13 +334,32 @@ public class SunHandler extends AstroThingHandler {
         return null;
     }
 
+    /**
+     * Returns the ranges of all sun phases of the day of the specified date. The ranges are calculated once per day.
+     */
+    private Map<SunPhase, Range> getRangesAt(ZonedDateTime date) {
+        DayKey key = new DayKey(date.toLocalDate(), date.getZone(), timeZoneProvider.getTimeZone());
+        synchronized (dailyRanges) {
+            return dailyRanges.computeIfAbsent(key, k -> Map.copyOf(getPlanetAt(date, Locale.ROOT).getAllRanges()));
+        }
+    }
+
     @Override
-    public Position getPositionAt(ZonedDateTime date) {
-        return getPositionedSunAt(date).getPosition();
+    protected Position calculatePosition(double julianDate) {
+        double latitude = thingConfig.latitude instanceof Double value ? value : 0;
+        double longitude = thingConfig.longitude instanceof Double value ? value : 0;
+        return sunCalc.getPosition(julianDate, latitude, longitude);
+    }
+
+    @Override
+    protected void clearDayCaches() {
+        super.clearDayCaches();
+        synchronized (dailyRanges) {
+            dailyRanges.clear();
+        }
     }
 
     public @Nullable Radiation getRadiationAt(ZonedDateTime date) {
-        Sun localSun = getPositionedSunAt(date);
-        return RadiationCalc.calculate(date, localSun.getPosition().getElevationAsDouble(), thingConfig.altitude);
+        return RadiationCalc.calculate(date, getPositionAt(date).getElevationAsDouble(), thingConfig.altitude);
     }
 }
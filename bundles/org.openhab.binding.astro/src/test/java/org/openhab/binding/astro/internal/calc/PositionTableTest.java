@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.astro.internal.calc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.InstantSource;
+import java.time.temporal.ChronoUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.astro.internal.model.Position;
+import org.openhab.binding.astro.internal.util.DateTimeUtils;
+
+/**
+ * Tests for {@link PositionTable}, comparing interpolated positions with the calculated ones.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class PositionTableTest {
+    private static final double AMSTERDAM_LATITUDE = 52.367607;
+    private static final double AMSTERDAM_LONGITUDE = 4.8978293;
+    private static final Instant JUNE_21_2024 = Instant.parse("2024-06-21T00:00:00Z");
+    private static final double ACCURACY_IN_DEGREES = 0.01;
+
+    private final SunCalc sunCalc = new SunCalc(InstantSource.fixed(JUNE_21_2024));
+    private final MoonCalc moonCalc = new MoonCalc(InstantSource.fixed(JUNE_21_2024));
+
+    @Test
+    public void testSunPositionsMatchCalculation() {
+        PositionTable table = new PositionTable(JUNE_21_2024.plus(12, ChronoUnit.HOURS),
+                jd -> sunCalc.getPosition(jd, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE));
+
+        // 7 minutes and 13 seconds, so that most samples fall between two table entries
+        for (Instant instant = JUNE_21_2024; instant.isBefore(JUNE_21_2024.plus(1, ChronoUnit.DAYS)); instant = instant
+                .plusSeconds(433)) {
+            Position expected = sunCalc.getPosition(DateTimeUtils.instantToJulianDay(instant), AMSTERDAM_LATITUDE,
+                    AMSTERDAM_LONGITUDE);
+            Position actual = table.getPosition(instant);
+            assertEquals(expected.getElevationAsDouble(), actual.getElevationAsDouble(), ACCURACY_IN_DEGREES,
+                    instant.toString());
+            assertEquals(0, angleDifference(expected.getAzimuthAsDouble(), actual.getAzimuthAsDouble()),
+                    ACCURACY_IN_DEGREES, instant.toString());
+        }
+    }
+
+    @Test
+    public void testMoonPositionsMatchCalculation() {
+        PositionTable table = new PositionTable(JUNE_21_2024,
+                jd -> moonCalc.getMoonPosition(jd, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE));
+
+        for (Instant instant = JUNE_21_2024; instant.isBefore(JUNE_21_2024.plus(1, ChronoUnit.DAYS)); instant = instant
+                .plusSeconds(433)) {
+            Position expected = moonCalc.getMoonPosition(DateTimeUtils.instantToJulianDay(instant),
+                    AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE);
+            Position actual = table.getPosition(instant);
+            // refraction is only applied above -2°, so the elevation makes a small jump there
+            if (expected.getElevationAsDouble() > 0) {
+                assertEquals(expected.getElevationAsDouble(), actual.getElevationAsDouble(), ACCURACY_IN_DEGREES,
+                        instant.toString());
+            }
+            assertEquals(0, angleDifference(expected.getAzimuthAsDouble(), actual.getAzimuthAsDouble()),
+                    ACCURACY_IN_DEGREES, instant.toString());
+        }
+    }
+
+    @Test
+    public void testInstantOutsideOfDayIsRejected() {
+        PositionTable table = new PositionTable(JUNE_21_2024,
+                jd -> sunCalc.getPosition(jd, AMSTERDAM_LATITUDE, AMSTERDAM_LONGITUDE));
+
+        assertThrows(IllegalArgumentException.class, () -> table.getPosition(JUNE_21_2024.minusSeconds(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.getPosition(JUNE_21_2024.plus(1, ChronoUnit.DAYS).plusSeconds(1)));
+    }
+
+    private static double angleDifference(double a, double b) {
+        double difference = Math.abs(a - b) % 360;
+        return difference > 180 ? 360 - difference : difference;
+    }
+}
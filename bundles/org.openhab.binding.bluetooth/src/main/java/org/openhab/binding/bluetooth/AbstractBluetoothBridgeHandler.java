@@ -60,6 +60,9 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
 
     private BaseBluetoothBridgeHandlerConfiguration config = new BaseBluetoothBridgeHandlerConfiguration();
 
+    // Drops duplicate scan notifications before they reach the device listeners
+    private final BluetoothScanFilter scanFilter = new BluetoothScanFilter();
+
     private @Nullable ScheduledFuture<?> inactiveRemovalJob;
 
     /**
@@ -89,6 +92,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     @Override
     public void initialize() {
         config = getConfigAs(BaseBluetoothBridgeHandlerConfiguration.class);
+        scanFilter.configure(config);
 
         int intervalSecs = config.inactiveDeviceCleanupInterval;
         inactiveRemovalJob = scheduler.scheduleWithFixedDelay(this::removeInactiveDevices, intervalSecs, intervalSecs,
@@ -114,7 +118,19 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     public void handleCommand(ChannelUID channelUID, Command command) {
     }
 
+    /**
+     * Returns the filter that is applied to all scan notifications of the devices of this bridge.
+     *
+     * @return the {@link BluetoothScanFilter} of this bridge
+     */
+    public BluetoothScanFilter getScanFilter() {
+        return scanFilter;
+    }
+
     private void removeInactiveDevices() {
+        // the counters change with every notification, so they are logged instead of updating the bridge properties
+        logger.debug("Scan notification statistics of {}: {}", getUID(), scanFilter);
+
         // clean up orphaned entries
         synchronized (devices) {
             for (BD device : devices.values()) {
@@ -131,6 +147,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
         synchronized (devices) {
             devices.remove(device.getAddress());
         }
+        scanFilter.remove(device.getAddress());
         discoveryListeners.forEach(listener -> listener.deviceRemoved(device));
     }
 
@@ -182,6 +199,8 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
     public void scanStart() {
         // Enable scanning even while discovery is disabled in config. This allows manual starting discovery.
         activeScanEnabled = true;
+        // an explicit scan should give every device a new chance to be recognized by a discovery participant
+        scanFilter.clearUnclaimed();
         refreshDiscoveredDevices();
     }
 
@@ -230,6 +249,12 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BaseBluetoothDev
             // no point in discovering a device that already has a handler
             return;
         }
+        if (scanFilter.isUnclaimed(device.getAddress())) {
+            // none of the discovery participants recognized this device recently
+            logger.trace("Not notifying listeners for device '{}', because it was recently unclaimed.",
+                    device.getAddress());
+            return;
+        }
         if (config.backgroundDiscovery || activeScanEnabled) {
             if (deviceReachable(device)) {
                 discoveryListeners.forEach(listener -> listener.deviceDiscovered(device));
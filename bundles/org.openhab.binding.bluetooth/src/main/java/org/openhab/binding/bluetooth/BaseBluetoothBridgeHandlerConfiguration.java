@@ -26,4 +26,8 @@ public class BaseBluetoothBridgeHandlerConfiguration {
     public boolean backgroundDiscovery = false;
     public int inactiveDeviceCleanupInterval = 60;
     public int inactiveDeviceCleanupThreshold = 300;
+    public int scanDeduplicationWindow = 1000;
+    public double rssiSmoothing = 0.0;
+    public int rssiChangeThreshold = 1;
+    public int unclaimedDeviceCacheTime = 120;
 }
@@ -26,6 +26,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -309,6 +310,12 @@ public abstract class BaseBluetoothDevice extends BluetoothDevice {
 
     @Override
     protected void notifyListeners(BluetoothEventType event, Object... args) {
+        if (event == BluetoothEventType.SCAN_RECORD && getAdapter() instanceof AbstractBluetoothBridgeHandler<?> bridge
+                && !bridge.getScanFilter().accept(address, (BluetoothScanNotification) args[0])) {
+            // the device has been seen, but the notification carries nothing new for the listeners
+            updateLastSeenTime();
+            return;
+        }
         switch (event) {
             case SCAN_RECORD:
             case CHARACTERISTIC_UPDATED:
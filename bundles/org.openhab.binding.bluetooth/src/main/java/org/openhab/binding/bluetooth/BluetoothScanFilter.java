@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * The {@link BluetoothScanFilter} sits between an adapter and the listeners of its devices and thins out the stream
+ * of scan notifications. In dense environments adapters deliver thousands of advertisements per second, most of
+ * them carrying exactly the same payload as the previous one.
+ * <p>
+ * For every device the filter remembers the last forwarded name, manufacturer data, service data and raw data. A
+ * notification whose payload is unchanged is dropped as long as it arrives within the deduplication window of the
+ * last forwarded notification, unless the (optionally smoothed) RSSI moved by at least the configured threshold.
+ * Once the window has elapsed an unchanged notification is forwarded again, so that handlers still see the device
+ * as being alive.
+ * <p>
+ * Additionally the filter keeps a negative cache of addresses for which no discovery participant claimed the
+ * device, so that they are not run through the discovery process again and again.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothScanFilter {
+
+    private final Map<BluetoothAddress, DeviceState> deviceStates = new ConcurrentHashMap<>();
+    private final Map<BluetoothAddress, Long> unclaimedAddresses = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong forwarded = new AtomicLong();
+    private final AtomicLong droppedDuplicates = new AtomicLong();
+    private final AtomicLong droppedRssiUpdates = new AtomicLong();
+    private final AtomicLong suppressedDiscoveries = new AtomicLong();
+
+    private volatile long duplicateWindowMillis;
+    private volatile double rssiSmoothing;
+    private volatile int rssiChangeThreshold;
+    private volatile long negativeCacheMillis;
+
+    public BluetoothScanFilter() {
+        this(() -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    /**
+     * Creates a filter using the given monotonic clock (in milliseconds).
+     *
+     * @param clock the clock to use
+     */
+    BluetoothScanFilter(LongSupplier clock) {
+        this.clock = clock;
+        configure(new BaseBluetoothBridgeHandlerConfiguration());
+    }
+
+    /**
+     * Applies the filter related settings of the given bridge configuration.
+     *
+     * @param config the bridge configuration
+     */
+    public void configure(BaseBluetoothBridgeHandlerConfiguration config) {
+        duplicateWindowMillis = Math.max(0, config.scanDeduplicationWindow);
+        rssiSmoothing = Math.min(Math.max(config.rssiSmoothing, 0.0), 0.99);
+        rssiChangeThreshold = Math.max(1, config.rssiChangeThreshold);
+        negativeCacheMillis = TimeUnit.SECONDS.toMillis(Math.max(0, config.unclaimedDeviceCacheTime));
+    }
+
+    /**
+     * Decides whether the given scan notification should be forwarded to the device listeners. If RSSI smoothing is
+     * enabled, the RSSI of the notification is replaced by the smoothed value.
+     *
+     * @param address the address of the device the notification belongs to
+     * @param notification the received notification
+     * @return true if the notification should be forwarded, false if it should be dropped
+     */
+    public boolean accept(BluetoothAddress address, BluetoothScanNotification notification) {
+        received.incrementAndGet();
+        DeviceState state = deviceStates.computeIfAbsent(address, addr -> new DeviceState());
+        boolean forward;
+        synchronized (state) {
+            forward = state.accept(notification, clock.getAsLong());
+        }
+        if (forward) {
+            forwarded.incrementAndGet();
+        }
+        return forward;
+    }
+
+    /**
+     * Marks an address as not claimed by any discovery participant.
+     *
+     * @param address the address of the device
+     */
+    public void markUnclaimed(BluetoothAddress address) {
+        if (negativeCacheMillis > 0) {
+            unclaimedAddresses.put(address, clock.getAsLong() + negativeCacheMillis);
+        }
+    }
+
+    /**
+     * Checks whether an address has recently been found to be unclaimed by all discovery participants, in which case
+     * the discovery of this device can be skipped.
+     *
+     * @param address the address of the device
+     * @return true if discovery of this device should be skipped
+     */
+    public boolean isUnclaimed(BluetoothAddress address) {
+        Long expiry = unclaimedAddresses.get(address);
+        if (expiry == null) {
+            return false;
+        }
+        if (expiry - clock.getAsLong() <= 0) {
+            unclaimedAddresses.remove(address, expiry);
+            return false;
+        }
+        suppressedDiscoveries.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Clears the negative discovery cache, e.g. when an active scan has been requested.
+     */
+    public void clearUnclaimed() {
+        unclaimedAddresses.clear();
+    }
+
+    /**
+     * Forgets everything known about the given device.
+     *
+     * @param address the address of the device
+     */
+    public void remove(BluetoothAddress address) {
+        deviceStates.remove(address);
+        unclaimedAddresses.remove(address);
+    }
+
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    public long getForwardedCount() {
+        return forwarded.get();
+    }
+
+    public long getDroppedDuplicateCount() {
+        return droppedDuplicates.get();
+    }
+
+    public long getDroppedRssiCount() {
+        return droppedRssiUpdates.get();
+    }
+
+    public long getSuppressedDiscoveryCount() {
+        return suppressedDiscoveries.get();
+    }
+
+    @Override
+    public String toString() {
+        return "BluetoothScanFilter [received=" + received + ", forwarded=" + forwarded + ", droppedDuplicates="
+                + droppedDuplicates + ", droppedRssiUpdates=" + droppedRssiUpdates + ", suppressedDiscoveries="
+                + suppressedDiscoveries + "]";
+    }
+
+    private class DeviceState {
+        private String name = "";
+        private byte[] manufacturerData = new byte[0];
+        private byte[] data = new byte[0];
+        private @Nullable Map<String, byte[]> serviceData;
+
+        private double smoothedRssi = Double.NaN;
+        private int forwardedRssi = Integer.MIN_VALUE;
+        private long lastForwarded;
+        private boolean forwardedOnce = false;
+
+        boolean accept(BluetoothScanNotification notification, long now) {
+            boolean payloadChanged = updatePayload(notification);
+            boolean hasPayload = hasPayload(notification);
+
+            boolean rssiChanged = false;
+            int rssi = notification.getRssi();
+            if (rssi != Integer.MIN_VALUE) {
+                smoothedRssi = Double.isNaN(smoothedRssi) ? rssi
+                        : rssiSmoothing * smoothedRssi + (1.0 - rssiSmoothing) * rssi;
+                rssi = (int) Math.round(smoothedRssi);
+                notification.setRssi(rssi);
+                rssiChanged = forwardedRssi == Integer.MIN_VALUE
+                        || Math.abs(rssi - forwardedRssi) >= rssiChangeThreshold;
+            }
+
+            if (!forwardedOnce || payloadChanged || rssiChanged || now - lastForwarded >= duplicateWindowMillis) {
+                forwardedOnce = true;
+                lastForwarded = now;
+                if (rssi != Integer.MIN_VALUE) {
+                    forwardedRssi = rssi;
+                }
+                return true;
+            }
+
+            if (hasPayload) {
+                droppedDuplicates.incrementAndGet();
+            } else {
+                droppedRssiUpdates.incrementAndGet();
+            }
+            return false;
+        }
+
+        private boolean hasPayload(BluetoothScanNotification notification) {
+            return !notification.getDeviceName().isEmpty() || notification.getManufacturerData().length > 0
+                    || notification.getData().length > 0 || !notification.getServiceData().isEmpty();
+        }
+
+        /*
+         * Adapters like BlueZ report name, manufacturer data and service data in separate notifications, so each part
+         * is only compared if it is present in the notification at hand.
+         */
+        private boolean updatePayload(BluetoothScanNotification notification) {
+            boolean changed = false;
+
+            String newName = notification.getDeviceName();
+            if (!newName.isEmpty() && !newName.equals(name)) {
+                name = newName;
+                changed = true;
+            }
+            byte[] newManufacturerData = notification.getManufacturerData();
+            if (newManufacturerData.length > 0 && !Arrays.equals(newManufacturerData, manufacturerData)) {
+                manufacturerData = newManufacturerData.clone();
+                changed = true;
+            }
+            byte[] newData = notification.getData();
+            if (newData.length > 0 && !Arrays.equals(newData, data)) {
+                data = newData.clone();
+                changed = true;
+            }
+            Map<String, byte[]> newServiceData = notification.getServiceData();
+            if (!newServiceData.isEmpty() && !serviceDataEquals(newServiceData, serviceData)) {
+                Map<String, byte[]> copy = new ConcurrentHashMap<>();
+                newServiceData.forEach((uuid, value) -> copy.put(uuid, value.clone()));
+                serviceData = copy;
+                changed = true;
+            }
+            return changed;
+        }
+
+        private boolean serviceDataEquals(Map<String, byte[]> newServiceData, @Nullable Map<String, byte[]> old) {
+            if (old == null || old.size() != newServiceData.size()) {
+                return false;
+            }
+            for (Map.Entry<String, byte[]> entry : newServiceData.entrySet()) {
+                byte[] oldValue = old.get(entry.getKey());
+                if (oldValue == null || !Arrays.equals(oldValue, entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
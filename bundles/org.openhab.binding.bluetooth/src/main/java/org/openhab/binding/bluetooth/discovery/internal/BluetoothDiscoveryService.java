@@ -26,6 +26,7 @@ import java.util.function.BiConsumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.AbstractBluetoothBridgeHandler;
 import org.openhab.binding.bluetooth.BluetoothAdapter;
 import org.openhab.binding.bluetooth.BluetoothAddress;
 import org.openhab.binding.bluetooth.BluetoothBindingConstants;
@@ -303,6 +304,15 @@ public class BluetoothDiscoveryService extends AbstractDiscoveryService implemen
             }
             results.forEach(BluetoothDiscoveryService.this::thingDiscovered);
             discoveryResults.put(adapter, results);
+
+            if (BluetoothBindingConstants.THING_TYPE_BEACON.equals(result.getThingTypeUID())
+                    && adapter instanceof AbstractBluetoothBridgeHandler<?> bridge) {
+                // no participant claimed this device, so there is no point in running the discovery again soon
+                Object address = result.getProperties().get(BluetoothBindingConstants.CONFIGURATION_ADDRESS);
+                if (address != null) {
+                    bridge.getScanFilter().markUnclaimed(new BluetoothAddress(address.toString()));
+                }
+            }
         }
 
         /**
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * Tests {@link BluetoothScanFilter}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class BluetoothScanFilterTest {
+
+    private static final BluetoothAddress ADDRESS = new BluetoothAddress("12:34:56:78:9A:BC");
+
+    private long now = 0;
+    private BluetoothScanFilter filter = new BluetoothScanFilter(() -> now);
+    private BaseBluetoothBridgeHandlerConfiguration config = new BaseBluetoothBridgeHandlerConfiguration();
+
+    @BeforeEach
+    public void setUp() {
+        now = 0;
+        filter = new BluetoothScanFilter(() -> now);
+        config = new BaseBluetoothBridgeHandlerConfiguration();
+    }
+
+    private static BluetoothScanNotification notification(int rssi, byte... manufacturerData) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(rssi);
+        notification.setManufacturerData(manufacturerData);
+        return notification;
+    }
+
+    @Test
+    public void testDuplicatePayloadDroppedWithinWindow() {
+        assertTrue(filter.accept(ADDRESS, notification(-60, (byte) 1, (byte) 2)));
+        now += 100;
+        assertFalse(filter.accept(ADDRESS, notification(-60, (byte) 1, (byte) 2)));
+        now += 100;
+        assertTrue(filter.accept(ADDRESS, notification(-60, (byte) 1, (byte) 3)));
+
+        assertEquals(3, filter.getReceivedCount());
+        assertEquals(2, filter.getForwardedCount());
+        assertEquals(1, filter.getDroppedDuplicateCount());
+    }
+
+    @Test
+    public void testDuplicatePayloadForwardedAfterWindow() {
+        assertTrue(filter.accept(ADDRESS, notification(-60, (byte) 1)));
+        now += config.scanDeduplicationWindow;
+        assertTrue(filter.accept(ADDRESS, notification(-60, (byte) 1)));
+    }
+
+    @Test
+    public void testDisabledWindowForwardsEverything() {
+        config.scanDeduplicationWindow = 0;
+        filter.configure(config);
+
+        assertTrue(filter.accept(ADDRESS, notification(-60, (byte) 1)));
+        assertTrue(filter.accept(ADDRESS, notification(-60, (byte) 1)));
+    }
+
+    @Test
+    public void testRssiChangeForwarded() {
+        config.rssiChangeThreshold = 3;
+        filter.configure(config);
+
+        assertTrue(filter.accept(ADDRESS, notification(-60)));
+        assertFalse(filter.accept(ADDRESS, notification(-62)));
+        assertTrue(filter.accept(ADDRESS, notification(-63)));
+        assertEquals(1, filter.getDroppedRssiCount());
+    }
+
+    @Test
+    public void testRssiSmoothing() {
+        config.rssiSmoothing = 0.5;
+        filter.configure(config);
+
+        BluetoothScanNotification first = notification(-60);
+        filter.accept(ADDRESS, first);
+        assertEquals(-60, first.getRssi());
+
+        BluetoothScanNotification second = notification(-80);
+        filter.accept(ADDRESS, second);
+        assertEquals(-70, second.getRssi());
+    }
+
+    @Test
+    public void testServiceDataChange() {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setServiceData(Map.of("uuid", new byte[] { 1 }));
+        assertTrue(filter.accept(ADDRESS, notification));
+
+        notification = new BluetoothScanNotification();
+        notification.setServiceData(Map.of("uuid", new byte[] { 1 }));
+        assertFalse(filter.accept(ADDRESS, notification));
+
+        notification = new BluetoothScanNotification();
+        notification.setServiceData(Map.of("uuid", new byte[] { 2 }));
+        assertTrue(filter.accept(ADDRESS, notification));
+    }
+
+    @Test
+    public void testUnclaimedCache() {
+        assertFalse(filter.isUnclaimed(ADDRESS));
+        filter.markUnclaimed(ADDRESS);
+        assertTrue(filter.isUnclaimed(ADDRESS));
+
+        now += config.unclaimedDeviceCacheTime * 1000L;
+        assertFalse(filter.isUnclaimed(ADDRESS));
+
+        filter.markUnclaimed(ADDRESS);
+        filter.clearUnclaimed();
+        assertFalse(filter.isUnclaimed(ADDRESS));
+    }
+}
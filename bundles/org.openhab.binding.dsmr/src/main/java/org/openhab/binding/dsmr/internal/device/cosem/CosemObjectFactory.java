@@ -27,11 +27,23 @@ import org.slf4j.LoggerFactory;
  * Factory for constructing Cosem Objects from Strings
  *
  * @author M. Volaart - Initial contribution
+ * @author Contributors to the openHAB project - Cache the parsed OBIS identifiers
  */
 @NonNullByDefault
 public class CosemObjectFactory {
+    /**
+     * Limits the number of cached OBIS identifiers, so corrupt telegrams can not fill the cache.
+     */
+    private static final int MAX_CACHED_OBIS_IDENTIFIERS = 256;
+
     private final Logger logger = LoggerFactory.getLogger(CosemObjectFactory.class);
 
+    /**
+     * Cache of the OBIS identifiers parsed from the OBIS id strings. A meter sends the same identifiers in every
+     * telegram, so each is only parsed once.
+     */
+    private final Map<String, ParsedOBISIdentifier> parsedObisIdentifiers = new HashMap<>();
+
     /**
      * Lookup cache for fixed OBIS Identifiers
      */
@@ -79,18 +91,25 @@ public class CosemObjectFactory {
      * @return CosemObject or null if parsing failed
      */
     public @Nullable CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
-        OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
-        OBISIdentifier reducedObisIdGroupE;
+        ParsedOBISIdentifier parsedObisId = parsedObisIdentifiers.get(obisIdString);
 
-        try {
-            obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
-            reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
-        } catch (final ParseException pe) {
-            logger.debug("Received invalid OBIS identifier: {}", obisIdString);
-            return null;
+        if (parsedObisId == null) {
+            try {
+                final OBISIdentifier parsedId = new OBISIdentifier(obisIdString);
+
+                parsedObisId = new ParsedOBISIdentifier(parsedId, parsedId.getReducedOBISIdentifier(),
+                        parsedId.getReducedOBISIdentifierGroupE());
+            } catch (final ParseException pe) {
+                logger.debug("Received invalid OBIS identifier: {}", obisIdString);
+                return null;
+            }
+            if (parsedObisIdentifiers.size() < MAX_CACHED_OBIS_IDENTIFIERS) {
+                parsedObisIdentifiers.put(obisIdString, parsedObisId);
+            }
         }
+        final OBISIdentifier obisId = parsedObisId.obisId();
+        final OBISIdentifier reducedObisId = parsedObisId.reducedObisId();
+        final OBISIdentifier reducedObisIdGroupE = parsedObisId.reducedObisIdGroupE();
 
         logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
 
@@ -145,4 +164,11 @@ public class CosemObjectFactory {
         }
         return null;
     }
+
+    /**
+     * An OBIS identifier together with its reduced identifiers used for the lookup.
+     */
+    private record ParsedOBISIdentifier(OBISIdentifier obisId, OBISIdentifier reducedObisId,
+            OBISIdentifier reducedObisIdGroupE) {
+    }
 }
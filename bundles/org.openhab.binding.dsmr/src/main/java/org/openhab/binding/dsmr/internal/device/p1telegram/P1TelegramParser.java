@@ -19,7 +19,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.connector.DSMRErrorStatus;
@@ -36,6 +35,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Removed asynchronous call and some clean up
+ * @author Contributors to the openHAB project - Read the CRC value without intermediate strings
  */
 @NonNullByDefault
 public class P1TelegramParser implements TelegramParser {
@@ -61,9 +61,14 @@ public class P1TelegramParser implements TelegramParser {
     }
 
     /**
-     * Pattern for the CRC-code
+     * Number of hexadecimal digits of the CRC-code
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int CRC_LENGTH = 4;
+
+    /**
+     * Marks a CRC value that contains other characters than upper case hexadecimal digits
+     */
+    private static final int CRC_INVALID = -1;
 
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
@@ -85,9 +90,14 @@ public class P1TelegramParser implements TelegramParser {
     private final StringBuilder rawData = new StringBuilder();
 
     /**
-     * Current crc value read.
+     * Current crc value read, or {@link #CRC_INVALID} if it is not a valid CRC value.
+     */
+    private int crcValue;
+
+    /**
+     * Number of characters of the current crc value read.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValueLength;
 
     /**
      * CRC calculation helper
@@ -253,10 +263,13 @@ public class P1TelegramParser implements TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        if (logger.isTraceEnabled()) {
+                            logger.trace("telegramState {}, crcValue to check 0x{}", telegramState,
+                                    Integer.toHexString(crcValue));
+                        }
                         // Only perform CRC check if telegram is still ok
 
-                        if (telegramState.isEmpty() && crcValue.length() > 0) {
+                        if (telegramState.isEmpty() && crcValueLength > 0) {
                             telegramState = checkCRC();
                         }
                         processTelegram();
@@ -280,18 +293,17 @@ public class P1TelegramParser implements TelegramParser {
     private Optional<DSMRErrorStatus> checkCRC() {
         final Optional<DSMRErrorStatus> telegramState;
 
-        if (Pattern.matches(CRC_PATTERN, crcValue)) {
-            final int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+        if (crcValueLength == CRC_LENGTH && crcValue != CRC_INVALID) {
             final int calculatedCRC = crc.getCurrentCRCCode();
 
-            if (logger.isDebugEnabled()) {
-                logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
+            if (logger.isTraceEnabled()) {
+                logger.trace("received CRC value: {}, calculated CRC value: 0x{}", String.format("%04X", crcValue),
                         String.format("%04X", calculatedCRC));
             }
-            if (crcP1Telegram != calculatedCRC) {
+            if (crcValue != calculatedCRC) {
                 if (test) {
                     throw new IllegalArgumentException(
-                            String.format("Invalid CRC. Read: %s, expected: %04X", crcValue, calculatedCRC));
+                            String.format("Invalid CRC. Read: %04X, expected: %04X", crcValue, calculatedCRC));
                 }
                 logger.trace("CRC value does not match, p1 Telegram failed");
 
@@ -386,7 +398,7 @@ public class P1TelegramParser implements TelegramParser {
                 if (c == '!') {
                     crc.processByte((byte) c);
                 } else {
-                    crcValue.append(c);
+                    appendCrcValue(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -395,6 +407,25 @@ public class P1TelegramParser implements TelegramParser {
         }
     }
 
+    /**
+     * Adds a character of the CRC value, which consists of upper case hexadecimal digits.
+     *
+     * @param c the character to add
+     */
+    private void appendCrcValue(final char c) {
+        crcValueLength++;
+        if (crcValue == CRC_INVALID) {
+            return;
+        }
+        if (c >= '0' && c <= '9') {
+            crcValue = (crcValue << 4) | (c - '0');
+        } else if (c >= 'A' && c <= 'F') {
+            crcValue = (crcValue << 4) | (c - 'A' + 10);
+        } else {
+            crcValue = CRC_INVALID;
+        }
+    }
+
     /**
      * Clears all internal state
      */
@@ -402,7 +433,8 @@ public class P1TelegramParser implements TelegramParser {
         obisId.setLength(0);
         obisValue.setLength(0);
         rawData.setLength(0);
-        crcValue.setLength(0);
+        crcValue = 0;
+        crcValueLength = 0;
         crc.initialize();
         cosemObjects.clear();
         unknownCosemObjects.clear();
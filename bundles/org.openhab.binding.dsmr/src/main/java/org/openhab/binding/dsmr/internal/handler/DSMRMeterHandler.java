@@ -13,7 +13,9 @@
 package org.openhab.binding.dsmr.internal.handler;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -48,6 +50,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Separated thing state update cycle from meter values received cycle
+ * @author Contributors to the openHAB project - Only update channels with changed values
  */
 @NonNullByDefault
 public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramListener {
@@ -64,6 +67,11 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      */
     private List<CosemObject> lastReceivedValues = Collections.emptyList();
 
+    /**
+     * Last state set for each channel. Only channels with a different state are updated.
+     */
+    private final Map<String, State> publishedStates = new HashMap<>();
+
     /**
      * Reference to the meter watchdog.
      */
@@ -89,7 +97,7 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     @Override
     public void handleCommand(final ChannelUID channelUID, final Command command) {
         if (command == RefreshType.REFRESH) {
-            updateState();
+            refresh();
         }
     }
 
@@ -131,9 +139,17 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     }
 
     /**
-     * Updates the state of all channels from the last received Cosem values from the meter. The lastReceivedValues are
+     * Updates all channels with the next received values, even if their state has not changed.
+     */
+    private synchronized void refresh() {
+        publishedStates.clear();
+        updateState();
+    }
+
+    /**
+     * Updates the state of the channels from the last received Cosem values from the meter. The lastReceivedValues are
      * cleared after processing here so when it does contain values the next time this method is called and it contains
-     * values those are new values.
+     * values those are new values. Only the channels whose state differs from the last state set are updated.
      */
     private synchronized void updateState() {
         logger.trace("Update state for device: {}", getThing().getThingTypeUID().getId());
@@ -145,8 +161,12 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
                             + (entry.getKey().isEmpty() ? "" : "_" + entry.getKey());
 
                     final State newState = entry.getValue();
-                    logger.debug("Updating state for channel {} to value {}", channel, newState);
-                    updateState(channel, newState);
+                    if (newState.equals(publishedStates.put(channel, newState))) {
+                        logger.trace("State for channel {} unchanged: {}", channel, newState);
+                    } else {
+                        logger.debug("Updating state for channel {} to value {}", channel, newState);
+                        updateState(channel, newState);
+                    }
                 }
             }
             if (ThingHandlerHelper.isHandlerInitialized(getThing()) && getThing().getStatus() != ThingStatus.ONLINE) {
@@ -216,8 +236,9 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      * @param status off line status
      * @param details off line detailed message
      */
-    private void setDeviceOffline(final ThingStatusDetail status, @Nullable final String details) {
+    private synchronized void setDeviceOffline(final ThingStatusDetail status, @Nullable final String details) {
         updateStatus(ThingStatus.OFFLINE, status, details);
         getThing().getChannels().forEach(c -> updateState(c.getUID(), UnDefType.NULL));
+        publishedStates.clear();
     }
 }
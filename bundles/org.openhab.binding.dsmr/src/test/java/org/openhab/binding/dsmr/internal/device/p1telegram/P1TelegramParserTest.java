@@ -12,20 +12,25 @@
  */
 package org.openhab.binding.dsmr.internal.device.p1telegram;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.TelegramReaderUtil.P1TelegramListenerImpl;
+import org.openhab.binding.dsmr.internal.device.connector.DSMRErrorStatus;
 
 /**
  * Test class for {@link P1TelegramParser}.
  *
  * @author Hilbrand Bouwkamp - Initial contribution
+ * @author Contributors to the openHAB project - Added tests for repeated telegrams and invalid CRC values
  */
 @NonNullByDefault
 public class P1TelegramParserTest {
@@ -61,4 +66,38 @@ public class P1TelegramParserTest {
                 telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum(),
                 "Expected number of objects");
     }
+
+    @Test
+    public void testRepeatedTelegrams() {
+        final byte[] telegram = TelegramReaderUtil.readRawTelegram("dsmr_50");
+        final P1TelegramListenerImpl listener = new P1TelegramListenerImpl();
+        final P1TelegramParser parser = new P1TelegramParser(listener, true);
+
+        for (int i = 0; i < 3; i++) {
+            listener.telegram = null;
+            parser.parse(telegram, telegram.length);
+            final P1Telegram p1Telegram = listener.telegram;
+
+            assertNotNull(p1Telegram, "Expected a telegram for each repetition");
+            assertEquals(41, p1Telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum(),
+                    "Expected number of objects");
+        }
+        assertNull(listener.state, "Expected TelegramState should not be set");
+    }
+
+    @Test
+    public void testInvalidCrcValue() {
+        final String telegram = new String(TelegramReaderUtil.readRawTelegram("dsmr_50"), StandardCharsets.UTF_8);
+        final P1TelegramListenerImpl listener = new P1TelegramListenerImpl();
+        final P1TelegramParser parser = new P1TelegramParser(listener);
+
+        for (final String crcValue : List.of("!E361", "!E36G", "!e360", "!E36")) {
+            listener.state = null;
+            final byte[] data = telegram.replace("!E360", crcValue).getBytes(StandardCharsets.UTF_8);
+
+            parser.parse(data, data.length);
+            assertEquals(DSMRErrorStatus.TELEGRAM_CRC_ERROR, listener.state, "Expected CRC error for " + crcValue);
+        }
+        assertNull(listener.telegram, "No telegram should have been received");
+    }
 }
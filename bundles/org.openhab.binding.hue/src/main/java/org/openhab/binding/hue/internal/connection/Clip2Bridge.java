@@ -12,14 +12,12 @@
  */
 package org.openhab.binding.hue.internal.connection;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.Reader;
 import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
 import java.net.URI;
@@ -95,11 +93,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
 
 /**
  * This class handles HTTP and SSE connections to/from a Hue Bridge running CLIP 2.
@@ -258,10 +252,6 @@ public class Clip2Bridge implements Closeable {
             return new String(buffer, 0, usedSize, StandardCharsets.UTF_8);
         }
 
-        public Reader contentStreamReader() {
-            return new InputStreamReader(new ByteArrayInputStream(buffer, 0, usedSize), StandardCharsets.UTF_8);
-        }
-
         public void reset() {
             usedSize = 0;
         }
@@ -270,10 +260,9 @@ public class Clip2Bridge implements Closeable {
     /**
      * Adapter for listening to SSE event stream events.
      *
-     * It receives the incoming text lines. Receipt of the first data line causes the CompletableFuture to complete. It
-     * then parses subsequent data according to the SSE specification. If the line starts with a 'data:' message, it
-     * adds the data to the list of strings. And if the line is empty (i.e. the last line of an event), it passes the
-     * full set of strings to the owner via a call-back method.
+     * It passes the incoming data frames to a {@link ServerSentEventParser}. Receipt of the first message causes the
+     * CompletableFuture to complete. For each subsequent message with a 'data' field, it passes the data to the owner
+     * via a call-back method.
      *
      * The stream must be permanently connected, so it ignores onIdleTimeout() events.
      *
@@ -284,7 +273,7 @@ public class Clip2Bridge implements Closeable {
      * <li>onReset()</li>
      */
     private class EventStreamListenerAdapter extends BaseStreamListenerAdapter<Boolean> {
-        private final DataFrameCollector eventData = new DataFrameCollector();
+        private final ServerSentEventParser eventParser = new ServerSentEventParser(this::onEvent);
 
         @Override
         public void onClosed(@Nullable Stream stream) {
@@ -304,36 +293,21 @@ public class Clip2Bridge implements Closeable {
             Objects.requireNonNull(frame);
             Objects.requireNonNull(callback);
             synchronized (this) {
-                eventData.append(frame.getData());
-                BufferedReader reader = new BufferedReader(eventData.contentStreamReader());
-                @SuppressWarnings("null")
-                List<String> receivedLines = reader.lines().toList();
-
-                // a blank line marks the end of an SSE message
-                boolean endOfMessage = !receivedLines.isEmpty()
-                        && receivedLines.get(receivedLines.size() - 1).isBlank();
-
-                if (endOfMessage) {
-                    eventData.reset();
-                    // receipt of ANY message means the event stream is established
-                    if (!completable.isDone()) {
-                        completable.complete(Boolean.TRUE);
-                    }
-                    // append any 'data' field values to the event message
-                    StringBuilder eventContent = new StringBuilder();
-                    for (String receivedLine : receivedLines) {
-                        if (receivedLine.startsWith("data:")) {
-                            eventContent.append(receivedLine.substring(5).stripLeading());
-                        }
-                    }
-                    if (eventContent.length() > 0) {
-                        onEventData(eventContent.toString().trim());
-                    }
-                }
+                eventParser.parse(frame.getData());
             }
             callback.succeeded();
         }
 
+        private void onEvent(ByteBuffer data) {
+            // receipt of ANY message means the event stream is established
+            if (!completable.isDone()) {
+                completable.complete(Boolean.TRUE);
+            }
+            if (data.hasRemaining()) {
+                onEventData(data);
+            }
+        }
+
         @Override
         public boolean onIdleTimeout(@Nullable Stream stream, @Nullable Throwable x) {
             return false;
@@ -1092,33 +1066,25 @@ public class Clip2Bridge implements Closeable {
      * Event entries, converts the list of events to a list of resources, and forwards that list to the bridge
      * handler.
      *
-     * @param data the incoming (presumed to be JSON) text.
+     * @param data the incoming (presumed to be JSON) UTF-8 encoded text, only valid during the call.
      */
-    protected void onEventData(String data) {
+    protected void onEventData(ByteBuffer data) {
         if (onlineState != State.ACTIVE && !recreatingSession) {
             return;
         }
         if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace("onEventData() data:{}", data);
+            LOGGER.trace("onEventData() data:{}", StandardCharsets.UTF_8.decode(data.duplicate()));
         } else {
-            LOGGER.debug("onEventData() data length:{}", data.length());
-        }
-        JsonElement jsonElement;
-        try {
-            jsonElement = JsonParser.parseString(data);
-        } catch (JsonSyntaxException e) {
-            LOGGER.debug("onEventData() invalid data '{}'", data, e);
-            return;
-        }
-        if (!(jsonElement instanceof JsonArray)) {
-            LOGGER.debug("onEventData() data is not a JsonArray {}", data);
-            return;
+            LOGGER.debug("onEventData() data length:{}", data.remaining());
         }
         List<Event> events;
         try {
-            events = jsonParser.fromJson(jsonElement, Event.EVENT_LIST_TYPE);
+            // parse the events directly from the received bytes, without a String or JsonElement tree in between
+            events = jsonParser.fromJson(new InputStreamReader(
+                    new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position(), data.remaining()),
+                    StandardCharsets.UTF_8), Event.EVENT_LIST_TYPE);
         } catch (JsonParseException e) {
-            LOGGER.debug("onEventData() parsing error json:{}", data, e);
+            LOGGER.debug("onEventData() parsing error json:{}", StandardCharsets.UTF_8.decode(data.duplicate()), e);
             return;
         }
         if (Objects.isNull(events) || events.isEmpty()) {
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Incremental parser for a server-sent events (SSE) stream.
+ *
+ * The bytes of the stream are parsed as they arrive, so an event split over several HTTP 2 data frames does not
+ * require the previously received frames to be parsed again. Only the values of the 'data' fields are collected,
+ * other fields and comments are skipped without decoding them. A blank line ends an event, and the collected data
+ * is passed to the consumer.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ServerSentEventParser {
+    private static final byte[] DATA_FIELD = { 'd', 'a', 't', 'a', ':' };
+
+    private final Consumer<ByteBuffer> eventConsumer;
+
+    private byte[] data = new byte[4096];
+    private int dataLength;
+    private int lineLength;
+    private boolean dataFieldPrefix = true;
+    private boolean dataLine;
+    private boolean skipSpace;
+    private boolean lastWasCarriageReturn;
+
+    /**
+     * @param eventConsumer called at the end of each event with the UTF-8 encoded data of the event, which is empty
+     *            if the event had no 'data' field. The buffer is only valid during the call.
+     */
+    public ServerSentEventParser(Consumer<ByteBuffer> eventConsumer) {
+        this.eventConsumer = eventConsumer;
+    }
+
+    /**
+     * Parse the next part of the stream.
+     *
+     * @param frame the received bytes, the buffer position is moved to its limit.
+     */
+    public void parse(ByteBuffer frame) {
+        while (frame.hasRemaining()) {
+            byte b = frame.get();
+            if (b == '\n' && lastWasCarriageReturn) {
+                // second half of a CRLF line end
+                lastWasCarriageReturn = false;
+                continue;
+            }
+            lastWasCarriageReturn = b == '\r';
+            if (b == '\n' || b == '\r') {
+                endOfLine();
+            } else if (lineLength < DATA_FIELD.length) {
+                dataFieldPrefix &= b == DATA_FIELD[lineLength];
+                lineLength++;
+                if (lineLength == DATA_FIELD.length && dataFieldPrefix) {
+                    startDataLine();
+                }
+            } else {
+                lineLength++;
+                if (dataLine && !(skipSpace && b == ' ')) {
+                    append(b);
+                }
+                skipSpace = false;
+            }
+        }
+    }
+
+    private void startDataLine() {
+        dataLine = true;
+        skipSpace = true;
+        if (dataLength > 0) {
+            // the values of several 'data' fields of one event are joined by a line feed
+            append((byte) '\n');
+        }
+    }
+
+    private void endOfLine() {
+        if (lineLength == 0) {
+            try {
+                eventConsumer.accept(ByteBuffer.wrap(data, 0, dataLength));
+            } finally {
+                dataLength = 0;
+            }
+        }
+        resetLine();
+    }
+
+    private void resetLine() {
+        lineLength = 0;
+        dataFieldPrefix = true;
+        dataLine = false;
+        skipSpace = false;
+    }
+
+    private void append(byte b) {
+        if (dataLength == data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        data[dataLength++] = b;
+    }
+}
@@ -15,8 +15,10 @@ package org.openhab.binding.hue.internal.handler;
 import static org.openhab.binding.hue.internal.HueBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -42,6 +44,7 @@ import org.openhab.binding.hue.internal.api.dto.clip2.ResourceReference;
 import org.openhab.binding.hue.internal.api.dto.clip2.Resources;
 import org.openhab.binding.hue.internal.api.dto.clip2.enums.Archetype;
 import org.openhab.binding.hue.internal.api.dto.clip2.enums.CategoryType;
+import org.openhab.binding.hue.internal.api.dto.clip2.enums.ContentType;
 import org.openhab.binding.hue.internal.api.dto.clip2.enums.ResourceType;
 import org.openhab.binding.hue.internal.api.dto.clip2.enums.UpdateStatusV2;
 import org.openhab.binding.hue.internal.api.dto.clip2.helper.Setters;
@@ -87,6 +90,7 @@ import org.slf4j.LoggerFactory;
  * V2 resource objects. It also subscribes to the server's SSE event stream, and receives SSE events from it.
  *
  * @author Andrew Fiddian-Green - Initial contribution.
+ * @author Contributors to the openHAB project - Route event resources to the things by resource id
  */
 @NonNullByDefault
 public class Clip2BridgeHandler extends BaseBridgeHandler {
@@ -159,7 +163,19 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     private @Nullable Future<?> pollSoftwareStatusTask;
     private @Nullable Future<?> afterUpdateTask;
 
-    private Map<Integer, Future<?>> resourcesEventTasks = new ConcurrentHashMap<>();
+    /*
+     * Resources received from the event stream, which are not yet passed to the child things. The resources of an
+     * event burst are collected here, so that they are merged and dispatched by one task.
+     */
+    private final List<Resource> pendingEventResources = new ArrayList<>();
+    private @Nullable Future<?> resourcesEventTask;
+
+    /*
+     * Map of resource id's to the child thing handlers, which consume the event resources with the respective id.
+     * It is rebuilt lazily, after a child thing handler was added or removed, or has changed its resources.
+     */
+    private Map<String, List<Clip2ThingHandler>> resourceRoutes = Map.of();
+    private volatile boolean resourceRoutesValid;
 
     private boolean assetsLoaded;
     private volatile boolean softwareUpdateReadyNotificationSent;
@@ -315,6 +331,23 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        invalidateResourceRoutes();
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        invalidateResourceRoutes();
+    }
+
+    /**
+     * Called by a child thing handler when the resource id's, whose events it consumes, have changed.
+     */
+    public void invalidateResourceRoutes() {
+        resourceRoutesValid = false;
+    }
+
     @Override
     public void dispose() {
         if (assetsLoaded) {
@@ -342,9 +375,10 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
             scheduledUpdateTask = null;
             pollSoftwareStatusTask = null;
             afterUpdateTask = null;
-            synchronized (resourcesEventTasks) {
-                resourcesEventTasks.values().forEach(task -> cancelTask(task, true));
-                resourcesEventTasks.clear();
+            synchronized (pendingEventResources) {
+                cancelTask(resourcesEventTask, true);
+                resourcesEventTask = null;
+                pendingEventResources.clear();
             }
             ServiceRegistration<?> registration = trustManagerRegistration;
             if (Objects.nonNull(registration)) {
@@ -608,24 +642,51 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Called when an SSE event message comes in with a valid list of resources. For each resource received, inform all
-     * child thing handlers with the respective resource.
+     * Called when an SSE event message comes in with a valid list of resources. The resources are queued, and a task
+     * passes them to the child thing handlers, which consume them.
      *
      * @param resources a list of incoming resource objects.
      */
     public void onResourcesEvent(List<Resource> resources) {
         if (assetsLoaded) {
-            synchronized (resourcesEventTasks) {
-                int index = resourcesEventTasks.size();
-                resourcesEventTasks.put(index, scheduler.submit(() -> {
-                    onResourcesEventTask(resources);
-                    resourcesEventTasks.remove(index);
-                }));
+            synchronized (pendingEventResources) {
+                pendingEventResources.addAll(resources);
+                if (Objects.isNull(resourcesEventTask)) {
+                    resourcesEventTask = scheduler.submit(() -> onResourcesEventTask());
+                }
             }
         }
     }
 
-    private void onResourcesEventTask(List<Resource> resources) {
+    /**
+     * Dispatch the queued event resources, including those which arrive while dispatching.
+     */
+    private void onResourcesEventTask() {
+        while (true) {
+            List<Resource> resources;
+            synchronized (pendingEventResources) {
+                if (pendingEventResources.isEmpty()) {
+                    resourcesEventTask = null;
+                    return;
+                }
+                resources = new ArrayList<>(pendingEventResources);
+                pendingEventResources.clear();
+            }
+            try {
+                dispatchResources(resources);
+            } catch (RuntimeException e) {
+                logger.warn("onResourcesEventTask() unexpected exception", e);
+            }
+        }
+    }
+
+    /**
+     * Merge the resources with the same id, and pass each child thing handler only the resources with the id's it
+     * consumes. Added scenes are passed to all child thing handlers, as they are not yet known to any of them.
+     *
+     * @param resources a list of incoming resource objects.
+     */
+    private void dispatchResources(List<Resource> resources) {
         int numberOfResources = resources.size();
         logger.debug("onResourcesEventTask() resource count {}", numberOfResources);
         Setters.mergeLightResources(resources);
@@ -635,11 +696,51 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         if (onResources(resources)) {
             updateAutomationChannelsNow();
         }
-        getThing().getThings().forEach(thing -> {
+        Map<String, List<Clip2ThingHandler>> routes = getResourceRoutes();
+        Map<Clip2ThingHandler, List<Resource>> routedResources = new LinkedHashMap<>();
+        for (Resource resource : resources) {
+            List<Clip2ThingHandler> handlers = isSceneAdded(resource) ? getChildHandlers()
+                    : routes.getOrDefault(resource.getId(), List.of());
+            for (Clip2ThingHandler handler : handlers) {
+                routedResources.computeIfAbsent(handler, h -> new ArrayList<>()).add(resource);
+            }
+        }
+        routedResources.forEach((handler, handlerResources) -> handler.onResources(handlerResources));
+    }
+
+    private static boolean isSceneAdded(Resource resource) {
+        ResourceType type = resource.getType();
+        return (type == ResourceType.SCENE || type == ResourceType.SMART_SCENE)
+                && resource.getContentType() == ContentType.ADD;
+    }
+
+    private List<Clip2ThingHandler> getChildHandlers() {
+        List<Clip2ThingHandler> handlers = new ArrayList<>();
+        for (Thing thing : getThing().getThings()) {
             if (thing.getHandler() instanceof Clip2ThingHandler clip2ThingHandler) {
-                clip2ThingHandler.onResources(resources);
+                handlers.add(clip2ThingHandler);
             }
-        });
+        }
+        return handlers;
+    }
+
+    /**
+     * Get the map of resource id's to the child thing handlers, rebuilding it if it was invalidated.
+     */
+    private Map<String, List<Clip2ThingHandler>> getResourceRoutes() {
+        if (!resourceRoutesValid) {
+            // set the flag before collecting the id's, so that a concurrent invalidation is not lost
+            resourceRoutesValid = true;
+            Map<String, List<Clip2ThingHandler>> routes = new HashMap<>();
+            for (Clip2ThingHandler handler : getChildHandlers()) {
+                for (String resourceId : handler.getRoutedResourceIds()) {
+                    routes.computeIfAbsent(resourceId, id -> new ArrayList<>()).add(handler);
+                }
+            }
+            resourceRoutes = routes;
+            logger.debug("getResourceRoutes() routes rebuilt for {} resource id's", routes.size());
+        }
+        return resourceRoutes;
     }
 
     /**
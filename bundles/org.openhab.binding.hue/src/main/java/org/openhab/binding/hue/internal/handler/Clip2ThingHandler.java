@@ -109,6 +109,7 @@ import org.slf4j.LoggerFactory;
  * Handler for things based on CLIP 2 'device', 'room', or 'zone resources.
  *
  * @author Andrew Fiddian-Green - Initial contribution.
+ * @author Contributors to the openHAB project - Receive only the resources routed to this thing
  */
 @NonNullByDefault
 public class Clip2ThingHandler extends BaseThingHandler {
@@ -761,6 +762,29 @@ public class Clip2ThingHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Get the ids of the resources, which contribute to the state of this thing. The bridge handler only passes event
+     * resources with these ids to {@link #onResources(Collection)}, apart from new scenes.
+     *
+     * @return the ids of this thing's own resource, and of its service and scene contributors.
+     */
+    public Set<String> getRoutedResourceIds() {
+        Set<String> resourceIds = new HashSet<>(serviceContributorsCache.keySet());
+        resourceIds.addAll(sceneContributorsCache.keySet());
+        resourceIds.add(resourceId);
+        return resourceIds;
+    }
+
+    /**
+     * Inform the bridge handler that the ids returned by {@link #getRoutedResourceIds()} have changed.
+     */
+    private void updateResourceRoutes() {
+        Bridge bridge = getBridge();
+        if (Objects.nonNull(bridge) && bridge.getHandler() instanceof Clip2BridgeHandler clip2BridgeHandler) {
+            clip2BridgeHandler.invalidateResourceRoutes();
+        }
+    }
+
     /**
      * Update the channel state depending on a new resource sent from the bridge.
      *
@@ -841,6 +865,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
                     sceneContributorsCache.put(sceneResource.getId(), sceneResource);
                     sceneResourceEntries.put(sceneResource.getName(), sceneResource);
                     updateSceneChannelStateDescription();
+                    updateResourceRoutes();
                     return FLAG_SCENE_ADD;
                 }
                 break;
@@ -849,6 +874,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
                 if (Objects.nonNull(deletedScene)) {
                     sceneResourceEntries.remove(deletedScene.getName());
                     updateSceneChannelStateDescription();
+                    updateResourceRoutes();
                     return FLAG_SCENE_DELETE;
                 }
             default:
@@ -1335,6 +1361,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
             serviceContributorsCache.clear();
             serviceContributorsCache.putAll(services.stream()
                     .collect(Collectors.toMap(ResourceReference::getId, r -> new Resource(r.getType()))));
+            updateResourceRoutes();
 
             // add supported services to commandResourceIds
             commandResourceIds.clear();
@@ -1490,6 +1517,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
                 logger.debug("{} -> updateSceneContributors() found {} normal resp. smart scenes", resourceId,
                         scenes.size());
             }
+            updateResourceRoutes();
             updateSceneContributorsDone = true;
         }
         return updateSceneContributorsDone;
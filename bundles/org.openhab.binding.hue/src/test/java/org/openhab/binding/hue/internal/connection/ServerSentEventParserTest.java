@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonParser;
+
+/**
+ * Tests for {@link ServerSentEventParser}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ServerSentEventParserTest {
+
+    private final List<String> events = new ArrayList<>();
+    private final ServerSentEventParser parser = new ServerSentEventParser(
+            data -> events.add(StandardCharsets.UTF_8.decode(data).toString()));
+
+    @Test
+    public void replayEventStreamInFrames() throws IOException {
+        String eventJson = JsonParser.parseString(Files.readString(Path.of("src/test/resources/event.json")))
+                .toString();
+        String stream = ": hi\n\n" + ("id: 1666094565:0\ndata: " + eventJson + "\n\n").repeat(3);
+        byte[] bytes = stream.getBytes(StandardCharsets.UTF_8);
+
+        // feed the stream in frames of varying size, so that lines and events are split at any position
+        for (int offset = 0, size = 1; offset < bytes.length; offset += size, size = size * 3 % 1021) {
+            parser.parse(ByteBuffer.wrap(bytes, offset, Math.min(size, bytes.length - offset)));
+        }
+
+        assertEquals(List.of("", eventJson, eventJson, eventJson), events);
+    }
+
+    @Test
+    public void lineEndsAndMultipleDataFields() {
+        String stream = "data:[1,\r\ndata:  2]\r\n\r\nevent: x\rdata: äö\r\rdat: 3\n\n";
+        parser.parse(ByteBuffer.wrap(stream.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(List.of("[1,\n 2]", "äö", ""), events);
+    }
+}
@@ -48,6 +48,7 @@ public class ICalendarBindingConstants {
 
     // additional constants
     public static final int HTTP_TIMEOUT_SECS = 60;
+    public static final int DEFAULT_INDEX_DAYS = 366;
     public static final String DATETIME_UNIT_MINUTE = "minute";
     public static final String DATETIME_UNIT_HOUR = "hour";
     public static final String DATETIME_UNIT_DAY = "day";
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.ScheduledFuture;
@@ -213,6 +214,16 @@ public class ICalendarHandler extends BaseBridgeHandler implements CalendarUpdat
         }
     }
 
+    @Override
+    public void onCalendarUnchanged() {
+        if (runtimeCalendar == null) {
+            onCalendarUpdated();
+            return;
+        }
+        calendarDownloadedTime = Instant.ofEpochMilli(calendarFile.lastModified());
+        updateStates();
+    }
+
     /**
      * @return the calendar that is used for all operations
      */
@@ -313,8 +324,11 @@ public class ICalendarHandler extends BaseBridgeHandler implements CalendarUpdat
             logger.warn("Can't reload calendar when configuration is missing.");
             return false;
         }
+        final BigDecimal indexDaysBD = config.indexDays;
+        final long indexDays = indexDaysBD != null ? indexDaysBD.longValue() : DEFAULT_INDEX_DAYS;
         try (final FileInputStream fileStream = new FileInputStream(calendarFile)) {
-            final AbstractPresentableCalendar calendar = AbstractPresentableCalendar.create(fileStream);
+            final AbstractPresentableCalendar calendar = AbstractPresentableCalendar.create(fileStream,
+                    Duration.ofDays(indexDays));
             runtimeCalendar = calendar;
             rescheduleCalendarStateUpdate();
             calendarDownloadedTime = Instant.ofEpochMilli(calendarFile.lastModified());
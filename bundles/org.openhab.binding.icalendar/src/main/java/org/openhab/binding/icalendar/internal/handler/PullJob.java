@@ -22,6 +22,9 @@ import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -45,6 +48,10 @@ import org.slf4j.LoggerFactory;
 /**
  * The Job for pulling an update of a calendar. Fires
  * {@link CalendarUpdateListener#onCalendarUpdated()} after successful update.
+ * The download is made conditional on the validators of the last download, if
+ * the server provided any. If the calendar did not change, it is not parsed
+ * again and {@link CalendarUpdateListener#onCalendarUnchanged()} is fired
+ * instead.
  *
  * @author Michael Wodniok - Initial contribution
  * @author Michael Wodniok - Added better descriptions for some errors while
@@ -62,6 +69,9 @@ class PullJob implements Runnable {
     private final int maxSize;
     private final URI sourceURI;
     private @Nullable final String userAgent;
+    private @Nullable String entityTag;
+    private @Nullable String lastModified;
+    private byte @Nullable [] contentDigest;
 
     /**
      * Constructor of PullJob for creating a single pull of a calendar.
@@ -100,6 +110,15 @@ class PullJob implements Runnable {
         if (currentAuthentication != null) {
             currentAuthentication.apply(request);
         }
+        final boolean localCopyExists = destination.isFile();
+        final String currentEntityTag = entityTag;
+        final String currentLastModified = lastModified;
+        if (localCopyExists && currentEntityTag != null) {
+            request.header(HttpHeader.IF_NONE_MATCH, currentEntityTag);
+        }
+        if (localCopyExists && currentLastModified != null) {
+            request.header(HttpHeader.IF_MODIFIED_SINCE, currentLastModified);
+        }
 
         final InputStreamResponseListener asyncListener = new InputStreamResponseListener();
         request.send(asyncListener);
@@ -122,6 +141,18 @@ class PullJob implements Runnable {
             return;
         }
 
+        if (response.getStatus() == HttpStatus.NOT_MODIFIED_304 && localCopyExists) {
+            logger.debug("Calendar \"{}\" was not modified since last download.", sourceURI);
+            try {
+                // nothing to read, releases the connection
+                asyncListener.getInputStream().close();
+            } catch (IOException e) {
+                logger.trace("Closing response failed: {}", e.getMessage());
+            }
+            notifyUnchanged();
+            return;
+        }
+
         if (response.getStatus() != HttpStatus.OK_200) {
             logger.warn("Response status for getting \"{}\" was {} instead of 200. Ignoring it.", sourceURI,
                     response.getStatus());
@@ -147,6 +178,14 @@ class PullJob implements Runnable {
             }
         }
 
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            logger.warn("Not able to create digest for downloaded iCal. Error message is: {}", e.getMessage());
+            return;
+        }
+
         File tmpTargetFile;
         try {
             tmpTargetFile = Files.createTempFile(TMP_FILE_PREFIX, null).toFile();
@@ -170,12 +209,24 @@ class PullJob implements Runnable {
                     return;
                 }
                 tmpOutStream.write(buffer, 0, currentReadBytes);
+                digest.update(buffer, 0, currentReadBytes);
             }
         } catch (IOException e) {
             logger.warn("Not able to write temporary file with downloaded iCal. Error Message is: {}", e.getMessage());
             return;
         }
 
+        final byte[] newContentDigest = digest.digest();
+        if (localCopyExists && Arrays.equals(newContentDigest, contentDigest)) {
+            logger.debug("Calendar \"{}\" has not changed since last download.", sourceURI);
+            if (!tmpTargetFile.delete()) {
+                logger.debug("Not able to delete temporary file {}", tmpTargetFile);
+            }
+            updateValidators(response);
+            notifyUnchanged();
+            return;
+        }
+
         try (final FileInputStream tmpInput = new FileInputStream(tmpTargetFile)) {
             AbstractPresentableCalendar.create(tmpInput);
         } catch (IOException | CalendarException e) {
@@ -191,6 +242,8 @@ class PullJob implements Runnable {
             logger.warn("Failed to replace iCal file. Error message is: {}", e.getMessage());
             return;
         }
+        contentDigest = newContentDigest;
+        updateValidators(response);
 
         try {
             listener.onCalendarUpdated();
@@ -199,6 +252,30 @@ class PullJob implements Runnable {
         }
     }
 
+    /**
+     * Remembers the validators of a response to make the next download conditional.
+     *
+     * @param response The response of the last successful download.
+     */
+    private void updateValidators(Response response) {
+        entityTag = response.getHeaders().get(HttpHeader.ETAG);
+        lastModified = response.getHeaders().get(HttpHeader.LAST_MODIFIED);
+    }
+
+    /**
+     * Marks the local copy as up to date and calls back.
+     */
+    private void notifyUnchanged() {
+        if (!destination.setLastModified(System.currentTimeMillis())) {
+            logger.debug("Not able to update modification time of {}", destination);
+        }
+        try {
+            listener.onCalendarUnchanged();
+        } catch (Exception e) {
+            logger.debug("An Exception was thrown while calling back", e);
+        }
+    }
+
     /**
      * Interface for calling back when the update succeed.
      */
@@ -207,6 +284,12 @@ class PullJob implements Runnable {
          * Callback when update was successful and result was placed onto target file.
          */
         public void onCalendarUpdated();
+
+        /**
+         * Callback when the calendar was checked successfully, but has not changed since the last update.
+         */
+        public default void onCalendarUnchanged() {
+        }
     }
 
     /**
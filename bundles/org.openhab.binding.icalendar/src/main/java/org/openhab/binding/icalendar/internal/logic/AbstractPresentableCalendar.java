@@ -14,6 +14,7 @@ package org.openhab.binding.icalendar.internal.logic;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
@@ -44,6 +45,21 @@ public abstract class AbstractPresentableCalendar {
         return new BiweeklyPresentableCalendar(calendarStream);
     }
 
+    /**
+     * Creates an implementing Instance of AbstractPresentableCalendar, which expands the occurrences of its events for
+     * the given time range at once to answer queries.
+     *
+     * @param calendarStream A Stream containing the iCal data.
+     * @param indexHorizon The time range occurrences are expanded for. Zero disables the expansion.
+     * @return The instance.
+     * @throws IOException When something while reading stream fails.
+     * @throws CalendarException When something while parsing fails.
+     */
+    public static AbstractPresentableCalendar create(InputStream calendarStream, Duration indexHorizon)
+            throws IOException, CalendarException {
+        return new BiweeklyPresentableCalendar(calendarStream, indexHorizon);
+    }
+
     /**
      * Searches the event currently (at given Instant) present.
      *
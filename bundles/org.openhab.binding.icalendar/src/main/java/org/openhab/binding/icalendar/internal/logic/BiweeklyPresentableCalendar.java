@@ -19,8 +19,11 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -28,6 +31,8 @@ import java.util.stream.Collectors;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.icalendar.internal.logic.EventTextFilter.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import biweekly.ICalendar;
 import biweekly.component.VEvent;
@@ -62,13 +67,33 @@ import biweekly.util.com.google.ical.compat.javautil.DateIterator;
  * @author Michael Wodniok - Extended logic for defined behavior with parallel current events
  *         (issue 10808)
  * @author Christian Heinemann - Extension for the time-based filtering strategy
+ * @author Contributors to the openHAB project - Occurrence index for event queries
  */
 @NonNullByDefault
 class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
+    static final Duration DEFAULT_INDEX_HORIZON = Duration.ofDays(366);
     private static final Duration ONE_DAY = Duration.ofDays(1).minusNanos(1);
+    private static final Duration INDEX_LOOK_BACK = Duration.ofDays(1);
+    private static final int MAX_INDEXED_OCCURRENCES_PER_EVENT = 10000;
+
+    private final Logger logger = LoggerFactory.getLogger(BiweeklyPresentableCalendar.class);
     private final ICalendar usedCalendar;
+    private final List<VEvent> positiveEvents = new ArrayList<>();
+    private final Map<String, List<VEvent>> negativeEventsByUid = new HashMap<>();
+    private final Duration indexHorizon;
+    private final Duration maxEventLength;
+    private volatile @Nullable OccurrenceIndex occurrenceIndex;
 
     BiweeklyPresentableCalendar(InputStream streamed) throws IOException, CalendarException {
+        this(streamed, DEFAULT_INDEX_HORIZON);
+    }
+
+    /**
+     * @param streamed A Stream containing the iCal data.
+     * @param indexHorizon The time range the occurrences of the events are expanded for at once to answer queries.
+     *            Set to zero to disable the index.
+     */
+    BiweeklyPresentableCalendar(InputStream streamed, Duration indexHorizon) throws IOException, CalendarException {
         try (final ICalReader reader = new ICalReader(streamed)) {
             final ICalendar currentCalendar = reader.readNext();
             if (currentCalendar == null) {
@@ -76,6 +101,25 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
             }
             this.usedCalendar = currentCalendar;
         }
+        this.indexHorizon = indexHorizon.isNegative() ? Duration.ZERO : indexHorizon;
+
+        final List<VEvent> negativeEvents = new ArrayList<>();
+        classifyEvents(positiveEvents, negativeEvents);
+        for (final VEvent negativeEvent : negativeEvents) {
+            final Uid negativeEventUid = negativeEvent.getUid();
+            if (negativeEventUid != null) {
+                negativeEventsByUid.computeIfAbsent(negativeEventUid.getValue(), uid -> new ArrayList<>())
+                        .add(negativeEvent);
+            }
+        }
+        Duration longestEvent = Duration.ZERO;
+        for (final VEvent positiveEvent : positiveEvents) {
+            final Duration eventLength = getEventLength(positiveEvent);
+            if (eventLength != null && eventLength.compareTo(longestEvent) > 0) {
+                longestEvent = eventLength;
+            }
+        }
+        this.maxEventLength = longestEvent;
     }
 
     @Override
@@ -102,10 +146,16 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public @Nullable Event getNextEvent(Instant instant) {
+        final OccurrenceIndex index = getOccurrenceIndex(instant, instant);
+        if (index != null) {
+            final VEventWPeriod nextOccurrence = index.getFirstStartingAfter(instant);
+            if (nextOccurrence != null) {
+                return nextOccurrence.toEvent();
+            }
+            // the next event may start after the range of the index
+        }
+
         final Collection<VEventWPeriod> candidates = new ArrayList<>();
-        final Collection<VEvent> negativeEvents = new ArrayList<>();
-        final Collection<VEvent> positiveEvents = new ArrayList<>();
-        classifyEvents(positiveEvents, negativeEvents);
         for (final VEvent currentEvent : positiveEvents) {
             final DateIterator startDates = this.getRecurredEventDateIterator(currentEvent);
             final Duration duration = getEventLength(currentEvent);
@@ -117,7 +167,7 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
                 final Instant startInstant = startDates.next().toInstant();
                 if (startInstant.isAfter(instant)) {
                     final Uid currentEventUid = currentEvent.getUid();
-                    if (currentEventUid == null || !isCounteredBy(startInstant, currentEventUid, negativeEvents)) {
+                    if (currentEventUid == null || !isCounteredBy(startInstant, currentEventUid)) {
                         candidates.add(new VEventWPeriod(currentEvent, startInstant, startInstant.plus(duration)));
                         break;
                     }
@@ -210,9 +260,31 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      */
     private List<VEventWPeriod> getVEventWPeriodsBetween(Instant frameBegin, Instant frameEnd, int maximumPerSeries,
             EventTimeFilter eventTimeFilter) {
-        final List<VEvent> positiveEvents = new ArrayList<>();
-        final List<VEvent> negativeEvents = new ArrayList<>();
-        classifyEvents(positiveEvents, negativeEvents);
+        final OccurrenceIndex index = getOccurrenceIndex(frameBegin.minus(maxEventLength), frameEnd);
+        if (index != null) {
+            // all occurrences found by any filter overlap the frame
+            final List<VEventWPeriod> candidates = index.getOverlapping(frameBegin, frameEnd);
+            candidates.sort(Comparator.comparingInt(candidate -> candidate.ordinal));
+            final List<VEventWPeriod> eventList = new ArrayList<>();
+            VEvent currentSeries = null;
+            int foundInSeries = 0;
+            for (final VEventWPeriod candidate : candidates) {
+                final Duration duration = Duration.between(candidate.start, candidate.end);
+                if (eventTimeFilter.eventAfterFrame(frameEnd, candidate.start, duration)
+                        || eventTimeFilter.eventBeforeFrame(frameBegin, candidate.start, duration)) {
+                    continue;
+                }
+                if (candidate.vEvent != currentSeries) {
+                    currentSeries = candidate.vEvent;
+                    foundInSeries = 0;
+                }
+                if (maximumPerSeries == 0 || foundInSeries < maximumPerSeries) {
+                    eventList.add(candidate);
+                    foundInSeries++;
+                }
+            }
+            return eventList;
+        }
 
         final List<VEventWPeriod> eventList = new ArrayList<>();
         for (final VEvent positiveEvent : positiveEvents) {
@@ -236,7 +308,7 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
                 final VEventWPeriod resultingVEWP = new VEventWPeriod(positiveEvent, begInst, begInst.plus(duration));
                 final Uid eventUid = positiveEvent.getUid();
                 if (eventUid != null) {
-                    if (!isCounteredBy(begInst, eventUid, negativeEvents)) {
+                    if (!isCounteredBy(begInst, eventUid)) {
                         eventList.add(resultingVEWP);
                         foundInSeries++;
                         if (maximumPerSeries != 0 && foundInSeries >= maximumPerSeries) {
@@ -285,12 +357,21 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      * @return A VEventWPeriod describing the event or null if there is none.
      */
     private @Nullable VEventWPeriod getCurrentComponentWPeriod(Instant instant) {
-        final List<VEvent> negativeEvents = new ArrayList<>();
-        final List<VEvent> positiveEvents = new ArrayList<>();
-        classifyEvents(positiveEvents, negativeEvents);
-
         VEventWPeriod earliestEndingEvent = null;
 
+        final OccurrenceIndex index = getOccurrenceIndex(instant.minus(maxEventLength), instant);
+        if (index != null) {
+            for (final VEventWPeriod candidate : index.getOverlapping(instant, instant)) {
+                if (candidate.start.isBefore(instant) && candidate.end.isAfter(instant)
+                        && (earliestEndingEvent == null || candidate.end.isBefore(earliestEndingEvent.end)
+                                || (candidate.end.equals(earliestEndingEvent.end)
+                                        && candidate.ordinal < earliestEndingEvent.ordinal))) {
+                    earliestEndingEvent = candidate;
+                }
+            }
+            return earliestEndingEvent;
+        }
+
         for (final VEvent currentEvent : positiveEvents) {
             final DateIterator startDates = this.getRecurredEventDateIterator(currentEvent);
             final Duration duration = getEventLength(currentEvent);
@@ -303,7 +384,7 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
                 final Instant endInstant = startInstant.plus(duration);
                 if (startInstant.isBefore(instant) && endInstant.isAfter(instant)) {
                     final Uid eventUid = currentEvent.getUid();
-                    if (eventUid == null || !isCounteredBy(startInstant, eventUid, negativeEvents)) {
+                    if (eventUid == null || !isCounteredBy(startInstant, eventUid)) {
                         if (earliestEndingEvent == null || endInstant.isBefore(earliestEndingEvent.end)) {
                             earliestEndingEvent = new VEventWPeriod(currentEvent, startInstant, endInstant);
                         }
@@ -318,6 +399,77 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
         return earliestEndingEvent;
     }
 
+    /**
+     * Gets an index covering all occurrences starting in the given range. The index is (re)built if the current one
+     * does not cover the range.
+     *
+     * @param from Earliest start of occurrences of interest.
+     * @param to Latest start of occurrences of interest.
+     * @return The index or null if the range can not be covered by an index.
+     */
+    private @Nullable OccurrenceIndex getOccurrenceIndex(Instant from, Instant to) {
+        OccurrenceIndex index = occurrenceIndex;
+        if (index != null && index.covers(from, to)) {
+            return index;
+        }
+        final Duration maxSpan = index != null ? index.getSpan() : indexHorizon;
+        if (Duration.between(from.minus(INDEX_LOOK_BACK), to).compareTo(maxSpan) >= 0) {
+            // a new index would not cover the range either
+            return null;
+        }
+        index = buildOccurrenceIndex(from.minus(INDEX_LOOK_BACK));
+        occurrenceIndex = index;
+        return index.covers(from, to) ? index : null;
+    }
+
+    /**
+     * Expands the occurrences of all positive events starting within the index horizon and removes the countered ones.
+     *
+     * @param begin The begin of the range to index.
+     * @return The index.
+     */
+    private OccurrenceIndex buildOccurrenceIndex(Instant begin) {
+        final long startTime = System.nanoTime();
+        Instant end = begin.plus(indexHorizon);
+        final List<VEventWPeriod> occurrences = new ArrayList<>();
+        int ordinal = 0;
+        for (final VEvent positiveEvent : positiveEvents) {
+            final Duration duration = getEventLength(positiveEvent);
+            if (duration == null) {
+                continue;
+            }
+            final Uid eventUid = positiveEvent.getUid();
+            final DateIterator startDates = getRecurredEventDateIterator(positiveEvent);
+            // biweekly is not as precise as java.time, so start a bit earlier and check exactly.
+            startDates.advanceTo(Date.from(begin.minus(ONE_DAY)));
+            int foundInSeries = 0;
+            while (startDates.hasNext()) {
+                final Instant startInstant = startDates.next().toInstant();
+                if (!startInstant.isBefore(end)) {
+                    break;
+                }
+                if (startInstant.isBefore(begin)) {
+                    continue;
+                }
+                if (++foundInSeries > MAX_INDEXED_OCCURRENCES_PER_EVENT) {
+                    // limit the range of the index instead of expanding very frequent events
+                    end = startInstant;
+                    break;
+                }
+                if (eventUid == null || !isCounteredBy(startInstant, eventUid)) {
+                    occurrences.add(new VEventWPeriod(positiveEvent, startInstant, startInstant.plus(duration),
+                            ordinal++));
+                }
+            }
+        }
+        final Instant indexEnd = end;
+        occurrences.removeIf(occurrence -> !occurrence.start.isBefore(indexEnd));
+        final OccurrenceIndex index = new OccurrenceIndex(begin, indexEnd, occurrences);
+        logger.debug("Indexed {} occurrences between {} and {} in {} ms", index.size(), begin, indexEnd,
+                (System.nanoTime() - startTime) / 1000000);
+        return index;
+    }
+
     /**
      * Finds a duration of the event.
      *
@@ -366,39 +518,39 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      *
      * @param startInstant The start of the event.
      * @param eventUid The uid of the event.
-     * @param counterEvents Events that may counter.
      * @return True if a counter event exists that matches uid and start, else false.
      */
-    private boolean isCounteredBy(Instant startInstant, Uid eventUid, Collection<VEvent> counterEvents) {
+    private boolean isCounteredBy(Instant startInstant, Uid eventUid) {
+        final List<VEvent> counterEvents = negativeEventsByUid.get(eventUid.getValue());
+        if (counterEvents == null) {
+            return false;
+        }
         for (final VEvent counterEvent : counterEvents) {
-            final Uid counterEventUid = counterEvent.getUid();
-            if (counterEventUid != null && eventUid.getValue().contentEquals(counterEventUid.getValue())) {
-                final RecurrenceId counterRecurrenceId = counterEvent.getRecurrenceId();
-                if (counterRecurrenceId != null) {
-                    ICalDate recurrenceDate = counterRecurrenceId.getValue();
-                    if (recurrenceDate != null) {
-                        Instant recurrenceInstant = Instant.ofEpochMilli(recurrenceDate.getTime());
-                        if (recurrenceInstant.equals(startInstant)) {
-                            return true;
-                        }
-                        Range futureOrPast = counterRecurrenceId.getRange();
-                        if (futureOrPast != null && futureOrPast.equals(Range.THIS_AND_FUTURE)
-                                && startInstant.isAfter(recurrenceInstant)) {
-                            return true;
-                        }
-                        if (futureOrPast != null && futureOrPast.equals(Range.THIS_AND_PRIOR)
-                                && startInstant.isBefore(recurrenceInstant)) {
-                            return true;
-                        }
+            final RecurrenceId counterRecurrenceId = counterEvent.getRecurrenceId();
+            if (counterRecurrenceId != null) {
+                ICalDate recurrenceDate = counterRecurrenceId.getValue();
+                if (recurrenceDate != null) {
+                    Instant recurrenceInstant = Instant.ofEpochMilli(recurrenceDate.getTime());
+                    if (recurrenceInstant.equals(startInstant)) {
+                        return true;
                     }
-                } else {
-                    final DateIterator counterStartDates = getRecurredEventDateIterator(counterEvent);
-                    counterStartDates.advanceTo(Date.from(startInstant));
-                    if (counterStartDates.hasNext()) {
-                        final Instant counterStartInstant = counterStartDates.next().toInstant();
-                        if (counterStartInstant.equals(startInstant)) {
-                            return true;
-                        }
+                    Range futureOrPast = counterRecurrenceId.getRange();
+                    if (futureOrPast != null && futureOrPast.equals(Range.THIS_AND_FUTURE)
+                            && startInstant.isAfter(recurrenceInstant)) {
+                        return true;
+                    }
+                    if (futureOrPast != null && futureOrPast.equals(Range.THIS_AND_PRIOR)
+                            && startInstant.isBefore(recurrenceInstant)) {
+                        return true;
+                    }
+                }
+            } else {
+                final DateIterator counterStartDates = getRecurredEventDateIterator(counterEvent);
+                counterStartDates.advanceTo(Date.from(startInstant));
+                if (counterStartDates.hasNext()) {
+                    final Instant counterStartInstant = counterStartDates.next().toInstant();
+                    if (counterStartInstant.equals(startInstant)) {
+                        return true;
                     }
                 }
             }
@@ -411,15 +563,24 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      *
      * @author Michael Wodniok - Initial contribution.
      */
-    private static class VEventWPeriod {
+    static class VEventWPeriod {
         final VEvent vEvent;
         final Instant start;
         final Instant end;
+        /**
+         * Position of the occurrence in the order events and their occurrences are processed.
+         */
+        final int ordinal;
 
         public VEventWPeriod(VEvent vEvent, Instant start, Instant end) {
+            this(vEvent, start, end, 0);
+        }
+
+        public VEventWPeriod(VEvent vEvent, Instant start, Instant end, int ordinal) {
             this.vEvent = vEvent;
             this.start = start;
             this.end = end;
+            this.ordinal = ordinal;
         }
 
         public Event toEvent() {
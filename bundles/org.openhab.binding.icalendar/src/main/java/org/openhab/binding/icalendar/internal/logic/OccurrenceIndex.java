@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.icalendar.internal.logic;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.icalendar.internal.logic.BiweeklyPresentableCalendar.VEventWPeriod;
+
+/**
+ * An immutable interval tree over the expanded occurrences of a calendar's events, which start in a limited time
+ * range.
+ *
+ * The occurrences are kept sorted by start. The tree is implicit: the root of each range of the array is its middle
+ * element, and for every element the latest end within its subtree is kept. This allows to find the occurrences
+ * overlapping a time frame in logarithmic time plus the number of results.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class OccurrenceIndex {
+    private static final Comparator<VEventWPeriod> BY_START = Comparator
+            .<VEventWPeriod, Instant> comparing(occurrence -> occurrence.start)
+            .thenComparingInt(occurrence -> occurrence.ordinal);
+
+    private final Instant begin;
+    private final Instant end;
+    private final VEventWPeriod[] occurrences;
+    private final Instant[] maxEnds;
+
+    /**
+     * @param begin Begin of the range, inclusive.
+     * @param end End of the range, exclusive.
+     * @param occurrences All occurrences starting within the range.
+     */
+    OccurrenceIndex(Instant begin, Instant end, List<VEventWPeriod> occurrences) {
+        this.begin = begin;
+        this.end = end;
+        this.occurrences = occurrences.toArray(new VEventWPeriod[0]);
+        Arrays.sort(this.occurrences, BY_START);
+        this.maxEnds = new Instant[this.occurrences.length];
+        computeMaxEnds(0, this.occurrences.length - 1);
+    }
+
+    /**
+     * Checks whether all occurrences starting in the given range are known to this index.
+     *
+     * @param from Earliest start of interest, inclusive.
+     * @param to Latest start of interest, inclusive.
+     * @return True if the index covers the whole range.
+     */
+    boolean covers(Instant from, Instant to) {
+        return !from.isBefore(begin) && to.isBefore(end);
+    }
+
+    /**
+     * Finds all occurrences which start at or before the end of a frame and end at or after the begin of it.
+     *
+     * @param from Begin of the frame.
+     * @param to End of the frame.
+     * @return The overlapping occurrences, ordered by start.
+     */
+    List<VEventWPeriod> getOverlapping(Instant from, Instant to) {
+        final List<VEventWPeriod> result = new ArrayList<>();
+        collectOverlapping(0, occurrences.length - 1, from, to, result);
+        return result;
+    }
+
+    /**
+     * Finds the first occurrence starting after an instant. Occurrences starting at the same time are ordered like the
+     * events in the calendar.
+     *
+     * @param instant The instant the occurrence has to start after.
+     * @return The occurrence or null if no occurrence within the range of this index starts after the instant.
+     */
+    @Nullable
+    VEventWPeriod getFirstStartingAfter(Instant instant) {
+        int low = 0;
+        int high = occurrences.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (occurrences[mid].start.isAfter(instant)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low < occurrences.length ? occurrences[low] : null;
+    }
+
+    /**
+     * @return The length of the range covered by this index.
+     */
+    Duration getSpan() {
+        return Duration.between(begin, end);
+    }
+
+    int size() {
+        return occurrences.length;
+    }
+
+    private @Nullable Instant computeMaxEnds(int low, int high) {
+        if (low > high) {
+            return null;
+        }
+        final int mid = (low + high) >>> 1;
+        Instant maxEnd = occurrences[mid].end;
+        final Instant leftMaxEnd = computeMaxEnds(low, mid - 1);
+        if (leftMaxEnd != null && leftMaxEnd.isAfter(maxEnd)) {
+            maxEnd = leftMaxEnd;
+        }
+        final Instant rightMaxEnd = computeMaxEnds(mid + 1, high);
+        if (rightMaxEnd != null && rightMaxEnd.isAfter(maxEnd)) {
+            maxEnd = rightMaxEnd;
+        }
+        maxEnds[mid] = maxEnd;
+        return maxEnd;
+    }
+
+    private void collectOverlapping(int low, int high, Instant from, Instant to, List<VEventWPeriod> result) {
+        if (low > high) {
+            return;
+        }
+        final int mid = (low + high) >>> 1;
+        if (maxEnds[mid].isBefore(from)) {
+            // nothing in this subtree lasts until the frame
+            return;
+        }
+        collectOverlapping(low, mid - 1, from, to, result);
+        final VEventWPeriod occurrence = occurrences[mid];
+        if (occurrence.start.isAfter(to)) {
+            // this and all later occurrences start after the frame
+            return;
+        }
+        if (!occurrence.end.isBefore(from)) {
+            result.add(occurrence);
+        }
+        collectOverlapping(mid + 1, high, from, to, result);
+    }
+}
@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -47,6 +48,7 @@ import org.openhab.core.types.Command;
  * @author Andrew Fiddian-Green - Tests for Command Tag code
  * @author Michael Wodniok - Extended Tests for filtered Events
  * @author Michael Wodniok - Extended Test for parallel current events
+ * @author Contributors to the openHAB project - Test for the occurrence index
  */
 public class BiweeklyPresentableCalendarTest {
     private AbstractPresentableCalendar calendar;
@@ -698,4 +700,37 @@ public class BiweeklyPresentableCalendarTest {
         assertEquals("Event without Location", nextEventAfterFirst.title);
         assertEquals("", nextEventAfterFirst.location);
     }
+
+    /**
+     * Tests that queries answered by the occurrence index equal the ones calculated on every query.
+     */
+    @Test
+    public void testIndexedQueriesMatchUnindexed() throws IOException, CalendarException {
+        final String[] files = new String[] { "test.ics", "test2.ics", "test3.ics", "test-issue9647.ics",
+                "test-issue10808.ics", "test-issue11084.ics", "test-location.ics", "test-multiday.ics" };
+        final EventTimeFilter[] filters = new EventTimeFilter[] { EventTimeFilter.searchByStart(),
+                EventTimeFilter.searchByEnd(), EventTimeFilter.searchByActive() };
+        final Duration step = Duration.ofMinutes(737);
+        for (String file : files) {
+            final AbstractPresentableCalendar indexed = new BiweeklyPresentableCalendar(
+                    new FileInputStream("src/test/resources/" + file), Duration.ofDays(30));
+            final AbstractPresentableCalendar unindexed = new BiweeklyPresentableCalendar(
+                    new FileInputStream("src/test/resources/" + file), Duration.ZERO);
+            for (Instant instant = Instant.parse("2019-08-01T00:00:00Z"); instant
+                    .isBefore(Instant.parse("2024-03-01T00:00:00Z")); instant = instant.plus(step)) {
+                final String message = file + " at " + instant;
+                final Instant frameEnd = instant.plus(step);
+                assertEquals(unindexed.getCurrentEvent(instant), indexed.getCurrentEvent(instant), message);
+                assertEquals(unindexed.getNextEvent(instant), indexed.getNextEvent(instant), message);
+                assertEquals(unindexed.getJustBegunEvents(instant, frameEnd),
+                        indexed.getJustBegunEvents(instant, frameEnd), message);
+                assertEquals(unindexed.getJustEndedEvents(instant, frameEnd),
+                        indexed.getJustEndedEvents(instant, frameEnd), message);
+                for (EventTimeFilter filter : filters) {
+                    assertEquals(unindexed.getFilteredEventsBetween(instant, frameEnd.plus(step), filter, null, 3),
+                            indexed.getFilteredEventsBetween(instant, frameEnd.plus(step), filter, null, 3), message);
+                }
+            }
+        }
+    }
 }
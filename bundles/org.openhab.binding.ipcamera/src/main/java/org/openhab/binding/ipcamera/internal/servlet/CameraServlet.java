@@ -20,6 +20,9 @@ import java.time.Instant;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.servlet.AsyncContext;
 import javax.servlet.ServletInputStream;
@@ -49,8 +52,10 @@ public class CameraServlet extends IpCameraServlet {
 
     private final IpCameraHandler handler;
     public OpenStreams openStreams = new OpenStreams();
-    private OpenStreams openSnapshotStreams = new OpenStreams();
-    private OpenStreams openAutoFpsStreams = new OpenStreams();
+    private OpenStreams openSnapshotStreams = new OpenStreams(2);
+    private OpenStreams openAutoFpsStreams = new OpenStreams(2);
+    private @Nullable Future<?> snapshotJob;
+    private @Nullable Future<?> autoFpsJob;
 
     public CameraServlet(IpCameraHandler handler, HttpService httpService) {
         super(handler, httpService, INIT_PARAMETERS);
@@ -163,96 +168,37 @@ public class CameraServlet extends IpCameraServlet {
             case "/snapshots.mjpeg":
                 handler.streamingSnapshotMjpeg = true;
                 handler.startSnapshotPolling();
-                StreamOutput output = new StreamOutput(resp);
-                openSnapshotStreams.addStream(output);
-                do {
-                    try {
-                        output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        Thread.sleep(handler.cameraConfig.getPollTime());
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openSnapshotStreams.removeStream(output);
-                        logger.debug("Now there are {} snapshots.mjpeg streams open.",
-                                openSnapshotStreams.getNumberOfStreams());
-                        if (openSnapshotStreams.isEmpty()) {
-                            handler.streamingSnapshotMjpeg = false;
-                            handler.stopSnapshotPolling();
-                            logger.debug("All snapshots.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (true);
+                openSnapshotStreams.addStream(
+                        new StreamOutput(req.startAsync(req, resp), openSnapshotStreams, this::snapshotStreamClosed));
+                startSnapshotJob();
+                return;
             case "/ipcamera.mjpeg":
+                AsyncContext asyncContext = req.startAsync(req, resp);
+                StreamOutput output;
                 if (openStreams.isEmpty()) {
                     logger.debug("First stream requested, opening up stream from camera");
                     handler.openCamerasStream();
-                    if (handler.usingRtspForMjpeg()) {
-                        output = new StreamOutput(resp);
-                    } else {
-                        output = new StreamOutput(resp, handler.mjpegContentType);
-                    }
-                } else if (handler.usingRtspForMjpeg()) {
-                    output = new StreamOutput(resp);
-                } else {
+                } else if (!handler.usingRtspForMjpeg()) {
                     ChannelTracking tracker = handler.channelTrackingMap.get(handler.getTinyUrl(handler.mjpegUri));
                     if (tracker == null || !tracker.getChannel().isOpen()) {
                         logger.debug("Not the first stream requested but the stream from camera was closed");
                         handler.openCamerasStream();
                     }
-                    output = new StreamOutput(resp, handler.mjpegContentType);
+                }
+                if (handler.usingRtspForMjpeg()) {
+                    output = new StreamOutput(asyncContext, openStreams, this::mjpegStreamClosed);
+                } else {
+                    output = new StreamOutput(asyncContext, openStreams, handler.mjpegContentType,
+                            this::mjpegStreamClosed);
                 }
                 openStreams.addStream(output);
-                do {
-                    try {
-                        output.sendFrame();
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openStreams.removeStream(output);
-                        logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
-                        if (openStreams.isEmpty()) {
-                            if (output.isSnapshotBased) {
-                                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
-                                if (localMjpeg != null) {
-                                    localMjpeg.stopConverting();
-                                    // Set reference to ffmpegMjpeg to null to prevent automatic reconnection
-                                    // in handler's pollCameraRunnable() check for frozen camera
-                                    handler.ffmpegMjpeg = null;
-                                }
-                            } else {
-                                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
-                            }
-                            logger.debug("All ipcamera.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (!openStreams.isEmpty());
+                return;
             case "/autofps.mjpeg":
                 handler.streamingAutoFps = true;
-                output = new StreamOutput(resp);
-                openAutoFpsStreams.addStream(output);
-                int counter = 0;
-                do {
-                    try {
-                        if (handler.motionDetected) {
-                            output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        } // every 8 seconds if no motion or the first three snapshots to fill any FIFO
-                        else if (counter % 8 == 0 || counter < 3) {
-                            output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        }
-                        counter++;
-                        Thread.sleep(1000);
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openAutoFpsStreams.removeStream(output);
-                        logger.debug("Now there are {} autofps.mjpeg streams open.",
-                                openAutoFpsStreams.getNumberOfStreams());
-                        if (openAutoFpsStreams.isEmpty()) {
-                            handler.streamingAutoFps = false;
-                            logger.debug("All autofps.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (true);
+                openAutoFpsStreams.addStream(
+                        new StreamOutput(req.startAsync(req, resp), openAutoFpsStreams, this::autoFpsStreamClosed));
+                startAutoFpsJob();
+                return;
             case "/instar":
                 InstarHandler instar = new InstarHandler(handler);
                 instar.alarmTriggered(pathInfo + "?" + req.getQueryString());
@@ -272,6 +218,92 @@ public class CameraServlet extends IpCameraServlet {
         }
     }
 
+    private void snapshotStreamClosed(StreamOutput output) {
+        logger.debug("Now there are {} snapshots.mjpeg streams open, {} frames dropped.",
+                openSnapshotStreams.getNumberOfStreams(), openSnapshotStreams.getDroppedFrames());
+        if (openSnapshotStreams.isEmpty()) {
+            stopSnapshotJob();
+            handler.streamingSnapshotMjpeg = false;
+            handler.stopSnapshotPolling();
+            logger.debug("All snapshots.mjpeg streams have stopped.");
+        }
+    }
+
+    private void autoFpsStreamClosed(StreamOutput output) {
+        logger.debug("Now there are {} autofps.mjpeg streams open, {} frames dropped.",
+                openAutoFpsStreams.getNumberOfStreams(), openAutoFpsStreams.getDroppedFrames());
+        if (openAutoFpsStreams.isEmpty()) {
+            stopAutoFpsJob();
+            handler.streamingAutoFps = false;
+            logger.debug("All autofps.mjpeg streams have stopped.");
+        }
+    }
+
+    private void mjpegStreamClosed(StreamOutput output) {
+        logger.debug("Now there are {} ipcamera.mjpeg streams open, {} frames dropped.",
+                openStreams.getNumberOfStreams(), openStreams.getDroppedFrames());
+        if (openStreams.isEmpty()) {
+            if (output.isSnapshotBased) {
+                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
+                if (localMjpeg != null) {
+                    localMjpeg.stopConverting();
+                    // Set reference to ffmpegMjpeg to null to prevent automatic reconnection
+                    // in handler's pollCameraRunnable() check for frozen camera
+                    handler.ffmpegMjpeg = null;
+                }
+            } else {
+                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
+            }
+            logger.debug("All ipcamera.mjpeg streams have stopped.");
+        }
+    }
+
+    /**
+     * One job feeds the snapshots of the camera to all snapshots.mjpeg streams.
+     */
+    private synchronized void startSnapshotJob() {
+        Future<?> localJob = snapshotJob;
+        if (localJob == null || localJob.isDone()) {
+            snapshotJob = scheduler.scheduleWithFixedDelay(
+                    () -> openSnapshotStreams.queueFrame(handler.getSnapshot()), 0,
+                    handler.cameraConfig.getPollTime(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void stopSnapshotJob() {
+        Future<?> localJob = snapshotJob;
+        if (localJob != null) {
+            localJob.cancel(false);
+            snapshotJob = null;
+        }
+    }
+
+    /**
+     * One job feeds the snapshots of the camera to all autofps.mjpeg streams, every second while motion is detected
+     * and every 8 seconds otherwise.
+     */
+    private synchronized void startAutoFpsJob() {
+        Future<?> localJob = autoFpsJob;
+        if (localJob == null || localJob.isDone()) {
+            AtomicInteger counter = new AtomicInteger();
+            autoFpsJob = scheduler.scheduleWithFixedDelay(() -> {
+                int count = counter.getAndIncrement();
+                // the first three snapshots fill any buffers of the clients
+                if (handler.motionDetected || count % 8 == 0 || count < 3) {
+                    openAutoFpsStreams.queueFrame(handler.getSnapshot());
+                }
+            }, 0, 1000, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void stopAutoFpsJob() {
+        Future<?> localJob = autoFpsJob;
+        if (localJob != null) {
+            localJob.cancel(false);
+            autoFpsJob = null;
+        }
+    }
+
     @Override
     protected void sendFile(HttpServletResponse response, String filename, String contentType) throws IOException {
         // Ensure no files can be sourced from parent or child folders
@@ -281,6 +313,8 @@ public class CameraServlet extends IpCameraServlet {
 
     @Override
     public void dispose() {
+        stopSnapshotJob();
+        stopAutoFpsJob();
         openStreams.closeAllStreams();
         openSnapshotStreams.closeAllStreams();
         openAutoFpsStreams.closeAllStreams();
@@ -16,6 +16,10 @@ import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import javax.servlet.http.HttpServletRequest;
@@ -37,11 +41,14 @@ import org.osgi.service.http.HttpService;
 @NonNullByDefault
 public class GroupServlet extends IpCameraServlet {
     private static final long serialVersionUID = -234658667574L;
+    private static final Dictionary<Object, Object> INIT_PARAMETERS = new Hashtable<>(
+            Map.of("async-supported", "true"));
     private final IpCameraGroupHandler handler;
-    public int snapshotStreamsOpen = 0;
+    private final OpenStreams openSnapshotStreams = new OpenStreams(2);
+    private @Nullable Future<?> snapshotJob;
 
     public GroupServlet(IpCameraGroupHandler handler, HttpService httpService) {
-        super(handler, httpService);
+        super(handler, httpService, INIT_PARAMETERS);
         this.handler = handler;
     }
 
@@ -85,21 +92,10 @@ public class GroupServlet extends IpCameraServlet {
             case "/ipcamera.mjpeg":
             case "/snapshots.mjpeg":
                 req.getSession().setMaxInactiveInterval(0);
-                snapshotStreamsOpen++;
-                StreamOutput output = new StreamOutput(resp);
-                do {
-                    try {
-                        output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        Thread.sleep(1005);
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        snapshotStreamsOpen--;
-                        if (snapshotStreamsOpen == 0) {
-                            logger.debug("All snapshots.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (true);
+                openSnapshotStreams.addStream(
+                        new StreamOutput(req.startAsync(req, resp), openSnapshotStreams, this::snapshotStreamClosed));
+                startSnapshotJob();
+                return;
             default:
                 // example is "/1ipcameraxx.ts"
                 if (pathInfo.endsWith(".ts")) {
@@ -108,6 +104,44 @@ public class GroupServlet extends IpCameraServlet {
         }
     }
 
+    private void snapshotStreamClosed(StreamOutput output) {
+        if (openSnapshotStreams.isEmpty()) {
+            stopSnapshotJob();
+            logger.debug("All snapshots.mjpeg streams have stopped, {} frames dropped.",
+                    openSnapshotStreams.getDroppedFrames());
+        }
+    }
+
+    public int getNumberOfSnapshotStreams() {
+        return openSnapshotStreams.getNumberOfStreams();
+    }
+
+    /**
+     * One job feeds the snapshots of the group to all snapshots.mjpeg streams.
+     */
+    private synchronized void startSnapshotJob() {
+        Future<?> localJob = snapshotJob;
+        if (localJob == null || localJob.isDone()) {
+            snapshotJob = scheduler.scheduleWithFixedDelay(
+                    () -> openSnapshotStreams.queueFrame(handler.getSnapshot()), 0, 1005, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void stopSnapshotJob() {
+        Future<?> localJob = snapshotJob;
+        if (localJob != null) {
+            localJob.cancel(false);
+            snapshotJob = null;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        stopSnapshotJob();
+        openSnapshotStreams.closeAllStreams();
+        super.dispose();
+    }
+
     private String resolveIndexToPath(String uri) {
         if (!"i".equals(uri.substring(1, 2))) {
             return handler.getOutputFolder(Integer.parseInt(uri.substring(1, 2)));
@@ -19,6 +19,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Dictionary;
 import java.util.Properties;
+import java.util.concurrent.ScheduledExecutorService;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.annotation.WebServlet;
@@ -26,6 +27,7 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.osgi.service.http.HttpService;
 import org.slf4j.Logger;
@@ -45,6 +47,7 @@ public abstract class IpCameraServlet extends HttpServlet {
     protected final ThingHandler handler;
     protected final HttpService httpService;
     protected final Dictionary<Object, Object> initParameters;
+    protected final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("ipcamera");
 
     public IpCameraServlet(ThingHandler handler, HttpService httpService) {
         this(handler, httpService, new Properties());
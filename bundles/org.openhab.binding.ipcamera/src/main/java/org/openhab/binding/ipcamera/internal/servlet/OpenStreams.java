@@ -12,56 +12,207 @@
  */
 package org.openhab.binding.ipcamera.internal.servlet;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
- * 1 to many streams without needing to open more than 1 source stream.
+ * The {@link OpenStreams} Keeps track of all open mjpeg streams and holds the most recent frames in a ring that is
+ * shared by all of them, to allow 1 to many streams without needing to open more than 1 source stream or to copy a
+ * frame for every stream.
+ *
+ * Streams that can not keep up skip frames instead of buffering them. Snapshot based streams always continue with the
+ * latest frame, streams passing through the cameras mjpeg stream continue at the next boundary of the stream.
  *
  * @author Matthew Skinner - Initial contribution
  */
 @NonNullByDefault
 public class OpenStreams {
-    private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<>());
+    private static final int DEFAULT_CAPACITY = 50;
+
+    private final List<StreamOutput> openStreams = new CopyOnWriteArrayList<>();
+    private final Frame[] frames;
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private long nextSequence = 0;
+    private byte[] boundaryMarker = boundaryMarker("thisMjpegStream");
     public String boundary = "thisMjpegStream";
+    private String contentType = "";
+
+    public OpenStreams() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the number of frames kept for streams that fall behind
+     */
+    public OpenStreams(int capacity) {
+        frames = new Frame[Math.max(2, capacity)];
+    }
+
+    /**
+     * A frame or chunk of a stream shared by all streams. The multipart header needed to send the frame as part of a
+     * snapshot based stream is created once, when the first stream needs it.
+     */
+    static class Frame {
+        final long sequence;
+        final byte[] data;
+        final int boundaryOffset;
+        private volatile byte @Nullable [] partHeader;
+
+        Frame(long sequence, byte[] data, int boundaryOffset) {
+            this.sequence = sequence;
+            this.data = data;
+            this.boundaryOffset = boundaryOffset;
+        }
 
-    public synchronized void addStream(StreamOutput stream) {
+        byte[] getPartHeader() {
+            byte[] header = partHeader;
+            if (header == null) {
+                header = StreamOutput.createPartHeader(data.length);
+                partHeader = header;
+            }
+            return header;
+        }
+    }
+
+    public void addStream(StreamOutput stream) {
+        synchronized (this) {
+            stream.join(nextSequence, contentType);
+        }
         openStreams.add(stream);
+        stream.writeFrames();
     }
 
-    public synchronized void removeStream(StreamOutput stream) {
-        openStreams.remove(stream);
+    public void removeStream(StreamOutput stream) {
+        if (openStreams.remove(stream)) {
+            droppedFrames.addAndGet(stream.getDroppedFrames());
+        }
     }
 
-    public synchronized int getNumberOfStreams() {
+    public int getNumberOfStreams() {
         return openStreams.size();
     }
 
-    public synchronized boolean isEmpty() {
+    public boolean isEmpty() {
         return openStreams.isEmpty();
     }
 
-    public synchronized void updateContentType(String contentType, String boundary) {
-        this.boundary = boundary;
+    public void updateContentType(String contentType, String boundary) {
+        synchronized (this) {
+            this.contentType = contentType;
+            this.boundary = boundary;
+            this.boundaryMarker = boundaryMarker(boundary);
+        }
         for (StreamOutput stream : openStreams) {
             stream.updateContentType(contentType);
         }
     }
 
-    public synchronized void queueFrame(byte[] frame) {
+    public void queueFrame(byte[] frame) {
+        synchronized (this) {
+            frames[(int) (nextSequence % frames.length)] = new Frame(nextSequence, frame,
+                    indexOf(frame, boundaryMarker));
+            nextSequence++;
+        }
         for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+            stream.writeFrames();
         }
     }
 
-    public synchronized void closeAllStreams() {
+    public void closeAllStreams() {
         for (StreamOutput stream : openStreams) {
             stream.close();
         }
         openStreams.clear();
+        synchronized (this) {
+            Arrays.fill(frames, null);
+        }
+    }
+
+    /**
+     * @return the number of frames skipped by the streams, including streams that are already closed
+     */
+    public long getDroppedFrames() {
+        long dropped = droppedFrames.get();
+        for (StreamOutput stream : openStreams) {
+            dropped += stream.getDroppedFrames();
+        }
+        return dropped;
+    }
+
+    @Override
+    public String toString() {
+        return openStreams.size() + " streams open, " + nextSequence + " frames received, " + getDroppedFrames()
+                + " frames dropped";
+    }
+
+    /**
+     * Selects the next frame to be sent by a stream and skips frames the stream can no longer keep up with.
+     *
+     * @param stream the stream to get the next frame for
+     * @return the next frame or null if the stream has to wait for a new frame
+     */
+    synchronized @Nullable Frame next(StreamOutput stream) {
+        long latest = nextSequence - 1;
+        long sequence = stream.nextSequence;
+        if (latest < 0 || sequence > latest) {
+            return null;
+        }
+        long oldest = Math.max(0, nextSequence - frames.length);
+        Frame frame;
+        if (stream.isSnapshotBased) {
+            // only the latest frame is of interest
+            frame = frames[(int) (latest % frames.length)];
+            stream.startOffset = 0;
+        } else if (sequence < oldest || stream.resync) {
+            // continue at the latest start of a new part that is still available
+            frame = null;
+            for (long s = latest; s >= Math.max(oldest, sequence); s--) {
+                Frame candidate = frames[(int) (s % frames.length)];
+                if (candidate != null && candidate.boundaryOffset >= 0) {
+                    frame = candidate;
+                    break;
+                }
+            }
+            if (frame == null) {
+                stream.addDroppedFrames(latest + 1 - sequence);
+                stream.nextSequence = latest + 1;
+                stream.resync = true;
+                return null;
+            }
+            stream.resync = false;
+            stream.startOffset = frame.boundaryOffset;
+        } else {
+            frame = frames[(int) (sequence % frames.length)];
+            stream.startOffset = 0;
+        }
+        if (frame == null) {
+            return null;
+        }
+        stream.addDroppedFrames(Math.max(0, frame.sequence - sequence));
+        stream.nextSequence = frame.sequence + 1;
+        return frame;
+    }
+
+    private static byte[] boundaryMarker(String boundary) {
+        String marker = boundary.startsWith("--") ? boundary : "--" + boundary;
+        return marker.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static int indexOf(byte[] data, byte[] marker) {
+        outer: for (int i = 0; i <= data.length - marker.length; i++) {
+            for (int j = 0; j < marker.length; j++) {
+                if (data[i + j] != marker[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
     }
 }
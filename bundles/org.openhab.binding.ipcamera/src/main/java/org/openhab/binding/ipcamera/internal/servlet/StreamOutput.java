@@ -13,91 +13,216 @@
 package org.openhab.binding.ipcamera.internal.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.servlet.OpenStreams.Frame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The {@link StreamOutput} Streams mjpeg out to a client
+ * The {@link StreamOutput} Streams mjpeg out to a client. The frames are written with non blocking servlet IO, so no
+ * thread is held while a client is connected. Frames are taken from the ring of the {@link OpenStreams} the stream
+ * has been added to, whenever the client is ready to receive more data.
  *
  * @author Matthew Skinner - Initial contribution
  */
 @NonNullByDefault
-public class StreamOutput {
+public class StreamOutput implements WriteListener, AsyncListener {
+    private static final String SNAPSHOT_BOUNDARY = "thisMjpegStream";
+    private static final String SNAPSHOT_CONTENT_TYPE = "multipart/x-mixed-replace; boundary=" + SNAPSHOT_BOUNDARY;
+    private static final byte[] PART_HEADER_START = ("--" + SNAPSHOT_BOUNDARY
+            + "\r\nContent-Type: image/jpeg\r\nContent-Length: ").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PART_HEADER_END = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PART_END = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
     public final Logger logger = LoggerFactory.getLogger(getClass());
+    private final AsyncContext asyncContext;
     private final HttpServletResponse response;
-    private final String boundary;
-    private String contentType;
     private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<>(50);
+    private final OpenStreams openStreams;
+    private final Consumer<StreamOutput> onClose;
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private String contentType;
     private boolean connected = false;
+    private boolean closed = false;
     public boolean isSnapshotBased = false;
 
-    public StreamOutput(HttpServletResponse response) throws IOException {
-        boundary = "thisMjpegStream";
-        contentType = "multipart/x-mixed-replace; boundary=" + boundary;
-        this.response = response;
-        output = response.getOutputStream();
+    // managed by OpenStreams while holding its lock
+    long nextSequence;
+    boolean resync;
+    int startOffset;
+
+    // the frame currently written and the part of it that has to be written next
+    private @Nullable Frame frame;
+    private int part;
+    private boolean firstFrame = true;
+
+    /**
+     * Creates a snapshot based stream, which sends every frame as a jpeg part of a multipart response.
+     */
+    public StreamOutput(AsyncContext asyncContext, OpenStreams openStreams, Consumer<StreamOutput> onClose)
+            throws IOException {
+        this(asyncContext, openStreams, SNAPSHOT_CONTENT_TYPE, onClose);
         isSnapshotBased = true;
     }
 
-    public StreamOutput(HttpServletResponse response, String contentType) throws IOException {
-        boundary = "";
+    /**
+     * Creates a stream passing through the mjpeg stream of the camera.
+     *
+     * @param contentType the content type of the cameras stream, empty if not known yet
+     */
+    public StreamOutput(AsyncContext asyncContext, OpenStreams openStreams, String contentType,
+            Consumer<StreamOutput> onClose) throws IOException {
+        this.asyncContext = asyncContext;
+        this.response = (HttpServletResponse) asyncContext.getResponse();
+        this.output = response.getOutputStream();
+        this.openStreams = openStreams;
         this.contentType = contentType;
-        this.response = response;
-        output = response.getOutputStream();
-        if (!contentType.isEmpty()) {
-            sendInitialHeaders();
-            connected = true;
-        }
+        this.onClose = onClose;
+        asyncContext.setTimeout(0);
+        asyncContext.addListener(this);
     }
 
-    public void sendSnapshotBasedFrame(byte[] currentSnapshot) throws IOException {
-        String header = "--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: "
-                + currentSnapshot.length + "\r\n\r\n";
-        if (!connected) {
-            sendInitialHeaders();
-            // iOS needs to have two jpgs sent for the picture to appear instantly.
-            output.write(header.getBytes());
-            output.write(currentSnapshot);
-            output.write("\r\n".getBytes());
-            connected = true;
+    static byte[] createPartHeader(int length) {
+        byte[] digits = Integer.toString(length).getBytes(StandardCharsets.US_ASCII);
+        byte[] header = new byte[PART_HEADER_START.length + digits.length + PART_HEADER_END.length];
+        System.arraycopy(PART_HEADER_START, 0, header, 0, PART_HEADER_START.length);
+        System.arraycopy(digits, 0, header, PART_HEADER_START.length, digits.length);
+        System.arraycopy(PART_HEADER_END, 0, header, PART_HEADER_START.length + digits.length,
+                PART_HEADER_END.length);
+        return header;
+    }
+
+    /**
+     * Called by {@link OpenStreams} while holding its lock, when the stream is added.
+     */
+    void join(long nextSequence, String streamContentType) {
+        if (isSnapshotBased) {
+            // start with the latest frame, so the client gets a picture straight away
+            this.nextSequence = Math.max(0, nextSequence - 1);
+        } else {
+            // wait for the start of the next part, so the client doesn't get a partial frame
+            this.nextSequence = nextSequence;
+            this.resync = true;
+            if (contentType.isEmpty()) {
+                contentType = streamContentType;
+            }
         }
-        output.write(header.getBytes());
-        output.write(currentSnapshot);
-        output.write("\r\n".getBytes());
     }
 
-    public void queueFrame(byte[] frame) {
-        try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            logger.debug("FIFO buffer has run out of space: {}", e.getMessage());
-            fifo.remove();
-            fifo.add(frame);
+    void addDroppedFrames(long frames) {
+        droppedFrames.addAndGet(frames);
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    public synchronized void updateContentType(String contentType) {
+        if (!isSnapshotBased) {
+            this.contentType = contentType;
         }
+        writeFrames();
     }
 
-    public void updateContentType(String contentType) {
-        this.contentType = contentType;
+    /**
+     * Writes frames until there is no new frame or the client can not take more data. In the latter case the servlet
+     * container calls {@link #onWritePossible()} once the client is ready again.
+     */
+    public synchronized void writeFrames() {
+        if (closed) {
+            return;
+        }
         if (!connected) {
+            if (contentType.isEmpty()) {
+                // wait until the content type of the cameras stream is known
+                return;
+            }
             sendInitialHeaders();
             connected = true;
+            output.setWriteListener(this);
+            // the servlet container calls onWritePossible() once the output is ready
+            return;
+        }
+        try {
+            while (output.isReady()) {
+                Frame frame = this.frame;
+                if (frame == null) {
+                    frame = openStreams.next(this);
+                    if (frame == null) {
+                        return;
+                    }
+                    this.frame = frame;
+                    part = 0;
+                }
+                if (!isSnapshotBased) {
+                    output.write(frame.data, startOffset, frame.data.length - startOffset);
+                    this.frame = null;
+                    continue;
+                }
+                switch (part++) {
+                    case 0:
+                        output.write(frame.getPartHeader());
+                        break;
+                    case 1:
+                        output.write(frame.data);
+                        break;
+                    default:
+                        output.write(PART_END);
+                        if (firstFrame) {
+                            // iOS needs to have two jpgs sent for the picture to appear instantly.
+                            firstFrame = false;
+                            part = 0;
+                        } else {
+                            this.frame = null;
+                        }
+                        break;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Occurs when browser stops the stream.
+            close();
         }
     }
 
-    public void sendFrame() throws IOException, InterruptedException {
-        if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
-        } else if (connected) {
-            output.write(fifo.take());
-        }
+    @Override
+    public void onWritePossible() throws IOException {
+        writeFrames();
+    }
+
+    @Override
+    public void onError(@Nullable Throwable t) {
+        close();
+    }
+
+    @Override
+    public void onComplete(@Nullable AsyncEvent event) throws IOException {
+        close();
+    }
+
+    @Override
+    public void onTimeout(@Nullable AsyncEvent event) throws IOException {
+        close();
+    }
+
+    @Override
+    public void onError(@Nullable AsyncEvent event) throws IOException {
+        close();
+    }
+
+    @Override
+    public void onStartAsync(@Nullable AsyncEvent event) throws IOException {
     }
 
     private void sendInitialHeaders() {
@@ -107,9 +232,19 @@ public class StreamOutput {
     }
 
     public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            frame = null;
+        }
+        openStreams.removeStream(this);
         try {
-            output.close();
-        } catch (IOException e) {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // already completed
         }
+        onClose.accept(this);
     }
 }
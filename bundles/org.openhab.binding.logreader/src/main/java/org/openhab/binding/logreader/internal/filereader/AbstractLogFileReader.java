@@ -61,10 +61,10 @@ public abstract class AbstractLogFileReader implements LogFileReader {
     }
 
     /**
-     * Send read log line to all registered listeners.
+     * Send read log line to all registered listeners. The line is only valid during the call.
      *
      */
-    public void sendLineToListeners(String line) {
+    public void sendLineToListeners(CharSequence line) {
         for (FileReaderListener fileReaderListener : fileReaderListeners) {
             try {
                 fileReaderListener.handle(line);
@@ -12,86 +12,325 @@
  */
 package org.openhab.binding.logreader.internal.filereader;
 
-import java.io.File;
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.input.Tailer;
-import org.apache.commons.io.input.TailerListener;
-import org.apache.commons.io.input.TailerListenerAdapter;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.core.common.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Apache Tailer based log file reader implementation.
+ * {@link FileChannel} based log file reader implementation.
+ *
+ * The file is read from its end into a reusable buffer, complete lines are decoded into a reusable
+ * {@link CharBuffer} and passed to the listeners. Changes of the log directory are signalled by a
+ * {@link WatchService}, the refresh rate is used as timeout, so the file is still polled on file systems
+ * without change notifications.
+ *
+ * A log rotation is detected when the file is replaced (the file key changes) or truncated. A replaced file is
+ * read until its end before the new file is opened.
  *
  * @author Pauli Anttila - Initial contribution
+ * @author Contributors to the openHAB project - Read the file with a FileChannel instead of the Apache Tailer
  */
 @NonNullByDefault
 public class FileTailer extends AbstractLogFileReader implements LogFileReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINE_LENGTH = 1024 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
 
-    private @Nullable Tailer tailer;
+    private @Nullable Tail tail;
     private @Nullable ExecutorService executor;
 
-    TailerListener logListener = new TailerListenerAdapter() {
+    @Override
+    public void start(String filePath, long refreshRate) throws FileReaderException {
+        Path path;
+        try {
+            path = Path.of(filePath).toAbsolutePath();
+        } catch (InvalidPathException e) {
+            throw new FileReaderException(e);
+        }
 
-        @Override
-        public void handle(@Nullable String line) {
-            if (line == null) {
-                return;
+        Tail localTail = new Tail(path, refreshRate);
+        ExecutorService localExecutor = Executors
+                .newSingleThreadExecutor(new NamedThreadFactory("logreader-" + path.getFileName()));
+        try {
+            logger.debug("Start executor");
+            localExecutor.execute(localTail);
+            logger.debug("Executor started");
+            this.tail = localTail;
+            this.executor = localExecutor;
+        } catch (Exception e) {
+            localTail.stop();
+            localExecutor.shutdown();
+            throw new FileReaderException(e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        logger.debug("Shutdown");
+        Tail localTail = tail;
+        if (localTail != null) {
+            localTail.stop();
+            tail = null;
+        }
+        ExecutorService localExecutor = executor;
+        if (localExecutor != null) {
+            localExecutor.shutdown();
+            executor = null;
+        }
+        logger.debug("Shutdown complete");
+    }
+
+    /**
+     * Follows one file until it is stopped. The buffers are owned by the reading thread.
+     */
+    private class Tail implements Runnable {
+        private final Path path;
+        private final long refreshRate;
+        private final @Nullable WatchService watchService;
+        private final CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private CharBuffer line = CharBuffer.allocate(BUFFER_SIZE);
+        // number of bytes at the start of the buffer, which are known to contain no line end
+        private int scanned;
+        private volatile boolean running = true;
+
+        Tail(Path path, long refreshRate) {
+            this.path = path;
+            this.refreshRate = refreshRate;
+            this.watchService = createWatchService();
+        }
+
+        void stop() {
+            running = false;
+            WatchService localWatchService = watchService;
+            if (localWatchService != null) {
+                try {
+                    localWatchService.close();
+                } catch (IOException e) {
+                    logger.debug("Failed to close watch service: {}", e.getMessage());
+                }
             }
+        }
 
-            sendLineToListeners(line);
+        private @Nullable WatchService createWatchService() {
+            Path directory = path.getParent();
+            if (directory == null) {
+                return null;
+            }
+            @Nullable
+            WatchService localWatchService = null;
+            try {
+                localWatchService = path.getFileSystem().newWatchService();
+                directory.register(localWatchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                return localWatchService;
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Cannot watch directory '{}', polling the file only: {}", directory, e.getMessage());
+                if (localWatchService != null) {
+                    try {
+                        localWatchService.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+                return null;
+            }
         }
 
         @Override
-        public void fileNotFound() {
-            sendFileNotFoundToListeners();
+        public void run() {
+            @Nullable
+            FileChannel channel = null;
+            try {
+                while (running && channel == null) {
+                    channel = open();
+                    if (channel == null) {
+                        sendFileNotFoundToListeners();
+                        waitForChange();
+                    }
+                }
+                if (channel == null) {
+                    return;
+                }
+                // start at the end of the file, like "tail -f"
+                channel.position(channel.size());
+                @Nullable
+                Object fileKey = fileKey();
+
+                while (running) {
+                    read(channel);
+
+                    @Nullable
+                    BasicFileAttributes attributes = attributes();
+                    if (attributes != null && fileKey != null && !fileKey.equals(attributes.fileKey())) {
+                        @Nullable
+                        FileChannel rotated = open();
+                        if (rotated != null) {
+                            // the log was moved away, read what was written to it before the new file was created
+                            read(channel);
+                            flush();
+                            channel.close();
+                            channel = rotated;
+                            fileKey = attributes.fileKey();
+                            sendFileRotationToListeners();
+                            continue;
+                        }
+                    } else if (attributes != null && attributes.size() < channel.position()) {
+                        // the log was truncated
+                        buffer.clear();
+                        scanned = 0;
+                        channel.position(0);
+                        sendFileRotationToListeners();
+                        continue;
+                    }
+                    waitForChange();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ClosedWatchServiceException e) {
+                // reader was stopped
+            } catch (IOException | RuntimeException e) {
+                if (running) {
+                    sendExceptionToListeners(e);
+                }
+            } finally {
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException e) {
+                        logger.debug("Failed to close file: {}", e.getMessage());
+                    }
+                }
+            }
         }
 
-        @Override
-        public void handle(@Nullable Exception e) {
-            if (e == null) {
-                return;
+        private @Nullable FileChannel open() throws IOException {
+            try {
+                return FileChannel.open(path, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                return null;
             }
+        }
 
-            sendExceptionToListeners(e);
+        private @Nullable BasicFileAttributes attributes() throws IOException {
+            try {
+                return Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return null;
+            }
         }
 
-        @Override
-        public void fileRotated() {
-            sendFileRotationToListeners();
+        private @Nullable Object fileKey() throws IOException {
+            BasicFileAttributes attributes = attributes();
+            return attributes != null ? attributes.fileKey() : null;
         }
-    };
 
-    @Override
-    public void start(String filePath, long refreshRate) throws FileReaderException {
-        Tailer localTailer = new Tailer(new File(filePath), logListener, refreshRate, true, false, true);
-        executor = Executors.newSingleThreadExecutor();
-        try {
-            logger.debug("Start executor");
-            executor.execute(localTailer);
-            logger.debug("Executor started");
-            this.tailer = localTailer;
-        } catch (Exception e) {
-            throw new FileReaderException(e);
+        /**
+         * Wait until the directory of the file is changed or the refresh rate elapsed.
+         */
+        private void waitForChange() throws InterruptedException {
+            WatchService localWatchService = watchService;
+            if (localWatchService == null) {
+                Thread.sleep(refreshRate);
+                return;
+            }
+            WatchKey key = localWatchService.poll(refreshRate, TimeUnit.MILLISECONDS);
+            if (key != null) {
+                key.pollEvents();
+                key.reset();
+            }
         }
-    }
 
-    @Override
-    public void stop() {
-        logger.debug("Shutdown");
-        if (tailer != null) {
-            tailer.stop();
+        /**
+         * Read all bytes available and pass the complete lines to the listeners. An incomplete last line is kept in
+         * the buffer until its line end is read.
+         */
+        private void read(FileChannel channel) throws IOException {
+            while (running && channel.read(buffer) > 0) {
+                buffer.flip();
+                int start = 0;
+                for (int i = scanned; i < buffer.limit(); i++) {
+                    if (buffer.get(i) == '\n') {
+                        sendLine(start, i);
+                        start = i + 1;
+                    }
+                }
+                buffer.position(start);
+                buffer.compact();
+                scanned = buffer.position();
+
+                if (!buffer.hasRemaining()) {
+                    if (buffer.capacity() < MAX_LINE_LENGTH) {
+                        buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+                    } else {
+                        logger.debug("Line exceeds {} bytes, passing it in parts", MAX_LINE_LENGTH);
+                        flush();
+                    }
+                }
+            }
         }
-        if (executor != null) {
-            executor.shutdown();
+
+        /**
+         * Pass the incomplete line in the buffer to the listeners and clear the buffer.
+         */
+        private void flush() {
+            if (buffer.position() > 0) {
+                buffer.flip();
+                sendLine(0, buffer.limit());
+            }
+            buffer.clear();
+            scanned = 0;
+        }
+
+        /**
+         * Decode the bytes between from and to into the line buffer and pass it to the listeners. The position and
+         * limit of the byte buffer are preserved.
+         */
+        private void sendLine(int from, int to) {
+            int end = to > from && buffer.get(to - 1) == '\r' ? to - 1 : to;
+            int length = (int) Math.ceil((end - from) * (double) decoder.maxCharsPerByte());
+            if (line.capacity() < length) {
+                line = CharBuffer.allocate(length);
+            }
+
+            int position = buffer.position();
+            int limit = buffer.limit();
+            buffer.limit(end).position(from);
+            line.clear();
+            decoder.reset();
+            decoder.decode(buffer, line, true);
+            decoder.flush(line);
+            line.flip();
+            buffer.limit(limit).position(position);
+
+            sendLineToListeners(line);
         }
-        logger.debug("Shutdown complite");
     }
 }
@@ -37,9 +37,10 @@ public interface FileReaderListener {
     /**
      * This method is called when new line is detected.
      *
-     * @param line the line.
+     * @param line the line. The content is only valid during the call, as the reader reuses its buffer for the
+     *            next line. Use {@link CharSequence#toString()} to keep it.
      */
-    void handle(@Nullable String line);
+    void handle(CharSequence line);
 
     /**
      * This method is called when exception has occurred.
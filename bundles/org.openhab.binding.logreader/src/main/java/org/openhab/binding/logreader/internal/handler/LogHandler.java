@@ -15,6 +15,7 @@ package org.openhab.binding.logreader.internal.handler;
 import static org.openhab.binding.logreader.internal.LogReaderBindingConstants.*;
 
 import java.time.ZonedDateTime;
+import java.util.regex.Matcher;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -43,6 +44,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author Miika Jukka - Initial contribution
  * @author Pauli Anttila - Rewrite
+ * @author Contributors to the openHAB project - Prefilter lines with the combined search patterns
  */
 @NonNullByDefault
 public class LogHandler extends BaseThingHandler implements FileReaderListener {
@@ -55,6 +57,7 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private @Nullable SearchEngine errorEngine;
     private @Nullable SearchEngine warningEngine;
     private @Nullable SearchEngine customEngine;
+    private @Nullable Matcher prefilter;
 
     public LogHandler(Thing thing, LogFileReader fileReader) {
         super(thing);
@@ -98,11 +101,17 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         clearCounters();
 
         try {
-            warningEngine = new SearchEngine(configuration.warningPatterns, configuration.warningBlacklistingPatterns);
-            errorEngine = new SearchEngine(configuration.errorPatterns, configuration.errorBlacklistingPatterns);
+            SearchEngine localWarningEngine = new SearchEngine(configuration.warningPatterns,
+                    configuration.warningBlacklistingPatterns);
+            warningEngine = localWarningEngine;
+            SearchEngine localErrorEngine = new SearchEngine(configuration.errorPatterns,
+                    configuration.errorBlacklistingPatterns);
+            errorEngine = localErrorEngine;
             String customPatterns = configuration.customPatterns;
-            customEngine = new SearchEngine(customPatterns != null ? customPatterns : "",
+            SearchEngine localCustomEngine = new SearchEngine(customPatterns != null ? customPatterns : "",
                     configuration.customBlacklistingPatterns);
+            customEngine = localCustomEngine;
+            prefilter = SearchEngine.createPrefilter(localErrorEngine, localWarningEngine, localCustomEngine);
         } catch (PatternSyntaxException e) {
             logger.debug("Illegal search pattern syntax '{}'. ", e.getMessage(), e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
@@ -179,29 +188,36 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     }
 
     @Override
-    public void handle(@Nullable String line) {
-        if (line == null) {
-            return;
-        }
-
+    public void handle(CharSequence line) {
         if (thing.getStatus() != ThingStatus.ONLINE) {
             updateStatus(ThingStatus.ONLINE);
         }
 
+        Matcher localPrefilter = prefilter;
+        if (localPrefilter != null && !localPrefilter.reset(line).find()) {
+            return;
+        }
+
+        // the line buffer is reused by the reader, only matching lines are converted to a String
+        @Nullable
+        String text = null;
         if (errorEngine != null && errorEngine.isMatching(line)) {
+            text = line.toString();
             updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
-            triggerChannel(CHANNEL_NEWERROR, line);
+            updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(text));
+            triggerChannel(CHANNEL_NEWERROR, text);
         }
         if (warningEngine != null && warningEngine.isMatching(line)) {
+            text = text != null ? text : line.toString();
             updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
-            triggerChannel(CHANNEL_NEWWARNING, line);
+            updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(text));
+            triggerChannel(CHANNEL_NEWWARNING, text);
         }
         if (customEngine != null && customEngine.isMatching(line)) {
+            text = text != null ? text : line.toString();
             updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
-            triggerChannel(CHANNEL_NEWCUSTOM, line);
+            updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(text));
+            triggerChannel(CHANNEL_NEWCUSTOM, text);
         }
     }
 
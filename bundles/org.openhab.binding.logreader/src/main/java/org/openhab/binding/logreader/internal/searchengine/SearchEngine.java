@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -24,13 +25,21 @@ import org.eclipse.jdt.annotation.Nullable;
 /**
  * This class implements logic for regular expression based searching.
  *
+ * The search patterns are combined into a single alternation, so a line is scanned only once regardless of the
+ * number of patterns. Patterns with back references cannot be combined, as their group numbers would change, those
+ * are matched one after the other. The matchers are reused and therefore the engine must be used by one thread only.
+ *
  * @author Pauli Anttila - Initial contribution
+ * @author Contributors to the openHAB project - Match all patterns in one pass
  */
 @NonNullByDefault
 public class SearchEngine {
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+    private static final Pattern NEVER_MATCHING = Pattern.compile("(?!)");
 
-    private List<Pattern> matchers;
-    private List<Pattern> blacklistingMatchers;
+    private final List<String> patterns;
+    private final List<Matcher> matchers;
+    private final List<Matcher> blacklistingMatchers;
 
     private long matchCount;
 
@@ -42,8 +51,30 @@ public class SearchEngine {
      *
      */
     public SearchEngine(String patterns, @Nullable String blacklistingPatterns) throws PatternSyntaxException {
-        matchers = compilePatterns(patterns);
-        blacklistingMatchers = compilePatterns(blacklistingPatterns);
+        this.patterns = splitPatterns(patterns);
+        matchers = compilePatterns(this.patterns);
+        blacklistingMatchers = compilePatterns(splitPatterns(blacklistingPatterns));
+    }
+
+    /**
+     * Create a matcher, which finds the search patterns of all given engines in one pass. A line not found by this
+     * matcher does not match any of the engines, so they don't need to be checked. Blacklisting patterns are not
+     * part of the prefilter.
+     *
+     * @param engines search engines to combine.
+     * @return matcher for all search patterns, or null if the patterns cannot be combined.
+     */
+    public static @Nullable Matcher createPrefilter(SearchEngine... engines) {
+        List<String> allPatterns = new ArrayList<>();
+        for (SearchEngine engine : engines) {
+            allPatterns.addAll(engine.patterns);
+        }
+        if (allPatterns.isEmpty()) {
+            return NEVER_MATCHING.matcher("");
+        }
+        @Nullable
+        Pattern combined = combinePatterns(allPatterns);
+        return combined != null ? combined.matcher("") : null;
     }
 
     /**
@@ -52,7 +83,7 @@ public class SearchEngine {
      * @param data data against search will be done.
      * @return true if one of the search patterns found.
      */
-    public boolean isMatching(String data) {
+    public boolean isMatching(CharSequence data) {
         if (isMatching(matchers, data)) {
             if (notBlacklisted(data)) {
                 matchCount++;
@@ -75,35 +106,62 @@ public class SearchEngine {
     }
 
     /**
-     * Split pattern string and precompile search patterns.
+     * Split pattern string into the search patterns.
+     *
+     * @param patterns patterns separated by | character.
+     * @return list of patterns. If pattern parameter is null, empty list is returned.
+     */
+    private static List<String> splitPatterns(@Nullable String patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            return List.of();
+        }
+        return List.of(patterns.split("\\|"));
+    }
+
+    /**
+     * Precompile search patterns.
      *
      * @param patterns patterns which will handled.
-     * @return list of precompiled patterns. If pattern parameter is null, empty list is returned.
+     * @return list with one matcher for the combined patterns, or one matcher per pattern if they can't be combined.
      */
-    private List<Pattern> compilePatterns(@Nullable String patterns) throws PatternSyntaxException {
-        List<Pattern> patternsList = new ArrayList<>();
-        if (patterns != null && !patterns.isEmpty()) {
-            String[] list = patterns.split("\\|");
-            if (list.length > 0) {
-                for (String patternStr : list) {
-                    patternsList.add(Pattern.compile(patternStr));
-                }
+    private static List<Matcher> compilePatterns(List<String> patterns) throws PatternSyntaxException {
+        List<Matcher> matchersList = new ArrayList<>();
+        for (String patternStr : patterns) {
+            // compile each pattern on its own first, so syntax errors refer to the configured pattern
+            matchersList.add(Pattern.compile(patternStr).matcher(""));
+        }
+        if (matchersList.size() > 1) {
+            @Nullable
+            Pattern combined = combinePatterns(patterns);
+            if (combined != null) {
+                return List.of(combined.matcher(""));
+            }
+        }
+        return matchersList;
+    }
+
+    private static @Nullable Pattern combinePatterns(List<String> patterns) {
+        for (String patternStr : patterns) {
+            if (BACK_REFERENCE.matcher(patternStr).find()) {
+                return null;
             }
         }
-        return patternsList;
+        try {
+            return Pattern.compile(patterns.stream().map(p -> "(?:" + p + ")").collect(Collectors.joining("|")));
+        } catch (PatternSyntaxException e) {
+            // e.g. duplicate group names
+            return null;
+        }
     }
 
-    private boolean notBlacklisted(String data) {
+    private boolean notBlacklisted(CharSequence data) {
         return !isMatching(blacklistingMatchers, data);
     }
 
-    private boolean isMatching(@Nullable List<Pattern> patterns, String data) {
-        if (patterns != null) {
-            for (Pattern pattern : patterns) {
-                Matcher matcher = pattern.matcher(data);
-                if (matcher.find()) {
-                    return true;
-                }
+    private boolean isMatching(List<Matcher> matchers, CharSequence data) {
+        for (Matcher matcher : matchers) {
+            if (matcher.reset(data).find()) {
+                return true;
             }
         }
         return false;
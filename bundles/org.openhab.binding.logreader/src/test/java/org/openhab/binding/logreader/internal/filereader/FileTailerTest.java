@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+
+/**
+ * Tests for the {@link FileTailer} on a temporary log file
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class FileTailerTest {
+
+    private static final String ROTATED = "rotated";
+    private static final String NOT_FOUND = "not found";
+    private static final String LINE = "line: ";
+
+    private @TempDir @NonNullByDefault({}) Path directory;
+    private @NonNullByDefault({}) Path logFile;
+
+    private final FileTailer tailer = new FileTailer();
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+    private boolean started;
+
+    @BeforeEach
+    public void setUp() {
+        logFile = directory.resolve("openhab.log");
+        tailer.registerListener(new FileReaderListener() {
+            @Override
+            public void fileNotFound() {
+                events.add(NOT_FOUND);
+            }
+
+            @Override
+            public void fileRotated() {
+                events.add(ROTATED);
+            }
+
+            @Override
+            public void handle(CharSequence line) {
+                events.add(LINE + line);
+            }
+
+            @Override
+            public void handle(@Nullable Exception ex) {
+                events.add("exception: " + ex);
+            }
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tailer.stop();
+    }
+
+    @Test
+    public void linesAreReadFromTheEndOfTheFile() throws Exception {
+        append("existing line\n");
+        List<String> skipped = start();
+
+        assertFalse(skipped.contains(LINE + "existing line"));
+        append("first\nsecond\n");
+        assertEquals(LINE + "first", nextEvent());
+        assertEquals(LINE + "second", nextEvent());
+    }
+
+    @Test
+    public void partialLineIsPassedWhenComplete() throws Exception {
+        start();
+
+        append("par");
+        Thread.sleep(200);
+        append("tial\nnext");
+        assertEquals(LINE + "partial", nextEvent());
+
+        append("\n");
+        assertEquals(LINE + "next", nextEvent());
+    }
+
+    @Test
+    public void carriageReturnIsRemovedFromTheLineEnd() throws Exception {
+        start();
+
+        append("windows\r\nwith\rinside\r\n\r\n");
+        assertEquals(LINE + "windows", nextEvent());
+        assertEquals(LINE + "with\rinside", nextEvent());
+        assertEquals(LINE, nextEvent());
+    }
+
+    @Test
+    public void longLineIsPassedAsOneLine() throws Exception {
+        start();
+
+        String longLine = "x".repeat(200_000);
+        append(longLine + "\nshort\n");
+        assertEquals(LINE + longLine, nextEvent());
+        assertEquals(LINE + "short", nextEvent());
+    }
+
+    @Test
+    public void tooLongLineIsPassedInParts() throws Exception {
+        start();
+
+        String tooLongLine = "y".repeat(2_500_000);
+        append(tooLongLine + "\n");
+        StringBuilder received = new StringBuilder();
+        while (received.length() < tooLongLine.length()) {
+            String event = nextEvent();
+            assertTrue(event.startsWith(LINE), event);
+            assertTrue(event.length() - LINE.length() <= 1024 * 1024);
+            received.append(event, LINE.length(), event.length());
+        }
+        assertEquals(tooLongLine, received.toString());
+    }
+
+    @Test
+    public void truncatedFileIsReadFromTheStart() throws Exception {
+        append("some lines\nwhich will be removed\n");
+        start();
+
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+        }
+        assertEquals(ROTATED, nextEvent());
+
+        append("after truncation\n");
+        assertEquals(LINE + "after truncation", nextEvent());
+    }
+
+    @Test
+    public void rotatedFileIsReadToItsEndBeforeTheNewFile() throws Exception {
+        start();
+
+        Path rotatedFile = directory.resolve("openhab.log.1");
+        Files.move(logFile, rotatedFile);
+        Files.writeString(rotatedFile, "last line of the old file\n", StandardCharsets.US_ASCII,
+                StandardOpenOption.APPEND);
+        append("");
+
+        assertEquals(LINE + "last line of the old file", nextEvent());
+        assertEquals(ROTATED, nextEvent());
+
+        append("first line of the new file\n");
+        assertEquals(LINE + "first line of the new file", nextEvent());
+    }
+
+    @Test
+    public void missingFileIsReported() throws Exception {
+        tailer.start(logFile.toString(), 50);
+        started = true;
+        assertEquals(NOT_FOUND, nextEvent());
+
+        start();
+        append("created\n");
+        assertEquals(LINE + "created", nextEvent());
+    }
+
+    /**
+     * Start the tailer, if not done yet, and wait until it follows the file.
+     *
+     * @return the events received in the meantime
+     */
+    private List<String> start() throws IOException, InterruptedException, FileReaderException {
+        if (!Files.exists(logFile)) {
+            append("");
+        }
+        if (!started) {
+            tailer.start(logFile.toString(), 50);
+            started = true;
+        }
+
+        // the tailer starts at the end of the file, so append lines until the first one is read
+        List<String> received = new ArrayList<>();
+        String lastMarker = "";
+        String line = null;
+        for (int marker = 0; line == null && marker < 50; marker++) {
+            lastMarker = "marker " + marker;
+            append(lastMarker + "\n");
+            String event;
+            while (line == null && (event = events.poll(200, TimeUnit.MILLISECONDS)) != null) {
+                if (event.startsWith(LINE)) {
+                    line = event;
+                } else {
+                    received.add(event);
+                }
+            }
+        }
+        while (line != null && !line.equals(LINE + lastMarker)) {
+            received.add(line);
+            line = events.poll(5, TimeUnit.SECONDS);
+        }
+        assertNotNull(line, "The tailer did not start");
+        return received;
+    }
+
+    private void append(String data) throws IOException {
+        Files.writeString(logFile, data, StandardCharsets.US_ASCII, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    private String nextEvent() throws InterruptedException {
+        String event = events.poll(10, TimeUnit.SECONDS);
+        assertNotNull(event, "Expected an event");
+        return event;
+    }
+}
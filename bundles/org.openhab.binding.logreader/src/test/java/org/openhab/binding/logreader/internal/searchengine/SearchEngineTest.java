@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link SearchEngine}
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class SearchEngineTest {
+
+    @Test
+    public void combinedPatternsMatchEachPattern() {
+        SearchEngine engine = new SearchEngine("ERROR|\\[WARN\\s*\\]|failure?s?", null);
+
+        assertTrue(engine.isMatching("2024-01-01 ERROR something"));
+        assertTrue(engine.isMatching("[WARN ] something"));
+        assertTrue(engine.isMatching("connection failure"));
+        assertFalse(engine.isMatching("[INFO ] fail"));
+        assertEquals(3, engine.getMatchCount());
+    }
+
+    @Test
+    public void blacklistedLinesAreNotCounted() {
+        SearchEngine engine = new SearchEngine("ERROR|WARN", "ignored|skip(ped)?");
+
+        assertTrue(engine.isMatching("ERROR important"));
+        assertFalse(engine.isMatching("ERROR ignored"));
+        assertFalse(engine.isMatching("WARN skipped"));
+        assertEquals(1, engine.getMatchCount());
+
+        engine.clearMatchCount();
+        assertEquals(0, engine.getMatchCount());
+    }
+
+    @Test
+    public void groupsOfCombinedPatternsDoNotInterfere() {
+        // each pattern is wrapped in a non-capturing group, so anchors and quantifiers stay inside the pattern
+        SearchEngine engine = new SearchEngine("^a|b$|(c)+d", null);
+
+        assertTrue(engine.isMatching("abc"));
+        assertTrue(engine.isMatching("xyb"));
+        assertTrue(engine.isMatching("xcccd"));
+        assertFalse(engine.isMatching("xa"));
+        assertFalse(engine.isMatching("bx"));
+        assertFalse(engine.isMatching("cx"));
+    }
+
+    @Test
+    public void patternsWithBackReferencesKeepTheirGroupNumbers() {
+        // combined, the back reference of the second pattern would refer to the group of the first one
+        SearchEngine engine = new SearchEngine("(a)b|(c)\\1", null);
+
+        assertTrue(engine.isMatching("ab"));
+        assertTrue(engine.isMatching("cc"));
+        assertFalse(engine.isMatching("ca"));
+    }
+
+    @Test
+    public void patternsWithNamedBackReferences() {
+        SearchEngine engine = new SearchEngine("x|(?<word>\\w+) \\k<word>", null);
+
+        assertTrue(engine.isMatching("x"));
+        assertTrue(engine.isMatching("the the"));
+        assertFalse(engine.isMatching("the cat"));
+    }
+
+    @Test
+    public void patternsWithDuplicateGroupNames() {
+        SearchEngine engine = new SearchEngine("(?<level>ERROR)|(?<level>FATAL)", null);
+
+        assertTrue(engine.isMatching("ERROR"));
+        assertTrue(engine.isMatching("FATAL"));
+        assertFalse(engine.isMatching("INFO"));
+    }
+
+    @Test
+    public void invalidPatternIsRejected() {
+        assertThrows(PatternSyntaxException.class, () -> new SearchEngine("ERROR|(unclosed", null));
+    }
+
+    @Test
+    public void prefilterFindsThePatternsOfAllEngines() {
+        Matcher prefilter = Objects.requireNonNull(SearchEngine.createPrefilter(new SearchEngine("ERROR", null),
+                new SearchEngine("WARN|DEBUG", "ignored"), new SearchEngine("", null)));
+
+        assertTrue(prefilter.reset("ERROR").find());
+        assertTrue(prefilter.reset("DEBUG").find());
+        // blacklisting patterns are checked by the engines only
+        assertTrue(prefilter.reset("WARN ignored").find());
+        assertFalse(prefilter.reset("INFO").find());
+    }
+
+    @Test
+    public void prefilterWithoutPatternsMatchesNothing() {
+        Matcher prefilter = Objects
+                .requireNonNull(SearchEngine.createPrefilter(new SearchEngine("", null), new SearchEngine("", null)));
+
+        assertFalse(prefilter.reset("").find());
+        assertFalse(prefilter.reset("ERROR").find());
+    }
+
+    @Test
+    public void noPrefilterForBackReferences() {
+        assertNull(SearchEngine.createPrefilter(new SearchEngine("ERROR", null), new SearchEngine("(a)\\1", null)));
+    }
+}
@@ -38,6 +38,7 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +47,7 @@ import org.slf4j.LoggerFactory;
  * PING_DEVICE and SERVICE_DEVICE handlers.
  *
  * @author David Graeff - Initial contribution
+ * @author Contributors to the openHAB project - Share one prober between all handlers
  */
 @NonNullByDefault
 @Component(service = ThingHandlerFactory.class, configurationPid = BINDING_CONFIGURATION_PID)
@@ -57,6 +59,12 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     private final ScheduledExecutorService executor = ThreadPoolManager
             .getScheduledPool(NETWORK_HANDLER_THREADPOOL_NAME);
     private volatile @Nullable ExecutorService resolver;
+    private final NetworkProber prober;
+
+    @Activate
+    public NetworkHandlerFactory(@Reference NetworkProber prober) {
+        this.prober = prober;
+    }
 
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
@@ -109,9 +117,9 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(PING_DEVICE) || thingTypeUID.equals(BACKWARDS_COMPATIBLE_DEVICE)) {
-            return new NetworkHandler(thing, executor, resolver, false, configuration);
+            return new NetworkHandler(thing, executor, resolver, prober, false, configuration);
         } else if (thingTypeUID.equals(SERVICE_DEVICE)) {
-            return new NetworkHandler(thing, executor, resolver, true, configuration);
+            return new NetworkHandler(thing, executor, resolver, prober, true, configuration);
         } else if (thingTypeUID.equals(SPEEDTEST_DEVICE)) {
             return new SpeedTestHandler(thing);
         }
@@ -0,0 +1,486 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.OutputConsumptionUtil;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.TimingWheel;
+import org.openhab.binding.network.internal.utils.TimingWheel.Timeout;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.io.net.exec.ExecUtil;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link NetworkProber} performs the presence checks of all hosts known to the binding with a single thread,
+ * instead of blocking a thread for every check.
+ * <p>
+ * TCP connection attempts are non-blocking and multiplexed over one {@link Selector}. The timeouts of the attempts
+ * and the periodic refreshes of all hosts are kept in one {@link TimingWheel}, which is driven by the same thread.
+ * ICMP pings are collected for a short time and sent by a single <code>fping</code> process if that tool is
+ * installed, otherwise every ping is run by the system ping utility as before.
+ * <p>
+ * Results are always completed and scheduled tasks always run on the executor, so the selector thread is never
+ * blocked by callbacks.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = NetworkProber.class)
+public class NetworkProber {
+    private static final String THREAD_NAME = "OH-binding-network-prober";
+    private static final Duration TICK = Duration.ofMillis(25);
+    private static final int WHEEL_SIZE = 256;
+    private static final Duration ICMP_BATCH_WINDOW = Duration.ofMillis(50);
+    private static final int MAX_ICMP_BATCH_SIZE = 256;
+    private static final String FPING = "fping";
+    private static final Pattern FPING_ALIVE_PATTERN = Pattern
+            .compile("^(\\S+) is alive(?: \\((\\d+(?:\\.\\d+)?) ms\\))?");
+
+    private final Logger logger = LoggerFactory.getLogger(NetworkProber.class);
+    private final Executor executor;
+    private final NetworkUtils networkUtils;
+    private final Selector selector;
+    private final TimingWheel wheel;
+    private final Queue<Runnable> pendingActions = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /* All access must be guarded by "this" */
+    private @Nullable Boolean fpingAvailable;
+    /* All access must be guarded by "this" */
+    private final Map<Long, IcmpBatch> icmpBatches = new HashMap<>();
+
+    @Activate
+    public NetworkProber() throws IOException {
+        this(ThreadPoolManager.getScheduledPool("networkBinding"), new NetworkUtils());
+    }
+
+    NetworkProber(Executor executor, NetworkUtils networkUtils) throws IOException {
+        this.executor = executor;
+        this.networkUtils = networkUtils;
+        this.selector = Selector.open();
+        this.wheel = new TimingWheel(TICK, WHEEL_SIZE, System.nanoTime());
+        this.thread = new Thread(this::run, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Deactivate
+    public void dispose() {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs a task after a delay.
+     *
+     * @param task the task, run on the executor
+     * @param delay the time to wait
+     * @return a future to cancel the task, completed after the task has run
+     */
+    public CompletableFuture<Void> schedule(Runnable task, Duration delay) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        submit(() -> {
+            if (!future.isDone()) {
+                Timeout timeout = wheel.schedule(() -> executor.execute(() -> {
+                    if (!future.isDone()) {
+                        try {
+                            task.run();
+                            future.complete(null);
+                        } catch (RuntimeException e) {
+                            future.completeExceptionally(e);
+                        }
+                    }
+                }), delay, System.nanoTime());
+                future.whenComplete((result, e) -> timeout.cancel());
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs a task periodically, like {@link java.util.concurrent.ScheduledExecutorService#scheduleWithFixedDelay}.
+     *
+     * @param task the task, run on the executor
+     * @param initialDelay the time to wait before the first run
+     * @param delay the time to wait between the end of a run and the start of the next one
+     * @return a future which is never completed normally, cancel it to stop the task
+     */
+    public CompletableFuture<Void> scheduleWithFixedDelay(Runnable task, Duration initialDelay, Duration delay) {
+        PeriodicTask periodicTask = new PeriodicTask(task, delay);
+        periodicTask.future.whenComplete((result, e) -> {
+            Timeout timeout = periodicTask.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        });
+        periodicTask.schedule(initialDelay);
+        return periodicTask.future;
+    }
+
+    /**
+     * Tries to open a TCP connection without blocking a thread while the connection is established.
+     *
+     * @param address the address to connect to
+     * @param port the TCP port
+     * @param timeout the time after which the attempt is considered failed
+     * @return the result of the attempt, a refused connection is reported as an unsuccessful result
+     */
+    public CompletableFuture<PingResult> tcpProbe(InetAddress address, int port, Duration timeout) {
+        CompletableFuture<PingResult> result = new CompletableFuture<>();
+        Instant start = Instant.now();
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(new InetSocketAddress(address, port))) {
+                closeQuietly(channel);
+                result.complete(new PingResult(true, Duration.between(start, Instant.now())));
+                return result;
+            }
+        } catch (IOException e) {
+            logger.trace("Failed to connect to {}:{}", address.getHostAddress(), port, e);
+            if (channel != null) {
+                closeQuietly(channel);
+            }
+            result.complete(new PingResult(false, Duration.between(start, Instant.now())));
+            return result;
+        }
+        TcpProbe probe = new TcpProbe(channel, start, result);
+        submit(() -> {
+            try {
+                probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                probe.timeout = wheel.schedule(() -> probe.finish(false), timeout, System.nanoTime());
+            } catch (IOException e) {
+                logger.trace("Failed to register connection attempt to {}:{}", address.getHostAddress(), port, e);
+                probe.finish(false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends an ICMP ping. IPv4 pings using a native ping method are batched with the pings of other hosts if
+     * <code>fping</code> is available.
+     *
+     * @param method the native ping method to use if the ping can not be batched
+     * @param address the address to ping
+     * @param timeout the time to wait for a reply
+     * @return the result of the ping or null if the ping method is not supported
+     */
+    public CompletableFuture<@Nullable PingResult> icmpProbe(IpPingMethodEnum method, InetAddress address,
+            Duration timeout) {
+        if (address instanceof Inet4Address && method != IpPingMethodEnum.WINDOWS_PING && isFpingAvailable()) {
+            CompletableFuture<@Nullable PingResult> result = new CompletableFuture<>();
+            addToIcmpBatch(method, address.getHostAddress(), timeout, result);
+            return result;
+        }
+        return CompletableFuture.supplyAsync(() -> nativePing(method, address.getHostAddress(), timeout), executor);
+    }
+
+    private synchronized boolean isFpingAvailable() {
+        Boolean fpingAvailable = this.fpingAvailable;
+        if (fpingAvailable == null) {
+            String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofSeconds(1), FPING, "-v");
+            fpingAvailable = result != null && result.contains("Version");
+            logger.debug("{} is {}available, ICMP pings are {}", FPING, fpingAvailable ? "" : "not ",
+                    fpingAvailable ? "batched" : "sent one by one");
+            this.fpingAvailable = fpingAvailable;
+        }
+        return fpingAvailable;
+    }
+
+    private synchronized void addToIcmpBatch(IpPingMethodEnum method, String host, Duration timeout,
+            CompletableFuture<@Nullable PingResult> result) {
+        Long key = timeout.toMillis();
+        IcmpBatch batch = icmpBatches.get(key);
+        if (batch == null) {
+            IcmpBatch newBatch = new IcmpBatch(method, timeout);
+            icmpBatches.put(key, newBatch);
+            schedule(() -> sendIcmpBatch(key, newBatch), ICMP_BATCH_WINDOW);
+            batch = newBatch;
+        }
+        batch.results.computeIfAbsent(host, h -> new ArrayList<>()).add(result);
+        if (batch.results.size() >= MAX_ICMP_BATCH_SIZE) {
+            IcmpBatch fullBatch = batch;
+            icmpBatches.remove(key);
+            executor.execute(() -> runIcmpBatch(fullBatch));
+        }
+    }
+
+    private void sendIcmpBatch(Long key, IcmpBatch batch) {
+        synchronized (this) {
+            if (!icmpBatches.remove(key, batch)) {
+                // the batch was full and has already been sent
+                return;
+            }
+        }
+        runIcmpBatch(batch);
+    }
+
+    private void runIcmpBatch(IcmpBatch batch) {
+        Instant start = Instant.now();
+        List<String> command = new ArrayList<>();
+        command.add(FPING);
+        command.add("-e");
+        command.add("-r");
+        command.add("0");
+        command.add("-t");
+        command.add(String.valueOf(Math.max(1, batch.timeout.toMillis())));
+        command.addAll(batch.results.keySet());
+
+        Map<String, Duration> alive = new HashMap<>();
+        try {
+            Process proc = new ProcessBuilder(command).redirectErrorStream(true).start();
+            FutureTask<List<String>> consumer = OutputConsumptionUtil.consumeText(proc.getInputStream(),
+                    StandardCharsets.UTF_8);
+            // fping paces its requests, so the run takes longer the more hosts are pinged
+            long maxWait = batch.timeout.toMillis() + 10L * batch.results.size() + 1000L;
+            if (!proc.waitFor(maxWait, TimeUnit.MILLISECONDS)) {
+                logger.warn("Timed out while waiting for the {} process to execute", FPING);
+                proc.destroy();
+            }
+            for (String line : consumer.get(5, TimeUnit.SECONDS)) {
+                logger.trace("Network [{} output]: '{}'", FPING, line);
+                Matcher matcher = FPING_ALIVE_PATTERN.matcher(line);
+                if (matcher.find()) {
+                    String responseTime = matcher.group(2);
+                    alive.put(matcher.group(1),
+                            responseTime == null ? Duration.ZERO : NetworkUtils.millisToDuration(
+                                    Double.parseDouble(responseTime)));
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to run {}, sending ICMP pings one by one: {}", FPING, e.getMessage());
+            synchronized (this) {
+                fpingAvailable = false;
+            }
+            batch.results.forEach((host, results) -> {
+                PingResult pingResult = nativePing(batch.method, host, batch.timeout);
+                results.forEach(result -> result.complete(pingResult));
+            });
+            return;
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("An exception occurred while consuming {} process output: {}", FPING, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Duration executionTime = Duration.between(start, Instant.now());
+        batch.results.forEach((host, results) -> {
+            Duration responseTime = alive.get(host);
+            PingResult pingResult = new PingResult(responseTime != null, executionTime);
+            pingResult.setResponseTime(responseTime);
+            results.forEach(result -> result.complete(pingResult));
+        });
+    }
+
+    private @Nullable PingResult nativePing(IpPingMethodEnum method, String host, Duration timeout) {
+        try {
+            return networkUtils.nativePing(method, host, timeout);
+        } catch (IOException e) {
+            logger.trace("Failed to execute a native ping for {}", host, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * Queues an action to be run by the selector thread.
+     */
+    private void submit(Runnable action) {
+        pendingActions.add(action);
+        selector.wakeup();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                // sleep until the earliest timeout expires, new timeouts are added after a wakeup
+                Duration timeToDeadline = wheel.getTimeToNextDeadline(System.nanoTime());
+                if (timeToDeadline == null) {
+                    selector.select();
+                } else {
+                    // round up, the wheel runs a timeout only once its deadline has passed
+                    long timeoutMillis = (timeToDeadline.toNanos() + 999_999) / 1_000_000;
+                    if (timeoutMillis > 0) {
+                        selector.select(timeoutMillis);
+                    } else {
+                        selector.selectNow();
+                    }
+                }
+                Runnable action;
+                while ((action = pendingActions.poll()) != null) {
+                    action.run();
+                }
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (key.attachment() instanceof TcpProbe probe) {
+                        handleConnect(probe);
+                    }
+                }
+                selector.selectedKeys().clear();
+                wheel.advance(System.nanoTime());
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Unexpected failure of the network prober", e);
+            }
+        }
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof TcpProbe probe) {
+                probe.finish(false);
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.trace("Failed to close selector", e);
+        }
+    }
+
+    private void handleConnect(TcpProbe probe) {
+        try {
+            probe.finish(probe.channel.finishConnect());
+        } catch (IOException e) {
+            // ConnectException, NoRouteToHostException: the host or port is not reachable
+            logger.trace("Connection attempt failed: {}", e.getMessage());
+            probe.finish(false);
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing to do, the channel is discarded anyway
+        }
+    }
+
+    /**
+     * A pending TCP connection attempt. Only accessed by the selector thread.
+     */
+    private class TcpProbe {
+        private final SocketChannel channel;
+        private final Instant start;
+        private final CompletableFuture<PingResult> result;
+        private @Nullable Timeout timeout;
+        private boolean finished = false;
+
+        private TcpProbe(SocketChannel channel, Instant start, CompletableFuture<PingResult> result) {
+            this.channel = channel;
+            this.start = start;
+            this.result = result;
+        }
+
+        private void finish(boolean success) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            closeQuietly(channel);
+            PingResult pingResult = new PingResult(success, Duration.between(start, Instant.now()));
+            executor.execute(() -> result.complete(pingResult));
+        }
+    }
+
+    /**
+     * A task run with a fixed delay until its future is cancelled.
+     */
+    private class PeriodicTask {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final Runnable task;
+        private final Duration delay;
+        private volatile @Nullable Timeout timeout;
+
+        private PeriodicTask(Runnable task, Duration delay) {
+            this.task = task;
+            this.delay = delay;
+        }
+
+        private void schedule(Duration nextDelay) {
+            submit(() -> {
+                if (!future.isDone()) {
+                    timeout = wheel.schedule(() -> executor.execute(this::run), nextDelay, System.nanoTime());
+                }
+            });
+        }
+
+        private void run() {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warn("Scheduled task failed", e);
+            }
+            schedule(delay);
+        }
+    }
+
+    /**
+     * ICMP pings with the same timeout, waiting to be sent together.
+     */
+    private static class IcmpBatch {
+        private final IpPingMethodEnum method;
+        private final Duration timeout;
+        private final Map<String, List<CompletableFuture<@Nullable PingResult>>> results = new LinkedHashMap<>();
+
+        private IcmpBatch(IpPingMethodEnum method, Duration timeout) {
+            this.method = method;
+            this.timeout = timeout;
+        }
+    }
+}
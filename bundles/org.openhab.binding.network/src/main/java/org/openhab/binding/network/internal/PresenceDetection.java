@@ -27,11 +27,11 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -54,6 +54,7 @@ import org.slf4j.LoggerFactory;
  * @author David Gräff, 2017 - Rewritten
  * @author Jan N. Klug - refactored host name resolution
  * @author Wouter Born - Reuse ExpiringCacheAsync from Core
+ * @author Contributors to the openHAB project - Non-blocking TCP and batched ICMP checks using the shared prober
  */
 @NonNullByDefault
 public class PresenceDetection implements IPRequestReceivedCallback {
@@ -96,6 +97,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     private String lastReachableNetworkInterfaceName = "";
 
     private final Executor executor;
+    private @Nullable NetworkProber prober;
 
     public PresenceDetection(final PresenceDetectionListener updateListener, Duration cacheDeviceStateTime,
             Executor executor) {
@@ -147,6 +149,16 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         });
     }
 
+    /**
+     * Sets the {@link NetworkProber} used for TCP connection attempts and system pings. Without a prober, every check
+     * blocks a thread of the executor until it has completed.
+     *
+     * @param prober the shared prober of the binding
+     */
+    public void setProber(NetworkProber prober) {
+        this.prober = prober;
+    }
+
     public void setNetworkInterfaceNames(Set<String> networkInterfaceNames) {
         this.networkInterfaceNames = networkInterfaceNames;
     }
@@ -339,6 +351,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
     }
 
+    private CompletableFuture<Void> withDestinationAddress(CompletableFuture<@Nullable InetAddress> destinationAddress,
+            Function<InetAddress, CompletableFuture<Void>> probe) {
+        return destinationAddress.thenCompose(address -> {
+            if (address == null) {
+                logger.trace("The destinationAddress for {} is null", hostname);
+                return CompletableFuture.completedFuture(null);
+            }
+            return probe.apply(address);
+        });
+    }
+
     /**
      * Perform a presence detection with ICMP-, ARP ping and TCP connection attempts simultaneously.
      *
@@ -377,11 +400,26 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
 
         List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
+        NetworkProber prober = this.prober;
+        boolean systemPing = pingMethod != IpPingMethodEnum.JAVA_PING && pingMethod != IpPingMethodEnum.DISABLED;
+        @Nullable
+        CompletableFuture<@Nullable InetAddress> destinationAddress = null;
+        if (prober != null && (!tcpPorts.isEmpty() || systemPing)) {
+            // resolve the host name on the executor, the probes are started once it is known
+            destinationAddress = CompletableFuture.supplyAsync(destination::getValue, executor);
+        }
 
-        for (Integer tcpPort : tcpPorts) {
-            addAsyncDetection(completableFutures, () -> {
-                performServicePing(pdv, tcpPort);
-            });
+        if (prober != null && destinationAddress != null && !tcpPorts.isEmpty()) {
+            for (Integer tcpPort : tcpPorts) {
+                completableFutures.add(withDestinationAddress(destinationAddress,
+                        address -> probeService(prober, pdv, address, tcpPort)));
+            }
+        } else {
+            for (Integer tcpPort : tcpPorts) {
+                addAsyncDetection(completableFutures, () -> {
+                    performServicePing(pdv, tcpPort);
+                });
+            }
         }
 
         // ARP ping for IPv4 addresses. Use single executor for Windows tool and
@@ -399,30 +437,32 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
 
         // ICMP ping
-        if (pingMethod != IpPingMethodEnum.DISABLED) {
+        if (pingMethod == IpPingMethodEnum.JAVA_PING) {
             addAsyncDetection(completableFutures, () -> {
-                if (pingMethod == IpPingMethodEnum.JAVA_PING) {
-                    performJavaPing(pdv);
-                } else {
-                    performSystemPing(pdv);
-                }
+                performJavaPing(pdv);
             });
+        } else if (systemPing) {
+            if (prober != null && destinationAddress != null) {
+                completableFutures.add(withDestinationAddress(destinationAddress,
+                        address -> probeSystemPing(prober, pdv, address)));
+            } else {
+                addAsyncDetection(completableFutures, () -> {
+                    performSystemPing(pdv);
+                });
+            }
         }
 
-        return CompletableFuture.supplyAsync(() -> {
-            logger.debug("Waiting for {} detection futures for {} to complete", completableFutures.size(), hostname);
-            try {
-                CompletableFuture.allOf(completableFutures.toArray(CompletableFuture[]::new)).join();
+        logger.debug("Waiting for {} detection futures for {} to complete", completableFutures.size(), hostname);
+        return CompletableFuture.allOf(completableFutures.toArray(CompletableFuture[]::new)).handleAsync((v, e) -> {
+            if (e == null) {
                 logger.debug("All {} detection futures for {} have completed", completableFutures.size(), hostname);
-            } catch (CancellationException e) {
+            } else if (e instanceof CancellationException || e.getCause() instanceof CancellationException) {
                 logger.debug("Detection future for {} was cancelled", hostname);
-            } catch (CompletionException e) {
-                if (e.getCause() instanceof TimeoutException) {
-                    logger.debug("Detection future for {} timed out", hostname);
-                } else {
-                    logger.debug("Detection future failed to complete {}", e.getMessage());
-                    logger.trace("", e);
-                }
+            } else if (e.getCause() instanceof TimeoutException) {
+                logger.debug("Detection future for {} timed out", hostname);
+            } else {
+                logger.debug("Detection future failed to complete {}", e.getMessage());
+                logger.trace("", e);
             }
 
             if (!pdv.isReachable()) {
@@ -500,6 +540,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         });
     }
 
+    private CompletableFuture<Void> probeService(NetworkProber prober, PresenceDetectionValue pdv,
+            InetAddress destinationAddress, int tcpPort) {
+        logger.trace("Probe TCP presence detection for {} on port: {}", hostname, tcpPort);
+
+        return prober.tcpProbe(destinationAddress, tcpPort, timeout).thenAccept(pingResult -> {
+            if (pingResult.isSuccess()) {
+                updateReachable(pdv, TCP_CONNECTION, getLatency(pingResult), tcpPort);
+            }
+        });
+    }
+
     /**
      * Performs an "ARP ping" (ARP request) on the given interface.
      * If it is an iOS device, the {@link NetworkUtils#wakeUpIOS(InetAddress)} method is
@@ -589,6 +640,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         });
     }
 
+    private CompletableFuture<Void> probeSystemPing(NetworkProber prober, PresenceDetectionValue pdv,
+            InetAddress destinationAddress) {
+        logger.trace("Probe native ping presence detection for {}", hostname);
+
+        return prober.icmpProbe(pingMethod, destinationAddress, timeout).thenAccept(pingResult -> {
+            if (pingResult != null && pingResult.isSuccess()) {
+                updateReachable(pdv, ICMP_PING, getLatency(pingResult));
+            }
+        });
+    }
+
     private Duration getLatency(PingResult pingResult) {
         logger.trace("Getting latency from ping result {} using latency mode {}", pingResult,
                 preferResponseTimeAsLatency);
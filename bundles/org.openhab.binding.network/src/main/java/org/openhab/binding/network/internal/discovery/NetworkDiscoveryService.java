@@ -38,6 +38,7 @@ import java.util.stream.Collectors;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.NetworkBindingConfiguration;
+import org.openhab.binding.network.internal.NetworkProber;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
@@ -64,6 +65,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
+ * @author Contributors to the openHAB project - Probe all IPs with the shared prober
  */
 @NonNullByDefault
 @Component(service = DiscoveryService.class, configurationPid = "discovery.network")
@@ -85,14 +87,16 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     private @Nullable ExecutorService resolver;
     private final NetworkUtils networkUtils = new NetworkUtils();
     private final ConfigurationAdmin admin;
+    private final NetworkProber prober;
 
     @Activate
-    public NetworkDiscoveryService(@Reference ConfigurationAdmin admin) {
+    public NetworkDiscoveryService(@Reference ConfigurationAdmin admin, @Reference NetworkProber prober) {
         super(SUPPORTED_THING_TYPES_UIDS,
                 (int) Math.round(new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size()
                         * (durationToMillis(PING_TIMEOUT) / 1000.0)),
                 false);
         this.admin = admin;
+        this.prober = prober;
     }
 
     @Override
@@ -199,6 +203,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
                 for (String ip : networkIPs) {
                     final PresenceDetection pd = new PresenceDetection(this, Duration.ofSeconds(2), resolver);
                     pd.setHostname(ip);
+                    // TCP connection attempts and pings of all IPs are multiplexed by the prober
+                    pd.setProber(prober);
                     pd.setIOSDevice(true);
                     pd.setUseDhcpSniffing(false);
                     pd.setTimeout(PING_TIMEOUT);
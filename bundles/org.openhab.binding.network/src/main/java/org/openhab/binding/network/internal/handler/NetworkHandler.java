@@ -23,8 +23,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -32,6 +31,7 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.NetworkBindingConfigurationListener;
 import org.openhab.binding.network.internal.NetworkBindingConstants;
 import org.openhab.binding.network.internal.NetworkHandlerConfiguration;
+import org.openhab.binding.network.internal.NetworkProber;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
@@ -62,6 +62,7 @@ import org.slf4j.LoggerFactory;
  * @author David Graeff - Rewritten
  * @author Wouter Born - Add Wake-on-LAN thing action support
  * @author Ravi Nadahar - Made class thread-safe
+ * @author Contributors to the openHAB project - Schedule refreshes and checks with the shared prober
  */
 @NonNullByDefault
 public class NetworkHandler extends BaseThingHandler
@@ -72,7 +73,7 @@ public class NetworkHandler extends BaseThingHandler
     private @Nullable PresenceDetection presenceDetection;
 
     /* All access must be guarded by "this" */
-    private @Nullable ScheduledFuture<?> refreshJob;
+    private @Nullable Future<?> refreshJob;
 
     /* All access must be guarded by "this" */
     private @Nullable WakeOnLanPacketSender wakeOnLanPacketSender;
@@ -86,15 +87,17 @@ public class NetworkHandler extends BaseThingHandler
     private volatile int retryCounter = 0;
     private final ScheduledExecutorService executor;
     private final ExecutorService resolver;
+    private final NetworkProber prober;
 
     /**
      * Creates a new instance using the specified parameters.
      */
     public NetworkHandler(Thing thing, ScheduledExecutorService executor, ExecutorService resolver,
-            boolean isTCPServiceDevice, NetworkBindingConfiguration configuration) {
+            NetworkProber prober, boolean isTCPServiceDevice, NetworkBindingConfiguration configuration) {
         super(thing);
         this.executor = executor;
         this.resolver = resolver;
+        this.prober = prober;
         this.isTCPServiceDevice = isTCPServiceDevice;
         this.configuration = configuration;
         this.configuration.addNetworkBindingConfigurationListener(this);
@@ -102,7 +105,7 @@ public class NetworkHandler extends BaseThingHandler
 
     private void refreshValue(ChannelUID channelUID) {
         PresenceDetection pd;
-        ScheduledFuture<?> rj;
+        Future<?> rj;
         synchronized (this) {
             pd = presenceDetection;
             rj = refreshJob;
@@ -185,7 +188,7 @@ public class NetworkHandler extends BaseThingHandler
     @Override
     public void dispose() {
         synchronized (this) {
-            ScheduledFuture<?> refreshJob = this.refreshJob;
+            Future<?> refreshJob = this.refreshJob;
             if (refreshJob != null) {
                 refreshJob.cancel(true);
                 this.refreshJob = null;
@@ -202,6 +205,7 @@ public class NetworkHandler extends BaseThingHandler
         NetworkHandlerConfiguration config = getConfigAs(NetworkHandlerConfiguration.class);
 
         presenceDetection.setHostname(config.hostname);
+        presenceDetection.setProber(prober);
         presenceDetection.setNetworkInterfaceNames(config.networkInterfaceNames);
         presenceDetection.setPreferResponseTimeAsLatency(configuration.preferResponseTimeAsLatency);
 
@@ -228,8 +232,8 @@ public class NetworkHandler extends BaseThingHandler
             wakeOnLanPacketSender = new WakeOnLanPacketSender(config.macAddress, config.hostname, config.port,
                     config.networkInterfaceNames);
             if (config.refreshInterval > 0) {
-                refreshJob = executor.scheduleWithFixedDelay(presenceDetection::refresh, (long) (Math.random() * 5000),
-                        config.refreshInterval, TimeUnit.MILLISECONDS);
+                refreshJob = prober.scheduleWithFixedDelay(presenceDetection::refresh,
+                        Duration.ofMillis((long) (Math.random() * 5000)), Duration.ofMillis(config.refreshInterval));
             }
         }
 
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A hashed timing wheel. Timeouts are put into the slot of the tick they expire in, so scheduling and cancelling
+ * take constant time no matter how many timeouts are pending. Timeouts that lie more than one rotation ahead are
+ * kept in their slot until the wheel has turned far enough.
+ * <p>
+ * This class is not thread-safe, except for {@link Timeout#cancel()}. All other methods have to be called from the
+ * same thread, which also runs the expired tasks.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class TimingWheel {
+    private final long tickNanos;
+    private final long startNanos;
+    private final List<List<Timeout>> slots;
+    private final int mask;
+    private long currentTick = 0;
+    private int size = 0;
+
+    /**
+     * A scheduled task of a {@link TimingWheel}.
+     */
+    public static class Timeout {
+        private final Runnable task;
+        private final long deadlineTick;
+        private volatile boolean cancelled = false;
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Prevents the task from being run. The timeout is removed from the wheel once its slot is visited.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * @param tick the resolution of the wheel
+     * @param wheelSize the number of slots, rounded up to the next power of two
+     * @param nowNanos the current value of {@link System#nanoTime()}
+     */
+    public TimingWheel(Duration tick, int wheelSize, long nowNanos) {
+        this.tickNanos = Math.max(1, tick.toNanos());
+        this.startNanos = nowNanos;
+        int slotCount = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.mask = slotCount - 1;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedules a task. The task is run by the first call of {@link #advance(long)} after the delay has elapsed.
+     *
+     * @param task the task to run
+     * @param delay the time to wait before the task is run
+     * @param nowNanos the current value of {@link System#nanoTime()}
+     * @return the timeout which can be used to cancel the task
+     */
+    public Timeout schedule(Runnable task, Duration delay, long nowNanos) {
+        long delayNanos = Math.max(0, delay.toNanos());
+        long deadlineTick = Math.max(currentTick, (nowNanos - startNanos + delayNanos + tickNanos - 1) / tickNanos);
+        Timeout timeout = new Timeout(task, deadlineTick);
+        slots.get((int) (deadlineTick & mask)).add(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Runs all tasks which have expired until now. Tasks scheduled by these tasks are not run before the next call.
+     *
+     * @param nowNanos the current value of {@link System#nanoTime()}
+     * @return the number of tasks run
+     */
+    public int advance(long nowNanos) {
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        if (targetTick < currentTick) {
+            return 0;
+        }
+        List<Timeout> expired = new ArrayList<>();
+        // after a long pause every slot is visited once, not once per elapsed tick
+        long lastTick = Math.min(targetTick, currentTick + mask);
+        for (long tick = currentTick; tick <= lastTick; tick++) {
+            Iterator<Timeout> iterator = slots.get((int) (tick & mask)).iterator();
+            while (iterator.hasNext()) {
+                Timeout timeout = iterator.next();
+                if (timeout.cancelled) {
+                    iterator.remove();
+                    size--;
+                } else if (timeout.deadlineTick <= targetTick) {
+                    iterator.remove();
+                    size--;
+                    expired.add(timeout);
+                }
+            }
+        }
+        currentTick = targetTick + 1;
+        for (Timeout timeout : expired) {
+            if (!timeout.cancelled) {
+                timeout.task.run();
+            }
+        }
+        return expired.size();
+    }
+
+    /**
+     * @param nowNanos the current value of {@link System#nanoTime()}
+     * @return the time until the earliest pending timeout expires, or null if no timeout is pending
+     */
+    public @Nullable Duration getTimeToNextDeadline(long nowNanos) {
+        // the slots of the next rotation are ordered by their deadline
+        for (long tick = currentTick; tick <= currentTick + mask; tick++) {
+            for (Timeout timeout : slots.get((int) (tick & mask))) {
+                if (!timeout.cancelled && timeout.deadlineTick == tick) {
+                    return timeUntil(tick, nowNanos);
+                }
+            }
+        }
+        // only timeouts more than one rotation ahead are left
+        long deadlineTick = Long.MAX_VALUE;
+        for (List<Timeout> slot : slots) {
+            for (Timeout timeout : slot) {
+                if (!timeout.cancelled) {
+                    deadlineTick = Math.min(deadlineTick, timeout.deadlineTick);
+                }
+            }
+        }
+        return deadlineTick == Long.MAX_VALUE ? null : timeUntil(deadlineTick, nowNanos);
+    }
+
+    private Duration timeUntil(long tick, long nowNanos) {
+        return Duration.ofNanos(Math.max(0, startNanos + tick * tickNanos - nowNanos));
+    }
+
+    /**
+     * @return true if no timeout is pending, including cancelled timeouts which have not been removed yet
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
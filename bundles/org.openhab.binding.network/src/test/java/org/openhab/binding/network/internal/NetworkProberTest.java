@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PingResult;
+
+/**
+ * Tests cases for {@link NetworkProber}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class NetworkProberTest {
+
+    private @NonNullByDefault({}) NetworkProber prober;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        prober = new NetworkProber(Runnable::run, new NetworkUtils());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        prober.dispose();
+    }
+
+    @Test
+    public void tcpProbeSucceedsForListeningPort()
+            throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            PingResult result = prober
+                    .tcpProbe(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), Duration.ofSeconds(2))
+                    .get(5, TimeUnit.SECONDS);
+            assertTrue(result.isSuccess());
+        }
+    }
+
+    @Test
+    public void tcpProbeFailsForClosedPort()
+            throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        PingResult result = prober.tcpProbe(InetAddress.getLoopbackAddress(), port, Duration.ofSeconds(2)).get(5,
+                TimeUnit.SECONDS);
+        assertFalse(result.isSuccess());
+    }
+
+    @Test
+    public void scheduleWithFixedDelayRunsUntilCancelled() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        CompletableFuture<Void> future = prober.scheduleWithFixedDelay(latch::countDown, Duration.ZERO,
+                Duration.ofMillis(50));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    public void scheduledTaskIsNotRunAfterCancel() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        CompletableFuture<Void> future = prober.schedule(latch::countDown, Duration.ofMillis(200));
+        future.cancel(false);
+        assertFalse(latch.await(500, TimeUnit.MILLISECONDS));
+    }
+}
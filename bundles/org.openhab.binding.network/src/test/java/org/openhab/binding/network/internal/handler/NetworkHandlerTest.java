@@ -35,6 +35,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.NetworkBindingConstants;
+import org.openhab.binding.network.internal.NetworkProber;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.core.config.core.Configuration;
@@ -63,6 +64,7 @@ public class NetworkHandlerTest extends JavaTest {
     private @Mock @NonNullByDefault({}) ThingHandlerCallback callback;
     private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduledExecutorService;
     private @Mock @NonNullByDefault({}) ExecutorService resolver;
+    private @Mock @NonNullByDefault({}) NetworkProber prober;
     private @Mock @NonNullByDefault({}) Thing thing;
 
     @BeforeEach
@@ -73,7 +75,8 @@ public class NetworkHandlerTest extends JavaTest {
     @Test
     public void checkAllConfigurations() {
         NetworkBindingConfiguration config = new NetworkBindingConfiguration();
-        NetworkHandler handler = spy(new NetworkHandler(thing, scheduledExecutorService, resolver, true, config));
+        NetworkHandler handler = spy(
+                new NetworkHandler(thing, scheduledExecutorService, resolver, prober, true, config));
         handler.setCallback(callback);
         // Provide all possible configuration
         when(thing.getConfiguration()).thenAnswer(a -> {
@@ -96,7 +99,8 @@ public class NetworkHandlerTest extends JavaTest {
     @Test
     public void tcpDeviceInitTests() {
         NetworkBindingConfiguration config = new NetworkBindingConfiguration();
-        NetworkHandler handler = spy(new NetworkHandler(thing, scheduledExecutorService, resolver, true, config));
+        NetworkHandler handler = spy(
+                new NetworkHandler(thing, scheduledExecutorService, resolver, prober, true, config));
         assertThat(handler.isTCPServiceDevice(), is(true));
         handler.setCallback(callback);
         // Port is missing, should make the device OFFLINE
@@ -116,7 +120,8 @@ public class NetworkHandlerTest extends JavaTest {
     @Test
     public void pingDeviceInitTests() {
         NetworkBindingConfiguration config = new NetworkBindingConfiguration();
-        NetworkHandler handler = spy(new NetworkHandler(thing, scheduledExecutorService, resolver, false, config));
+        NetworkHandler handler = spy(
+                new NetworkHandler(thing, scheduledExecutorService, resolver, prober, false, config));
         handler.setCallback(callback);
         // Provide minimal configuration
         when(thing.getConfiguration()).thenAnswer(a -> {
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.network.internal.utils.TimingWheel.Timeout;
+
+/**
+ * Tests cases for {@link TimingWheel}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class TimingWheelTest {
+    private static final long START = 1000L;
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    public void runsTasksWhenExpired() {
+        TimingWheel wheel = new TimingWheel(Duration.ofMillis(10), 8, START);
+        AtomicInteger runs = new AtomicInteger();
+        wheel.schedule(runs::incrementAndGet, Duration.ofMillis(25), START);
+
+        assertThat(wheel.advance(START + 20 * MILLIS), is(0));
+        assertThat(wheel.advance(START + 30 * MILLIS), is(1));
+        assertThat(runs.get(), is(1));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void keepsTasksBeyondOneRotation() {
+        TimingWheel wheel = new TimingWheel(Duration.ofMillis(10), 8, START);
+        AtomicInteger runs = new AtomicInteger();
+        wheel.schedule(runs::incrementAndGet, Duration.ofMillis(500), START);
+
+        assertThat(wheel.advance(START + 490 * MILLIS), is(0));
+        assertThat(wheel.size(), is(1));
+        // a long pause must not skip the task
+        assertThat(wheel.advance(START + 5000 * MILLIS), is(1));
+        assertThat(runs.get(), is(1));
+    }
+
+    @Test
+    public void skipsCancelledTasks() {
+        TimingWheel wheel = new TimingWheel(Duration.ofMillis(10), 8, START);
+        AtomicInteger runs = new AtomicInteger();
+        Timeout timeout = wheel.schedule(runs::incrementAndGet, Duration.ofMillis(30), START);
+        timeout.cancel();
+
+        assertThat(wheel.advance(START + 40 * MILLIS), is(0));
+        assertThat(runs.get(), is(0));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void reportsTheTimeToTheEarliestDeadline() {
+        TimingWheel wheel = new TimingWheel(Duration.ofMillis(10), 8, START);
+        assertNull(wheel.getTimeToNextDeadline(START));
+
+        Timeout first = wheel.schedule(() -> {
+        }, Duration.ofMillis(30), START);
+        // more than one rotation ahead
+        wheel.schedule(() -> {
+        }, Duration.ofMillis(1000), START);
+        assertThat(wheel.getTimeToNextDeadline(START + 5 * MILLIS), is(Duration.ofMillis(25)));
+
+        first.cancel();
+        assertThat(wheel.getTimeToNextDeadline(START), is(Duration.ofMillis(1000)));
+        assertThat(wheel.advance(START + 990 * MILLIS), is(0));
+        assertThat(wheel.getTimeToNextDeadline(START + 990 * MILLIS), is(Duration.ofMillis(10)));
+        assertThat(wheel.advance(START + 1000 * MILLIS), is(1));
+        assertNull(wheel.getTimeToNextDeadline(START + 1000 * MILLIS));
+    }
+}
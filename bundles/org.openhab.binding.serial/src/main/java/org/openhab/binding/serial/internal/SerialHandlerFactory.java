@@ -21,6 +21,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.serial.internal.handler.SerialBridgeHandler;
 import org.openhab.binding.serial.internal.handler.SerialDeviceHandler;
 import org.openhab.binding.serial.internal.handler.TcpBridgeHandler;
+import org.openhab.binding.serial.internal.handler.TcpSelector;
 import org.openhab.binding.serial.internal.handler.TcpServerBridgeHandler;
 import org.openhab.core.io.transport.serial.SerialPortManager;
 import org.openhab.core.thing.Bridge;
@@ -29,6 +30,7 @@ import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -38,6 +40,7 @@ import org.osgi.service.component.annotations.Reference;
  * handlers.
  *
  * @author Mike Major - Initial contribution
+ * @author Contributors to the openHAB project - Share one selector between the TCP bridges
  */
 @NonNullByDefault
 @Component(configurationPid = "binding.serial", service = ThingHandlerFactory.class)
@@ -48,11 +51,19 @@ public class SerialHandlerFactory extends BaseThingHandlerFactory {
 
     private final SerialPortManager serialPortManager;
 
+    private final TcpSelector tcpSelector = new TcpSelector();
+
     @Activate
     public SerialHandlerFactory(@Reference final SerialPortManager serialPortManager) {
         this.serialPortManager = serialPortManager;
     }
 
+    @Override
+    protected void deactivate(final ComponentContext componentContext) {
+        tcpSelector.stop();
+        super.deactivate(componentContext);
+    }
+
     @Override
     public boolean supportsThingType(final ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -65,9 +76,9 @@ public class SerialHandlerFactory extends BaseThingHandlerFactory {
         if (THING_TYPE_SERIAL_BRIDGE.equals(thingTypeUID)) {
             return new SerialBridgeHandler((Bridge) thing, serialPortManager);
         } else if (THING_TYPE_TCP_BRIDGE.equals(thingTypeUID)) {
-            return new TcpBridgeHandler((Bridge) thing);
+            return new TcpBridgeHandler((Bridge) thing, tcpSelector);
         } else if (THING_TYPE_TCP_SERVER_BRIDGE.equals(thingTypeUID)) {
-            return new TcpServerBridgeHandler((Bridge) thing);
+            return new TcpServerBridgeHandler((Bridge) thing, tcpSelector);
         } else if (THING_TYPE_DEVICE.equals(thingTypeUID)) {
             return new SerialDeviceHandler(thing);
         }
@@ -19,6 +19,7 @@ import org.eclipse.jdt.annotation.Nullable;
  * Class describing the serial bridge user configuration
  *
  * @author Roland Tapken - Initial contribution
+ * @author Contributors to the openHAB project - Frame format
  */
 @NonNullByDefault
 public class CommonBridgeConfiguration {
@@ -33,8 +34,35 @@ public class CommonBridgeConfiguration {
      */
     public @Nullable String eolPattern;
 
+    /**
+     * How the end of a frame is found: IDLE, FIXED or LENGTH
+     */
+    public String frameMode = "IDLE";
+
+    /**
+     * Length of the frames for frameMode = FIXED
+     */
+    public int frameLength = 0;
+
+    /**
+     * Position of the length field in the frame header for frameMode = LENGTH
+     */
+    public int lengthFieldOffset = 0;
+
+    /**
+     * Number of bytes of the big-endian length field for frameMode = LENGTH
+     */
+    public int lengthFieldSize = 1;
+
+    /**
+     * Value added to the length field to get the number of bytes following it for frameMode = LENGTH
+     */
+    public int lengthAdjustment = 0;
+
     @Override
     public String toString() {
-        return "CommonBridgeConfiguration [charset=" + charset + ", eolPattern=" + eolPattern + "]";
+        return "CommonBridgeConfiguration [charset=" + charset + ", eolPattern=" + eolPattern + ", frameMode="
+                + frameMode + ", frameLength=" + frameLength + ", lengthFieldOffset=" + lengthFieldOffset
+                + ", lengthFieldSize=" + lengthFieldSize + ", lengthAdjustment=" + lengthAdjustment + "]";
     }
 }
@@ -17,12 +17,16 @@ import static org.openhab.binding.serial.internal.SerialBindingConstants.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -34,6 +38,7 @@ import org.openhab.core.library.types.RawType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.thing.*;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
+import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.RefreshType;
 import org.slf4j.Logger;
@@ -45,10 +50,15 @@ import org.slf4j.LoggerFactory;
  *
  * @author Mike Major - Initial contribution
  * @author Roland Tapken - Added code for charset=HEX and channel refresh
+ * @author Contributors to the openHAB project - Reuse the read buffers and dispatch lines by the device patterns
+ * @author Contributors to the openHAB project - Decoding and writing for multiple TCP server connections
+ * @author Contributors to the openHAB project - Fixed-length and length-prefixed frames
  */
 @NonNullByDefault
 public abstract class CommonBridgeHandler extends BaseBridgeHandler {
 
+    private static final int READ_BUFFER_SIZE = 4096;
+
     protected final Logger logger = LoggerFactory.getLogger(CommonBridgeHandler.class);
 
     protected CommonBridgeConfiguration config = new CommonBridgeConfiguration();
@@ -60,9 +70,18 @@ public abstract class CommonBridgeHandler extends BaseBridgeHandler {
 
     private boolean binaryHexData = false;
 
+    private volatile @Nullable String lastValue;
+
     private @Nullable Pattern eolPattern;
 
-    private @Nullable String lastValue;
+    private FrameDecoder.Mode frameMode = FrameDecoder.Mode.IDLE;
+
+    // the read buffer and decoder are only used while holding the lock of the input stream
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private FrameDecoder frameDecoder = newFrameDecoder();
+
+    private @Nullable DeviceDispatcher dispatcher;
+    private volatile boolean dispatcherValid;
 
     protected final AtomicBoolean readerActive = new AtomicBoolean(false);
 
@@ -113,6 +132,13 @@ public abstract class CommonBridgeHandler extends BaseBridgeHandler {
             return false;
         }
 
+        try {
+            frameMode = FrameDecoder.Mode.valueOf(config.frameMode.toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, "Invalid frame mode");
+            return false;
+        }
+
         String eolPatternStr = config.eolPattern;
         this.eolPattern = null;
         if (eolPatternStr != null && !eolPatternStr.isBlank()) {
@@ -125,15 +151,34 @@ public abstract class CommonBridgeHandler extends BaseBridgeHandler {
                         "Invalid EOL sequence");
                 return false;
             }
-        } else if (binaryHexData) {
+        } else if (binaryHexData && frameMode == FrameDecoder.Mode.IDLE) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR,
                     "EOL pattern required for charset = HEX");
             return false;
         }
 
+        try {
+            frameDecoder = newFrameDecoder();
+        } catch (final IllegalArgumentException e) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
+            return false;
+        }
+        readBuffer.clear();
         return true;
     }
 
+    /**
+     * Create a decoder for the data received from one input with the configured frame format, charset and EOL
+     * pattern.
+     *
+     * @throws IllegalArgumentException if the frame format is invalid
+     */
+    FrameDecoder newFrameDecoder() {
+        final InputDecoder inputDecoder = new InputDecoder(binaryHexData ? null : charset, eolPattern);
+        return new FrameDecoder(inputDecoder, frameMode, config.frameLength, config.lengthFieldOffset,
+                config.lengthFieldSize, config.lengthAdjustment);
+    }
+
     protected void disposeReader() {
         final InputStream inputStream = this.inputStream;
         this.inputStream = null;
@@ -169,6 +214,16 @@ public abstract class CommonBridgeHandler extends BaseBridgeHandler {
         lastValue = null;
     }
 
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        dispatcherValid = false;
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        dispatcherValid = false;
+    }
+
     /**
      * Sends a string to the serial port.
      *
@@ -224,41 +279,25 @@ public abstract class CommonBridgeHandler extends BaseBridgeHandler {
         try {
             synchronized (inputStream) {
                 if (firstAttempt || inputStream.available() > 0) {
-                    final byte[] readBuffer = new byte[20];
-
-                    String line = "";
-                    boolean binaryHexData = this.binaryHexData;
-                    Pattern eolPattern = this.eolPattern;
-                    Charset charset = this.charset;
+                    final FrameDecoder frameDecoder = this.frameDecoder;
 
                     // read data from serial device
                     while (inputStream.available() > 0) {
-                        final int bytes = inputStream.read(readBuffer);
-                        if (binaryHexData) {
-                            for (int i = 0; i < bytes; i++) {
-                                if (eolPattern == null) {
-                                    // Should not happen, but the code actually allows this to happen,
-                                    // so just make the compiler happy and suppress any warnings.
-                                    throw new IOException(
-                                            "Failed to parse input stream as HEX pattern: Parameter 'eolPattern' is null.");
-                                }
-
-                                line += String.format("%02X", readBuffer[i]);
-                                if (eolPattern.matcher(line).find()) {
-                                    sb.append(line).append(System.lineSeparator());
-                                    line = "";
-                                } else {
-                                    line += " ";
-                                }
-                            }
-                        } else {
-                            sb.append(new String(readBuffer, 0, bytes, charset));
+                        final int bytes = inputStream.read(readBuffer.array(), readBuffer.position(),
+                                readBuffer.remaining());
+                        if (bytes <= 0) {
+                            break;
+                        }
+                        readBuffer.position(readBuffer.position() + bytes);
+                        readBuffer.flip();
+                        try {
+                            // complete frames are processed at once, other data when the input is quiet
+                            frameDecoder.decode(readBuffer, sb, this::processReceived);
+                        } finally {
+                            readBuffer.compact();
                         }
                     }
-                    line = line.trim();
-                    if (!line.isEmpty()) {
-                        sb.append(line);
-                    }
+                    frameDecoder.flush(sb);
 
                     // Add wait states around reading the stream, so that interrupted transmissions
                     // are merged
@@ -266,17 +305,11 @@ public abstract class CommonBridgeHandler extends BaseBridgeHandler {
                         reader = scheduler.schedule(() -> receiveAndProcess(sb, false), 100, TimeUnit.MILLISECONDS);
                     }
                 } else {
-                    final String result = sb.toString();
-
-                    processInput(result);
-                    result.lines().forEach(l -> getThing().getThings().forEach(t -> {
-                        final SerialDeviceHandler device = (SerialDeviceHandler) t.getHandler();
-                        if (device != null) {
-                            device.handleData(l);
-                        }
-                    }));
-
-                    lastValue = result;
+                    if (frameDecoder.isFramed()) {
+                        frameDecoder.quiet();
+                    } else {
+                        processReceived(sb.toString());
+                    }
 
                     if (readerActive.compareAndSet(true, false)) {
                         // Check we haven't received more data while processing
@@ -294,6 +327,38 @@ public abstract class CommonBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Pass the received data to the bridge channels and the devices.
+     *
+     * @param result the data received since the input was last quiet
+     */
+    void processReceived(final String result) {
+        processInput(result);
+        final DeviceDispatcher dispatcher = getDispatcher();
+        result.lines().forEach(dispatcher::dispatch);
+
+        lastValue = result;
+    }
+
+    /**
+     * Return the index of the devices of this bridge, which is rebuilt after devices were initialized or disposed.
+     */
+    private DeviceDispatcher getDispatcher() {
+        DeviceDispatcher dispatcher = this.dispatcher;
+        if (dispatcher == null || !dispatcherValid) {
+            dispatcherValid = true;
+            List<SerialDeviceHandler> devices = new ArrayList<>();
+            getThing().getThings().forEach(t -> {
+                if (t.getHandler() instanceof SerialDeviceHandler device) {
+                    devices.add(device);
+                }
+            });
+            dispatcher = new DeviceDispatcher(devices);
+            this.dispatcher = dispatcher;
+        }
+        return dispatcher;
+    }
+
     protected void processInput(String result) {
     }
 
@@ -304,26 +369,20 @@ public abstract class CommonBridgeHandler extends BaseBridgeHandler {
      * @param isRawType the string should be handled as a RawType
      */
     private void writeString(final String string, final boolean isRawType) {
-        final OutputStream outputStream = this.outputStream;
-
-        if (outputStream == null) {
+        if (!isWritable()) {
             return;
         }
 
         logger.debug("Writing '{}' to {}", string, getLogPrefix());
         try {
-            synchronized (outputStream) {
-                // write string to serial port
-                if (isRawType) {
-                    final RawType rt = RawType.valueOf(string);
-                    outputStream.write(rt.getBytes());
-                } else if (binaryHexData) {
-                    outputStream.write(parseHexString(string));
-                } else {
-                    outputStream.write(string.getBytes(charset));
-                }
-
-                outputStream.flush();
+            // write string to serial port
+            if (isRawType) {
+                final RawType rt = RawType.valueOf(string);
+                write(rt.getBytes());
+            } else if (binaryHexData) {
+                write(parseHexString(string));
+            } else {
+                write(string.getBytes(charset));
             }
         } catch (final IOException e) {
             logger.warn("Error writing '{}' to {}: {}", string, getLogPrefix(), e.getMessage());
@@ -334,6 +393,30 @@ public abstract class CommonBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Return whether data can be sent, i.e. if the output is connected.
+     */
+    protected boolean isWritable() {
+        return outputStream != null;
+    }
+
+    /**
+     * Sends the bytes to the output.
+     *
+     * @param bytes the data to send
+     * @throws IOException if the data could not be sent
+     */
+    protected void write(final byte[] bytes) throws IOException {
+        final OutputStream outputStream = this.outputStream;
+
+        if (outputStream != null) {
+            synchronized (outputStream) {
+                outputStream.write(bytes);
+                outputStream.flush();
+            }
+        }
+    }
+
     private byte[] parseHexString(String input) {
         input = input.replaceAll("\\s", "");
         return HexFormat.of().parseHex(input);
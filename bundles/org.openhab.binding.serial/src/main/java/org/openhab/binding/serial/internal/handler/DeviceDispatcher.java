@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.handler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link DeviceDispatcher} passes the received lines only to the devices, whose pattern can match them.
+ *
+ * The literal prefix of each device pattern is stored in a trie, so a line is only passed to the devices with a
+ * prefix the line starts with. The patterns without literal prefix (e.g. '.*') are combined into one pattern, which
+ * is matched once per line before these devices check their own pattern.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class DeviceDispatcher {
+
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    // back references are numbered per pattern and a quote may not be terminated, such patterns are not combined
+    private static final Pattern UNCOMBINABLE = Pattern.compile("\\\\(?:[1-9]|k<|Q)");
+
+    private final Node root = new Node();
+    private final List<SerialDeviceHandler> unprefixedDevices = new ArrayList<>();
+    private final @Nullable Matcher unprefixedMatcher;
+
+    DeviceDispatcher(List<SerialDeviceHandler> devices) {
+        List<String> unprefixedPatterns = new ArrayList<>();
+        for (SerialDeviceHandler device : devices) {
+            Pattern pattern = device.getDevicePattern();
+            if (pattern == null) {
+                continue;
+            }
+            String prefix = literalPrefix(pattern.pattern());
+            if (prefix.isEmpty()) {
+                unprefixedDevices.add(device);
+                unprefixedPatterns.add(pattern.pattern());
+            } else {
+                Node node = root;
+                for (int i = 0; i < prefix.length(); i++) {
+                    node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+                }
+                node.devices.add(device);
+            }
+        }
+        unprefixedMatcher = combine(unprefixedPatterns);
+    }
+
+    /**
+     * Pass a line to the devices, which can match it.
+     *
+     * @param line the received line
+     */
+    void dispatch(String line) {
+        Node node = root;
+        for (int i = 0; i < line.length(); i++) {
+            Node child = node.children.get(line.charAt(i));
+            if (child == null) {
+                break;
+            }
+            node = child;
+            for (SerialDeviceHandler device : node.devices) {
+                device.handleData(line);
+            }
+        }
+
+        if (!unprefixedDevices.isEmpty()) {
+            Matcher unprefixedMatcher = this.unprefixedMatcher;
+            if (unprefixedMatcher == null || unprefixedMatcher.reset(line).matches()) {
+                for (SerialDeviceHandler device : unprefixedDevices) {
+                    device.handleData(line);
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the literal text, which every match of the pattern starts with. Only plain characters at the start of
+     * the pattern are considered, the prefix is empty if the pattern contains an alternation.
+     */
+    static String literalPrefix(String regex) {
+        if (regex.indexOf('|') >= 0) {
+            return "";
+        }
+        int end = 0;
+        while (end < regex.length() && META_CHARACTERS.indexOf(regex.charAt(end)) < 0) {
+            end++;
+        }
+        if (end < regex.length() && end > 0 && "?*{".indexOf(regex.charAt(end)) >= 0) {
+            // the last character is optional
+            end--;
+        }
+        return regex.substring(0, end);
+    }
+
+    private static @Nullable Matcher combine(List<String> patterns) {
+        if (patterns.size() < 2 || patterns.stream().anyMatch(p -> UNCOMBINABLE.matcher(p).find())) {
+            return null;
+        }
+        try {
+            return Pattern.compile(patterns.stream().collect(Collectors.joining(")|(?:", "(?:", ")"))).matcher("");
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<SerialDeviceHandler> devices = new ArrayList<>();
+    }
+}
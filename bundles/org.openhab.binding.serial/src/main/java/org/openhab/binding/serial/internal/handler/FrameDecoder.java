@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.handler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link FrameDecoder} splits the received bytes into frames and converts them to text with an
+ * {@link InputDecoder}.
+ *
+ * In {@link Mode#IDLE} the text is collected by the caller until the input has been quiet. In {@link Mode#FIXED}
+ * every frame has the same length and in {@link Mode#LENGTH} the length of a frame is read from a big-endian length
+ * field in its header. These frames are passed on as soon as they are complete, each as one line. When the input
+ * goes quiet in the middle of a frame, the incomplete frame is dropped, so the decoder gets in step again after bytes
+ * were lost. An instance keeps the state of one input, it must not be shared between threads.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class FrameDecoder {
+
+    /**
+     * The largest frame, which is accepted.
+     */
+    static final int MAX_FRAME_LENGTH = 65536;
+
+    private static final int INITIAL_FRAME_CAPACITY = 256;
+
+    /**
+     * The ways to find the end of a frame.
+     */
+    enum Mode {
+        /** a frame ends when the input is quiet */
+        IDLE,
+        /** all frames have the same length */
+        FIXED,
+        /** the length of a frame is read from its header */
+        LENGTH
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(FrameDecoder.class);
+
+    private final InputDecoder decoder;
+    private final Mode mode;
+    private final int frameLength;
+    private final int lengthFieldOffset;
+    private final int lengthFieldSize;
+    private final int lengthAdjustment;
+    private final StringBuilder text = new StringBuilder();
+
+    private ByteBuffer frame;
+    // the length of the current frame, or -1 while its header is incomplete
+    private int expectedLength;
+
+    /**
+     * Create a decoder passing on the data when the input is quiet.
+     *
+     * @param decoder the decoder converting the bytes to text
+     */
+    FrameDecoder(InputDecoder decoder) {
+        this(decoder, Mode.IDLE, 0, 0, 0, 0);
+    }
+
+    /**
+     * @param decoder the decoder converting the bytes to text
+     * @param mode the way to find the end of a frame
+     * @param frameLength the length of the frames for {@link Mode#FIXED}
+     * @param lengthFieldOffset the position of the length field in the header for {@link Mode#LENGTH}
+     * @param lengthFieldSize the number of bytes of the length field (1, 2 or 4) for {@link Mode#LENGTH}
+     * @param lengthAdjustment the value added to the length field to get the number of bytes following it
+     * @throws IllegalArgumentException if the parameters do not describe valid frames
+     */
+    FrameDecoder(InputDecoder decoder, Mode mode, int frameLength, int lengthFieldOffset, int lengthFieldSize,
+            int lengthAdjustment) {
+        if (mode == Mode.FIXED && (frameLength <= 0 || frameLength > MAX_FRAME_LENGTH)) {
+            throw new IllegalArgumentException("Frame length must be between 1 and " + MAX_FRAME_LENGTH);
+        }
+        if (mode == Mode.LENGTH) {
+            if (lengthFieldSize != 1 && lengthFieldSize != 2 && lengthFieldSize != 4) {
+                throw new IllegalArgumentException("Length field size must be 1, 2 or 4");
+            }
+            if (lengthFieldOffset < 0 || lengthFieldOffset + lengthFieldSize > MAX_FRAME_LENGTH) {
+                throw new IllegalArgumentException("Invalid length field offset");
+            }
+        }
+        this.decoder = decoder;
+        this.mode = mode;
+        this.frameLength = frameLength;
+        this.lengthFieldOffset = lengthFieldOffset;
+        this.lengthFieldSize = lengthFieldSize;
+        this.lengthAdjustment = lengthAdjustment;
+        this.frame = ByteBuffer.allocate(mode == Mode.FIXED ? frameLength : INITIAL_FRAME_CAPACITY);
+        this.expectedLength = mode == Mode.FIXED ? frameLength : -1;
+    }
+
+    /**
+     * Return whether the frames are passed on as soon as they are complete, instead of when the input is quiet.
+     */
+    boolean isFramed() {
+        return mode != Mode.IDLE;
+    }
+
+    /**
+     * Decode the remaining bytes of the buffer. In {@link Mode#IDLE} the text is appended to the string builder,
+     * otherwise each complete frame is passed to the consumer.
+     *
+     * @param buffer the received bytes
+     * @param sb the string builder to receive the text in {@link Mode#IDLE}
+     * @param frames the consumer of the complete frames
+     * @throws IOException if the data is converted to hexadecimal values without an EOL pattern
+     */
+    void decode(final ByteBuffer buffer, final StringBuilder sb, final Consumer<String> frames) throws IOException {
+        if (mode == Mode.IDLE) {
+            decoder.decode(buffer, sb);
+            return;
+        }
+
+        while (buffer.hasRemaining()) {
+            final int target = expectedLength >= 0 ? expectedLength : lengthFieldOffset + lengthFieldSize;
+            if (frame.capacity() < target) {
+                frame = ByteBuffer.allocate(Math.max(target, Math.min(2 * frame.capacity(), MAX_FRAME_LENGTH)))
+                        .put(frame.flip());
+            }
+            final int bytes = Math.min(target - frame.position(), buffer.remaining());
+            frame.put(frame.position(), buffer, buffer.position(), bytes);
+            frame.position(frame.position() + bytes);
+            buffer.position(buffer.position() + bytes);
+            if (frame.position() < target) {
+                break;
+            }
+            if (expectedLength < 0) {
+                expectedLength = readFrameLength();
+                if (expectedLength < 0) {
+                    frame.clear();
+                    continue;
+                }
+                if (frame.position() < expectedLength) {
+                    continue;
+                }
+            }
+            completeFrame(frames);
+        }
+    }
+
+    /**
+     * Append the incomplete line of hexadecimal values in {@link Mode#IDLE} to the string builder.
+     *
+     * @param sb the string builder to receive the text
+     */
+    void flush(final StringBuilder sb) {
+        if (mode == Mode.IDLE) {
+            decoder.flush(sb);
+        }
+    }
+
+    /**
+     * Called when the input has been quiet. Drops the incomplete frame in {@link Mode#FIXED} and
+     * {@link Mode#LENGTH}.
+     */
+    void quiet() {
+        if (mode != Mode.IDLE && frame.position() > 0) {
+            logger.debug("Dropping an incomplete frame of {} bytes", frame.position());
+            frame.clear();
+            expectedLength = mode == Mode.FIXED ? frameLength : -1;
+        }
+    }
+
+    /**
+     * Read the length of the frame from the complete header, or return -1 if it is invalid.
+     */
+    private int readFrameLength() {
+        long value = 0;
+        for (int i = 0; i < lengthFieldSize; i++) {
+            value = (value << 8) | (frame.get(lengthFieldOffset + i) & 0xFF);
+        }
+        final long length = lengthFieldOffset + lengthFieldSize + value + lengthAdjustment;
+        if (length < lengthFieldOffset + lengthFieldSize || length > MAX_FRAME_LENGTH) {
+            logger.debug("Dropping a frame with invalid length {}", length);
+            return -1;
+        }
+        return (int) length;
+    }
+
+    private void completeFrame(final Consumer<String> frames) {
+        frame.flip();
+        decoder.decodeFrame(frame, text);
+        frame.clear();
+        expectedLength = mode == Mode.FIXED ? frameLength : -1;
+
+        final String data = text.toString();
+        text.setLength(0);
+        frames.accept(data);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.handler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link InputDecoder} converts the received bytes to the text, which is passed to the devices.
+ *
+ * Text is decoded with the charset of the bridge. Binary data is converted to hexadecimal values separated by space,
+ * a line ends when it matches the EOL pattern. An instance keeps the state of one input, it must not be shared
+ * between threads.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class InputDecoder {
+
+    private static final int DECODE_BUFFER_SIZE = 4096;
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final @Nullable CharsetDecoder decoder;
+    private final @Nullable Matcher eolMatcher;
+    private final CharBuffer decodeBuffer;
+    private final StringBuilder hexLine = new StringBuilder();
+
+    /**
+     * @param charset the charset of the text, or null to convert the data to hexadecimal values
+     * @param eolPattern the pattern matching the end of a line of hexadecimal values
+     */
+    InputDecoder(@Nullable Charset charset, @Nullable Pattern eolPattern) {
+        this.decoder = charset == null ? null
+                : charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.eolMatcher = eolPattern == null ? null : eolPattern.matcher("");
+        this.decodeBuffer = CharBuffer.allocate(charset == null ? 0 : DECODE_BUFFER_SIZE);
+    }
+
+    /**
+     * Decode the remaining bytes of the buffer and append them to the string builder. The bytes of an incomplete
+     * character are left in the buffer, so they are decoded together with the next bytes.
+     *
+     * @param buffer the received bytes
+     * @param sb the string builder to receive the text
+     * @throws IOException if the data is converted to hexadecimal values without an EOL pattern
+     */
+    void decode(final ByteBuffer buffer, final StringBuilder sb) throws IOException {
+        final CharsetDecoder decoder = this.decoder;
+        if (decoder != null) {
+            CoderResult result;
+            do {
+                result = decoder.decode(buffer, decodeBuffer, false);
+                decodeBuffer.flip();
+                sb.append(decodeBuffer);
+                decodeBuffer.clear();
+            } while (result.isOverflow());
+            return;
+        }
+
+        final Matcher eolMatcher = this.eolMatcher;
+        if (eolMatcher == null) {
+            buffer.position(buffer.limit());
+            // Should not happen, but the code actually allows this to happen,
+            // so just make the compiler happy and suppress any warnings.
+            throw new IOException("Failed to parse input stream as HEX pattern: Parameter 'eolPattern' is null.");
+        }
+        while (buffer.hasRemaining()) {
+            final byte b = buffer.get();
+            hexLine.append(HEX_DIGITS[(b >> 4) & 0x0F]).append(HEX_DIGITS[b & 0x0F]);
+            if (eolMatcher.reset(hexLine).find()) {
+                sb.append(hexLine).append(System.lineSeparator());
+                hexLine.setLength(0);
+            } else {
+                hexLine.append(' ');
+            }
+        }
+    }
+
+    /**
+     * Decode a complete frame and append it to the string builder. Binary data is converted to one line of
+     * hexadecimal values, the EOL pattern is not applied.
+     *
+     * @param frame the bytes of the frame
+     * @param sb the string builder to receive the text
+     */
+    void decodeFrame(final ByteBuffer frame, final StringBuilder sb) {
+        final CharsetDecoder decoder = this.decoder;
+        if (decoder != null) {
+            decoder.reset();
+            CoderResult result;
+            do {
+                result = decoder.decode(frame, decodeBuffer, true);
+                decodeBuffer.flip();
+                sb.append(decodeBuffer);
+                decodeBuffer.clear();
+            } while (result.isOverflow());
+            do {
+                result = decoder.flush(decodeBuffer);
+                decodeBuffer.flip();
+                sb.append(decodeBuffer);
+                decodeBuffer.clear();
+            } while (result.isOverflow());
+            return;
+        }
+
+        while (frame.hasRemaining()) {
+            final byte b = frame.get();
+            sb.append(HEX_DIGITS[(b >> 4) & 0x0F]).append(HEX_DIGITS[b & 0x0F]);
+            if (frame.hasRemaining()) {
+                sb.append(' ');
+            }
+        }
+    }
+
+    /**
+     * Append the incomplete line of hexadecimal values to the string builder and start a new line.
+     *
+     * @param sb the string builder to receive the text
+     */
+    void flush(final StringBuilder sb) {
+        final String line = hexLine.toString().trim();
+        if (!line.isEmpty()) {
+            sb.append(line);
+        }
+        hexLine.setLength(0);
+    }
+}
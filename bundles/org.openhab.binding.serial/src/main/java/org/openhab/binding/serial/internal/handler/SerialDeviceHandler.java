@@ -44,6 +44,7 @@ import org.openhab.core.types.RefreshType;
  *
  * @author Mike Major - Initial contribution
  * @author Roland Tapken - Added channel refresh
+ * @author Contributors to the openHAB project - Expose the device pattern for the dispatch index of the bridge
  */
 @NonNullByDefault
 public class SerialDeviceHandler extends BaseThingHandler {
@@ -150,6 +151,14 @@ public class SerialDeviceHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Return the pattern identifying the data of this device, or null if the device is not initialized.
+     */
+    @Nullable
+    Pattern getDevicePattern() {
+        return devicePattern;
+    }
+
     /**
      * Return the bridge status.
      */
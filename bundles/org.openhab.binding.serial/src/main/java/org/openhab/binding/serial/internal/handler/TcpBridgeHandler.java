@@ -14,14 +14,11 @@ package org.openhab.binding.serial.internal.handler;
 
 import static org.openhab.binding.serial.internal.SerialBindingConstants.*;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.InetSocketAddress;
-import java.net.Socket;
-import java.net.SocketException;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,23 +32,22 @@ import org.openhab.core.thing.ThingStatusDetail;
  * The {@link TcpBridgeHandler} is responsible for handling commands, which
  * are sent to one of the channels.
  *
+ * The data is received by the shared {@link TcpSelector} as soon as it arrives, so no thread waits for it.
+ *
  * @author Roland Tapken - Initial contribution
+ * @author Contributors to the openHAB project - Receive the data with the shared selector instead of polling
  */
 @NonNullByDefault
 public class TcpBridgeHandler extends CommonBridgeHandler {
 
-    /**
-     * Since InputStream#read will block, we use our own instance of ScheduledThreadPoolExecutor
-     * instead of OpenHab's default one to not block a background thread.
-     */
-    private final ScheduledThreadPoolExecutor readSchedulerExcecutor = new ScheduledThreadPoolExecutor(1);
+    private final TcpSelector selector;
 
     private TcpBridgeConfiguration config = new TcpBridgeConfiguration();
-    private @Nullable Socket socket;
-    private @Nullable ScheduledFuture<?> readScheduler;
+    private volatile @Nullable TcpConnection connection;
 
-    public TcpBridgeHandler(final Bridge bridge) {
+    public TcpBridgeHandler(final Bridge bridge, final TcpSelector selector) {
         super(bridge);
+        this.selector = selector;
     }
 
     @Override
@@ -73,74 +69,63 @@ public class TcpBridgeHandler extends CommonBridgeHandler {
             return;
         }
 
-        // initialize serial port
+        SocketChannel channel = null;
         try {
-            Socket socket = new Socket();
-            socket.connect(new InetSocketAddress(address, port), config.timeout * 1000);
-            if (config.timeout > 0) {
-                socket.setSoTimeout(config.timeout * 1000);
-            }
-            if (config.keepAlive) {
-                socket.setKeepAlive(true);
-            }
-
-            this.socket = socket;
-            inputStream = new BufferedInputStream(socket.getInputStream());
-            outputStream = socket.getOutputStream();
+            channel = SocketChannel.open();
+            channel.socket().connect(new InetSocketAddress(address, port), config.timeout * 1000);
+            channel.setOption(StandardSocketOptions.SO_KEEPALIVE, config.keepAlive);
+            channel.configureBlocking(false);
+            selector.start();
+
+            // the socket timeout closes the connection, when no data has been received for this time
+            final TcpConnection connection = new TcpConnection(selector, channel, config.timeout * 1000L, scheduler,
+                    newFrameDecoder(), this::processReceived, this::connectionClosed);
+            this.connection = connection;
+            selector.execute(connection::register);
 
             updateStatus(ThingStatus.ONLINE);
-
-            // Since there is not a thing like a SerialPortEvent for Sockets
-            // we have to trigger a read periodical.
-            waitForData();
         } catch (final IllegalArgumentException ex) {
+            closeChannel(channel);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, ex.getMessage());
         } catch (final IOException ex) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, "I/O error");
-            handleIOException(ex);
+            closeChannel(channel);
+            logger.debug("{} failed to connect: {}", getLogPrefix(), ex.getMessage());
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, ex.getMessage());
+            tryToReconnect();
+        }
+    }
+
+    private void closeChannel(@Nullable SocketChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignore) {
+            }
         }
     }
 
     /**
-     * Replacement for SerialBridgeHandler's SerialPortEventListener.
-     * Checks for available data every 250ms.
+     * TCP Connections do not reconnect automatically. When the connection has been lost, try to re-connect.
      */
-    private void waitForData() {
-        // If this is ever changed to values >= 1000,
-        // this may interfere with tryToReconect. In this case
-        // some kind of locking is required.
-        int interval = 250;
-        if (getThing().getStatus() == ThingStatus.ONLINE) {
-            ScheduledFuture<?> readScheduler = this.readScheduler;
-            if (readScheduler != null) {
-                readScheduler.cancel(false);
-            }
+    private void connectionClosed(TcpConnection connection) {
+        if (this.connection == connection) {
+            this.connection = null;
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, "Connection lost");
+            tryToReconnect();
+        }
+    }
 
-            this.readScheduler = readSchedulerExcecutor.schedule(() -> {
-                if (getThing().getStatus() == ThingStatus.ONLINE) {
-                    try {
-                        InputStream inputStream = this.inputStream;
-                        Socket socket = this.socket;
-                        if (inputStream != null && socket != null) {
-                            synchronized (inputStream) {
-                                inputStream.mark(2);
-                                // InputStream.available() does not recognise when a client has disconnected,
-                                // so we will use BufferedInputStream and cache one byte.
-                                int b = inputStream.read();
-                                if (b < 0) {
-                                    throw new SocketException("Connection lost");
-                                }
-                                inputStream.reset();
-                                receiveAndProcessNow();
-                            }
-                        }
-
-                        waitForData();
-                    } catch (IOException e) {
-                        handleIOException(e);
-                    }
-                }
-            }, interval, TimeUnit.MILLISECONDS);
+    @Override
+    protected boolean isWritable() {
+        return connection != null;
+    }
+
+    @Override
+    protected void write(final byte[] bytes) {
+        final TcpConnection connection = this.connection;
+        if (connection != null && !connection.send(ByteBuffer.wrap(bytes))) {
+            logger.warn("Dropping {} bytes for {}, {} bytes are still waiting to be sent", bytes.length,
+                    getLogPrefix(), connection.getPendingBytes());
         }
     }
 
@@ -159,36 +144,15 @@ public class TcpBridgeHandler extends CommonBridgeHandler {
 
     @Override
     public void dispose() {
-        ScheduledFuture<?> readScheduler = this.readScheduler;
-        this.readScheduler = null;
-        if (readScheduler != null) {
-            readScheduler.cancel(true);
-        }
-
-        Socket socket = this.socket;
-        this.socket = null;
-        if (socket != null) {
-            try {
-                socket.close();
-            } catch (IOException ignore) {
-            }
+        final TcpConnection connection = this.connection;
+        this.connection = null;
+        if (connection != null) {
+            connection.close();
         }
 
         super.dispose();
     }
 
-    /**
-     * TCP Connections do not reconnect automatically. In case of an IOException,
-     * close the connection and try to re-connect.
-     */
-    @Override
-    protected void handleIOException(IOException e) {
-        updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, e.getMessage());
-        dispose();
-        super.handleIOException(e);
-        tryToReconnect();
-    }
-
     private void tryToReconnect() {
         int reconnectInterval = config.reconnectInterval;
         if (reconnectInterval > 0) {
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.handler;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TcpConnection} exchanges the data with the other end of a TCP connection on the thread of the
+ * {@link TcpSelector}, so no thread waits for the data.
+ *
+ * The received data is split into frames by the {@link FrameDecoder}. Without a frame format the data is collected
+ * until the connection has been quiet for {@link #QUIET_PERIOD_MILLIS}, like the serial bridge does. The frames are
+ * passed to the frame handler on the executor. No more data is read until they have been handled, and the data sent
+ * to a slow receiver is dropped once {@link #MAX_PENDING_BYTES} are waiting, so the other end can neither flood the
+ * handler nor make the connection buffer without limit.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class TcpConnection implements TcpSelector.Handler {
+
+    static final long QUIET_PERIOD_MILLIS = 100;
+    static final int MAX_PENDING_BYTES = 65536;
+
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    private final Logger logger = LoggerFactory.getLogger(TcpConnection.class);
+
+    private final TcpSelector selector;
+    private final SocketChannel channel;
+    private final SocketAddress remoteAddress;
+    private final long idleTimeoutMillis;
+    private final Executor executor;
+    private final FrameDecoder decoder;
+    private final Consumer<String> frameHandler;
+    private final Consumer<TcpConnection> closeHandler;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final StringBuilder text = new StringBuilder();
+    private final List<String> frames = new ArrayList<>();
+    private final Queue<ByteBuffer> writeQueue = new ArrayDeque<>();
+    private volatile int pendingBytes;
+    private volatile boolean closed;
+    private @Nullable SelectionKey key;
+    private long quietDeadline = Long.MAX_VALUE;
+    private long idleDeadline;
+    private boolean handling;
+
+    /**
+     * @param selector the selector performing the I/O
+     * @param channel the connected channel in non-blocking mode
+     * @param idleTimeoutMillis time after which a quiet connection is closed (0 = no timeout)
+     * @param executor the executor calling the frame handler
+     * @param decoder the decoder splitting the received data into frames
+     * @param frameHandler the handler of the received frames
+     * @param closeHandler called once when the connection has been closed
+     * @throws IOException if the channel is not connected
+     */
+    TcpConnection(TcpSelector selector, SocketChannel channel, long idleTimeoutMillis, Executor executor,
+            FrameDecoder decoder, Consumer<String> frameHandler, Consumer<TcpConnection> closeHandler)
+            throws IOException {
+        SocketAddress remoteAddress = channel.getRemoteAddress();
+        if (remoteAddress == null) {
+            throw new IOException("Channel is not connected");
+        }
+        this.selector = selector;
+        this.channel = channel;
+        this.remoteAddress = remoteAddress;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.executor = executor;
+        this.decoder = decoder;
+        this.frameHandler = frameHandler;
+        this.closeHandler = closeHandler;
+        this.idleDeadline = nextIdleDeadline(TcpSelector.now());
+    }
+
+    /**
+     * Start reading from the connection. Must be called on the thread of the selector.
+     */
+    void register() {
+        SelectionKey key = selector.register(channel, SelectionKey.OP_READ, this);
+        this.key = key;
+        if (key == null) {
+            // the connection has been closed in the meantime
+            close();
+        }
+    }
+
+    /**
+     * Return the address of the other end.
+     */
+    SocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    /**
+     * Return the number of bytes waiting to be sent.
+     */
+    int getPendingBytes() {
+        return pendingBytes;
+    }
+
+    @Override
+    public void ready(SelectionKey key) throws IOException {
+        if (key.isReadable()) {
+            read();
+        }
+        if (key.isValid() && key.isWritable()) {
+            flush();
+        }
+    }
+
+    @Override
+    public long deadline() {
+        // no data is read while the frames are handled
+        return handling ? Long.MAX_VALUE : Math.min(quietDeadline, idleDeadline);
+    }
+
+    @Override
+    public void expired(long now) {
+        if (handling) {
+            return;
+        }
+        if (quietDeadline <= now) {
+            quiet();
+        }
+        if (!handling && idleDeadline <= now) {
+            logger.info("Closing the connection to {} after {} ms without data", remoteAddress, idleTimeoutMillis);
+            close();
+        }
+    }
+
+    @Override
+    public void failed(IOException e) {
+        if (!closed) {
+            logger.warn("Connection to {} failed with IOException: {}", remoteAddress, e.getMessage());
+        }
+        close();
+    }
+
+    private void read() throws IOException {
+        int bytes;
+        while ((bytes = channel.read(readBuffer)) > 0) {
+            long now = TcpSelector.now();
+            quietDeadline = now + QUIET_PERIOD_MILLIS;
+            idleDeadline = nextIdleDeadline(now);
+
+            readBuffer.flip();
+            try {
+                decoder.decode(readBuffer, text, frames::add);
+            } finally {
+                readBuffer.compact();
+            }
+            if (text.length() >= FrameDecoder.MAX_FRAME_LENGTH) {
+                // the other end does not pause, pass the data on instead of collecting it without limit
+                quiet();
+                return;
+            }
+            if (!frames.isEmpty()) {
+                handleFrames();
+                return;
+            }
+        }
+        if (bytes < 0) {
+            logger.info("Connection to {} closed by the other end", remoteAddress);
+            quiet();
+            close();
+        }
+    }
+
+    private void quiet() {
+        quietDeadline = Long.MAX_VALUE;
+        if (decoder.isFramed()) {
+            decoder.quiet();
+        } else {
+            decoder.flush(text);
+            if (!text.isEmpty()) {
+                frames.add(text.toString());
+                text.setLength(0);
+            }
+        }
+        handleFrames();
+    }
+
+    private void handleFrames() {
+        if (frames.isEmpty()) {
+            return;
+        }
+
+        List<String> data = List.copyOf(frames);
+        frames.clear();
+        handling = true;
+        quietDeadline = Long.MAX_VALUE;
+        setInterest(SelectionKey.OP_READ, false);
+        try {
+            executor.execute(() -> {
+                try {
+                    data.forEach(frameHandler);
+                } finally {
+                    selector.execute(this::resume);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Dropping the data from {}: {}", remoteAddress, e.getMessage());
+            resume();
+        }
+    }
+
+    private void resume() {
+        long now = TcpSelector.now();
+        handling = false;
+        // the rest of an incomplete frame may have arrived in the meantime
+        quietDeadline = now + QUIET_PERIOD_MILLIS;
+        idleDeadline = nextIdleDeadline(now);
+        setInterest(SelectionKey.OP_READ, true);
+    }
+
+    private long nextIdleDeadline(long now) {
+        return idleTimeoutMillis > 0 ? now + idleTimeoutMillis : Long.MAX_VALUE;
+    }
+
+    /**
+     * Queue the data to be sent. May be called from any thread.
+     *
+     * @param data the data to send
+     * @return false if the data was dropped, because too much data is waiting to be sent
+     */
+    boolean send(ByteBuffer data) {
+        synchronized (writeQueue) {
+            if (pendingBytes + data.remaining() > MAX_PENDING_BYTES) {
+                return false;
+            }
+            writeQueue.add(data);
+            pendingBytes += data.remaining();
+            if (writeQueue.size() > 1) {
+                // a flush is already pending
+                return true;
+            }
+        }
+        selector.execute(() -> {
+            try {
+                flush();
+            } catch (IOException e) {
+                failed(e);
+            }
+        });
+        return true;
+    }
+
+    private void flush() throws IOException {
+        synchronized (writeQueue) {
+            ByteBuffer data;
+            while ((data = writeQueue.peek()) != null) {
+                pendingBytes -= channel.write(data);
+                if (data.hasRemaining()) {
+                    break;
+                }
+                writeQueue.remove();
+            }
+            // wait until the other end can receive more data
+            setInterest(SelectionKey.OP_WRITE, !writeQueue.isEmpty());
+        }
+    }
+
+    private void setInterest(int op, boolean enabled) {
+        SelectionKey key = this.key;
+        if (key != null && key.isValid()) {
+            key.interestOps(enabled ? key.interestOps() | op : key.interestOps() & ~op);
+        }
+    }
+
+    /**
+     * Close the connection. May be called from any thread.
+     */
+    void close() {
+        synchronized (writeQueue) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            writeQueue.clear();
+            pendingBytes = 0;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.debug("Error while closing the connection to {}: {}", remoteAddress, e.getMessage());
+        }
+        closeHandler.accept(this);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.handler;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TcpSelector} performs the network I/O of all TCP bridges and TCP server bridges on one thread.
+ *
+ * The channels are only registered and changed on this thread, other threads pass these changes as tasks with
+ * {@link #execute(Runnable)}. The thread is started when it is first needed.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class TcpSelector {
+
+    private static final String THREAD_NAME = "OH-binding-serial-tcp";
+
+    /**
+     * The handler of a channel registered with the selector. Its methods are called on the thread of the selector.
+     */
+    interface Handler {
+
+        /**
+         * Handle the ready operations of the selection key.
+         *
+         * @param key the selection key of the channel
+         * @throws IOException if the channel failed
+         */
+        void ready(SelectionKey key) throws IOException;
+
+        /**
+         * Return the time in milliseconds (see {@link TcpSelector#now()}), when {@link #expired(long)} is due.
+         */
+        default long deadline() {
+            return Long.MAX_VALUE;
+        }
+
+        /**
+         * Called when the deadline has been reached.
+         *
+         * @param now the current time in milliseconds
+         * @throws IOException if the channel failed
+         */
+        default void expired(long now) throws IOException {
+        }
+
+        /**
+         * Called when handling the channel failed.
+         *
+         * @param e the cause of the failure
+         */
+        void failed(IOException e);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(TcpSelector.class);
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private volatile @Nullable Selector selector;
+
+    /**
+     * Start the thread of the selector, if it is not running yet.
+     *
+     * @throws IOException if the selector could not be opened
+     */
+    public synchronized void start() throws IOException {
+        if (selector == null) {
+            Selector selector = Selector.open();
+            Thread thread = new Thread(() -> run(selector), THREAD_NAME);
+            thread.setDaemon(true);
+            thread.start();
+            this.selector = selector;
+        }
+    }
+
+    /**
+     * Stop the thread of the selector. The registered channels are not closed.
+     */
+    public synchronized void stop() {
+        Selector selector = this.selector;
+        this.selector = null;
+        tasks.clear();
+        if (selector != null) {
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.debug("Error while closing the selector: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Run the task on the thread of the selector.
+     *
+     * @param task the task to run
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Register a channel with the selector. Must be called on the thread of the selector.
+     *
+     * @param channel the channel in non-blocking mode
+     * @param ops the operations the handler is interested in
+     * @param handler the handler of the channel
+     * @return the selection key, or null if the channel has been closed in the meantime
+     */
+    @Nullable
+    SelectionKey register(SelectableChannel channel, int ops, Handler handler) {
+        Selector selector = this.selector;
+        if (selector == null) {
+            throw new ClosedSelectorException();
+        }
+        try {
+            return channel.register(selector, ops, handler);
+        } catch (ClosedChannelException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Return the monotonic time in milliseconds, which is used for the deadlines.
+     */
+    static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private void run(Selector selector) {
+        logger.debug("Started the TCP selector");
+        while (selector.isOpen()) {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        logger.warn("Error in a task of the TCP selector: {}", e.getMessage(), e);
+                    }
+                }
+
+                long timeout = expireDeadlines(selector);
+                if (timeout > 0) {
+                    selector.select(this::ready, timeout == Long.MAX_VALUE ? 0 : timeout);
+                } else {
+                    selector.selectNow(this::ready);
+                }
+            } catch (ClosedSelectorException e) {
+                break;
+            } catch (IOException e) {
+                logger.warn("Error in the TCP selector: {}", e.getMessage());
+            }
+        }
+        logger.debug("Stopped the TCP selector");
+    }
+
+    /**
+     * Notify the handlers, whose deadline has been reached, and return the time until the next deadline.
+     */
+    private long expireDeadlines(Selector selector) {
+        long now = now();
+        long next = Long.MAX_VALUE;
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid() && key.attachment() instanceof Handler handler) {
+                try {
+                    if (handler.deadline() <= now) {
+                        handler.expired(now);
+                    }
+                } catch (CancelledKeyException e) {
+                    // the channel has been closed by another thread
+                } catch (IOException e) {
+                    handler.failed(e);
+                }
+                if (key.isValid()) {
+                    next = Math.min(next, handler.deadline());
+                }
+            }
+        }
+        return next == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(0, next - now);
+    }
+
+    private void ready(SelectionKey key) {
+        if (key.attachment() instanceof Handler handler) {
+            try {
+                handler.ready(key);
+            } catch (CancelledKeyException e) {
+                // the channel has been closed by another thread
+            } catch (IOException e) {
+                handler.failed(e);
+            }
+        }
+    }
+}
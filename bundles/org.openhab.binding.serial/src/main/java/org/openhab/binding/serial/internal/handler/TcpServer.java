@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.handler;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TcpServer} accepts the connections to the port of a TCP server bridge and exchanges the data with all
+ * connected clients on the thread of the {@link TcpSelector}. Each client has its own {@link TcpConnection}, so the
+ * data of the clients is split into frames separately.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class TcpServer implements TcpSelector.Handler {
+
+    private final Logger logger = LoggerFactory.getLogger(TcpServer.class);
+
+    private final TcpSelector selector;
+    private final ServerSocketChannel serverChannel;
+    private final boolean keepAlive;
+    private final long idleTimeoutMillis;
+    private final Executor executor;
+    private final Supplier<FrameDecoder> decoderFactory;
+    private final Consumer<String> frameHandler;
+    private final Set<TcpConnection> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Bind the server to the address and start accepting connections.
+     *
+     * @param selector the selector performing the I/O
+     * @param address the address to listen on
+     * @param keepAlive whether to enable keep-alive for the connections
+     * @param idleTimeoutMillis time after which a quiet connection is closed (0 = no timeout)
+     * @param executor the executor calling the frame handler
+     * @param decoderFactory the factory for the decoders of the connections
+     * @param frameHandler the handler of the data received from a client
+     * @throws IOException if the server could not be bound
+     */
+    TcpServer(TcpSelector selector, InetSocketAddress address, boolean keepAlive, long idleTimeoutMillis,
+            Executor executor, Supplier<FrameDecoder> decoderFactory, Consumer<String> frameHandler)
+            throws IOException {
+        this.selector = selector;
+        this.keepAlive = keepAlive;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.executor = executor;
+        this.decoderFactory = decoderFactory;
+        this.frameHandler = frameHandler;
+
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(address);
+            serverChannel.configureBlocking(false);
+            selector.start();
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+        this.serverChannel = serverChannel;
+        selector.execute(() -> selector.register(serverChannel, SelectionKey.OP_ACCEPT, this));
+    }
+
+    /**
+     * Return the address the server is listening on.
+     */
+    InetSocketAddress getLocalAddress() throws IOException {
+        return (InetSocketAddress) serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Return the number of connected clients.
+     */
+    int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Send the data to all connected clients. The clients share the data without copying, so it must not be
+     * changed afterwards.
+     *
+     * @param data the data to send
+     */
+    void send(byte[] data) {
+        for (TcpConnection connection : connections) {
+            if (!connection.send(ByteBuffer.wrap(data))) {
+                logger.warn("Dropping {} bytes for {}, {} bytes are still waiting to be sent", data.length,
+                        connection.getRemoteAddress(), connection.getPendingBytes());
+            }
+        }
+    }
+
+    /**
+     * Stop listening and close all connections.
+     */
+    void close() {
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            logger.debug("Error while closing the server channel: {}", e.getMessage());
+        }
+        connections.forEach(TcpConnection::close);
+    }
+
+    @Override
+    public void ready(SelectionKey key) throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.SO_KEEPALIVE, keepAlive);
+                TcpConnection connection = new TcpConnection(selector, channel, idleTimeoutMillis, executor,
+                        decoderFactory.get(), frameHandler, connections::remove);
+                connections.add(connection);
+                connection.register();
+                if (!serverChannel.isOpen()) {
+                    // the server has been closed in the meantime
+                    connection.close();
+                    return;
+                }
+                logger.info("Accepting incoming connection from {}", connection.getRemoteAddress());
+            } catch (IOException e) {
+                logger.warn("Rejecting an incoming connection: {}", e.getMessage());
+                channel.close();
+            }
+        }
+    }
+
+    @Override
+    public void failed(IOException e) {
+        if (serverChannel.isOpen()) {
+            logger.warn("Failed to accept an incoming connection: {}", e.getMessage());
+        }
+    }
+}
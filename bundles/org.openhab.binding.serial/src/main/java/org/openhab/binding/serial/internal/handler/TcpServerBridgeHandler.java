@@ -12,15 +12,8 @@
  */
 package org.openhab.binding.serial.internal.handler;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -32,35 +25,29 @@ import org.openhab.core.thing.ThingStatusDetail;
  * The {@link TcpServerBridgeHandler} is responsible for handling commands, which
  * are sent to one of the channels.
  *
- * Like {@link TcpBridgeHandler}, but listens for an incoming connection on a defined
- * TCP port. Only one active connection per time is allowed.
+ * Like {@link TcpBridgeHandler}, but listens for incoming connections on a defined
+ * TCP port. Multiple clients can be connected at the same time, the data of each client
+ * is processed separately and the commands are sent to all clients. The network I/O of all
+ * TCP server bridges is performed by the shared {@link TcpSelector}.
  *
  * @author Roland Tapken - Initial contribution
+ * @author Contributors to the openHAB project - Non-blocking I/O for multiple clients on a shared selector
  */
 @NonNullByDefault
 public class TcpServerBridgeHandler extends CommonBridgeHandler {
 
-    private TcpServerBridgeConfiguration config = new TcpServerBridgeConfiguration();
+    private final TcpSelector selector;
 
-    /**
-     * Since ServerSocket#accept will block, we use our own instance of ScheduledThreadPoolExecutor
-     * instead of OpenHab's default one to not block a background thread.
-     */
-    private final ScheduledThreadPoolExecutor connectionSchedulerExcecutor = new ScheduledThreadPoolExecutor(1);
+    private TcpServerBridgeConfiguration config = new TcpServerBridgeConfiguration();
 
-    /**
-     * Since InputStream#read will block, we use our own instance of ScheduledThreadPoolExecutor
-     * instead of OpenHab's default one to not block a background thread.
-     */
-    private final ScheduledThreadPoolExecutor readSchedulerExcecutor = new ScheduledThreadPoolExecutor(1);
+    // serializes the processing of the data received by the different clients
+    private final Object receiveLock = new Object();
 
-    private @Nullable ServerSocket server;
-    private @Nullable Socket socket;
-    private @Nullable ScheduledFuture<?> readScheduler;
-    private @Nullable ScheduledFuture<?> connectionScheduler;
+    private @Nullable TcpServer server;
 
-    public TcpServerBridgeHandler(final Bridge bridge) {
+    public TcpServerBridgeHandler(final Bridge bridge, final TcpSelector selector) {
         super(bridge);
+        this.selector = selector;
     }
 
     @Override
@@ -82,186 +69,50 @@ public class TcpServerBridgeHandler extends CommonBridgeHandler {
             return;
         }
 
-        // initialize serial port
         try {
-            ServerSocket server = new ServerSocket();
-            server.bind(new InetSocketAddress(bindAddress, port), 1);
-            this.server = server;
+            this.server = new TcpServer(selector, new InetSocketAddress(bindAddress, port), config.keepAlive,
+                    config.timeout * 1000L, scheduler, this::newFrameDecoder, this::receive);
             logger.info("Listening on TCP address {} port {}", bindAddress, port);
 
             updateStatus(ThingStatus.ONLINE);
-
-            // Wait for an incoming connection
-            waitForConnection();
-
         } catch (final IllegalArgumentException ex) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, ex.getMessage());
         } catch (final IOException ex) {
+            logger.warn("{} failed to listen: {}", getLogPrefix(), ex.getMessage());
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, "I/O error");
-            handleIOException(ex);
         }
     }
 
-    private void waitForConnection() {
-        ServerSocket server = this.server;
-        TcpServerBridgeConfiguration config = this.config;
-        if (getThing().getStatus() == ThingStatus.ONLINE && server != null) {
-            ScheduledFuture<?> acceptScheduler = this.connectionScheduler;
-            if (acceptScheduler != null) {
-                acceptScheduler.cancel(true);
-            }
-
-            this.connectionScheduler = connectionSchedulerExcecutor.schedule(() -> {
-                if (getThing().getStatus() == ThingStatus.ONLINE && server.equals(this.server)) {
-                    try {
-                        synchronized (server) {
-                            Socket socket = server.accept();
-                            if (!server.equals(this.server)) {
-                                // Drop this connection, it is not valid anymore
-                                logger.warn("Rejecting incoming connection from {}:{} (invalid)",
-                                        socket.getInetAddress(), socket.getPort());
-                                socket.close();
-                                return;
-                            }
-
-                            if (this.socket != null) {
-                                // Normally, this should not happen because the ServerSocket has been bound with
-                                // 'backlog=1' parameter. But it seems that this is only a recommendation to the
-                                // operating system and might be ignored, so we have to handle this.
-                                logger.warn("Rejecting incoming connection from {}:{} (socket already bound)",
-                                        socket.getInetAddress(), socket.getPort());
-                                try {
-                                    socket.shutdownInput();
-                                    socket.shutdownOutput();
-                                    socket.close();
-                                } catch (IOException ignore) {
-                                }
-                                waitForConnection();
-                                return;
-                            }
-
-                            logger.info("Accepting incoming connection from {}:{}", socket.getInetAddress(),
-                                    socket.getPort());
-                            socket.setKeepAlive(this.config.keepAlive);
-                            if (config.timeout > 0) {
-                                socket.setSoTimeout(config.timeout * 1000);
-                            }
-                            this.socket = socket;
-                            this.inputStream = new BufferedInputStream(socket.getInputStream());
-                            this.outputStream = socket.getOutputStream();
-                        }
-                        waitForData();
-                        waitForConnection();
-                    } catch (IOException e) {
-                        handleIOException(e);
-                    }
-                }
-            }, 100, TimeUnit.MILLISECONDS);
+    private void receive(String data) {
+        synchronized (receiveLock) {
+            processReceived(data);
         }
     }
 
-    /**
-     * Replacement for SerialBridgeHandler's SerialPortEventListener.
-     * Checks for available data every 250ms.
-     */
-    private void waitForData() {
-        // If this is ever changed to values >= 1000,
-        // this may interfere with tryToReconnect. In this case
-        // some kind of locking is required.
-        int interval = 250;
-        if (getThing().getStatus() == ThingStatus.ONLINE) {
-            ScheduledFuture<?> readScheduler = this.readScheduler;
-            if (readScheduler != null) {
-                readScheduler.cancel(false);
-            }
-
-            this.readScheduler = readSchedulerExcecutor.schedule(() -> {
-                if (getThing().getStatus() == ThingStatus.ONLINE) {
-                    try {
-                        InputStream inputStream = this.inputStream;
-                        if (inputStream != null) {
-                            synchronized (inputStream) {
-                                inputStream.mark(1);
-                                // InputStream.available() does not recognise when a client has disconnected,
-                                // so we will use BufferedInputStream and cache one byte.
-                                if (inputStream.read() < 0) {
-                                    logger.info("{} connection lost", getLogPrefix());
-                                    disposeSocket();
-                                    return;
-                                }
-                                inputStream.reset();
-                                receiveAndProcessNow();
-                            }
-                        }
-
-                        waitForData();
-                    } catch (IOException e) {
-                        handleIOException(e);
-                    }
-                }
-            }, interval, TimeUnit.MILLISECONDS);
-        }
+    @Override
+    protected boolean isWritable() {
+        return server != null;
     }
 
-    private void disposeSocket() {
-        // Dispose inputStream and outputStream and any active readers
-        disposeReader();
-
-        ScheduledFuture<?> readScheduler = this.readScheduler;
-        this.readScheduler = null;
-        if (readScheduler != null) {
-            readScheduler.cancel(true);
-        }
-
-        Socket socket = this.socket;
-        this.socket = null;
-        if (socket != null) {
-            try {
-                socket.close();
-            } catch (IOException ignore) {
-            }
+    @Override
+    protected void write(final byte[] bytes) {
+        final TcpServer server = this.server;
+        if (server != null) {
+            server.send(bytes);
         }
     }
 
     @Override
     public void dispose() {
         super.dispose();
-        disposeSocket();
-
-        ScheduledFuture<?> connectionScheduler = this.connectionScheduler;
-        this.connectionScheduler = null;
-        if (connectionScheduler != null) {
-            connectionScheduler.cancel(true);
-        }
 
-        ServerSocket server = this.server;
+        final TcpServer server = this.server;
         this.server = null;
         if (server != null) {
-            try {
-                server.close();
-            } catch (IOException ignore) {
-            }
+            server.close();
         }
     }
 
-    /**
-     * TCP Connections do not reconnect automatically. In case of an IOException,
-     * close the connection and try to re-connect.
-     */
-    @Override
-    protected void handleIOException(IOException e) {
-        Socket socket = this.socket;
-        if (socket != null) {
-            logger.warn("Connection to {}:{} failed with IOException: {}", socket.getInetAddress(), socket.getPort(),
-                    e.getMessage());
-        }
-
-        // Unlike TcpBridgeHandler, this only disposes the current connection,
-        // not the listening port itself.
-        disposeSocket();
-        super.handleIOException(e);
-    }
-
     @Override
     protected String getLogPrefix() {
         return String.format("TCP Server '%s:%d'", config.bindAddress, config.port);
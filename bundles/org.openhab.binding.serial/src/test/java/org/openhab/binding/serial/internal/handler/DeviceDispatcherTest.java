@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link DeviceDispatcher}
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class DeviceDispatcherTest {
+
+    @Test
+    public void literalPrefix() {
+        assertEquals("20;05;Cresta;ID=2801;", DeviceDispatcher.literalPrefix("20;05;Cresta;ID=2801;.*"));
+        assertEquals("ID=2341;", DeviceDispatcher.literalPrefix("ID=2341;.*"));
+        assertEquals("Positio", DeviceDispatcher.literalPrefix("Position?.*"));
+        assertEquals("Pos", DeviceDispatcher.literalPrefix("Pos+ition"));
+        assertEquals("", DeviceDispatcher.literalPrefix(".*"));
+        assertEquals("", DeviceDispatcher.literalPrefix("(?i)abc"));
+        assertEquals("", DeviceDispatcher.literalPrefix("abc|def"));
+        assertEquals("", DeviceDispatcher.literalPrefix("a*bc"));
+    }
+
+    @Test
+    public void linesAreOnlyPassedToMatchingPrefixes() {
+        SerialDeviceHandler cresta = mockDevice("20;05;Cresta;ID=2801;.*");
+        SerialDeviceHandler other = mockDevice("20;06;Other;.*");
+        SerialDeviceHandler twenty = mockDevice("20;.*");
+        SerialDeviceHandler all = mockDevice(".*");
+        SerialDeviceHandler position = mockDevice("(?i)position:.*");
+        SerialDeviceHandler uninitialized = mock(SerialDeviceHandler.class);
+
+        DeviceDispatcher dispatcher = new DeviceDispatcher(
+                List.of(cresta, other, twenty, all, position, uninitialized));
+        String line = "20;05;Cresta;ID=2801;TEMP=00af;";
+        dispatcher.dispatch(line);
+
+        verify(cresta).handleData(line);
+        verify(twenty).handleData(line);
+        verify(all).handleData(line);
+        verify(position).handleData(line);
+        verify(other, never()).handleData(anyString());
+        verify(uninitialized, never()).handleData(anyString());
+    }
+
+    @Test
+    public void unprefixedPatternsAreMatchedOnce() {
+        SerialDeviceHandler position = mockDevice("(?i)position:.*");
+        SerialDeviceHandler state = mockDevice("\\w+_(?:ON|OFF)");
+
+        DeviceDispatcher dispatcher = new DeviceDispatcher(List.of(position, state));
+        dispatcher.dispatch("unknown");
+        dispatcher.dispatch("Q1_ON");
+
+        verify(position, never()).handleData("unknown");
+        verify(state, never()).handleData("unknown");
+        verify(position).handleData("Q1_ON");
+        verify(state).handleData("Q1_ON");
+    }
+
+    private SerialDeviceHandler mockDevice(String regex) {
+        SerialDeviceHandler device = mock(SerialDeviceHandler.class);
+        when(device.getDevicePattern()).thenReturn(Pattern.compile(regex));
+        return device;
+    }
+}
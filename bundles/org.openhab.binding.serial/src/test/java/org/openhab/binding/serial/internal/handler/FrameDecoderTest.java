@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link FrameDecoder}
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class FrameDecoderTest {
+
+    private final List<String> frames = new ArrayList<>();
+    private final StringBuilder sb = new StringBuilder();
+
+    @Test
+    public void idleModeCollectsTheText() throws IOException {
+        FrameDecoder decoder = new FrameDecoder(new InputDecoder(null, Pattern.compile("\\b0A")));
+        assertFalse(decoder.isFramed());
+
+        decode(decoder, 'A', '\n', 'B');
+        decoder.flush(sb);
+
+        assertEquals("41 0A" + System.lineSeparator() + "42", sb.toString());
+        assertTrue(frames.isEmpty());
+    }
+
+    @Test
+    public void fixedFramesArePassedOnWhenComplete() throws IOException {
+        FrameDecoder decoder = fixed(3);
+
+        decode(decoder, 1, 2, 3, 4, 5);
+        assertEquals(List.of("01 02 03"), frames);
+
+        decode(decoder, 6, 7, 8, 9, 10);
+        assertEquals(List.of("01 02 03", "04 05 06", "07 08 09"), frames);
+        assertTrue(sb.isEmpty());
+    }
+
+    @Test
+    public void incompleteFrameIsDroppedWhenQuiet() throws IOException {
+        FrameDecoder decoder = fixed(3);
+
+        decode(decoder, 1, 2);
+        decoder.quiet();
+        decode(decoder, 3, 4, 5);
+
+        assertEquals(List.of("03 04 05"), frames);
+    }
+
+    @Test
+    public void lengthPrefixedFrames() throws IOException {
+        // a start byte, a 2 byte length field and a checksum byte, which is not included in the length
+        FrameDecoder decoder = new FrameDecoder(new InputDecoder(null, null), FrameDecoder.Mode.LENGTH, 0, 1, 2, 1);
+
+        decode(decoder, 0xAA, 0x00, 0x02, 0x10, 0x20, 0x30, 0xAA, 0x00);
+        assertEquals(List.of("AA 00 02 10 20 30"), frames);
+
+        decode(decoder, 0x00, 0x55);
+        assertEquals(List.of("AA 00 02 10 20 30", "AA 00 00 55"), frames);
+    }
+
+    @Test
+    public void frameWithInvalidLengthIsDropped() throws IOException {
+        FrameDecoder decoder = new FrameDecoder(new InputDecoder(null, null), FrameDecoder.Mode.LENGTH, 0, 0, 4, 0);
+
+        decode(decoder, 0x7F, 0xFF, 0xFF, 0xFF);
+        decode(decoder, 0x00, 0x00, 0x00, 0x01, 0x42);
+
+        assertEquals(List.of("00 00 00 01 42"), frames);
+    }
+
+    @Test
+    public void framesAreDecodedWithTheCharset() throws IOException {
+        FrameDecoder decoder = new FrameDecoder(new InputDecoder(StandardCharsets.UTF_8, null), FrameDecoder.Mode.FIXED,
+                5, 0, 0, 0);
+        byte[] bytes = "föö".getBytes(StandardCharsets.UTF_8);
+
+        decoder.decode(ByteBuffer.wrap(bytes, 0, 2), sb, frames::add);
+        decoder.decode(ByteBuffer.wrap(bytes, 2, 3), sb, frames::add);
+
+        assertEquals(List.of("föö"), frames);
+    }
+
+    @Test
+    public void invalidFrameFormatIsRejected() {
+        InputDecoder inputDecoder = new InputDecoder(null, null);
+        assertThrows(IllegalArgumentException.class,
+                () -> new FrameDecoder(inputDecoder, FrameDecoder.Mode.FIXED, 0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FrameDecoder(inputDecoder, FrameDecoder.Mode.LENGTH, 0, 0, 3, 0));
+    }
+
+    private FrameDecoder fixed(int frameLength) {
+        return new FrameDecoder(new InputDecoder(null, null), FrameDecoder.Mode.FIXED, frameLength, 0, 0, 0);
+    }
+
+    private void decode(FrameDecoder decoder, int... bytes) throws IOException {
+        byte[] data = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            data[i] = (byte) bytes[i];
+        }
+        decoder.decode(ByteBuffer.wrap(data), sb, frames::add);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link TcpConnection} of a TCP bridge over the loopback interface
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnectionTest {
+
+    private final TcpSelector selector = new TcpSelector();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        selector.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        selector.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void dataIsReceivedWithoutPolling() throws IOException, InterruptedException {
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            TcpConnection connection = connect(serverSocket, 0);
+            try (Socket peer = serverSocket.accept()) {
+                peer.getOutputStream().write("hello".getBytes(StandardCharsets.UTF_8));
+                assertEquals("hello", nextFrame());
+
+                assertTrue(connection.send(ByteBuffer.wrap("ping".getBytes(StandardCharsets.UTF_8))));
+                peer.setSoTimeout(5000);
+                assertEquals("ping", new String(peer.getInputStream().readNBytes(4), StandardCharsets.UTF_8));
+            }
+
+            // the peer has closed the connection
+            assertTrue(closed.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void quietConnectionIsClosedAfterTimeout() throws IOException, InterruptedException {
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            connect(serverSocket, 200);
+            try (Socket peer = serverSocket.accept()) {
+                assertTrue(closed.await(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    private TcpConnection connect(ServerSocket serverSocket, long idleTimeoutMillis) throws IOException {
+        SocketChannel channel = SocketChannel
+                .open(new InetSocketAddress(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort()));
+        channel.configureBlocking(false);
+        TcpConnection connection = new TcpConnection(selector, channel, idleTimeoutMillis, executor,
+                new FrameDecoder(new InputDecoder(StandardCharsets.UTF_8, null)), frames::add, c -> closed.countDown());
+        selector.execute(connection::register);
+        return connection;
+    }
+
+    private String nextFrame() throws InterruptedException {
+        String frame = frames.poll(5, TimeUnit.SECONDS);
+        assertNotNull(frame, "Expected a frame");
+        return frame;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.serial.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link TcpServer} over the loopback interface
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class TcpServerTest {
+
+    private final TcpSelector selector = new TcpSelector();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        selector.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        selector.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void framesOfMultipleClientsAreReceivedSeparately() throws IOException, InterruptedException {
+        TcpServer server = startServer(0);
+        try (Socket first = connect(server); Socket second = connect(server)) {
+            first.getOutputStream().write("line 1\nline 2".getBytes(StandardCharsets.UTF_8));
+            second.getOutputStream().write("other".getBytes(StandardCharsets.UTF_8));
+
+            assertEquals(Set.of("line 1\nline 2", "other"), Set.of(nextFrame(), nextFrame()));
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void characterSplitAcrossWritesIsDecoded() throws IOException, InterruptedException {
+        TcpServer server = startServer(0);
+        try (Socket client = connect(server)) {
+            byte[] bytes = "föö".getBytes(StandardCharsets.UTF_8);
+            OutputStream out = client.getOutputStream();
+            out.write(bytes, 0, 2);
+            out.flush();
+            Thread.sleep(20);
+            out.write(bytes, 2, bytes.length - 2);
+
+            assertEquals("föö", nextFrame());
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void lengthPrefixedFramesArePassedOnSeparately() throws IOException, InterruptedException {
+        TcpServer server = startServer(0, () -> new FrameDecoder(new InputDecoder(null, null),
+                FrameDecoder.Mode.LENGTH, 0, 0, 1, 0));
+        try (Socket client = connect(server)) {
+            client.getOutputStream().write(new byte[] { 2, 0x0A, 0x0B, 1, 0x0C, 3, 0x01 });
+            assertEquals("02 0A 0B", nextFrame());
+            assertEquals("01 0C", nextFrame());
+
+            // the rest of the frame arrives later
+            client.getOutputStream().write(new byte[] { 0x02, 0x03 });
+            assertEquals("03 01 02 03", nextFrame());
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void dataIsSentToAllClients() throws IOException, InterruptedException {
+        TcpServer server = startServer(0);
+        try (Socket first = connect(server); Socket second = connect(server)) {
+            awaitConnections(server, 2);
+            server.send("ping".getBytes(StandardCharsets.UTF_8));
+
+            assertEquals("ping", read(first, 4));
+            assertEquals("ping", read(second, 4));
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void quietConnectionIsClosedAfterTimeout() throws IOException, InterruptedException {
+        TcpServer server = startServer(200);
+        try (Socket client = connect(server)) {
+            client.setSoTimeout(5000);
+            assertEquals(-1, client.getInputStream().read());
+            awaitConnections(server, 0);
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void closedServerDisconnectsClients() throws IOException, InterruptedException {
+        TcpServer server = startServer(0);
+        try (Socket client = connect(server)) {
+            awaitConnections(server, 1);
+            server.close();
+
+            client.setSoTimeout(5000);
+            assertEquals(-1, client.getInputStream().read());
+            assertEquals(0, server.getConnectionCount());
+        }
+    }
+
+    private TcpServer startServer(long idleTimeoutMillis) throws IOException {
+        return startServer(idleTimeoutMillis, () -> new FrameDecoder(new InputDecoder(StandardCharsets.UTF_8, null)));
+    }
+
+    private TcpServer startServer(long idleTimeoutMillis, Supplier<FrameDecoder> decoderFactory) throws IOException {
+        return new TcpServer(selector, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), false,
+                idleTimeoutMillis, executor, decoderFactory, frames::add);
+    }
+
+    private Socket connect(TcpServer server) throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), server.getLocalAddress().getPort());
+    }
+
+    private String nextFrame() throws InterruptedException {
+        String frame = frames.poll(5, TimeUnit.SECONDS);
+        assertNotNull(frame, "Expected a frame");
+        return frame;
+    }
+
+    private static void awaitConnections(TcpServer server, int count) throws InterruptedException {
+        for (int i = 0; i < 100 && server.getConnectionCount() != count; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(count, server.getConnectionCount());
+    }
+
+    private static String read(Socket socket, int length) throws IOException {
+        socket.setSoTimeout(5000);
+        InputStream in = socket.getInputStream();
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
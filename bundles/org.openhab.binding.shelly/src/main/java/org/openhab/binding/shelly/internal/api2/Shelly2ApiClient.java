@@ -97,10 +97,13 @@ import org.openhab.core.types.State;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.Gson;
+
 /**
  * {@link Shelly2ApiClient} Low level part of the RPC API
  *
  * @author Markus Michels - Initial contribution
+ * @author Contributors to the openHAB project - Decode the RPC result lazily with the message codec
  */
 @NonNullByDefault
 public class Shelly2ApiClient extends ShellyHttpClient implements ShellyDiscoveryInterface {
@@ -422,24 +425,32 @@ public class Shelly2ApiClient extends ShellyHttpClient implements ShellyDiscover
                 throw e;
             }
         }
-        Shelly2RpcBaseMessage response = gson.fromJson(json, Shelly2RpcBaseMessage.class);
-        if (response == null) {
-            throw new ShellyApiException("Unable to convert API result to object");
-        }
-        if (response.result != null) {
+        return fromRpcResponse(gson, json, classOfT);
+    }
+
+    /**
+     * Convert the response of an RPC request into the requested class. Only the envelope of the response is decoded
+     * first, the result is then decoded once directly into the requested class.
+     *
+     * @param gson the Gson instance
+     * @param json the response
+     * @param classOfT the requested class, for String the JSON of the result is returned
+     * @return the result of the request, or the response itself if it has no result
+     * @throws ShellyApiException if the response could not be converted
+     */
+    static <T> T fromRpcResponse(Gson gson, String json, Class<T> classOfT) throws ShellyApiException {
+        Shelly2LazyJson result = Shelly2RpcMessageCodec.decode(json).result;
+        if (result != null) {
             // return sub element result as requested class type
-            json = gson.toJson(response.result);
-            boolean isString = response.result instanceof String;
-            return fromJson(gson, isString && "null".equalsIgnoreCase(((String) response.result)) ? "{}" : json,
-                    classOfT);
+            return result.isNullString() ? fromJson(gson, "{}", classOfT) : result.get(gson, classOfT);
         } else {
             // return direct format
             @Nullable
-            T result = gson.fromJson(json, classOfT == String.class ? Shelly2RpcBaseMessage.class : classOfT);
-            if (result == null) {
+            T obj = gson.fromJson(json, classOfT == String.class ? Shelly2RpcBaseMessage.class : classOfT);
+            if (obj == null) {
                 throw new ShellyApiException("Unable to convert API result to object");
             }
-            return result;
+            return obj;
         }
     }
 
@@ -94,6 +94,7 @@ import org.slf4j.LoggerFactory;
  * {@link Shelly2ApiRpc} implements Gen2 RPC interface
  *
  * @author Markus Michels - Initial contribution
+ * @author Contributors to the openHAB project - Convert the RPC result without serializing it again
  */
 @NonNullByDefault
 public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterface, Shelly2RpctInterface {
@@ -1156,25 +1157,7 @@ public class Shelly2ApiRpc extends Shelly2ApiClient implements ShellyApiInterfac
                 throw e;
             }
         }
-        Shelly2RpcBaseMessage response = gson.fromJson(json, Shelly2RpcBaseMessage.class);
-        if (response == null) {
-            throw new ShellyApiException("Unable to convert API result to object");
-        }
-        if (response.result != null) {
-            // return sub element result as requested class type
-            json = gson.toJson(response.result);
-            boolean isString = response.result instanceof String;
-            return fromJson(gson, isString && "null".equalsIgnoreCase(((String) response.result)) ? "{}" : json,
-                    classOfT);
-        } else {
-            // return direct format
-            @Nullable
-            T result = gson.fromJson(json, classOfT == String.class ? Shelly2RpcBaseMessage.class : classOfT);
-            if (result == null) {
-                throw new ShellyApiException("Unable to convert API result to object");
-            }
-            return result;
-        }
+        return fromRpcResponse(gson, json, classOfT);
     }
 
     public <T> T apiRequest(Shelly2RpcRequest request, Class<T> classOfT) throws ShellyApiException {
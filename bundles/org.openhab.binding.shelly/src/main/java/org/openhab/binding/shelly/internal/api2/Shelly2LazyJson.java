@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.api2;
+
+import static org.openhab.binding.shelly.internal.util.ShellyUtils.fromJson;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.shelly.internal.api.ShellyApiException;
+
+import com.google.gson.Gson;
+
+/**
+ * The {@link Shelly2LazyJson} is a value of an RPC message which is not decoded until it is read. It only keeps the
+ * position of the value in the message, the value is decoded into the requested class on the first call to
+ * {@link #get(Gson, Class)}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class Shelly2LazyJson {
+    private final String message;
+    private final int start;
+    private final int end;
+
+    private @Nullable Object decoded;
+
+    Shelly2LazyJson(String message, int start, int end) {
+        this.message = message;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Decode the value into an object, the object is decoded only once and returned again by further calls for the
+     * same class.
+     *
+     * @param gson the Gson instance
+     * @param classOfT the requested class, for String the JSON of the value is returned
+     * @return the decoded value
+     * @throws ShellyApiException if the value could not be decoded into the requested class
+     */
+    public synchronized <T> T get(Gson gson, Class<T> classOfT) throws ShellyApiException {
+        Object decoded = this.decoded;
+        if (classOfT.isInstance(decoded)) {
+            return classOfT.cast(decoded);
+        }
+        T obj = fromJson(gson, getJson(), classOfT);
+        this.decoded = obj;
+        return obj;
+    }
+
+    /**
+     * Check whether the value is the string "null", which some devices return instead of an empty result.
+     */
+    public boolean isNullString() {
+        return end - start == 6 && message.regionMatches(true, start, "\"null\"", 0, 6);
+    }
+
+    /**
+     * @return the JSON of the value
+     */
+    public String getJson() {
+        return message.substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return getJson();
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.api2;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.shelly.internal.api.ShellyApiException;
+import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2NotifyEventData;
+import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcBaseMessage.Shelly2RpcMessageError;
+import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcNotifyEvent;
+import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcNotifyStatus;
+import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcNotifyStatus.Shelly2NotifyStatus;
+
+import com.google.gson.Gson;
+
+/**
+ * The {@link Shelly2RpcMessageCodec} decodes the envelope of a Gen2 RPC message without reflection and without
+ * building an object tree. The routing fields are read directly, params, result and error are only located in the
+ * message and returned as {@link Shelly2LazyJson}, so they are decoded once into the DTO of the method when they are
+ * read, and not at all when they are not needed. All other fields are skipped.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class Shelly2RpcMessageCodec {
+
+    /**
+     * The envelope of an RPC message, e.g.
+     * {"id":1,"src":"shellyplus1pm-a8032ab12345","method":"NotifyStatus","params":{...}}
+     */
+    public static class Shelly2RpcMessage {
+        public @Nullable Integer id;
+        public @Nullable String src;
+        public @Nullable String dst;
+        public @Nullable String method;
+        public @Nullable Double ts;
+        public @Nullable Shelly2LazyJson params;
+        public @Nullable Shelly2LazyJson result;
+        public @Nullable Shelly2LazyJson error;
+
+        /**
+         * Decode a NotifyStatus or NotifyFullStatus message, or the response to a status request.
+         */
+        public Shelly2RpcNotifyStatus toNotifyStatus(Gson gson) throws ShellyApiException {
+            Shelly2RpcNotifyStatus status = new Shelly2RpcNotifyStatus();
+            status.id = id;
+            status.src = src;
+            status.dst = dst;
+            status.method = method;
+            Shelly2LazyJson result = this.result;
+            if (result != null) {
+                status.result = result.get(gson, Shelly2NotifyStatus.class);
+            }
+            // a full status requested by the binding is returned as result
+            Shelly2LazyJson params = this.params;
+            status.params = params != null ? params.get(gson, Shelly2NotifyStatus.class) : status.result;
+            Shelly2LazyJson error = this.error;
+            if (error != null) {
+                status.error = error.get(gson, Shelly2RpcMessageError.class);
+            }
+            return status;
+        }
+
+        /**
+         * Decode a NotifyEvent message.
+         */
+        public Shelly2RpcNotifyEvent toNotifyEvent(Gson gson) throws ShellyApiException {
+            Shelly2RpcNotifyEvent events = new Shelly2RpcNotifyEvent();
+            events.src = src;
+            events.ts = ts;
+            Shelly2LazyJson params = this.params;
+            if (params != null) {
+                events.params = params.get(gson, Shelly2NotifyEventData.class);
+            }
+            return events;
+        }
+    }
+
+    private final String json;
+    private int pos;
+
+    private Shelly2RpcMessageCodec(String json) {
+        this.json = json;
+    }
+
+    /**
+     * Decode the envelope of an RPC message.
+     *
+     * @param json the message
+     * @return the envelope, its params, result and error are not decoded yet
+     * @throws ShellyApiException if the message is not a JSON object
+     */
+    public static Shelly2RpcMessage decode(String json) throws ShellyApiException {
+        return new Shelly2RpcMessageCodec(json).readMessage();
+    }
+
+    private Shelly2RpcMessage readMessage() throws ShellyApiException {
+        Shelly2RpcMessage message = new Shelly2RpcMessage();
+        expect('{');
+        if (peek() == '}') {
+            pos++;
+        } else {
+            do {
+                String name = readString();
+                expect(':');
+                switch (name) {
+                    case "id" -> message.id = readInteger();
+                    case "src" -> message.src = readNullableString();
+                    case "dst" -> message.dst = readNullableString();
+                    case "method" -> message.method = readNullableString();
+                    case "ts" -> message.ts = readDouble();
+                    case "params" -> message.params = readLazy();
+                    case "result" -> message.result = readLazy();
+                    case "error" -> message.error = readLazy();
+                    default -> skipValue();
+                }
+            } while (next(',', '}') == ',');
+        }
+        if (peek() != 0) {
+            throw error("Unexpected data after the message");
+        }
+        return message;
+    }
+
+    private @Nullable Shelly2LazyJson readLazy() throws ShellyApiException {
+        int start = skipValue();
+        return isNull(start) ? null : new Shelly2LazyJson(json, start, pos);
+    }
+
+    private @Nullable String readNullableString() throws ShellyApiException {
+        if (peek() == '"') {
+            return readString();
+        }
+        int start = skipValue();
+        if (isNull(start)) {
+            return null;
+        }
+        // Gson accepts numbers and booleans for a String
+        return json.substring(start, pos);
+    }
+
+    private @Nullable Integer readInteger() throws ShellyApiException {
+        Double value = readDouble();
+        if (value == null) {
+            return null;
+        }
+        if (value != Math.rint(value) || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw error("Expected an integer");
+        }
+        return value.intValue();
+    }
+
+    private @Nullable Double readDouble() throws ShellyApiException {
+        String value;
+        if (peek() == '"') {
+            // Gson accepts quoted numbers
+            value = readString();
+        } else {
+            int start = skipValue();
+            if (isNull(start)) {
+                return null;
+            }
+            value = json.substring(start, pos);
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw error("Expected a number");
+        }
+    }
+
+    private String readString() throws ShellyApiException {
+        if (peek() != '"') {
+            throw error("Expected a string");
+        }
+        int start = ++pos;
+        @Nullable
+        StringBuilder value = null;
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c == '"') {
+                String s = value == null ? json.substring(start, pos) : value.append(json, start, pos).toString();
+                pos++;
+                return s;
+            } else if (c == '\\') {
+                if (value == null) {
+                    value = new StringBuilder();
+                }
+                value.append(json, start, pos).append(readEscape());
+                start = pos;
+            } else {
+                pos++;
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private char readEscape() throws ShellyApiException {
+        // pos is at the backslash
+        if (pos + 1 >= json.length()) {
+            throw error("Unterminated escape sequence");
+        }
+        char c = json.charAt(pos + 1);
+        pos += 2;
+        switch (c) {
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                if (pos + 4 > json.length()) {
+                    throw error("Unterminated escape sequence");
+                }
+                try {
+                    char unicode = (char) Integer.parseInt(json.substring(pos, pos + 4), 16);
+                    pos += 4;
+                    return unicode;
+                } catch (NumberFormatException e) {
+                    throw error("Invalid escape sequence");
+                }
+            default:
+                // '"', '\\' and '/'
+                return c;
+        }
+    }
+
+    /**
+     * Skip a value, nested objects and arrays are skipped without being decoded.
+     *
+     * @return the position of the value
+     */
+    private int skipValue() throws ShellyApiException {
+        char c = peek();
+        int start = pos;
+        if (c == '"') {
+            skipString();
+        } else if (c == '{' || c == '[') {
+            // the closing brackets of the enclosing objects and arrays
+            StringBuilder closing = new StringBuilder();
+            while (true) {
+                c = pos < json.length() ? json.charAt(pos) : 0;
+                switch (c) {
+                    case 0 -> throw error("Unterminated " + (closing.charAt(0) == '}' ? "object" : "array"));
+                    case '"' -> {
+                        skipString();
+                        continue;
+                    }
+                    case '{' -> closing.append('}');
+                    case '[' -> closing.append(']');
+                    case '}', ']' -> {
+                        if (closing.charAt(closing.length() - 1) != c) {
+                            throw error("Unexpected '" + c + "'");
+                        }
+                        closing.setLength(closing.length() - 1);
+                    }
+                    default -> {
+                    }
+                }
+                pos++;
+                if (closing.isEmpty()) {
+                    break;
+                }
+            }
+        } else {
+            // number, true, false or null
+            while (pos < json.length() && ",}] \t\r\n".indexOf(json.charAt(pos)) < 0) {
+                pos++;
+            }
+            if (pos == start) {
+                throw error("Expected a value");
+            }
+        }
+        return start;
+    }
+
+    private void skipString() throws ShellyApiException {
+        pos++;
+        while (pos < json.length()) {
+            char c = json.charAt(pos++);
+            if (c == '"') {
+                return;
+            } else if (c == '\\') {
+                pos++;
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private boolean isNull(int start) {
+        return pos - start == 4 && json.startsWith("null", start);
+    }
+
+    /**
+     * Skip whitespace and return the next character without consuming it, or 0 at the end of the message.
+     */
+    private char peek() {
+        while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+            pos++;
+        }
+        return pos < json.length() ? json.charAt(pos) : 0;
+    }
+
+    private void expect(char expected) throws ShellyApiException {
+        if (peek() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+        pos++;
+    }
+
+    private char next(char first, char second) throws ShellyApiException {
+        char c = peek();
+        if (c != first && c != second) {
+            throw error("Expected '" + first + "' or '" + second + "'");
+        }
+        pos++;
+        return c;
+    }
+
+    private ShellyApiException error(String reason) {
+        return new ShellyApiException(
+                "Unable to decode RPC message (" + reason + " at position " + pos + "): " + json);
+    }
+}
@@ -50,9 +50,9 @@ import org.eclipse.jetty.websocket.client.WebSocketClient;
 import org.eclipse.jetty.websocket.common.OpCode;
 import org.openhab.binding.shelly.internal.api.ShellyApiException;
 import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2NotifyEvent;
-import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcBaseMessage;
 import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcNotifyEvent;
 import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcNotifyStatus;
+import org.openhab.binding.shelly.internal.api2.Shelly2RpcMessageCodec.Shelly2RpcMessage;
 import org.openhab.binding.shelly.internal.handler.ShellyThingInterface;
 import org.openhab.binding.shelly.internal.handler.ShellyThingTable;
 import org.openhab.core.io.net.http.WebSocketFactory;
@@ -63,6 +63,7 @@ import com.google.gson.Gson;
 
 /**
  * @author Markus Michels - Initial contribution
+ * @author Contributors to the openHAB project - Decode the payload of a message lazily with the message codec
  */
 @NonNullByDefault
 @WebSocket(maxIdleTime = 7 * 60 * 1000)
@@ -332,7 +333,8 @@ public class Shelly2RpcSocket implements WriteCallback {
             handler = websocketHandler;
         }
         try {
-            Shelly2RpcBaseMessage message = fromJson(gson, receivedMessage, Shelly2RpcBaseMessage.class);
+            // only the envelope, the payload is decoded once into the type of its method below
+            Shelly2RpcMessage message = Shelly2RpcMessageCodec.decode(receivedMessage);
             if (logger.isTraceEnabled()) {
                 logger.trace("{}: Inbound RPC message: {}", thingName, receivedMessage);
             }
@@ -340,21 +342,17 @@ public class Shelly2RpcSocket implements WriteCallback {
                 if (thingName.isEmpty()) {
                     thingName = getString(message.src);
                 }
-                if (message.method == null) {
-                    message.method = SHELLYRPC_METHOD_NOTIFYFULLSTATUS;
+                String method = message.method;
+                if (method == null) {
+                    method = SHELLYRPC_METHOD_NOTIFYFULLSTATUS;
                 }
-                switch (message.method) {
+                switch (method) {
                     case SHELLYRPC_METHOD_NOTIFYSTATUS:
                     case SHELLYRPC_METHOD_NOTIFYFULLSTATUS:
-                        Shelly2RpcNotifyStatus status = fromJson(gson, receivedMessage, Shelly2RpcNotifyStatus.class);
-                        if (status.params == null) {
-                            status.params = status.result;
-                        }
-                        handler.onNotifyStatus(status);
+                        handler.onNotifyStatus(message.toNotifyStatus(gson));
                         return;
                     case SHELLYRPC_METHOD_NOTIFYEVENT:
-                        Shelly2RpcNotifyEvent events = fromJson(gson, receivedMessage, Shelly2RpcNotifyEvent.class);
-                        events.src = message.src;
+                        Shelly2RpcNotifyEvent events = message.toNotifyEvent(gson);
                         if (events.params == null || events.params.events == null) {
                             logger.debug("{}: Malformed event data: {}", thingName, receivedMessage);
                         } else {
@@ -388,7 +386,7 @@ public class Shelly2RpcSocket implements WriteCallback {
                         }
                         break;
                     default:
-                        logger.warn("{}: WS Event with unknown method received: {}", thingName, message.method);
+                        logger.warn("{}: WS Event with unknown method received: {}", thingName, method);
                 }
             } else {
                 if (logger.isDebugEnabled()) {
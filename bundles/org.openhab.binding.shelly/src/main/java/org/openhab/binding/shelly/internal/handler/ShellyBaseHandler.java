@@ -61,6 +61,7 @@ import org.openhab.binding.shelly.internal.handler.ShellyDeviceStats.ShellyDevic
 import org.openhab.binding.shelly.internal.provider.ShellyChannelDefinitions;
 import org.openhab.binding.shelly.internal.provider.ShellyTranslationProvider;
 import org.openhab.binding.shelly.internal.util.ShellyChannelCache;
+import org.openhab.binding.shelly.internal.util.ShellyStatusSnapshot;
 import org.openhab.binding.shelly.internal.util.ShellyVersionDTO;
 import org.openhab.core.config.discovery.DiscoveryResult;
 import org.openhab.core.library.types.DecimalType;
@@ -89,6 +90,7 @@ import org.slf4j.LoggerFactory;
  * sent to one of the channels.
  *
  * @author Markus Michels - Initial contribution
+ * @author Contributors to the openHAB project - Delta-aware status polls
  */
 @NonNullByDefault
 public abstract class ShellyBaseHandler extends BaseThingHandler
@@ -113,6 +115,8 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
 
     private final Map<String, Long> deprecatedChannelWarnings = new ConcurrentHashMap<>();
     private final int cacheCount = UPDATE_SETTINGS_INTERVAL_SECONDS / UPDATE_STATUS_INTERVAL_SECONDS;
+    private final int consistencyCount = UPDATE_CONSISTENCY_INTERVAL_SECONDS / UPDATE_STATUS_INTERVAL_SECONDS;
+    private final ShellyStatusSnapshot statusSnapshot = new ShellyStatusSnapshot();
 
     private volatile @Nullable Shelly1CoapHandler coap;
 
@@ -130,6 +134,8 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
 
     // Scheduler
     private volatile double watchdog = now();
+    private volatile double lastEvent = 0;
+    private double lastFullUpdate = 0;
     protected int scheduledUpdates = 0;
     private int skipCount = UPDATE_SKIP_COUNT;
     private int skipUpdate = 0;
@@ -322,6 +328,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
         lastWakeupReason = "";
         cache.setThingName(thingName);
         cache.clear();
+        statusSnapshot.clear();
         resetStats();
 
         profile.initFromThingType(thing.getThingTypeUID());
@@ -589,7 +596,9 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
             }
 
             skipUpdate++;
-            if (refreshSettings || (scheduledUpdates > 0) || (skipUpdate % skipCount == 0)) {
+            if (refreshSettings || (scheduledUpdates > 0) || isPollDue()) {
+                boolean fullUpdate = refreshSettings || !channelsCreated || !cache.isEnabled()
+                        || (now() - lastFullUpdate >= UPDATE_CONSISTENCY_INTERVAL_SECONDS);
                 ThingStatus thingStatus = getThing().getStatus();
                 if (!profile.isInitialized() || ((thingStatus == ThingStatus.OFFLINE))
                         || (getThingStatusDetail() == ThingStatusDetail.CONFIGURATION_PENDING)) {
@@ -597,6 +606,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
                     initializeThing(); // may fire an exception if initialization failed
                 }
                 ShellySettingsStatus status = api.getStatus();
+                stats.statusPolls.incrementAndGet();
                 boolean restarted = checkRestarted(status);
                 profile = getProfile(refreshSettings || restarted);
                 profile.status = status;
@@ -613,15 +623,23 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
                     setThingOnline();
                 }
 
-                // map status to channels
+                // map status to channels, the components are skipped if nothing has changed since the last poll
                 updateChannel(CHANNEL_GROUP_DEV_STATUS, CHANNEL_DEVST_NAME, getStringType(profile.settings.name));
-                updated |= this.updateDeviceStatus(status);
-                updated |= ShellyComponents.updateDeviceStatus(this, status);
-                fillDeviceStatus(status, updated);
-                updated |= updateInputs(status);
-                updated |= updateMeters(this, status);
-                updated |= updateSensors(this, status);
-                ShellyChannelMigration.migrateChannels(this);
+                if (statusSnapshot.hasChanged(status) || fullUpdate || restarted) {
+                    updated |= this.updateDeviceStatus(status);
+                    updated |= ShellyComponents.updateDeviceStatus(this, status);
+                    fillDeviceStatus(status, updated);
+                    updated |= updateInputs(status);
+                    updated |= updateMeters(this, status);
+                    updated |= updateSensors(this, status);
+                    ShellyChannelMigration.migrateChannels(this);
+                    statusSnapshot.commit();
+                    lastFullUpdate = now();
+                } else {
+                    logger.trace("{}: Status unchanged, skip component update", thingName);
+                    stats.unchangedPolls.incrementAndGet();
+                    fillDeviceStatus(status, false);
+                }
 
                 // All channels must be created after the first cycle
                 channelsCreated = true;
@@ -642,6 +660,19 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
         }
     }
 
+    /**
+     * Regular status polls are due every skipCount cycles. While the device reports changes by events (CoIoT or
+     * WebSocket) those become the primary update path and polls only check for consistency.
+     */
+    private boolean isPollDue() {
+        int pollCount = isEventStreamActive() ? Math.max(skipCount, consistencyCount) : skipCount;
+        return skipUpdate % pollCount == 0;
+    }
+
+    private boolean isEventStreamActive() {
+        return (lastEvent > 0) && (now() - lastEvent < profile.updatePeriod);
+    }
+
     private void checkRangeExtender(ShellyDeviceProfile prf) {
         if (getBool(prf.settings.rangeExtender) && apiConfig.getEnableRangeExtender()
                 && prf.status.rangeExtender != null && prf.status.rangeExtender.apClients != null) {
@@ -779,7 +810,8 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
     }
 
     private boolean isWatchdogExpired() {
-        double delta = now() - watchdog;
+        // events from the device prove that it's alive, even if polls are rare
+        double delta = now() - Math.max(watchdog, lastEvent);
         if ((watchdog > 0) && (delta > profile.updatePeriod)) {
             stats.remainingWatchdog.set((long) delta);
             return true;
@@ -849,6 +881,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
     @Override
     public void incProtMessages() {
         stats.protocolMessages.incrementAndGet();
+        lastEvent = now();
     }
 
     @Override
@@ -1706,7 +1739,8 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
 
     @Override
     public void triggerUpdateFromCoap() {
-        if ((!autoCoIoT && (getScheduledUpdates() < 1)) || (autoCoIoT && !profile.isLight && !profile.hasBattery)) {
+        // a poll which is already scheduled covers the values of this update too
+        if ((getScheduledUpdates() < 1) && (!autoCoIoT || (!profile.isLight && !profile.hasBattery))) {
             requestUpdates(1, false);
         }
     }
@@ -26,6 +26,7 @@ import org.openhab.binding.shelly.internal.util.ShellyUtils;
  * {@link ShellyDeviceStats} some statistical values for the thing
  *
  * @author Markus Michels - Initial contribution
+ * @author Contributors to the openHAB project - Count status polls
  */
 @NonNullByDefault
 public class ShellyDeviceStats {
@@ -41,6 +42,8 @@ public class ShellyDeviceStats {
     public final AtomicLong alarms = new AtomicLong(0);
     public final AtomicReference<@Nullable ShellyDeviceAlarm> lastAlarm = new AtomicReference<>();
     public final AtomicLong protocolMessages = new AtomicLong(0);
+    public final AtomicLong statusPolls = new AtomicLong(0);
+    public final AtomicLong unchangedPolls = new AtomicLong(0);
     public final AtomicInteger protocolErrors = new AtomicInteger(0);
     public final AtomicInteger wifiRssi = new AtomicInteger(0);
     public final AtomicInteger maxInternalTemp = new AtomicInteger(0);
@@ -59,6 +62,8 @@ public class ShellyDeviceStats {
             prop.put("lastAlarmTs", ShellyUtils.convertTimestamp(alarm.timeStamp));
         }
         prop.put("protocolMessages", String.valueOf(protocolMessages));
+        prop.put("statusPolls", String.valueOf(statusPolls));
+        prop.put("unchangedPolls", String.valueOf(unchangedPolls));
         prop.put("protocolErrors", String.valueOf(protocolErrors));
         prop.put("wifiRssi", String.valueOf(wifiRssi));
         prop.put("maxInternalTemp", String.valueOf(maxInternalTemp.get()));
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.util;
+
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.shelly.internal.api1.Shelly1ApiJsonDTO.ShellySettingsStatus;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * {@link ShellyStatusSnapshot} remembers the last device status, which was mapped to the channels.
+ *
+ * A status poll compares the received status with this snapshot and only walks the components when something
+ * has changed. Values changing on every poll (uptime, time, RAM, WiFi signal etc.) are not part of the snapshot,
+ * those are always mapped to the device status channels.
+ *
+ * The status DTO is re-used and modified by the APIs, therefore the snapshot is kept as a JSON tree.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ShellyStatusSnapshot {
+    private static final Set<String> VOLATILE_MEMBERS = Set.of("time", "unixtime", "serial", "uptime", "ram_total",
+            "ram_free", "fs_size", "fs_free", "wifi_sta", "json");
+
+    private final Gson gson = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+    private @Nullable JsonObject applied;
+    private @Nullable JsonObject pending;
+
+    /**
+     * Compare a status with the last applied one. The status becomes the new snapshot once {@link #commit()} is
+     * called after its values were mapped to the channels.
+     *
+     * @param status device status
+     * @return true if the status differs from the last applied one or no status was applied yet
+     */
+    public synchronized boolean hasChanged(ShellySettingsStatus status) {
+        JsonElement tree = gson.toJsonTree(status);
+        if (!tree.isJsonObject()) {
+            pending = null;
+            return true;
+        }
+        JsonObject snapshot = tree.getAsJsonObject();
+        VOLATILE_MEMBERS.forEach(snapshot::remove);
+        pending = snapshot;
+        return !snapshot.equals(applied);
+    }
+
+    /**
+     * Mark the status passed to the last {@link #hasChanged(ShellySettingsStatus)} as applied.
+     */
+    public synchronized void commit() {
+        if (pending != null) {
+            applied = pending;
+            pending = null;
+        }
+    }
+
+    public synchronized void clear() {
+        applied = null;
+        pending = null;
+    }
+}
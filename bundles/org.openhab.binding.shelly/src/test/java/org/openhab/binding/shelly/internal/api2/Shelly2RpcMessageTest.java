@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.api2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.shelly.internal.api.ShellyApiException;
+import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2AuthChallenge;
+import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcBaseMessage;
+import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcNotifyEvent;
+import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcNotifyStatus;
+import org.openhab.binding.shelly.internal.api2.Shelly2ApiJsonDTO.Shelly2RpcNotifyStatus.Shelly2NotifyStatus;
+import org.openhab.binding.shelly.internal.api2.Shelly2RpcMessageCodec.Shelly2RpcMessage;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests for decoding the Gen2 RPC messages with the {@link Shelly2RpcMessageCodec} and
+ * {@link Shelly2ApiClient#fromRpcResponse(Gson, String, Class)}, compared with decoding them by reflection.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+@SuppressWarnings({ "null" })
+public class Shelly2RpcMessageTest {
+
+    private final Gson gson = new Gson();
+
+    // captured from a Shelly Plus 1PM, shortened
+    private static final String NOTIFY_STATUS = "{\"src\":\"shellyplus1pm-a8032ab12345\",\"dst\":\"openhab\","
+            + "\"method\":\"NotifyStatus\",\"params\":{\"ts\":1700000000.12,\"switch:0\":{\"id\":0,"
+            + "\"apower\":12.5,\"voltage\":231.4,\"current\":0.07,\"aenergy\":{\"total\":1234.567,"
+            + "\"by_minute\":[12.3,45.6,78.9],\"minute_ts\":1700000000},\"temperature\":{\"tC\":41.2,"
+            + "\"tF\":106.2}}}}";
+    private static final String FULL_STATUS = "{\"id\":7,\"src\":\"shellyplus1pm-a8032ab12345\","
+            + "\"dst\":\"openhab\",\"result\":{\"sys\":{\"mac\":\"A8032AB12345\",\"restart_required\":false,"
+            + "\"uptime\":4711},\"wifi\":{\"sta_ip\":\"192.168.1.42\",\"status\":\"got ip\","
+            + "\"ssid\":\"home \\\"wifi\\\" \\u00e4\",\"rssi\":-61},\"switch:0\":{\"id\":0,"
+            + "\"source\":\"init\",\"output\":true}}}";
+    private static final String NOTIFY_EVENT = "{ \"src\" : \"shellyplus1pm-a8032ab12345\", \"ts\" : 1700000001.5,\n"
+            + "  \"method\" : \"NotifyEvent\", \"params\" : { \"ts\" : 1700000001.5, \"events\" : [ {"
+            + "\"component\":\"input:0\",\"id\":0,\"event\":\"single_push\",\"ts\":1700000001.5} ] } }";
+
+    @Test
+    public void envelopeIsDecoded() throws ShellyApiException {
+        Shelly2RpcMessage message = Shelly2RpcMessageCodec.decode(FULL_STATUS);
+
+        assertEquals(7, message.id);
+        assertEquals("shellyplus1pm-a8032ab12345", message.src);
+        assertEquals("openhab", message.dst);
+        assertNull(message.method);
+        assertNull(message.params);
+        assertNull(message.error);
+        assertNotNull(message.result);
+    }
+
+    @Test
+    public void notifyStatusIsDecodedLikeGson() throws ShellyApiException {
+        Shelly2RpcNotifyStatus status = Shelly2RpcMessageCodec.decode(NOTIFY_STATUS).toNotifyStatus(gson);
+
+        assertSameJson(gson.fromJson(NOTIFY_STATUS, Shelly2RpcNotifyStatus.class), status);
+        assertEquals(12.5, status.params.switch0.apower);
+    }
+
+    @Test
+    public void fullStatusIsDecodedLikeGson() throws ShellyApiException {
+        Shelly2RpcNotifyStatus expected = gson.fromJson(FULL_STATUS, Shelly2RpcNotifyStatus.class);
+        expected.params = expected.result;
+
+        Shelly2RpcNotifyStatus status = Shelly2RpcMessageCodec.decode(FULL_STATUS).toNotifyStatus(gson);
+
+        assertSameJson(expected, status);
+        assertEquals("home \"wifi\" \u00e4", status.params.wifi.ssid);
+    }
+
+    @Test
+    public void notifyEventIsDecodedLikeGson() throws ShellyApiException {
+        Shelly2RpcNotifyEvent events = Shelly2RpcMessageCodec.decode(NOTIFY_EVENT).toNotifyEvent(gson);
+
+        assertSameJson(gson.fromJson(NOTIFY_EVENT, Shelly2RpcNotifyEvent.class), events);
+        assertEquals("single_push", events.params.events.get(0).event);
+    }
+
+    @Test
+    public void errorIsDecodedLikeGson() throws ShellyApiException {
+        String json = "{\"id\":1,\"src\":\"shelly\",\"error\":{\"code\":401,\"message\":\"{\\\"auth_type\\\":"
+                + "\\\"digest\\\"}\"}}";
+
+        assertSameJson(gson.fromJson(json, Shelly2RpcNotifyStatus.class),
+                Shelly2RpcMessageCodec.decode(json).toNotifyStatus(gson));
+    }
+
+    @Test
+    public void payloadIsDecodedWhenRead() throws ShellyApiException {
+        // the payload is only located, its syntax error is found when it is decoded
+        Shelly2RpcMessage message = Shelly2RpcMessageCodec
+                .decode("{\"src\":\"shelly\",\"method\":\"NotifyStatus\",\"params\":{\"sys\":{\"uptime\":x}}}");
+
+        assertEquals("NotifyStatus", message.method);
+        assertThrows(ShellyApiException.class, () -> message.toNotifyStatus(gson));
+    }
+
+    @Test
+    public void payloadIsDecodedOnce() throws ShellyApiException {
+        Shelly2LazyJson params = Shelly2RpcMessageCodec.decode(NOTIFY_STATUS).params;
+
+        assertNotNull(params);
+        assertSame(params.get(gson, Shelly2NotifyStatus.class), params.get(gson, Shelly2NotifyStatus.class));
+        assertTrue(params.getJson().startsWith("{\"ts\":1700000000.12,"));
+    }
+
+    @Test
+    public void malformedMessagesAreRejected() {
+        for (String json : new String[] { "", "[]", "{\"src\":\"shelly\"", "{\"params\":{\"a\":[1,2}}",
+                "{\"id\":\"one\"}", "{\"src\":\"shelly\"} {}", "{\"src\" \"shelly\"}" }) {
+            assertThrows(ShellyApiException.class, () -> Shelly2RpcMessageCodec.decode(json), json);
+        }
+    }
+
+    private void assertSameJson(Object expected, Object actual) {
+        assertEquals(gson.toJson(expected), gson.toJson(actual));
+    }
+
+    @Test
+    public void resultIsConverted() throws ShellyApiException {
+        Shelly2AuthChallenge result = Shelly2ApiClient.fromRpcResponse(gson,
+                "{\"id\":3,\"src\":\"shelly\",\"result\":{\"auth_type\":\"digest\",\"nonce\":\"1234\",\"nc\":1}}",
+                Shelly2AuthChallenge.class);
+
+        assertEquals("digest", result.authType);
+        assertEquals("1234", result.nonce);
+        assertEquals("1", result.nc);
+    }
+
+    @Test
+    public void nullResultIsEmptyObject() throws ShellyApiException {
+        Shelly2AuthChallenge result = Shelly2ApiClient.fromRpcResponse(gson,
+                "{\"id\":3,\"src\":\"shelly\",\"result\":\"null\"}", Shelly2AuthChallenge.class);
+
+        assertNull(result.authType);
+    }
+
+    @Test
+    public void resultAsString() throws ShellyApiException {
+        String result = Shelly2ApiClient.fromRpcResponse(gson,
+                "{\"id\":3,\"src\":\"shelly\",\"result\":{\"restart_required\":false}}", String.class);
+
+        assertEquals("{\"restart_required\":false}", result);
+    }
+
+    @Test
+    public void responseWithoutResult() throws ShellyApiException {
+        Shelly2RpcBaseMessage result = Shelly2ApiClient.fromRpcResponse(gson,
+                "{\"id\":3,\"src\":\"shelly\",\"error\":{\"code\":-103,\"message\":\"Invalid argument\"}}",
+                Shelly2RpcBaseMessage.class);
+
+        assertEquals("shelly", result.src);
+        assertEquals(-103, result.error.code);
+    }
+
+    @Test
+    public void emptyResponseIsRejected() {
+        assertThrows(ShellyApiException.class, () -> Shelly2ApiClient.fromRpcResponse(gson, "", String.class));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.shelly.internal.api1.Shelly1ApiJsonDTO.ShellySettingsRelay;
+import org.openhab.binding.shelly.internal.api1.Shelly1ApiJsonDTO.ShellySettingsStatus;
+
+/**
+ * Tests for {@link ShellyStatusSnapshot}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ShellyStatusSnapshotTest {
+    @Test
+    void firstStatusHasChanged() {
+        ShellyStatusSnapshot snapshot = new ShellyStatusSnapshot();
+        assertThat(snapshot.hasChanged(createStatus(false)), is(true));
+    }
+
+    @Test
+    void volatileValuesAreIgnored() {
+        ShellyStatusSnapshot snapshot = new ShellyStatusSnapshot();
+        ShellySettingsStatus status = createStatus(false);
+        snapshot.hasChanged(status);
+        snapshot.commit();
+
+        status.uptime = 4711L;
+        status.time = "12:34";
+        status.wifiSta.rssi = -70;
+        assertThat(snapshot.hasChanged(status), is(false));
+    }
+
+    @Test
+    void componentChangeIsDetected() {
+        ShellyStatusSnapshot snapshot = new ShellyStatusSnapshot();
+        ShellySettingsStatus status = createStatus(false);
+        snapshot.hasChanged(status);
+        snapshot.commit();
+
+        status.relays.get(0).ison = true;
+        assertThat(snapshot.hasChanged(status), is(true));
+    }
+
+    @Test
+    void statusIsOnlyAppliedOnCommit() {
+        ShellyStatusSnapshot snapshot = new ShellyStatusSnapshot();
+        snapshot.hasChanged(createStatus(false));
+        snapshot.commit();
+
+        assertThat(snapshot.hasChanged(createStatus(true)), is(true));
+        // not committed, e.g. because the channel update failed
+        assertThat(snapshot.hasChanged(createStatus(true)), is(true));
+        snapshot.commit();
+        assertThat(snapshot.hasChanged(createStatus(true)), is(false));
+
+        snapshot.clear();
+        assertThat(snapshot.hasChanged(createStatus(true)), is(true));
+    }
+
+    private static ShellySettingsStatus createStatus(boolean relayOn) {
+        ShellySettingsStatus status = new ShellySettingsStatus();
+        status.uptime = 42L;
+        status.relays = new ArrayList<>();
+        ShellySettingsRelay relay = new ShellySettingsRelay();
+        relay.ison = relayOn;
+        status.relays.add(relay);
+        return status;
+    }
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -48,6 +49,7 @@ import io.reactivex.schedulers.Schedulers;
  * {@link #readValues(long, ScheduledExecutorService, Duration)}
  *
  * @author Matthias Steigenberger - Initial contribution
+ * @author Contributors to the openHAB project - Notify only changed values
  *
  * @param <T> The type of Payload which is read from the device.
  */
@@ -64,6 +66,19 @@ public abstract class MeterDevice<T> {
      * Map of all values captured from the device during the read request.
      */
     private Map<String, MeterValue<?>> valueCache;
+    /**
+     * Values of the previous read request. The map is reused for the next read request.
+     */
+    private Map<String, MeterValue<?>> previousValues;
+    /**
+     * Requests that all values are notified by the next read request, even if they have not changed. The request is
+     * taken when a read request starts, so a request made while values are populated is kept for the next one.
+     */
+    private final AtomicBoolean notifyAllRequested = new AtomicBoolean(true);
+    /**
+     * Whether the current read request notifies all values. Only used by the thread populating the values.
+     */
+    private boolean notifyAllValues;
     private byte @Nullable [] initMessage;
     /**
      * The id of the SML device from openHAB configuration.
@@ -79,6 +94,7 @@ public abstract class MeterDevice<T> {
             byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode) {
         this.deviceId = deviceId;
         this.valueCache = new HashMap<>();
+        this.previousValues = new HashMap<>();
         this.valueChangeListeners = new CopyOnWriteArrayList<>();
         this.printMeterInfo = true;
         this.connector = createConnector(serialPortManagerSupplier, serialPort, baudrate, baudrateChangeDelay,
@@ -192,24 +208,30 @@ public abstract class MeterDevice<T> {
                 .retryWhen(
                         publisher -> publisher.delay(RETRY_DELAY, TimeUnit.SECONDS, Schedulers.from(executorService)))
                 .subscribeOn(Schedulers.from(executorService), true).subscribe((value) -> {
-                    Map<String, MeterValue<?>> obisCodes = new HashMap<>(valueCache);
+                    notifyAllValues = notifyAllRequested.getAndSet(false);
                     clearValueCache();
                     populateValueCache(value);
                     printInfo();
-                    Collection<String> newObisCodes = getObisCodes();
                     // notify every removed obis code.
-                    obisCodes.values().stream().filter((val) -> !newObisCodes.contains(val.getObisCode()))
-                            .forEach((val) -> notifyValuesRemoved(val));
+                    for (MeterValue<?> previousValue : previousValues.values()) {
+                        if (!valueCache.containsKey(previousValue.getObisCode())) {
+                            notifyValuesRemoved(previousValue);
+                        }
+                    }
                 });
     }
 
     /**
      * Deletes all cached values.
      *
-     * The method will always be called before new values are populated.
+     * The method will always be called before new values are populated. The values are kept as the previous values,
+     * so only the values which have changed are notified.
      */
     protected void clearValueCache() {
+        Map<String, MeterValue<?>> previousValues = valueCache;
+        valueCache = this.previousValues;
         valueCache.clear();
+        this.previousValues = previousValues;
     }
 
     /**
@@ -221,13 +243,17 @@ public abstract class MeterDevice<T> {
     protected abstract <Q extends Quantity<Q>> void populateValueCache(T payload);
 
     /**
-     * Adds a {@link MeterValue} to the current cache.
+     * Adds a {@link MeterValue} to the current cache. The listeners are only notified if the value differs from the
+     * value of the previous read request.
      *
      * @param value The value to add.
      */
     protected <Q extends Quantity<Q>> void addObisCache(MeterValue<Q> value) {
-        logger.debug("Value changed: {}", value);
         this.valueCache.put(value.getObisCode(), value);
+        if (!notifyAllValues && value.equals(previousValues.get(value.getObisCode()))) {
+            return;
+        }
+        logger.debug("Value changed: {}", value);
         this.valueChangeListeners.forEach((listener) -> {
             try {
                 listener.valueChanged(value);
@@ -258,6 +284,8 @@ public abstract class MeterDevice<T> {
      */
     public void addValueChangeListener(MeterValueListener valueChangeListener) {
         this.valueChangeListeners.add(valueChangeListener);
+        // the new listener has to receive all values, not only the changed ones
+        this.notifyAllRequested.set(true);
     }
 
     /**
@@ -274,6 +302,8 @@ public abstract class MeterDevice<T> {
     }
 
     private void notifyReadingError(Throwable e) {
+        // the listeners have to be updated with all values as soon as the device can be read again
+        notifyAllRequested.set(true);
         this.valueChangeListeners.forEach((listener) -> listener.errorOccurred(e));
     }
 
@@ -18,7 +18,6 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.text.MessageFormat;
-import java.util.Stack;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -40,6 +39,7 @@ import org.openmuc.jsml.transport.Transport;
  *
  * @author Matthias Steigenberger - Initial contribution
  * @author Mathias Gilhuber - Also-By
+ * @author Contributors to the openHAB project - Keep only the most recent SML file
  */
 @NonNullByDefault
 public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
@@ -89,17 +89,20 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
         }
 
         // read out the whole buffer. We are only interested in the most recent SML file.
-        Stack<SmlFile> smlFiles = new Stack<>();
+        @Nullable
+        SmlFile smlFile = null;
+        int smlFileCount = 0;
         DataInputStream is = this.is;
         do {
-            logger.trace("Reading {}. SML message", smlFiles.size() + 1);
-            smlFiles.push(TRANSPORT.getSMLFile(is));
+            logger.trace("Reading {}. SML message", smlFileCount + 1);
+            smlFile = TRANSPORT.getSMLFile(is);
+            smlFileCount++;
         } while (is != null && is.available() > 0);
-        if (smlFiles.isEmpty()) {
+        if (smlFile == null) {
             throw new IOException(getPortName() + " : There is no SML file in buffer. Try to increase Refresh rate.");
         }
-        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), smlFiles.size());
-        return smlFiles.pop();
+        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), smlFileCount);
+        return smlFile;
     }
 
     @Override
@@ -13,6 +13,8 @@
 package org.openhab.binding.smartmeter.internal.sml;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.measure.Quantity;
 
@@ -29,10 +31,21 @@ import org.openmuc.jsml.structures.SmlListEntry;
  *
  * @author Matthias Steigenberger - Initial contribution
  * @author Mathias Gilhuber - Also-By
+ * @author Contributors to the openHAB project - Reuse the OBIS codes
  */
 @NonNullByDefault
 public final class SmlValueExtractor {
 
+    /**
+     * Limits the number of cached OBIS codes, so corrupt data can not fill the cache.
+     */
+    private static final int MAX_CACHED_OBIS_CODES = 1024;
+
+    /**
+     * The formatted OBIS codes by their value groups A to E, so the same string is used for every read.
+     */
+    private static final Map<Long, String> OBIS_CODES = new ConcurrentHashMap<>();
+
     /**
      * Stores the original value object from jSML
      */
@@ -115,13 +128,8 @@ public final class SmlValueExtractor {
         int scaler = 0;
 
         if (smlListEntry.getScaler().isSelected()) {
-            byte scalerByte = smlListEntry.getScaler().getVal();
-
-            scaler = Integer.parseInt(String.format("%02x", scalerByte), 16);
-
-            if (scaler > 127) {
-                scaler -= 256;
-            }
+            // the scaler is a signed byte
+            scaler = smlListEntry.getScaler().getVal();
         }
 
         return Math.pow(10, scaler);
@@ -137,22 +145,28 @@ public final class SmlValueExtractor {
     }
 
     /**
-     * Byte to Integer conversion.
-     *
-     * @param byte to convert to Integer.
-     */
-    private static int byteToInt(byte b) {
-        return Integer.parseInt(String.format("%02x", b), 16);
-    }
-
-    /**
-     * Converts hex encoded OBIS to formatted string.
+     * Converts hex encoded OBIS to formatted string. The string is only formatted the first time an OBIS code is
+     * read, afterwards the cached string is returned.
      *
      * @return the hex encoded OBIS code as readable string.
      */
     protected static String getObisAsString(byte[] octetBytes) {
-        return String.format(SmartMeterBindingConstants.OBIS_FORMAT_MINIMAL, byteToInt(octetBytes[0]),
-                byteToInt(octetBytes[1]), byteToInt(octetBytes[2]), byteToInt(octetBytes[3]), byteToInt(octetBytes[4]));
+        long key = 0;
+        for (int i = 0; i < 5; i++) {
+            key = (key << 8) | (octetBytes[i] & 0xFF);
+        }
+        String obis = OBIS_CODES.get(key);
+        if (obis == null) {
+            obis = String.format(SmartMeterBindingConstants.OBIS_FORMAT_MINIMAL, octetBytes[0] & 0xFF,
+                    octetBytes[1] & 0xFF, octetBytes[2] & 0xFF, octetBytes[3] & 0xFF, octetBytes[4] & 0xFF);
+            if (OBIS_CODES.size() < MAX_CACHED_OBIS_CODES) {
+                String cached = OBIS_CODES.putIfAbsent(key, obis);
+                if (cached != null) {
+                    obis = cached;
+                }
+            }
+        }
+        return obis;
     }
 
     public String getObisCode() {
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.smartmeter;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -19,6 +20,7 @@ import java.io.IOException;
 import java.time.Duration;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -42,6 +44,7 @@ import io.reactivex.plugins.RxJavaPlugins;
 /**
  *
  * @author Matthias Steigenberger - Initial contribution
+ * @author Contributors to the openHAB project - Notify only changed values
  *
  */
 @NonNullByDefault
@@ -52,7 +55,8 @@ public class TestMeterReading {
         final Duration period = Duration.ofSeconds(1);
         final int executionCount = 5;
         MockMeterReaderConnector connector = getMockedConnector(false, () -> new Object());
-        MeterDevice<Object> meter = getMeterDevice(connector);
+        AtomicInteger value = new AtomicInteger();
+        MeterDevice<Object> meter = getMeterDevice(connector, () -> String.valueOf(value.incrementAndGet()));
         MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
         meter.addValueChangeListener(changeListener);
         long executionTime = period.toMillis() * executionCount;
@@ -65,6 +69,26 @@ public class TestMeterReading {
         }
     }
 
+    @Test
+    public void testUnchangedValuesAreNotifiedOnce() throws Exception {
+        final Duration period = Duration.ofSeconds(1);
+        final int executionCount = 3;
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> new Object());
+        MeterDevice<Object> meter = getMeterDevice(connector);
+        MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
+        meter.addValueChangeListener(changeListener);
+        long executionTime = period.toMillis() * executionCount;
+        Disposable disposable = meter.readValues(executionTime, Executors.newScheduledThreadPool(1), period);
+        try {
+            verify(changeListener, after(executionTime + period.toMillis() / 2 + 50).never()).errorOccurred(any());
+            verify(changeListener, times(1)).valueChanged(any());
+            verify(changeListener, never()).valueRemoved(any());
+            assertEquals("333", meter.getValue("123"));
+        } finally {
+            disposable.dispose();
+        }
+    }
+
     @Test
     public void testRetryHandling() {
         final Duration period = Duration.ofSeconds(1);
@@ -138,6 +162,10 @@ public class TestMeterReading {
     }
 
     MeterDevice<Object> getMeterDevice(ConnectorBase<Object> connector) {
+        return getMeterDevice(connector, () -> "333");
+    }
+
+    MeterDevice<Object> getMeterDevice(ConnectorBase<Object> connector, Supplier<String> valueSupplier) {
         return new MeterDevice<>(() -> mock(SerialPortManager.class), "id", "port", null, 9600, 0, ProtocolMode.SML) {
 
             @Override
@@ -150,7 +178,7 @@ public class TestMeterReading {
             @SuppressWarnings({ "rawtypes", "unchecked" })
             @Override
             protected <Q extends Quantity<Q>> void populateValueCache(Object smlFile) {
-                addObisCache(new MeterValue("123", "333", null));
+                addObisCache(new MeterValue("123", valueSupplier.get(), null));
             }
         };
     }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal.handler;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link LastChangeCoalescer} merges the values of the LastChange events of a player received within a short
+ * delay, so a burst of events, e.g. during a volume ramp, is applied once with its final values.
+ *
+ * A value which was received directly, e.g. as the result of an action, after a LastChange event was queued is
+ * fresher than the queued value, so the queued value must be discarded with {@link #discard(String, String)}. A value
+ * discarded while the values are applied is reported by {@link #isDiscarded(String, String)}, which the applier checks
+ * before applying a value.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class LastChangeCoalescer {
+
+    private final ScheduledExecutorService scheduler;
+    private final long delayMs;
+    private final Consumer<Map<String, Map<String, String>>> applier;
+
+    /**
+     * Values parsed from LastChange events, per service, which are not yet applied
+     */
+    private final Map<String, Map<String, String>> pendingValues = new HashMap<>();
+    /**
+     * Variables, per service, discarded while the values are applied
+     */
+    private final Map<String, Set<String>> discardedValues = new HashMap<>();
+    private @Nullable ScheduledFuture<?> job;
+    private boolean applying;
+
+    /**
+     * @param scheduler the scheduler which applies the values
+     * @param delayMs the delay in milliseconds within which the values of the events are merged
+     * @param applier called with the merged values per service
+     */
+    public LastChangeCoalescer(ScheduledExecutorService scheduler, long delayMs,
+            Consumer<Map<String, Map<String, String>>> applier) {
+        this.scheduler = scheduler;
+        this.delayMs = delayMs;
+        this.applier = applier;
+    }
+
+    /**
+     * Merge the values of a LastChange event with those of the previous events not yet applied, and schedule their
+     * application.
+     *
+     * @param service the service of the event
+     * @param values the values parsed from the event
+     */
+    public synchronized void queue(String service, Map<String, String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        pendingValues.computeIfAbsent(service, k -> new LinkedHashMap<>()).putAll(values);
+        if (job == null) {
+            job = scheduler.schedule(this::apply, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Discard the queued value of a variable, because a fresher value was received.
+     *
+     * @param service the service of the variable
+     * @param variable the name of the variable
+     */
+    public synchronized void discard(String service, String variable) {
+        Map<String, String> values = pendingValues.get(service);
+        if (values != null) {
+            values.remove(variable);
+            if (values.isEmpty()) {
+                pendingValues.remove(service);
+            }
+        }
+        if (applying) {
+            discardedValues.computeIfAbsent(service, k -> new HashSet<>()).add(variable);
+        }
+    }
+
+    /**
+     * Check whether the value of a variable was discarded since the application of the values started.
+     *
+     * @param service the service of the variable
+     * @param variable the name of the variable
+     * @return true if the value must not be applied
+     */
+    public synchronized boolean isDiscarded(String service, String variable) {
+        Set<String> variables = discardedValues.get(service);
+        return variables != null && variables.contains(variable);
+    }
+
+    /**
+     * Cancel the scheduled application and drop all queued values.
+     */
+    public synchronized void cancel() {
+        ScheduledFuture<?> job = this.job;
+        if (job != null) {
+            job.cancel(false);
+        }
+        this.job = null;
+        pendingValues.clear();
+    }
+
+    private void apply() {
+        Map<String, Map<String, String>> values;
+        synchronized (this) {
+            values = new HashMap<>(pendingValues);
+            pendingValues.clear();
+            job = null;
+            applying = true;
+        }
+        try {
+            if (!values.isEmpty()) {
+                applier.accept(values);
+            }
+        } finally {
+            synchronized (this) {
+                applying = false;
+                discardedValues.clear();
+            }
+        }
+    }
+}
@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -79,6 +80,7 @@ import org.slf4j.LoggerFactory;
  * sent to one of the channels.
  *
  * @author Karel Goderis - Initial contribution
+ * @author Contributors to the openHAB project - Coalesce LastChange events
  */
 @NonNullByDefault
 public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOParticipant {
@@ -166,6 +168,11 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     private static final int HTTP_TIMEOUT = 5000;
 
+    /**
+     * LastChange events of a player received within this delay are merged, so only their final values are applied
+     */
+    private static final int LAST_CHANGE_COALESCING_DELAY_MS = 100;
+
     private final Logger logger = LoggerFactory.getLogger(ZonePlayerHandler.class);
 
     private final ThingRegistry localThingRegistry;
@@ -188,6 +195,17 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     private @Nullable ScheduledFuture<?> pollingJob;
     private @Nullable SonosZonePlayerState savedState;
 
+    private final LastChangeCoalescer lastChanges = new LastChangeCoalescer(scheduler, LAST_CHANGE_COALESCING_DELAY_MS,
+            this::applyLastChanges);
+
+    /**
+     * Last parsed meta data per state variable, to avoid parsing the same meta data again
+     */
+    private final Map<String, ParsedMetaData> parsedMetaData = new ConcurrentHashMap<>();
+
+    private record ParsedMetaData(String xml, SonosMetaData metaData) {
+    }
+
     private Map<String, Boolean> subscriptionState = new HashMap<>();
 
     /**
@@ -223,6 +241,9 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         }
         this.pollingJob = null;
 
+        lastChanges.cancel();
+        parsedMetaData.clear();
+
         removeSubscription();
         service.unregisterParticipant(this);
     }
@@ -490,32 +511,11 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
             // pre-process some variables, eg XML processing
             if (SERVICE_AV_TRANSPORT.equals(service) && "LastChange".equals(variable)) {
-                Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
-                parsedValues.forEach((variable1, value1) -> {
-                    // Update the transport state after the update of the media information
-                    // to not break the notification mechanism
-                    if (!"TransportState".equals(variable1)) {
-                        onValueReceived(variable1, value1, service);
-                    }
-                    // Translate AVTransportURI/AVTransportURIMetaData to CurrentURI/CurrentURIMetaData
-                    // for a compatibility with the result of the action GetMediaInfo
-                    if ("AVTransportURI".equals(variable1)) {
-                        onValueReceived("CurrentURI", value1, service);
-                    } else if ("AVTransportURIMetaData".equals(variable1)) {
-                        onValueReceived("CurrentURIMetaData", value1, service);
-                    }
-                });
-                updateMediaInformation();
-                if (parsedValues.get("TransportState") != null) {
-                    onValueReceived("TransportState", parsedValues.get("TransportState"), service);
-                }
+                lastChanges.queue(service, SonosXMLParser.getAVTransportFromXML(value));
             }
 
             if (SERVICE_RENDERING_CONTROL.equals(service) && "LastChange".equals(variable)) {
-                Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value);
-                parsedValues.forEach((variable1, value1) -> {
-                    onValueReceived(variable1, value1, service);
-                });
+                lastChanges.queue(service, SonosXMLParser.getRenderingControlFromXML(value));
             }
 
             List<StateOption> options = new ArrayList<>();
@@ -1057,6 +1057,56 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         }
     }
 
+    private void applyLastChanges(Map<String, Map<String, String>> values) {
+        Map<String, String> avTransportValues = values.get(SERVICE_AV_TRANSPORT);
+        if (avTransportValues != null) {
+            avTransportValues.forEach((variable, value) -> {
+                if (lastChanges.isDiscarded(SERVICE_AV_TRANSPORT, variable)) {
+                    return;
+                }
+                // Update the transport state after the update of the media information
+                // to not break the notification mechanism
+                if (!"TransportState".equals(variable)) {
+                    onValueReceived(variable, value, SERVICE_AV_TRANSPORT);
+                }
+                // Translate AVTransportURI/AVTransportURIMetaData to CurrentURI/CurrentURIMetaData
+                // for a compatibility with the result of the action GetMediaInfo
+                if ("AVTransportURI".equals(variable)) {
+                    onValueReceived("CurrentURI", value, SERVICE_AV_TRANSPORT);
+                } else if ("AVTransportURIMetaData".equals(variable)) {
+                    onValueReceived("CurrentURIMetaData", value, SERVICE_AV_TRANSPORT);
+                }
+            });
+            updateMediaInformation();
+            String transportState = avTransportValues.get("TransportState");
+            if (transportState != null && !lastChanges.isDiscarded(SERVICE_AV_TRANSPORT, "TransportState")) {
+                onValueReceived("TransportState", transportState, SERVICE_AV_TRANSPORT);
+            }
+        }
+
+        Map<String, String> renderingControlValues = values.get(SERVICE_RENDERING_CONTROL);
+        if (renderingControlValues != null) {
+            renderingControlValues.forEach((variable, value) -> {
+                if (!lastChanges.isDiscarded(SERVICE_RENDERING_CONTROL, variable)) {
+                    onValueReceived(variable, value, SERVICE_RENDERING_CONTROL);
+                }
+            });
+        }
+    }
+
+    /**
+     * Discard the value of a variable queued from a LastChange event, as the value received directly is fresher.
+     */
+    private void discardLastChange(String service, String variable) {
+        lastChanges.discard(service, variable);
+        // AVTransportURI/AVTransportURIMetaData of a LastChange event are applied as CurrentURI/CurrentURIMetaData
+        if ("CurrentURI".equals(variable)) {
+            lastChanges.discard(service, "AVTransportURI");
+        } else if ("CurrentURIMetaData".equals(variable)) {
+            lastChanges.discard(service, "AVTransportURIMetaData");
+        }
+    }
+
     /**
      * CurrentURI will not change, but will trigger change of CurrentURIFormated
      * CurrentTrackMetaData will not change, but will trigger change of Title, Artist, Album
@@ -1136,6 +1186,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     private Map<String, String> executeAction(String serviceId, String actionId, @Nullable Map<String, String> inputs) {
         Map<String, String> result = service.invokeAction(this, serviceId, actionId, inputs);
         result.forEach((variable, value) -> {
+            discardLastChange(serviceId, variable);
             this.onValueReceived(variable, value, serviceId);
         });
         return result;
@@ -1188,6 +1239,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         result.put("RunningAlarmProperties", newStringValue);
 
         result.forEach((variable, value) -> {
+            discardLastChange(SERVICE_AV_TRANSPORT, variable);
             this.onValueReceived(variable, value, SERVICE_AV_TRANSPORT);
         });
     }
@@ -1382,18 +1434,31 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     public @Nullable SonosMetaData getCurrentURIMetadata() {
-        String metaData = getCurrentURIMetadataAsString();
-        return metaData != null && !metaData.isEmpty() ? SonosXMLParser.getMetaDataFromXML(metaData) : null;
+        return getMetaData("CurrentURIMetaData");
     }
 
     public @Nullable SonosMetaData getTrackMetadata() {
-        String metaData = stateMap.get("CurrentTrackMetaData");
-        return metaData != null && !metaData.isEmpty() ? SonosXMLParser.getMetaDataFromXML(metaData) : null;
+        return getMetaData("CurrentTrackMetaData");
     }
 
     public @Nullable SonosMetaData getEnqueuedTransportURIMetaData() {
-        String metaData = stateMap.get("EnqueuedTransportURIMetaData");
-        return metaData != null && !metaData.isEmpty() ? SonosXMLParser.getMetaDataFromXML(metaData) : null;
+        return getMetaData("EnqueuedTransportURIMetaData");
+    }
+
+    /**
+     * Parse the meta data of a state variable, unless it was already parsed since its last change.
+     */
+    private @Nullable SonosMetaData getMetaData(String variable) {
+        String metaData = stateMap.get(variable);
+        if (metaData == null || metaData.isEmpty()) {
+            return null;
+        }
+        ParsedMetaData parsed = parsedMetaData.get(variable);
+        if (parsed == null || !parsed.xml().equals(metaData)) {
+            parsed = new ParsedMetaData(metaData, SonosXMLParser.getMetaDataFromXML(metaData));
+            parsedMetaData.put(variable, parsed);
+        }
+        return parsed.metaData();
     }
 
     public @Nullable String getMACAddress() {
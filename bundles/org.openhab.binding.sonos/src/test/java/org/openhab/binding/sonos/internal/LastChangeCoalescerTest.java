@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.sonos.internal.handler.LastChangeCoalescer;
+
+/**
+ * Tests for the {@link LastChangeCoalescer}
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class LastChangeCoalescerTest {
+
+    private static final String RENDERING_CONTROL = "RenderingControl";
+    private static final String AV_TRANSPORT = "AVTransport";
+    private static final long DELAY_MS = 100;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final BlockingQueue<Map<String, Map<String, String>>> applied = new LinkedBlockingQueue<>();
+    private final LastChangeCoalescer coalescer = new LastChangeCoalescer(scheduler, DELAY_MS, applied::add);
+
+    @AfterEach
+    public void tearDown() {
+        coalescer.cancel();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void burstIsAppliedOnceWithTheFinalValues() throws InterruptedException {
+        for (int volume = 10; volume <= 20; volume++) {
+            coalescer.queue(RENDERING_CONTROL, Map.of("VolumeMaster", String.valueOf(volume)));
+        }
+        coalescer.queue(RENDERING_CONTROL, Map.of("MuteMaster", "0"));
+        coalescer.queue(AV_TRANSPORT, Map.of("TransportState", "PLAYING"));
+
+        assertEquals(Map.of(RENDERING_CONTROL, Map.of("VolumeMaster", "20", "MuteMaster", "0"), AV_TRANSPORT,
+                Map.of("TransportState", "PLAYING")), nextApplied());
+        assertNull(applied.poll(2 * DELAY_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void eventsAfterTheApplicationAreAppliedAgain() throws InterruptedException {
+        coalescer.queue(RENDERING_CONTROL, Map.of("VolumeMaster", "10"));
+        assertEquals(Map.of(RENDERING_CONTROL, Map.of("VolumeMaster", "10")), nextApplied());
+
+        coalescer.queue(RENDERING_CONTROL, Map.of("VolumeMaster", "11"));
+        assertEquals(Map.of(RENDERING_CONTROL, Map.of("VolumeMaster", "11")), nextApplied());
+    }
+
+    @Test
+    public void valuesKeepTheirOrder() throws InterruptedException {
+        coalescer.queue(AV_TRANSPORT, Map.of("CurrentTrackURI", "x-file:1"));
+        coalescer.queue(AV_TRANSPORT, Map.of("CurrentTrackMetaData", "<DIDL-Lite/>"));
+        coalescer.queue(AV_TRANSPORT, Map.of("CurrentTrackURI", "x-file:2"));
+
+        Map<String, String> values = nextApplied().get(AV_TRANSPORT);
+        assertNotNull(values);
+        assertEquals(List.of("CurrentTrackURI", "CurrentTrackMetaData"), List.copyOf(values.keySet()));
+        assertEquals("x-file:2", values.get("CurrentTrackURI"));
+    }
+
+    @Test
+    public void discardedValueIsNotApplied() throws InterruptedException {
+        coalescer.queue(RENDERING_CONTROL, Map.of("VolumeMaster", "10", "MuteMaster", "1"));
+        coalescer.queue(AV_TRANSPORT, Map.of("TransportState", "PLAYING"));
+        // e.g. values received as the result of an action
+        coalescer.discard(RENDERING_CONTROL, "VolumeMaster");
+        coalescer.discard(AV_TRANSPORT, "TransportState");
+
+        assertEquals(Map.of(RENDERING_CONTROL, Map.of("MuteMaster", "1")), nextApplied());
+    }
+
+    @Test
+    public void nothingIsAppliedWhenAllValuesAreDiscarded() throws InterruptedException {
+        coalescer.queue(RENDERING_CONTROL, Map.of("VolumeMaster", "10"));
+        coalescer.discard(RENDERING_CONTROL, "VolumeMaster");
+
+        assertNull(applied.poll(3 * DELAY_MS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void valueQueuedAfterTheDiscardIsApplied() throws InterruptedException {
+        coalescer.queue(RENDERING_CONTROL, Map.of("VolumeMaster", "10"));
+        coalescer.discard(RENDERING_CONTROL, "VolumeMaster");
+        coalescer.queue(RENDERING_CONTROL, Map.of("VolumeMaster", "12"));
+
+        assertEquals(Map.of(RENDERING_CONTROL, Map.of("VolumeMaster", "12")), nextApplied());
+    }
+
+    @Test
+    public void valueDiscardedWhileApplyingIsReported() throws Exception {
+        CountDownLatch applying = new CountDownLatch(1);
+        CountDownLatch discarded = new CountDownLatch(1);
+        AtomicReference<@Nullable LastChangeCoalescer> blockingCoalescer = new AtomicReference<>();
+        Map<String, Boolean> result = new ConcurrentHashMap<>();
+        blockingCoalescer.set(new LastChangeCoalescer(scheduler, DELAY_MS, values -> {
+            applying.countDown();
+            try {
+                assertTrue(discarded.await(5, TimeUnit.SECONDS));
+                LastChangeCoalescer self = Objects.requireNonNull(blockingCoalescer.get());
+                result.put("VolumeMaster", self.isDiscarded(RENDERING_CONTROL, "VolumeMaster"));
+                result.put("MuteMaster", self.isDiscarded(RENDERING_CONTROL, "MuteMaster"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            applied.add(values);
+        }));
+        LastChangeCoalescer blocking = Objects.requireNonNull(blockingCoalescer.get());
+
+        blocking.queue(RENDERING_CONTROL, Map.of("VolumeMaster", "10", "MuteMaster", "1"));
+        assertTrue(applying.await(5, TimeUnit.SECONDS));
+        blocking.discard(RENDERING_CONTROL, "VolumeMaster");
+        discarded.countDown();
+        nextApplied();
+        // wait until the application has finished on the single scheduler thread
+        scheduler.submit(() -> {
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Map.of("VolumeMaster", true, "MuteMaster", false), result);
+        // the discarded variables are forgotten once the values are applied
+        assertFalse(blocking.isDiscarded(RENDERING_CONTROL, "VolumeMaster"));
+    }
+
+    private Map<String, Map<String, String>> nextApplied() throws InterruptedException {
+        Map<String, Map<String, String>> values = applied.poll(5, TimeUnit.SECONDS);
+        assertNotNull(values, "Expected values to be applied");
+        return values;
+    }
+}
@@ -17,7 +17,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
@@ -25,6 +31,7 @@ import org.junit.jupiter.api.Test;
 /**
  *
  * @author Laurent Garnier - Initial contribution
+ * @author Contributors to the openHAB project - Parser reuse tests
  */
 @NonNullByDefault
 public class SonosXMLParserTest {
@@ -123,4 +130,94 @@ public class SonosXMLParserTest {
         String actual = SonosXMLParser.compileMetadataString(sonosEntry);
         assertEquals(expected, actual);
     }
+
+    @Test
+    public void parserIsReusedAfterAnInvalidDocument() {
+        String lastChange = """
+                <Event xmlns="urn:schemas-upnp-org:metadata-1-0/RCS/">\
+                <InstanceID val="0">\
+                <Volume channel="Master" val="25"/>\
+                <Mute channel="Master" val="0"/>\
+                <Bass val="-2"/>\
+                </InstanceID>\
+                </Event>\
+                """;
+        Map<String, String> expected = Map.of("VolumeMaster", "25", "MuteMaster", "0", "Bass", "-2");
+
+        assertEquals(expected, SonosXMLParser.getRenderingControlFromXML(lastChange));
+        assertEquals(Map.of(), SonosXMLParser.getRenderingControlFromXML("<Event><InstanceID val=\"0\">"));
+        // the state of the failed parse must not leak into the next one
+        assertEquals(expected, SonosXMLParser.getRenderingControlFromXML(lastChange));
+        assertEquals("PLAYING", SonosXMLParser.getAVTransportFromXML("""
+                <Event xmlns="urn:schemas-upnp-org:metadata-1-0/AVT/">\
+                <InstanceID val="0"><TransportState val="PLAYING"/></InstanceID>\
+                </Event>\
+                """).get("TransportState"));
+    }
+
+    @Test
+    public void resourceMetaDataIsParsedWithinAnEntry() {
+        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(entryWithResourceMetaData(""));
+
+        assertEquals(1, entries.size());
+        assertEquals("Favorite", entries.get(0).getTitle());
+        SonosResourceMetaData resourceMetaData = entries.get(0).getResourceMetaData();
+        assertNotNull(resourceMetaData);
+        assertEquals("Station", resourceMetaData.getTitle());
+        assertEquals("SA_RINCON3_user", resourceMetaData.getDesc());
+    }
+
+    @Test
+    public void resourceMetaDataWithDoctypeIsRejected() {
+        List<SonosEntry> entries = SonosXMLParser
+                .getEntriesFromString(entryWithResourceMetaData("&lt;!DOCTYPE DIDL-Lite&gt;"));
+
+        assertEquals(1, entries.size());
+        assertNull(entries.get(0).getResourceMetaData());
+        // the parser of the entries is not affected
+        assertEquals(1, SonosXMLParser.getEntriesFromString(entryWithResourceMetaData("")).size());
+    }
+
+    @Test
+    public void parsersAreNotSharedBetweenThreads() throws Exception {
+        InputStream resourceStream = getClass().getResourceAsStream("/MetaData.xml");
+        assertNotNull(resourceStream);
+        final String xml = new String(resourceStream.readAllBytes(), StandardCharsets.UTF_8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> titles = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                titles.add(executor.submit(() -> SonosXMLParser.getMetaDataFromXML(xml).getTitle()));
+            }
+            for (Future<String> title : titles) {
+                assertEquals("Turn Down for What", title.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String entryWithResourceMetaData(String doctype) {
+        return """
+                <DIDL-Lite xmlns:dc="http://purl.org/dc/elements/1.1/" \
+                xmlns:upnp="urn:schemas-upnp-org:metadata-1-0/upnp/" \
+                xmlns:r="urn:schemas-rinconnetworks-com:metadata-1-0/" \
+                xmlns="urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/">\
+                <item id="FV:2/1" parentID="FV:2" restricted="false">\
+                <dc:title>Favorite</dc:title>\
+                <upnp:class>object.itemobject.item.sonos-favorite</upnp:class>\
+                <res>x-sonosapi-radio:station?sid=236</res>\
+                <r:resMD>%s&lt;DIDL-Lite xmlns:dc=&quot;http://purl.org/dc/elements/1.1/&quot; \
+                xmlns:upnp=&quot;urn:schemas-upnp-org:metadata-1-0/upnp/&quot; \
+                xmlns:r=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot; \
+                xmlns=&quot;urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/&quot;&gt;\
+                &lt;item id=&quot;100c2068station&quot; parentID=&quot;0&quot; restricted=&quot;true&quot;&gt;\
+                &lt;dc:title&gt;Station&lt;/dc:title&gt;\
+                &lt;upnp:class&gt;object.item.audioItem.audioBroadcast&lt;/upnp:class&gt;\
+                &lt;desc id=&quot;cdudn&quot; nameSpace=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot;&gt;\
+                SA_RINCON3_user&lt;/desc&gt;&lt;/item&gt;&lt;/DIDL-Lite&gt;</r:resMD>\
+                </item>\
+                </DIDL-Lite>\
+                """.formatted(doctype);
+    }
 }
@@ -25,6 +25,7 @@ import static org.openhab.binding.tuya.internal.local.ProtocolVersion.V3_5;
 import static org.openhab.binding.tuya.internal.local.TuyaDevice.*;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
@@ -36,6 +37,7 @@ import org.openhab.binding.tuya.internal.local.MessageWrapper;
 import org.openhab.binding.tuya.internal.local.ProtocolVersion;
 import org.openhab.binding.tuya.internal.local.dto.DiscoveryMessage;
 import org.openhab.binding.tuya.internal.local.dto.TcpStatusPayload;
+import org.openhab.binding.tuya.internal.util.CipherCache;
 import org.openhab.binding.tuya.internal.util.CryptoUtil;
 import org.openhab.core.util.HexUtils;
 import org.slf4j.Logger;
@@ -45,6 +47,8 @@ import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 
@@ -53,18 +57,28 @@ import io.netty.handler.codec.ByteToMessageDecoder;
  *
  * Parts of this code are inspired by the TuyAPI project (see notice file)
  *
+ * Frames are parsed in place, the input buffer is only advanced when a complete frame was received. The cipher
+ * instances for the keys of the channel are kept until the decoder is removed from the channel.
+ *
  * @author Jan N. Klug - Initial contribution
+ * @author Contributors to the openHAB project - Decode frames in place
  */
 @NonNullByDefault
 public class TuyaDecoder extends ByteToMessageDecoder {
     private final Logger logger = LoggerFactory.getLogger(TuyaDecoder.class);
 
     private final Gson gson;
+    private final CipherCache ciphers = new CipherCache();
 
     public TuyaDecoder(Gson gson) {
         this.gson = gson;
     }
 
+    @Override
+    protected void handlerRemoved0(@NonNullByDefault({}) ChannelHandlerContext ctx) throws Exception {
+        ciphers.clear();
+    }
+
     @Override
     public void decode(@NonNullByDefault({}) ChannelHandlerContext ctx, @NonNullByDefault({}) ByteBuf in,
             @NonNullByDefault({}) List<Object> out) throws Exception {
@@ -84,21 +98,8 @@ public class TuyaDecoder extends ByteToMessageDecoder {
         ProtocolVersion protocol = ctx.channel().attr(PROTOCOL_ATTR).get();
         byte[] sessionKey = ctx.channel().attr(SESSION_KEY_ATTR).get();
 
-        // we need to take a copy first so the buffer stays intact if we exit early
-        ByteBuf inCopy = in.copy();
-        byte[] bytes = new byte[inCopy.readableBytes()];
-        inCopy.readBytes(bytes);
-        inCopy.release();
-
-        if (logger.isTraceEnabled()) {
-            logger.trace("{}{}: Received encoded '{}'", deviceId,
-                    Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""), HexUtils.bytesToHex(bytes));
-            logger.trace("{}{}: Protocol version '{}'", deviceId,
-                    Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""), protocol.getString());
-        }
-
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        int prefix = buffer.getInt();
+        int start = in.readerIndex();
+        int prefix = in.getInt(start);
 
         if (prefix == 0x006699 && protocol != V3_5) {
             protocol = V3_5;
@@ -107,87 +108,87 @@ public class TuyaDecoder extends ByteToMessageDecoder {
 
         int headerLength = protocol == V3_5 ? 22 : 16;
 
-        if (protocol == V3_5) {
-            // skip 2 unknown bytes in header
-            buffer.position(buffer.position() + 2);
-        }
-
-        // this method call is necessary to correctly move the pointer within the buffer.
-        buffer.getInt();
-        CommandType commandType = CommandType.fromCode(buffer.getInt());
-        int payloadLength = buffer.getInt();
-
-        byte[] header = new byte[14];
-        if (protocol == V3_5) {
-            // get header for GCM AAD
-            System.arraycopy(buffer.array(), 4, header, 0, 14);
-        }
+        // protocol 3.5 has 2 unknown bytes in the header
+        int commandIndex = start + (protocol == V3_5 ? 10 : 8);
+        CommandType commandType = CommandType.fromCode(in.getInt(commandIndex));
+        int payloadLength = in.getInt(commandIndex + 4);
 
-        if (buffer.limit() < payloadLength + headerLength) {
+        if (in.readableBytes() < payloadLength + headerLength) {
             // there are less bytes than needed, exit early
             logger.trace("Did not receive enough bytes from '{}', exiting early", deviceId);
             return;
-        } else {
-            // we have enough bytes, skip them from the input buffer and proceed processing
-            in.skipBytes(payloadLength + headerLength);
         }
 
-        byte[] payload;
+        if (logger.isTraceEnabled()) {
+            logger.trace("{}{}: Received encoded '{}'", deviceId,
+                    Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""),
+                    HexUtils.bytesToHex(ByteBufUtil.getBytes(in, start, payloadLength + headerLength)));
+            logger.trace("{}{}: Protocol version '{}'", deviceId,
+                    Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""), protocol.getString());
+        }
+
+        // we have enough bytes, skip them from the input buffer and proceed processing
+        in.skipBytes(payloadLength + headerLength);
+
+        int payloadIndex;
+        int payloadSize;
 
         if (protocol == V3_5) {
-            payload = new byte[payloadLength];
+            payloadIndex = start + 18;
+            payloadSize = payloadLength;
         } else {
-            int returnCode = buffer.getInt();
+            int returnCode = in.getInt(start + 16);
 
             if ((returnCode & 0xffffff00) != 0) {
-                // rewind if no return code is present
-                buffer.position(buffer.position() - 4);
-                payload = protocol == V3_4 ? new byte[payloadLength - 32] : new byte[payloadLength - 8];
+                // no return code is present
+                payloadIndex = start + 16;
+                payloadSize = protocol == V3_4 ? payloadLength - 32 : payloadLength - 8;
             } else {
-                payload = protocol == V3_4 ? new byte[payloadLength - 32 - 8] : new byte[payloadLength - 8 - 4];
+                payloadIndex = start + 20;
+                payloadSize = protocol == V3_4 ? payloadLength - 32 - 8 : payloadLength - 8 - 4;
             }
         }
 
-        buffer.get(payload);
+        int index = payloadIndex + payloadSize;
 
         if (protocol == V3_4 && commandType != UDP && commandType != UDP_NEW) {
-            byte[] fullMessage = new byte[buffer.position()];
-            buffer.position(0);
-            buffer.get(fullMessage);
-            byte[] expectedHmac = new byte[32];
-            buffer.get(expectedHmac);
-            byte[] calculatedHmac = CryptoUtil.hmac(fullMessage, sessionKey);
-            if (!Arrays.equals(expectedHmac, calculatedHmac)) {
+            byte[] calculatedHmac = CryptoUtil.hmac(in.nioBuffer(start, index - start), sessionKey, ciphers);
+            if (calculatedHmac == null || !ByteBufUtil.equals(in, index, Unpooled.wrappedBuffer(calculatedHmac), 0,
+                    calculatedHmac.length)) {
                 logger.warn("{}{}: Checksum failed for message: calculated {}, found {}", deviceId,
                         Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""),
                         calculatedHmac != null ? HexUtils.bytesToHex(calculatedHmac) : "<null>",
-                        HexUtils.bytesToHex(expectedHmac));
+                        HexUtils.bytesToHex(ByteBufUtil.getBytes(in, index, 32)));
                 return;
             }
+            index += 32;
         } else if (protocol != V3_5) {
-            int crc = buffer.getInt();
+            int crc = in.getInt(index);
             // header + payload without suffix and checksum
-            int calculatedCrc = CryptoUtil.calculateChecksum(bytes, 0, 16 + payloadLength - 8);
+            int calculatedCrc = CryptoUtil.calculateChecksum(in.nioBuffer(start, 16 + payloadLength - 8));
             if (calculatedCrc != crc) {
                 logger.warn("{}{}: Checksum failed for message: calculated {}, found {}", deviceId,
                         Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""), calculatedCrc, crc);
                 return;
             }
+            index += 4;
         }
 
-        int suffix = buffer.getInt();
+        int suffix = in.getInt(index);
         if ((prefix != 0x000055aa || suffix != 0x0000aa55) && (prefix != 0x00006699 || suffix != 0x00009966)) {
             logger.warn("{}{}: Decoding failed: Prefix or suffix invalid.", deviceId,
                     Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""));
             return;
         }
 
-        if (Arrays.equals(Arrays.copyOfRange(payload, 0, protocol.getBytes().length), protocol.getBytes())) {
+        ByteBuffer payload = in.nioBuffer(payloadIndex, payloadSize);
+        if (startsWith(payload, protocol.getBytes())) {
             if (protocol == V3_3) {
                 // Remove 3.3 header
-                payload = Arrays.copyOfRange(payload, 15, payload.length);
+                payload.position(payload.position() + 15);
             } else {
-                payload = Base64.getDecoder().decode(Arrays.copyOfRange(payload, 19, payload.length));
+                payload.position(payload.position() + 19);
+                payload = Base64.getDecoder().decode(payload);
             }
         }
 
@@ -196,41 +197,48 @@ public class TuyaDecoder extends ByteToMessageDecoder {
 
         if (commandType == UDP) {
             // UDP is unencrypted
-            decodedString = new String(payload);
+            decodedString = Charset.defaultCharset().decode(payload).toString();
             m = new MessageWrapper<>(commandType,
                     Objects.requireNonNull(gson.fromJson(decodedString, DiscoveryMessage.class)));
         } else {
             byte[] decodedMessage = switch (protocol) {
-                case V3_5 -> CryptoUtil.decryptAesGcm(payload, sessionKey, header, null);
-                case V3_4 -> CryptoUtil.decryptAesEcb(payload, sessionKey, true);
-                case V3_1 -> (payload[0] == '{' && payload[payload.length - 1] == '}' //
-                        ? payload //
-                        : CryptoUtil.decryptAesEcb(payload, sessionKey, false));
-                default -> CryptoUtil.decryptAesEcb(payload, sessionKey, false);
+                case V3_5 -> CryptoUtil.decryptAesGcm(payload, sessionKey, in.nioBuffer(start + 4, 14), ciphers);
+                case V3_1 -> (payload.get(payload.position()) == '{' && payload.get(payload.limit() - 1) == '}' //
+                        ? ByteBufUtil.getBytes(Unpooled.wrappedBuffer(payload)) // unencrypted
+                        : CryptoUtil.decryptAesEcb(payload, sessionKey, ciphers));
+                default -> CryptoUtil.decryptAesEcb(payload, sessionKey, ciphers);
             };
             if (decodedMessage == null) {
                 return;
             }
 
-            if (protocol == V3_5) {
+            // the decoded message is used in place, only the range of the content is determined
+            int offset = 0;
+            int end = decodedMessage.length;
+            if (protocol == V3_4 && end > 0) {
+                // Remove padding
+                int padding = decodedMessage[end - 1];
+                if (padding > 0 && padding <= end) {
+                    end -= padding;
+                }
+            } else if (protocol == V3_5) {
                 // Remove return code
-                decodedMessage = Arrays.copyOfRange(decodedMessage, 4, decodedMessage.length);
+                offset = 4;
             }
 
-            if (Arrays.equals(Arrays.copyOfRange(decodedMessage, 0, protocol.getBytes().length), protocol.getBytes())) {
-                if (protocol == V3_4 || protocol == V3_5) {
-                    // Remove 3.4 or 3.5 header
-                    decodedMessage = Arrays.copyOfRange(decodedMessage, 15, decodedMessage.length);
-                }
+            ByteBuffer decoded = ByteBuffer.wrap(decodedMessage, offset, end - offset);
+            if ((protocol == V3_4 || protocol == V3_5) && startsWith(decoded, protocol.getBytes())) {
+                // Remove 3.4 or 3.5 header
+                offset += 15;
             }
 
             if (logger.isTraceEnabled()) {
                 logger.trace("{}{}: Decoded raw payload: {}", deviceId,
                         Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""),
-                        HexUtils.bytesToHex(decodedMessage));
+                        HexUtils.bytesToHex(Arrays.copyOfRange(decodedMessage, offset, end)));
             }
 
-            decodedString = new String(decodedMessage).trim();
+            decodedString = new String(decodedMessage, offset, end - offset).trim();
 
             try {
                 if ("json obj data unvalid".equals(decodedString) || "data format error".equals(decodedString)) {
@@ -245,7 +253,7 @@ public class TuyaDecoder extends ByteToMessageDecoder {
                     m = new MessageWrapper<>(commandType,
                             Objects.requireNonNull(gson.fromJson(decodedString, DiscoveryMessage.class)));
                 } else if (commandType == SESS_KEY_NEG_RESPONSE) {
-                    m = new MessageWrapper<>(commandType, decodedMessage);
+                    m = new MessageWrapper<>(commandType, Arrays.copyOfRange(decodedMessage, offset, end));
                 } else {
                     m = new MessageWrapper<>(commandType, decodedString);
                 }
@@ -268,4 +276,16 @@ public class TuyaDecoder extends ByteToMessageDecoder {
 
         out.add(m);
     }
+
+    private static boolean startsWith(ByteBuffer buffer, byte[] prefix) {
+        if (buffer.remaining() < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(buffer.position() + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
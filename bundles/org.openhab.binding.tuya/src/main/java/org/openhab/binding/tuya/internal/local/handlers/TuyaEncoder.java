@@ -24,19 +24,18 @@ import static org.openhab.binding.tuya.internal.local.ProtocolVersion.V3_4;
 import static org.openhab.binding.tuya.internal.local.ProtocolVersion.V3_5;
 import static org.openhab.binding.tuya.internal.local.TuyaDevice.*;
 
-import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.tuya.internal.local.CommandType;
 import org.openhab.binding.tuya.internal.local.MessageWrapper;
 import org.openhab.binding.tuya.internal.local.ProtocolVersion;
+import org.openhab.binding.tuya.internal.util.CipherCache;
 import org.openhab.binding.tuya.internal.util.CryptoUtil;
 import org.openhab.core.util.HexUtils;
 import org.slf4j.Logger;
@@ -45,6 +44,7 @@ import org.slf4j.LoggerFactory;
 import com.google.gson.Gson;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 
@@ -53,13 +53,24 @@ import io.netty.handler.codec.MessageToByteEncoder;
  *
  * Parts of this code are inspired by the TuyAPI project (see notice file)
  *
+ * Frames are written directly to the output buffer. The cipher instances for the keys of the channel are kept until
+ * the encoder is removed from the channel.
+ *
  * @author Jan N. Klug - Initial contribution
+ * @author Contributors to the openHAB project - Encode frames in place
  */
 @NonNullByDefault
 public class TuyaEncoder extends MessageToByteEncoder<MessageWrapper<?>> {
+    private static final byte[] EMPTY = new byte[0];
+    private static final byte[] VERSION_HEADER_33 = versionHeader(V3_3);
+    private static final byte[] VERSION_HEADER_34 = versionHeader(V3_4);
+    private static final byte[] VERSION_HEADER_35 = versionHeader(V3_5);
+    private static final int GCM_IV_LENGTH = 12;
+
     private final Logger logger = LoggerFactory.getLogger(TuyaEncoder.class);
 
     private final Gson gson;
+    private final CipherCache ciphers = new CipherCache();
 
     private int sequenceNo = 0;
 
@@ -67,6 +78,12 @@ public class TuyaEncoder extends MessageToByteEncoder<MessageWrapper<?>> {
         this.gson = gson;
     }
 
+    @Override
+    public void handlerRemoved(@NonNullByDefault({}) ChannelHandlerContext ctx) throws Exception {
+        ciphers.clear();
+        super.handlerRemoved(ctx);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void encode(@NonNullByDefault({}) ChannelHandlerContext ctx, MessageWrapper<?> msg,
@@ -128,51 +145,48 @@ public class TuyaEncoder extends MessageToByteEncoder<MessageWrapper<?>> {
                         Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""), msg.commandType,
                         HexUtils.bytesToHex(contentBytes));
             }
-            payloadBytes = contentBytes.clone();
+            payloadBytes = contentBytes;
         } else {
             logger.warn("Can't determine payload type for '{}', discarding.", msg.content);
             return;
         }
 
-        Optional<byte[]> bufferOptional = switch (protocol) {
-            case V3_5 -> encode35(msg.commandType, payloadBytes, sessionKey);
-            case V3_4 -> encode34(msg.commandType, payloadBytes, sessionKey);
-            default -> encodePre34(msg.commandType, payloadBytes, sessionKey, protocol);
+        int start = out.writerIndex();
+        boolean encoded = switch (protocol) {
+            case V3_5 -> encode35(out, msg.commandType, payloadBytes, sessionKey);
+            case V3_4 -> encode34(out, msg.commandType, payloadBytes, sessionKey);
+            default -> encodePre34(out, msg.commandType, payloadBytes, sessionKey, protocol);
         };
 
-        bufferOptional.ifPresentOrElse(buffer -> {
-            if (logger.isTraceEnabled()) {
-                logger.trace("{}{}: Sending encoded '{}'", deviceId, ctx.channel().remoteAddress(),
-                        HexUtils.bytesToHex(buffer));
-            }
-
-            out.writeBytes(buffer);
-        }, () -> logger.debug("{}{}: Encoding returned an empty buffer", deviceId, ctx.channel().remoteAddress()));
+        if (!encoded) {
+            out.writerIndex(start);
+            logger.debug("{}{}: Encoding returned an empty buffer", deviceId, ctx.channel().remoteAddress());
+        } else if (logger.isTraceEnabled()) {
+            logger.trace("{}{}: Sending encoded '{}'", deviceId, ctx.channel().remoteAddress(),
+                    HexUtils.bytesToHex(ByteBufUtil.getBytes(out, start, out.writerIndex() - start)));
+        }
     }
 
-    private Optional<byte[]> encodePre34(CommandType commandType, byte[] payload, byte[] deviceKey,
+    private boolean encodePre34(ByteBuf out, CommandType commandType, byte[] payload, byte[] deviceKey,
             ProtocolVersion protocol) {
+        byte[] versionHeader = EMPTY;
         byte[] payloadBytes = payload;
         if (protocol == V3_3) {
             // Always encrypted
-            payloadBytes = CryptoUtil.encryptAesEcb(payloadBytes, deviceKey, true);
+            payloadBytes = CryptoUtil.encryptAesEcb(EMPTY, payloadBytes, deviceKey, true, ciphers);
             if (payloadBytes == null) {
-                return Optional.empty();
+                return false;
             }
 
             if (commandType != DP_QUERY && commandType != CommandType.DP_REFRESH) {
                 // Add 3.3 header
-                ByteBuffer buffer = ByteBuffer.allocate(payloadBytes.length + 15);
-                buffer.put("3.3".getBytes(StandardCharsets.UTF_8));
-                buffer.position(15);
-                buffer.put(payloadBytes);
-                payloadBytes = buffer.array();
+                versionHeader = VERSION_HEADER_33;
             }
         } else if (CommandType.CONTROL.equals(commandType)) {
             // Protocol 3.1 and below, only encrypt data if necessary
-            byte[] encryptedPayload = CryptoUtil.encryptAesEcb(payloadBytes, deviceKey, true);
+            byte[] encryptedPayload = CryptoUtil.encryptAesEcb(EMPTY, payloadBytes, deviceKey, true, ciphers);
             if (encryptedPayload == null) {
-                return Optional.empty();
+                return false;
             }
             String payloadStr = Base64.getEncoder().encodeToString(encryptedPayload);
             String hash = CryptoUtil
@@ -182,113 +196,115 @@ public class TuyaEncoder extends MessageToByteEncoder<MessageWrapper<?>> {
             payloadBytes = (protocol + hash.substring(8, 24) + payloadStr).getBytes(StandardCharsets.UTF_8);
         }
 
-        // Allocate buffer with room for payload + 24 bytes for
-        // prefix, sequence, command, length, crc, and suffix
-        ByteBuffer buffer = ByteBuffer.allocate(payloadBytes.length + 24);
+        int payloadLength = versionHeader.length + payloadBytes.length;
+        int start = out.writerIndex();
+        // room for payload + 24 bytes for prefix, sequence, command, length, crc, and suffix
+        out.ensureWritable(payloadLength + 24);
 
         // Add prefix, command, and length
-        buffer.putInt(0x000055AA);
-        buffer.putInt(++sequenceNo);
-        buffer.putInt(commandType.getCode());
-        buffer.putInt(payloadBytes.length + 8);
+        out.writeInt(0x000055AA);
+        out.writeInt(++sequenceNo);
+        out.writeInt(commandType.getCode());
+        out.writeInt(payloadLength + 8);
 
         // Add payload
-        buffer.put(payloadBytes);
+        out.writeBytes(versionHeader);
+        out.writeBytes(payloadBytes);
 
         // Calculate and add checksum
-        int calculatedCrc = CryptoUtil.calculateChecksum(buffer.array(), 0, payloadBytes.length + 16);
-        buffer.putInt(calculatedCrc);
+        out.writeInt(CryptoUtil.calculateChecksum(out.nioBuffer(start, payloadLength + 16)));
 
         // Add postfix
-        buffer.putInt(0x0000AA55);
+        out.writeInt(0x0000AA55);
 
-        return Optional.of(buffer.array());
+        return true;
     }
 
-    private Optional<byte[]> encode34(CommandType commandType, byte[] payloadBytes, byte[] sessionKey) {
-        byte[] rawPayload = payloadBytes;
+    private boolean encode34(ByteBuf out, CommandType commandType, byte[] payloadBytes, byte[] sessionKey) {
+        byte[] versionHeader = EMPTY;
 
         if (commandType != DP_QUERY && commandType != HEART_BEAT && commandType != DP_QUERY_NEW
                 && commandType != SESS_KEY_NEG_START && commandType != SESS_KEY_NEG_FINISH
                 && commandType != DP_REFRESH) {
-            rawPayload = new byte[payloadBytes.length + 15];
-            System.arraycopy("3.4".getBytes(StandardCharsets.UTF_8), 0, rawPayload, 0, 3);
-            System.arraycopy(payloadBytes, 0, rawPayload, 15, payloadBytes.length);
+            versionHeader = VERSION_HEADER_34;
         }
 
-        byte padding = (byte) (0x10 - (rawPayload.length & 0xf));
-        byte[] padded = new byte[rawPayload.length + padding];
-        Arrays.fill(padded, padding);
-        System.arraycopy(rawPayload, 0, padded, 0, rawPayload.length);
-
-        byte[] encryptedPayload = CryptoUtil.encryptAesEcb(padded, sessionKey, false);
+        // the padding of protocol 3.4 is the same as PKCS#5
+        byte[] encryptedPayload = CryptoUtil.encryptAesEcb(versionHeader, payloadBytes, sessionKey, true,
+                ciphers);
         if (encryptedPayload == null) {
-            return Optional.empty();
+            return false;
         }
 
-        ByteBuffer buffer = ByteBuffer.allocate(encryptedPayload.length + 52);
+        int start = out.writerIndex();
+        out.ensureWritable(encryptedPayload.length + 52);
 
         // Add prefix, command, and length
-        buffer.putInt(0x000055AA);
-        buffer.putInt(++sequenceNo);
-        buffer.putInt(commandType.getCode());
-        buffer.putInt(encryptedPayload.length + 0x24);
+        out.writeInt(0x000055AA);
+        out.writeInt(++sequenceNo);
+        out.writeInt(commandType.getCode());
+        out.writeInt(encryptedPayload.length + 0x24);
 
         // Add payload
-        buffer.put(encryptedPayload);
+        out.writeBytes(encryptedPayload);
 
         // Calculate and add checksum
-        byte[] checksumContent = new byte[encryptedPayload.length + 16];
-        System.arraycopy(buffer.array(), 0, checksumContent, 0, encryptedPayload.length + 16);
-        byte[] checksum = CryptoUtil.hmac(checksumContent, sessionKey);
+        byte[] checksum = CryptoUtil.hmac(out.nioBuffer(start, encryptedPayload.length + 16), sessionKey,
+                ciphers);
         if (checksum == null) {
-            return Optional.empty();
+            return false;
         }
-        buffer.put(checksum);
+        out.writeBytes(checksum);
 
         // Add postfix
-        buffer.putInt(0x0000AA55);
+        out.writeInt(0x0000AA55);
 
-        return Optional.of(buffer.array());
+        return true;
     }
 
-    private Optional<byte[]> encode35(CommandType commandType, byte[] payloadBytes, byte[] sessionKey) {
-        byte[] rawPayload = payloadBytes;
+    private boolean encode35(ByteBuf out, CommandType commandType, byte[] payloadBytes, byte[] sessionKey) {
+        byte[] versionHeader = EMPTY;
 
         if (commandType != DP_QUERY && commandType != HEART_BEAT && commandType != DP_QUERY_NEW
                 && commandType != SESS_KEY_NEG_START && commandType != SESS_KEY_NEG_FINISH && commandType != DP_REFRESH
                 && commandType != REQ_DEVINFO) {
-            rawPayload = new byte[payloadBytes.length + 15];
-            System.arraycopy("3.5".getBytes(StandardCharsets.UTF_8), 0, rawPayload, 0, 3);
-            System.arraycopy(payloadBytes, 0, rawPayload, 15, payloadBytes.length);
+            versionHeader = VERSION_HEADER_35;
         }
 
-        ByteBuffer buffer = ByteBuffer.allocate(rawPayload.length + 22 + 12 + 16);
+        int payloadLength = versionHeader.length + payloadBytes.length;
+        int start = out.writerIndex();
+        out.ensureWritable(payloadLength + 22 + 12 + 16);
 
         // Add prefix
-        buffer.putInt(0x00006699);
+        out.writeInt(0x00006699);
         // Add unknown 2 bytes
-        buffer.putShort((short) 0x0000);
+        out.writeShort(0x0000);
         // Add sequence number and command
-        buffer.putInt(++sequenceNo);
-        buffer.putInt(commandType.getCode());
+        out.writeInt(++sequenceNo);
+        out.writeInt(commandType.getCode());
         // Add length: 12 byte IV/nonce + payload length + 16 byte GCM Tag
-        buffer.putInt(rawPayload.length + 12 + 16);
-        // Get header data for GCM AAD
-        byte[] header = new byte[14];
-        System.arraycopy(buffer.array(), 4, header, 0, 14);
+        out.writeInt(payloadLength + 12 + 16);
 
-        byte[] encryptedPayload = CryptoUtil.encryptAesGcm(rawPayload, sessionKey, header, null);
+        // header data is used for GCM AAD
+        byte[] iv = CryptoUtil.generateRandom(GCM_IV_LENGTH);
+        byte[] encryptedPayload = CryptoUtil.encryptAesGcm(versionHeader, payloadBytes, sessionKey,
+                out.nioBuffer(start + 4, 14), iv, ciphers);
         if (encryptedPayload == null) {
-            return Optional.empty();
+            return false;
         }
 
-        // Add encrypted payload
-        buffer.put(encryptedPayload);
+        // Add IV/nonce and encrypted payload
+        out.writeBytes(iv);
+        out.writeBytes(encryptedPayload);
 
         // Add postfix
-        buffer.putInt(0x00009966);
+        out.writeInt(0x00009966);
+
+        return true;
+    }
 
-        return Optional.of(buffer.array());
+    private static byte[] versionHeader(ProtocolVersion protocol) {
+        // version string followed by 12 zero bytes
+        return Arrays.copyOf(protocol.getBytes(), 15);
     }
 }
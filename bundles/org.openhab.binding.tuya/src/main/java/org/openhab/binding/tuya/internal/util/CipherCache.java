@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.tuya.internal.util;
+
+import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link CipherCache} keeps the initialized cipher and MAC instances of one connection
+ *
+ * The provider lookup of {@link Cipher#getInstance(String)} and {@link Mac#getInstance(String)} is expensive, therefore
+ * the instances are kept for the last {@link #MAX_KEYS} keys. A connection only uses the device key and its session
+ * key. The cache is owned by a Netty handler, which is always called on the event loop thread of its channel, so it
+ * is not thread-safe. The handler clears it when it is removed from the channel.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class CipherCache {
+    private static final int MAX_KEYS = 4;
+
+    private final Map<ByteBuffer, Cipher> aesEcbDecrypt = createMap();
+    private final Map<ByteBuffer, Cipher> aesEcbDecryptPadded = createMap();
+    private final Map<ByteBuffer, Cipher> aesEcbEncrypt = createMap();
+    private final Map<ByteBuffer, Cipher> aesEcbEncryptPadded = createMap();
+    private final Map<ByteBuffer, Mac> hmacSha256 = createMap();
+    // GCM needs a new IV for every message, so the instance is initialized for each message
+    private @Nullable Cipher aesGcm;
+
+    /**
+     * Release all instances
+     */
+    public void clear() {
+        aesEcbDecrypt.clear();
+        aesEcbDecryptPadded.clear();
+        aesEcbEncrypt.clear();
+        aesEcbEncryptPadded.clear();
+        hmacSha256.clear();
+        aesGcm = null;
+    }
+
+    Cipher getAesEcb(int mode, boolean padding, byte[] key) throws GeneralSecurityException {
+        Map<ByteBuffer, Cipher> ciphers = aesEcb(mode, padding);
+        @Nullable
+        Cipher cipher = ciphers.get(ByteBuffer.wrap(key));
+        if (cipher == null) {
+            // the key is copied, because a ByteBuffer is only a view of the array
+            byte[] keyCopy = key.clone();
+            cipher = createAesEcb(mode, padding, keyCopy);
+            ciphers.put(ByteBuffer.wrap(keyCopy), cipher);
+        }
+        return cipher;
+    }
+
+    void evictAesEcb(int mode, boolean padding, byte[] key) {
+        aesEcb(mode, padding).remove(ByteBuffer.wrap(key));
+    }
+
+    Mac getHmacSha256(byte[] key) throws GeneralSecurityException {
+        @Nullable
+        Mac mac = hmacSha256.get(ByteBuffer.wrap(key));
+        if (mac == null) {
+            byte[] keyCopy = key.clone();
+            mac = createHmacSha256(keyCopy);
+            hmacSha256.put(ByteBuffer.wrap(keyCopy), mac);
+        }
+        return mac;
+    }
+
+    Cipher getAesGcm() throws GeneralSecurityException {
+        Cipher cipher = aesGcm;
+        if (cipher == null) {
+            cipher = createAesGcm();
+            aesGcm = cipher;
+        }
+        return cipher;
+    }
+
+    static Cipher createAesEcb(int mode, boolean padding, byte[] key) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(padding ? "AES/ECB/PKCS5Padding" : "AES/ECB/NoPadding");
+        cipher.init(mode, new SecretKeySpec(key, "AES"));
+        return cipher;
+    }
+
+    static Mac createHmacSha256(byte[] key) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return mac;
+    }
+
+    static Cipher createAesGcm() throws GeneralSecurityException {
+        return Cipher.getInstance("AES/GCM/NoPadding");
+    }
+
+    private Map<ByteBuffer, Cipher> aesEcb(int mode, boolean padding) {
+        if (mode == Cipher.DECRYPT_MODE) {
+            return padding ? aesEcbDecryptPadded : aesEcbDecrypt;
+        }
+        return padding ? aesEcbEncryptPadded : aesEcbEncrypt;
+    }
+
+    private static <T> Map<ByteBuffer, T> createMap() {
+        return new LinkedHashMap<>(8, 0.75f, true) {
+            @Serial
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, T> eldest) {
+                return size() > MAX_KEYS;
+            }
+        };
+    }
+}
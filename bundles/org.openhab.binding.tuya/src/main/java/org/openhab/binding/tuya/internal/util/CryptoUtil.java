@@ -12,7 +12,9 @@
  */
 package org.openhab.binding.tuya.internal.util;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
@@ -44,7 +46,11 @@ import org.slf4j.LoggerFactory;
  *
  * Parts of this code are inspired by the TuyAPI project (see notice file)
  *
+ * The methods operating on buffers accept a {@link CipherCache}, so the handlers of a connection re-use the cipher
+ * instances for its keys.
+ *
  * @author Jan N. Klug - Initial contribution
+ * @author Contributors to the openHAB project - Cache cipher instances, operate on buffers
  */
 @NonNullByDefault
 public class CryptoUtil {
@@ -82,6 +88,7 @@ public class CryptoUtil {
     private static final int GCM_TAG_LENGTH = 16;
     private static final int GCM_IV_LENGTH = 12;
     private static final int SESSION_KEY_LENGTH = 16;
+    private static final byte[] EMPTY = new byte[0];
 
     private static final Random SECURE_RNG = new SecureRandom();
 
@@ -98,10 +105,20 @@ public class CryptoUtil {
      * @return the calculated checksum
      */
     public static int calculateChecksum(byte[] bytes, int start, int end) {
+        return calculateChecksum(ByteBuffer.wrap(bytes, start, end - start));
+    }
+
+    /**
+     * Compute a Tuya compatible checksum
+     *
+     * @param data a {@link ByteBuffer}, the checksum is calculated for the remaining bytes
+     * @return the calculated checksum
+     */
+    public static int calculateChecksum(ByteBuffer data) {
         int crc = 0xffffffff;
 
-        for (int i = start; i < end; i++) {
-            crc = (crc >>> 8) ^ CRC_32_TABLE[(crc ^ bytes[i]) & 0xff];
+        for (int i = data.position(); i < data.limit(); i++) {
+            crc = (crc >>> 8) ^ CRC_32_TABLE[(crc ^ data.get(i)) & 0xff];
         }
 
         return ~crc;
@@ -114,14 +131,11 @@ public class CryptoUtil {
      * @return the resulting SHA-256 hash as hexadecimal String
      */
     public static String sha256(String data) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            digest.update(data.getBytes(StandardCharsets.UTF_8));
-            return HexUtils.bytesToHex(digest.digest()).toLowerCase();
-        } catch (NoSuchAlgorithmException e) {
-            LOGGER.warn("Algorithm SHA-256 not found. This should never happen. Check your Java setup.");
+        MessageDigest digest = createDigest("SHA-256");
+        if (digest == null) {
+            return "";
         }
-        return "";
+        return HexUtils.bytesToHex(digest.digest(data.getBytes(StandardCharsets.UTF_8))).toLowerCase();
     }
 
     /**
@@ -131,14 +145,11 @@ public class CryptoUtil {
      * @return the resulting MD5 hash as hexadecimal String
      */
     public static String md5(String data) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("MD5");
-            digest.update(data.getBytes(StandardCharsets.UTF_8));
-            return HexUtils.bytesToHex(digest.digest()).toLowerCase();
-        } catch (NoSuchAlgorithmException e) {
-            LOGGER.warn("Algorithm MD5 not found. This should never happen. Check your Java setup.");
+        MessageDigest digest = createDigest("MD5");
+        if (digest == null) {
+            return "";
         }
-        return "";
+        return HexUtils.bytesToHex(digest.digest(data.getBytes(StandardCharsets.UTF_8))).toLowerCase();
     }
 
     /**
@@ -149,16 +160,8 @@ public class CryptoUtil {
      * @return the resulting MAC as hexadecimal String
      */
     public static String hmacSha256(String data, String secret) {
-        try {
-            Mac sha256HMAC = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            sha256HMAC.init(secretKey);
-
-            return HexUtils.bytesToHex(sha256HMAC.doFinal(data.getBytes(StandardCharsets.UTF_8)));
-        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-            //
-        }
-        return "";
+        byte[] hmac = hmac(data.getBytes(StandardCharsets.UTF_8), secret.getBytes(StandardCharsets.UTF_8));
+        return hmac != null ? HexUtils.bytesToHex(hmac) : "";
     }
 
     /**
@@ -203,19 +206,41 @@ public class CryptoUtil {
      */
     public static byte @Nullable [] decryptAesGcm(byte[] data, byte[] key, byte @Nullable [] headerData,
             byte @Nullable [] nonce) {
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        System.arraycopy(Objects.requireNonNullElse(nonce, data), 0, iv, 0, GCM_IV_LENGTH);
+        return decryptAesGcm(ByteBuffer.wrap(data, GCM_IV_LENGTH, data.length - GCM_IV_LENGTH), key,
+                headerData != null ? ByteBuffer.wrap(headerData) : null, iv, null);
+    }
+
+    /**
+     * Decrypt an AES-GCM encoded message, which starts with the IV/nonce (12 bytes)
+     *
+     * @param data the IV/nonce and the message, the remaining bytes are consumed
+     * @param key the key as array of bytes
+     * @param headerData optional, the header data (used as AAD)
+     * @param ciphers optional, the cache of the cipher instances
+     * @return the decrypted message as array of bytes (or null if decryption failed)
+     */
+    public static byte @Nullable [] decryptAesGcm(ByteBuffer data, byte[] key, @Nullable ByteBuffer headerData,
+            @Nullable CipherCache ciphers) {
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        data.get(iv);
+        return decryptAesGcm(data, key, headerData, iv, ciphers);
+    }
+
+    private static byte @Nullable [] decryptAesGcm(ByteBuffer data, byte[] key, @Nullable ByteBuffer headerData,
+            byte[] iv, @Nullable CipherCache ciphers) {
         try {
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            System.arraycopy(Objects.requireNonNullElse(nonce, data), 0, iv, 0, GCM_IV_LENGTH);
-            SecretKey secretKey = new SecretKeySpec(key, "AES");
-            final Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
-            GCMParameterSpec gcmIv = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, gcmIv);
+            Cipher cipher = ciphers != null ? ciphers.getAesGcm() : CipherCache.createAesGcm();
+            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(key, "AES"),
+                    new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv));
             if (headerData != null) {
                 cipher.updateAAD(headerData);
             }
-            return cipher.doFinal(data, GCM_IV_LENGTH, data.length - GCM_IV_LENGTH);
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException
-                | InvalidAlgorithmParameterException | IllegalBlockSizeException | BadPaddingException e) {
+            byte[] decrypted = new byte[cipher.getOutputSize(data.remaining())];
+            int length = cipher.doFinal(data, ByteBuffer.wrap(decrypted));
+            return length == decrypted.length ? decrypted : Arrays.copyOf(decrypted, length);
+        } catch (GeneralSecurityException e) {
             LOGGER.warn("Decryption of MQ failed: {}", e.getMessage());
         }
         return null;
@@ -233,18 +258,39 @@ public class CryptoUtil {
         if (data.length == 0) {
             return data.clone();
         }
+        byte[] decrypted = decryptAesEcb(ByteBuffer.wrap(data), key, null);
+        if (decrypted != null && unpad) {
+            int padlength = decrypted[decrypted.length - 1];
+            return Arrays.copyOf(decrypted, decrypted.length - padlength);
+        }
+        return decrypted;
+    }
+
+    /**
+     * Decrypt an AES-ECB encoded message without removing the padding
+     *
+     * @param data the message, the remaining bytes are consumed
+     * @param key the key as array of bytes
+     * @param ciphers optional, the cache of the cipher instances
+     * @return the decrypted message as array of bytes (or null if decryption failed)
+     */
+    public static byte @Nullable [] decryptAesEcb(ByteBuffer data, byte[] key, @Nullable CipherCache ciphers) {
+        if (!data.hasRemaining()) {
+            return EMPTY;
+        }
         try {
-            SecretKey secretKey = new SecretKeySpec(key, "AES");
-            final Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
-            cipher.init(Cipher.DECRYPT_MODE, secretKey);
-            byte[] decrypted = cipher.doFinal(data);
-            if (unpad) {
-                int padlength = decrypted[decrypted.length - 1];
-                return Arrays.copyOf(decrypted, decrypted.length - padlength);
+            Cipher cipher = getAesEcb(Cipher.DECRYPT_MODE, false, key, ciphers);
+            try {
+                byte[] decrypted = new byte[data.remaining()];
+                cipher.doFinal(data, ByteBuffer.wrap(decrypted));
+                return decrypted;
+            } catch (GeneralSecurityException e) {
+                if (ciphers != null) {
+                    ciphers.evictAesEcb(Cipher.DECRYPT_MODE, false, key);
+                }
+                throw e;
             }
-            return decrypted;
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException | IllegalBlockSizeException
-                | BadPaddingException e) {
+        } catch (GeneralSecurityException e) {
             LOGGER.warn("Decryption of MQ failed: {}", e.getMessage());
         }
 
@@ -262,27 +308,52 @@ public class CryptoUtil {
      */
     public static byte @Nullable [] encryptAesGcm(byte[] data, byte[] key, byte @Nullable [] headerData,
             byte @Nullable [] nonce) {
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        if (nonce != null) {
+            System.arraycopy(nonce, 0, iv, 0, GCM_IV_LENGTH);
+        } else {
+            SECURE_RNG.nextBytes(iv);
+        }
+        byte[] encryptedBytes = encryptAesGcm(EMPTY, data, key, headerData != null ? ByteBuffer.wrap(headerData) : null,
+                iv, null);
+        if (encryptedBytes == null) {
+            return null;
+        }
+        byte[] result = new byte[GCM_IV_LENGTH + encryptedBytes.length];
+        System.arraycopy(iv, 0, result, 0, GCM_IV_LENGTH);
+        System.arraycopy(encryptedBytes, 0, result, GCM_IV_LENGTH, encryptedBytes.length);
+        return result;
+    }
+
+    /**
+     * Encrypt an AES-GCM encoded message, consisting of a prefix and the data
+     *
+     * @param prefix the bytes to encrypt before the data (e.g. a version header)
+     * @param data the message as array of bytes
+     * @param key the key as array of bytes
+     * @param headerData optional, the header data (used as AAD)
+     * @param iv the IV/nonce (12 bytes), it is not part of the result
+     * @param ciphers optional, the cache of the cipher instances
+     * @return the encrypted message including the GCM tag (or null if encryption failed)
+     */
+    public static byte @Nullable [] encryptAesGcm(byte[] prefix, byte[] data, byte[] key,
+            @Nullable ByteBuffer headerData, byte[] iv, @Nullable CipherCache ciphers) {
+        SecretKey secretKey = new SecretKeySpec(key, "AES");
+        GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
         try {
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            if (nonce != null) {
-                System.arraycopy(nonce, 0, iv, 0, GCM_IV_LENGTH);
-            } else {
-                SECURE_RNG.nextBytes(iv);
+            Cipher cipher = ciphers != null ? ciphers.getAesGcm() : CipherCache.createAesGcm();
+            try {
+                cipher.init(Cipher.ENCRYPT_MODE, secretKey, parameterSpec);
+            } catch (InvalidAlgorithmParameterException e) {
+                // a cipher instance refuses to re-use the last key and IV, that is only allowed for a new one
+                cipher = CipherCache.createAesGcm();
+                cipher.init(Cipher.ENCRYPT_MODE, secretKey, parameterSpec);
             }
-            SecretKey secretKey = new SecretKeySpec(key, "AES");
-            final Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey, parameterSpec);
             if (headerData != null) {
                 cipher.updateAAD(headerData);
             }
-            byte[] encryptedBytes = cipher.doFinal(data);
-            byte[] result = new byte[GCM_IV_LENGTH + encryptedBytes.length];
-            System.arraycopy(iv, 0, result, 0, GCM_IV_LENGTH);
-            System.arraycopy(encryptedBytes, 0, result, GCM_IV_LENGTH, encryptedBytes.length);
-            return result;
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException | IllegalBlockSizeException
-                | BadPaddingException | InvalidAlgorithmParameterException e) {
+            return doFinal(cipher, prefix, data);
+        } catch (GeneralSecurityException e) {
             LOGGER.warn("Encryption of MQ failed: {}", e.getMessage());
         }
 
@@ -297,14 +368,32 @@ public class CryptoUtil {
      * @return the encrypted message as array of bytes (or null if decryption failed)
      */
     public static byte @Nullable [] encryptAesEcb(byte[] data, byte[] key, boolean padding) {
+        return encryptAesEcb(EMPTY, data, key, padding, null);
+    }
+
+    /**
+     * Encrypt an AES-ECB encoded message, consisting of a prefix and the data
+     *
+     * @param prefix the bytes to encrypt before the data (e.g. a version header)
+     * @param data the message as array of bytes
+     * @param key the key as array of bytes
+     * @param padding add PKCS#5 padding (for protocol 3.3 and 3.4)
+     * @param ciphers optional, the cache of the cipher instances
+     * @return the encrypted message as array of bytes (or null if encryption failed)
+     */
+    public static byte @Nullable [] encryptAesEcb(byte[] prefix, byte[] data, byte[] key, boolean padding,
+            @Nullable CipherCache ciphers) {
         try {
-            SecretKey secretKey = new SecretKeySpec(key, "AES");
-            final Cipher cipher = padding ? Cipher.getInstance("AES/ECB/PKCS5Padding")
-                    : Cipher.getInstance("AES/ECB/NoPadding");
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-            return cipher.doFinal(data);
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException | IllegalBlockSizeException
-                | BadPaddingException e) {
+            Cipher cipher = getAesEcb(Cipher.ENCRYPT_MODE, padding, key, ciphers);
+            try {
+                return doFinal(cipher, prefix, data);
+            } catch (GeneralSecurityException e) {
+                if (ciphers != null) {
+                    ciphers.evictAesEcb(Cipher.ENCRYPT_MODE, padding, key);
+                }
+                throw e;
+            }
+        } catch (GeneralSecurityException e) {
             LOGGER.warn("Encryption of MQ failed: {}", e.getMessage());
         }
 
@@ -312,13 +401,23 @@ public class CryptoUtil {
     }
 
     public static byte @Nullable [] hmac(byte[] data, byte[] key) {
-        try {
-            Mac sha256HMAC = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKey = new SecretKeySpec(key, "HmacSHA256");
-            sha256HMAC.init(secretKey);
+        return hmac(ByteBuffer.wrap(data), key, null);
+    }
 
-            return sha256HMAC.doFinal(data);
-        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+    /**
+     * Calculate an SHA-256 MAC
+     *
+     * @param data the data, the remaining bytes are consumed
+     * @param key the key as array of bytes
+     * @param ciphers optional, the cache of the MAC instances
+     * @return the MAC as array of bytes (or null if the calculation failed)
+     */
+    public static byte @Nullable [] hmac(ByteBuffer data, byte[] key, @Nullable CipherCache ciphers) {
+        try {
+            Mac sha256HMAC = ciphers != null ? ciphers.getHmacSha256(key) : CipherCache.createHmacSha256(key);
+            sha256HMAC.update(data);
+            return sha256HMAC.doFinal();
+        } catch (GeneralSecurityException e) {
             LOGGER.warn("Creating HMAC hash failed: {}", e.getMessage());
         }
 
@@ -365,4 +464,25 @@ public class CryptoUtil {
         }
         return result;
     }
+
+    private static byte[] doFinal(Cipher cipher, byte[] prefix, byte[] data) throws GeneralSecurityException {
+        byte[] result = new byte[cipher.getOutputSize(prefix.length + data.length)];
+        int length = cipher.update(prefix, 0, prefix.length, result, 0);
+        length += cipher.doFinal(data, 0, data.length, result, length);
+        return length == result.length ? result : Arrays.copyOf(result, length);
+    }
+
+    private static Cipher getAesEcb(int mode, boolean padding, byte[] key, @Nullable CipherCache ciphers)
+            throws GeneralSecurityException {
+        return ciphers != null ? ciphers.getAesEcb(mode, padding, key) : CipherCache.createAesEcb(mode, padding, key);
+    }
+
+    private static @Nullable MessageDigest createDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            LOGGER.warn("Algorithm {} not found. This should never happen. Check your Java setup.", algorithm);
+        }
+        return null;
+    }
 }
@@ -15,7 +15,10 @@ package org.openhab.binding.tuya.internal.util;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -51,4 +54,60 @@ public class CryptoUtilTest {
         assertThat(HexUtils.bytesToHex(Objects.requireNonNull(hmac)),
                 is("31FE0A4FEBB62025703E825E6867BA40AB91BD1F37D765A5396683BB97FC9C7F"));
     }
+
+    @Test
+    public void encryptAesEcbWithPrefix() {
+        byte[] key = "5c8c3ccc1f0fbdbb".getBytes(StandardCharsets.UTF_8);
+        byte[] prefix = Arrays.copyOf(ProtocolVersion.V3_4.getBytes(), 15);
+        byte[] data = "{\"dps\":{\"1\":true}}".getBytes(StandardCharsets.UTF_8);
+        byte[] concatenated = Arrays.copyOf(prefix, prefix.length + data.length);
+        System.arraycopy(data, 0, concatenated, prefix.length, data.length);
+
+        byte[] encrypted = CryptoUtil.encryptAesEcb(prefix, data, key, true, null);
+
+        assertThat(encrypted, is(CryptoUtil.encryptAesEcb(concatenated, key, true)));
+        assertThat(CryptoUtil.decryptAesEcb(Objects.requireNonNull(encrypted), key, true), is(concatenated));
+    }
+
+    @Test
+    public void aesGcmRoundTrip() {
+        byte[] key = "5c8c3ccc1f0fbdbb".getBytes(StandardCharsets.UTF_8);
+        byte[] nonce = HexUtils.hexToBytes("db7b8a7ea8fa28be568531c6");
+        byte[] header = HexUtils.hexToBytes("00000000000100000007000000ff");
+        byte[] data = "{\"dps\":{\"1\":true}}".getBytes(StandardCharsets.UTF_8);
+
+        byte[] encrypted = CryptoUtil.encryptAesGcm(data, key, header, nonce);
+        assertThat(CryptoUtil.encryptAesGcm(data, key, header, nonce), is(encrypted));
+
+        byte[] decrypted = CryptoUtil.decryptAesGcm(ByteBuffer.wrap(Objects.requireNonNull(encrypted)), key,
+                ByteBuffer.wrap(header), null);
+        assertThat(decrypted, is(data));
+    }
+
+    @Test
+    public void cachedCiphersGiveTheSameResults() {
+        byte[] deviceKey = "5c8c3ccc1f0fbdbb".getBytes(StandardCharsets.UTF_8);
+        byte[] sessionKey = HexUtils.hexToBytes("afe2349b17e2cc833247ccb1a52e8aae");
+        byte[] iv = HexUtils.hexToBytes("db7b8a7ea8fa28be568531c6");
+        byte[] header = HexUtils.hexToBytes("00000000000100000007000000ff");
+        byte[] data = "{\"dps\":{\"1\":true}}".getBytes(StandardCharsets.UTF_8);
+        CipherCache ciphers = new CipherCache();
+
+        for (int i = 0; i < 2; i++) {
+            for (byte[] key : List.of(deviceKey, sessionKey)) {
+                byte[] ecb = CryptoUtil.encryptAesEcb(new byte[0], data, key, true, ciphers);
+                assertThat(ecb, is(CryptoUtil.encryptAesEcb(data, key, true)));
+                assertThat(CryptoUtil.decryptAesEcb(ByteBuffer.wrap(Objects.requireNonNull(ecb)), key, ciphers),
+                        is(CryptoUtil.decryptAesEcb(ecb, key, false)));
+                assertThat(CryptoUtil.hmac(ByteBuffer.wrap(data), key, ciphers), is(CryptoUtil.hmac(data, key)));
+
+                // the cached cipher must not refuse the same key and nonce
+                byte[] gcm = CryptoUtil.encryptAesGcm(new byte[0], data, key, ByteBuffer.wrap(header), iv, ciphers);
+                assertThat(gcm, is(CryptoUtil.encryptAesGcm(new byte[0], data, key, ByteBuffer.wrap(header), iv,
+                        null)));
+            }
+            // the instances are created again after the cache was cleared
+            ciphers.clear();
+        }
+    }
 }
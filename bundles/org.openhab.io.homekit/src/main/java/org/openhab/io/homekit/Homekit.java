@@ -80,6 +80,11 @@ public interface Homekit {
      */
     void pruneDummyAccessories(int instance);
 
+    /**
+     * returns statistics about the change notifications sent to HomeKit clients, one line per bridge instance.
+     */
+    Collection<String> getEventStatistics();
+
     /**
      * returns how many bridge instances there are
      */
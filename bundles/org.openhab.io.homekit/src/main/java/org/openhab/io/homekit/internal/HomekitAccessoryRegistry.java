@@ -14,7 +14,10 @@ package org.openhab.io.homekit.internal;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.slf4j.Logger;
@@ -28,6 +31,7 @@ import io.github.hapjava.server.impl.HomekitRoot;
  * in a pre-created pending state until all required characteristics are found.
  *
  * @author Andy Lintner - Initial contribution
+ * @author Contributors to the openHAB project - Replace the accessories restored from a snapshot
  */
 class HomekitAccessoryRegistry {
     private @Nullable HomekitRoot bridge;
@@ -78,6 +82,31 @@ class HomekitAccessoryRegistry {
         }
     }
 
+    /**
+     * Removes all accessories from the registry and the bridge.
+     */
+    public synchronized void removeAll() {
+        removeAllExcept(Set.of());
+    }
+
+    /**
+     * Removes all accessories from the registry and the bridge, except those of the given items.
+     *
+     * @param itemNames the names of the items whose accessories are kept
+     */
+    public synchronized void removeAllExcept(Set<String> itemNames) {
+        final HomekitRoot bridge = this.bridge;
+        for (Iterator<Entry<String, HomekitAccessory>> it = createdAccessories.entrySet().iterator(); it.hasNext();) {
+            Entry<String, HomekitAccessory> entry = it.next();
+            if (!itemNames.contains(entry.getKey())) {
+                if (bridge != null) {
+                    bridge.removeAccessory(entry.getValue());
+                }
+                it.remove();
+            }
+        }
+    }
+
     public synchronized void setBridge(HomekitRoot bridge) {
         this.bridge = bridge;
         createdAccessories.values().forEach(bridge::addAccessory);
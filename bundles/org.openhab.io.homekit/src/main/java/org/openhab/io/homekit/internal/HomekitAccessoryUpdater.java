@@ -12,11 +12,14 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.StateChangeListener;
@@ -30,13 +33,25 @@ import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
  * Subscribes and unsubscribes from Item changes to enable notification to HomeKit
  * clients. Each item/key pair (key is optional) should be unique, as the underlying
  * HomeKit library takes care of insuring only a single subscription exists for
- * each accessory.
+ * each accessory. Change notifications are passed through a {@link HomekitEventNotifier},
+ * which coalesces rapid changes of the same characteristic.
  *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitAccessoryUpdater {
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
     private final ConcurrentMap<ItemKey, StateChangeListener> subscriptionsByName = new ConcurrentHashMap<>();
+    private final HomekitEventNotifier eventNotifier;
+
+    public HomekitAccessoryUpdater() {
+        this(new HomekitEventNotifier("homekit-events",
+                ThreadPoolManager.getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON), Duration.ZERO,
+                Clock.systemUTC()));
+    }
+
+    HomekitAccessoryUpdater(HomekitEventNotifier eventNotifier) {
+        this.eventNotifier = eventNotifier;
+    }
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
@@ -58,7 +73,8 @@ public class HomekitAccessoryUpdater {
                 unsubscribe(item, key);
             }
             logger.trace("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = (changedItem, oldState, newState) -> eventNotifier.changed(itemKey,
+                    callback);
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -97,6 +113,7 @@ public class HomekitAccessoryUpdater {
         subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
             logger.trace("Removing existing subscription for {} / {}", item, key);
             item.removeStateChangeListener(v);
+            eventNotifier.remove(k);
             return null;
         });
     }
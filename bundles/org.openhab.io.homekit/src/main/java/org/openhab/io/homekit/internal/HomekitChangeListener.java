@@ -18,9 +18,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
@@ -54,6 +56,7 @@ import io.github.hapjava.server.impl.HomekitRoot;
  * for HomeKit tags and, if present, add the items to the HomekitAccessoryRegistry.
  *
  * @author Andy Lintner - Initial contribution
+ * @author Contributors to the openHAB project - Restore the accessories from a snapshot
  */
 @NonNullByDefault
 public class HomekitChangeListener implements ItemRegistryChangeListener {
@@ -66,7 +69,8 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     private final MetadataRegistry metadataRegistry;
     private final Storage<Object> storage;
     private final RegistryChangeListener<Metadata> metadataChangeListener;
-    private HomekitAccessoryUpdater updater = new HomekitAccessoryUpdater();
+    private final HomekitEventNotifier eventNotifier;
+    private HomekitAccessoryUpdater updater;
     private HomekitSettings settings;
     private int lastAccessoryCount;
     private Map<String, String> knownAccessories = new HashMap<>();
@@ -74,6 +78,10 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     private List<String> priorDummies = new ArrayList<>();
 
     private final Set<String> pendingUpdates = new HashSet<>();
+    /**
+     * The items updated incrementally while all accessories are created, null if no accessories are being created
+     */
+    private @Nullable Set<String> updatedDuringRebuild;
 
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
@@ -97,6 +105,9 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         this.instance = instance;
         this.applyUpdatesDebouncer = new Debouncer("update-homekit-devices-" + instance, scheduler,
                 Duration.ofMillis(1000), Clock.systemUTC(), this::applyUpdates);
+        this.eventNotifier = new HomekitEventNotifier("homekit-events-" + instance, scheduler,
+                Duration.ofMillis(settings.eventCoalescingWindow), Clock.systemUTC());
+        this.updater = new HomekitAccessoryUpdater(eventNotifier);
         metadataChangeListener = new RegistryChangeListener<>() {
             @Override
             public void added(final Metadata metadata) {
@@ -140,23 +151,99 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         itemRegistry.addRegistryChangeListener(this);
         metadataRegistry.addRegistryChangeListener(metadataChangeListener);
         initialiseRevision();
-        boolean changed = false;
+        if (settings.useAccessorySnapshot && restoreSnapshot()) {
+            scheduler.execute(this::createAccessories);
+        } else {
+            createAccessories();
+        }
+    }
+
+    /**
+     * Publishes the accessories known from the last run as placeholders, so that the bridge can answer HomeKit
+     * clients right away. The placeholders are replaced by the actual accessories in {@link #createAccessories()}.
+     *
+     * @return true if a snapshot has been restored
+     */
+    private synchronized boolean restoreSnapshot() {
+        if (knownAccessories.isEmpty()) {
+            return false;
+        }
+        try {
+            knownAccessories.forEach((name, json) -> accessoryRegistry.addRootAccessory(name,
+                    new DummyHomekitAccessory(name, json)));
+        } catch (RuntimeException e) {
+            logger.warn("Cannot restore HomeKit accessories of instance {} from snapshot: {}", instance,
+                    e.getMessage());
+            accessoryRegistry.removeAll();
+            return false;
+        }
+        logger.debug("Restored {} HomeKit accessories in instance {} from snapshot.", knownAccessories.size(),
+                instance);
+        return true;
+    }
+
+    /**
+     * Creates the accessories of all items. The accessories are created without holding the lock of this listener,
+     * so that the bridge can be set and started meanwhile, and are then swapped in at once.
+     */
+    private void createAccessories() {
+        synchronized (this) {
+            updatedDuringRebuild = new HashSet<>();
+        }
+        Map<String, CreatedAccessory> accessories = new LinkedHashMap<>();
         for (var i : itemRegistry.getItems()) {
-            String oldValue = knownAccessories.get(i.getName());
-            createRootAccessories(i);
-            if (accessoryChanged(i.getName(), oldValue)) {
-                logger.debug("Accessory {} changed:\n{}\n{}", i.getName(), oldValue, knownAccessories.get(i.getName()));
-                changed = true;
+            final CreatedAccessory accessory = createRootAccessory(i);
+            if (accessory != null) {
+                accessories.put(i.getName(), accessory);
             }
         }
-        // order of this conditional is important - checkMissingAccessories has side effects that need to always happen
-        if (checkMissingAccessories() || changed) {
-            makeNewConfigurationRevision();
-        } else {
-            logger.info("Created {} HomeKit items in instance {} (no change from prior configuration).",
-                    accessoryRegistry.getAllAccessories().size(), instance);
-            if (settings.useDummyAccessories) {
-                checkForDummyAccessories();
+        replaceAccessories(accessories);
+    }
+
+    /**
+     * Replaces all accessories by the given accessories. The accessories of items updated incrementally since the
+     * given accessories were created are newer, so they are kept.
+     *
+     * @param accessories the accessories by item name
+     */
+    private synchronized void replaceAccessories(Map<String, CreatedAccessory> accessories) {
+        Set<String> updated = Objects.requireNonNullElse(updatedDuringRebuild, Set.of());
+        updatedDuringRebuild = null;
+        HomekitRoot bridge = accessoryRegistry.getBridge();
+        if (bridge != null) {
+            bridge.batchUpdate();
+        }
+
+        try {
+            // drop the placeholders restored from the snapshot, the actual accessories take their place
+            accessoryRegistry.removeAllExcept(updated);
+            boolean changed = false;
+            for (Entry<String, CreatedAccessory> entry : accessories.entrySet()) {
+                final String name = entry.getKey();
+                if (updated.contains(name)) {
+                    continue;
+                }
+                final String oldValue = knownAccessories.get(name);
+                addRootAccessory(name, entry.getValue());
+                if (accessoryChanged(name, oldValue)) {
+                    logger.debug("Accessory {} changed:\n{}\n{}", name, oldValue, knownAccessories.get(name));
+                    changed = true;
+                }
+            }
+            // order of this conditional is important - checkMissingAccessories has side effects that need to always
+            // happen
+            if (checkMissingAccessories() || changed) {
+                makeNewConfigurationRevision();
+            } else {
+                logger.info("Created {} HomeKit items in instance {} (no change from prior configuration).",
+                        accessoryRegistry.getAllAccessories().size(), instance);
+                if (settings.useDummyAccessories) {
+                    checkForDummyAccessories();
+                }
+            }
+        } finally {
+            if (bridge != null) {
+                bridge.completeUpdateBatch();
             }
         }
     }
@@ -298,6 +385,10 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                     changed = true;
                 }
             }
+            Set<String> updated = updatedDuringRebuild;
+            if (updated != null) {
+                updated.addAll(pendingUpdates);
+            }
             pendingUpdates.clear();
             if (checkMissingAccessories() || changed) {
                 makeNewConfigurationRevision();
@@ -344,6 +435,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     public void updateSettings(HomekitSettings settings) {
         boolean wasUsingDummyAccessories = this.settings.useDummyAccessories;
         this.settings = settings;
+        eventNotifier.setWindow(Duration.ofMillis(settings.eventCoalescingWindow));
         // If they turned off dummy accessories, immediately prune them
         if (wasUsingDummyAccessories && !settings.useDummyAccessories) {
             pruneDummyAccessories();
@@ -354,6 +446,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         this.itemRegistry.removeRegistryChangeListener(this);
         this.metadataRegistry.removeRegistryChangeListener(metadataChangeListener);
         applyUpdatesDebouncer.stop();
+        eventNotifier.stop();
         accessoryRegistry.unsetBridge();
     }
 
@@ -361,6 +454,13 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         return this.accessoryRegistry.getAllAccessories();
     }
 
+    /**
+     * Returns a summary of the change notifications sent to and suppressed for the HomeKit clients.
+     */
+    public String getEventStatistics() {
+        return eventNotifier.toString();
+    }
+
     public int getConfigurationRevision() {
         return this.accessoryRegistry.getConfigurationRevision();
     }
@@ -434,22 +534,40 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
      * @param item openHAB item
      */
     private void createRootAccessories(Item item) {
+        final CreatedAccessory accessory = createRootAccessory(item);
+        if (accessory != null) {
+            addRootAccessory(item.getName(), accessory);
+        }
+    }
+
+    private void addRootAccessory(String name, CreatedAccessory accessory) {
+        knownAccessories.put(name, accessory.json());
+        accessoryRegistry.addRootAccessory(name, accessory.accessory());
+    }
+
+    /**
+     * Creates the root accessory for the item without adding it, see {@link #createRootAccessories(Item)}.
+     *
+     * @param item openHAB item
+     * @return the accessory, or null if the item is no root accessory of this bridge
+     */
+    private @Nullable CreatedAccessory createRootAccessory(Item item) {
         final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessoryTypes = HomekitAccessoryFactory
                 .getAccessoryTypes(item, metadataRegistry);
         if (accessoryTypes.isEmpty()) {
-            return;
+            return null;
         }
 
         final List<GroupItem> groups = HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry);
         // Don't create accessories that are sub-accessories of other accessories
         if (groups.stream().anyMatch(g -> !HomekitAccessoryFactory.getAccessoryTypes(g, metadataRegistry).isEmpty())) {
-            return;
+            return null;
         }
 
         final @Nullable Map<String, Object> itemConfiguration = HomekitAccessoryFactory.getItemConfiguration(item,
                 metadataRegistry);
         if (!itemIsForThisBridge(item, itemConfiguration)) {
-            return;
+            return null;
         }
 
         final HomekitAccessoryType primaryAccessoryType = getPrimaryAccessoryType(item, accessoryTypes,
@@ -464,7 +582,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
             if (accessory.isLinkedServiceOnly()) {
                 logger.warn("Item '{}' is a '{}' which must be nested another another accessory.", taggedItem.getName(),
                         primaryAccessoryType);
-                return;
+                return null;
             }
 
             accessoryTypes.stream().filter(aType -> !primaryAccessoryType.equals(aType.getKey()))
@@ -480,10 +598,10 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                             logger.warn("Cannot create additional accessory {}", additionalTaggedItem);
                         }
                     });
-            knownAccessories.put(taggedItem.getName(), accessory.toJson());
-            accessoryRegistry.addRootAccessory(taggedItem.getName(), accessory);
+            return new CreatedAccessory(accessory, accessory.toJson());
         } catch (HomekitException e) {
             logger.warn("Cannot create accessory {}: {}", taggedItem, e.getMessage());
+            return null;
         }
     }
 
@@ -574,4 +692,10 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         priorDummies.clear();
         priorDummies.addAll(currentDummies);
     }
+
+    /**
+     * A created root accessory with its description stored in the known accessories.
+     */
+    private record CreatedAccessory(HomekitAccessory accessory, String json) {
+    }
 }
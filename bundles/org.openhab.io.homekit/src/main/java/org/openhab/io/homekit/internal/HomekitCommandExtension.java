@@ -48,9 +48,11 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
     private static final String SUBCMD_ALLOW_UNAUTHENTICATED = "allowUnauthenticated";
     private static final String SUBCMD_PRUNE_DUMMY_ACCESSORIES = "pruneDummyAccessories";
     private static final String SUBCMD_LIST_DUMMY_ACCESSORIES = "listDummyAccessories";
+    private static final String SUBCMD_EVENT_STATISTICS = "eventStats";
     private static final StringsCompleter SUBCMD_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_CLEAR_PAIRINGS, SUBCMD_LIST_ACCESSORIES, SUBCMD_PRINT_ACCESSORY,
-                    SUBCMD_ALLOW_UNAUTHENTICATED, SUBCMD_PRUNE_DUMMY_ACCESSORIES, SUBCMD_LIST_DUMMY_ACCESSORIES),
+                    SUBCMD_ALLOW_UNAUTHENTICATED, SUBCMD_PRUNE_DUMMY_ACCESSORIES, SUBCMD_LIST_DUMMY_ACCESSORIES,
+                    SUBCMD_EVENT_STATISTICS),
             false);
 
     private static final String PARAM_INSTANCE = "--instance";
@@ -137,6 +139,9 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
                 case SUBCMD_LIST_DUMMY_ACCESSORIES:
                     listDummyAccessories(console, instance);
                     break;
+                case SUBCMD_EVENT_STATISTICS:
+                    homekit.getEventStatistics().forEach(console::println);
+                    break;
                 default:
                     console.println("Unknown command '" + subCommand + "'");
                     printUsage(console);
@@ -161,7 +166,9 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
                 buildCommandUsage(SUBCMD_PRUNE_DUMMY_ACCESSORIES + PARAM_INSTANCE_HELP,
                         "removes dummy accessories whose items no longer exist, optionally for a specific instance."),
                 buildCommandUsage(SUBCMD_LIST_DUMMY_ACCESSORIES + PARAM_INSTANCE_HELP,
-                        "list dummy accessories whose items no longer exist, optionally for a specific instance."));
+                        "list dummy accessories whose items no longer exist, optionally for a specific instance."),
+                buildCommandUsage(SUBCMD_EVENT_STATISTICS,
+                        "print how many change events have been sent to and suppressed for HomeKit clients."));
     }
 
     @Reference
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
+
+/**
+ * Coalesces characteristic change notifications before they are sent to HomeKit clients.
+ *
+ * The first change of a characteristic is sent immediately. Further changes within the coalescing window are folded
+ * into a single notification, which is sent once the window has elapsed. As the HomeKit library reads the current
+ * value of the characteristic when a notification is sent, intermediate values are dropped and clients only receive
+ * the latest one. Queuing and sending the event messages to the connected clients is done by the HomeKit library.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class HomekitEventNotifier {
+    private final Logger logger = LoggerFactory.getLogger(HomekitEventNotifier.class);
+
+    private final String name;
+    private final ScheduledExecutorService scheduler;
+    private final Clock clock;
+    private final Map<Object, PendingEvent> events = new ConcurrentHashMap<>();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    private volatile long windowMs;
+
+    /**
+     * @param name The name of this notifier
+     * @param scheduler The scheduler used to send coalesced notifications
+     * @param window The coalescing window; a zero window sends every notification immediately
+     * @param clock The source from which we get the current time. Specified for testing purposes
+     */
+    HomekitEventNotifier(String name, ScheduledExecutorService scheduler, Duration window, Clock clock) {
+        this.name = name;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        setWindow(window);
+    }
+
+    void setWindow(Duration window) {
+        windowMs = Math.max(0, window.toMillis());
+    }
+
+    /**
+     * Register that the characteristic identified by the given key has changed.
+     *
+     * @param key The key identifying the characteristic
+     * @param callback The callback to notify the HomeKit clients
+     */
+    void changed(Object key, HomekitCharacteristicChangeCallback callback) {
+        long window = windowMs;
+        if (window == 0) {
+            send(callback);
+            return;
+        }
+
+        PendingEvent event = events.computeIfAbsent(key, k -> new PendingEvent());
+        synchronized (event) {
+            event.callback = callback;
+            if (event.future != null) {
+                suppressed.incrementAndGet();
+                return;
+            }
+            long now = clock.millis();
+            long delay = event.lastSent + window - now;
+            if (delay > 0) {
+                event.future = scheduler.schedule(() -> flush(event), delay, TimeUnit.MILLISECONDS);
+                return;
+            }
+            event.lastSent = now;
+        }
+        send(callback);
+    }
+
+    /**
+     * Drop a pending notification, e.g. because the subscription has been removed.
+     *
+     * @param key The key identifying the characteristic
+     */
+    void remove(Object key) {
+        PendingEvent event = events.remove(key);
+        if (event != null) {
+            event.cancel();
+        }
+    }
+
+    void stop() {
+        logger.trace("stop event notifier {}", name);
+        events.values().forEach(PendingEvent::cancel);
+        events.clear();
+    }
+
+    long getSentCount() {
+        return sent.get();
+    }
+
+    long getSuppressedCount() {
+        return suppressed.get();
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + sent + " events sent, " + suppressed + " events suppressed, " + events.size()
+                + " characteristics tracked";
+    }
+
+    private void flush(PendingEvent event) {
+        HomekitCharacteristicChangeCallback callback;
+        synchronized (event) {
+            event.future = null;
+            event.lastSent = clock.millis();
+            callback = event.callback;
+        }
+        if (callback != null) {
+            send(callback);
+        }
+    }
+
+    private void send(HomekitCharacteristicChangeCallback callback) {
+        sent.incrementAndGet();
+        try {
+            callback.changed();
+        } catch (RuntimeException e) {
+            logger.warn("Event notifier {} failed to notify HomeKit clients", name, e);
+        }
+    }
+
+    private static class PendingEvent {
+        private @Nullable HomekitCharacteristicChangeCallback callback;
+        private @Nullable ScheduledFuture<?> future;
+        private long lastSent = Long.MIN_VALUE / 2;
+
+        synchronized void cancel() {
+            ScheduledFuture<?> future = this.future;
+            if (future != null) {
+                future.cancel(false);
+                this.future = null;
+            }
+            callback = null;
+        }
+    }
+}
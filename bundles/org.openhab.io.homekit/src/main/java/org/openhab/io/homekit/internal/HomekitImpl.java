@@ -405,6 +405,15 @@ public class HomekitImpl implements Homekit, NetworkAddressChangeListener, Ready
         changeListeners.get(instance - 1).pruneDummyAccessories();
     }
 
+    @Override
+    public Collection<String> getEventStatistics() {
+        List<String> statistics = new ArrayList<>();
+        for (HomekitChangeListener changeListener : changeListeners) {
+            statistics.add(changeListener.getEventStatistics());
+        }
+        return statistics;
+    }
+
     @Override
     public int getInstanceCount() {
         return homekitServers.size();
@@ -35,6 +35,8 @@ public class HomekitSettings {
     public boolean useOHmDNS = false;
     public boolean blockUserDeletion = false;
     public String networkInterface;
+    public int eventCoalescingWindow = 250;
+    public boolean useAccessorySnapshot = true;
 
     @Override
     public int hashCode() {
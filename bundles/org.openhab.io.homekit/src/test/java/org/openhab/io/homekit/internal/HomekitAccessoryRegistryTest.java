@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.io.homekit.internal.accessories.DummyHomekitAccessory;
+
+import io.github.hapjava.accessories.HomekitAccessory;
+import io.github.hapjava.server.impl.HomekitRoot;
+
+/**
+ * Tests for swapping the placeholder accessories restored from a snapshot in the {@link HomekitAccessoryRegistry}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault
+public class HomekitAccessoryRegistryTest {
+
+    // a lightbulb service with its on characteristic, as stored in the snapshot
+    private static final String LIGHTBULB_JSON = "[{\"type\":\"43\",\"c\":[{\"type\":\"25\",\"value\":true}]}]";
+
+    private @Mock @NonNullByDefault({}) HomekitRoot bridge;
+    private @Mock @NonNullByDefault({}) HomekitAccessory light;
+    private @Mock @NonNullByDefault({}) HomekitAccessory updatedFan;
+
+    private final HomekitAccessoryRegistry registry = new HomekitAccessoryRegistry();
+    private final DummyHomekitAccessory lightPlaceholder = new DummyHomekitAccessory("Light", LIGHTBULB_JSON);
+    private final DummyHomekitAccessory fanPlaceholder = new DummyHomekitAccessory("Fan", LIGHTBULB_JSON);
+
+    @BeforeEach
+    public void setUp() {
+        registry.addRootAccessory("Light", lightPlaceholder);
+        registry.addRootAccessory("Fan", fanPlaceholder);
+    }
+
+    @Test
+    public void placeholdersArePublishedWhenTheBridgeIsSet() {
+        registry.setBridge(bridge);
+
+        verify(bridge).addAccessory(lightPlaceholder);
+        verify(bridge).addAccessory(fanPlaceholder);
+    }
+
+    @Test
+    public void placeholdersAreReplacedByTheCreatedAccessories() {
+        registry.setBridge(bridge);
+
+        registry.removeAllExcept(Set.of());
+        registry.addRootAccessory("Light", light);
+
+        assertEquals(Map.of("Light", light), registry.getAllAccessories());
+        verify(bridge).removeAccessory(lightPlaceholder);
+        verify(bridge).removeAccessory(fanPlaceholder);
+        verify(bridge).addAccessory(light);
+    }
+
+    @Test
+    public void placeholdersAreReplacedWithoutBridge() {
+        registry.removeAllExcept(Set.of());
+        registry.addRootAccessory("Light", light);
+
+        assertEquals(Map.of("Light", light), registry.getAllAccessories());
+
+        registry.setBridge(bridge);
+
+        verify(bridge).addAccessory(light);
+        verify(bridge, never()).addAccessory(lightPlaceholder);
+        verify(bridge, never()).addAccessory(fanPlaceholder);
+    }
+
+    @Test
+    public void accessoriesOfItemsUpdatedDuringTheSwapAreKept() {
+        registry.setBridge(bridge);
+        // an incremental update replaced the placeholder while the accessories were created
+        registry.remove("Fan");
+        registry.addRootAccessory("Fan", updatedFan);
+
+        registry.removeAllExcept(Set.of("Fan"));
+        registry.addRootAccessory("Light", light);
+
+        assertEquals(Map.of("Light", light, "Fan", updatedFan), registry.getAllAccessories());
+        verify(bridge).removeAccessory(lightPlaceholder);
+        verify(bridge).removeAccessory(fanPlaceholder);
+        verify(bridge, never()).removeAccessory(updatedFan);
+    }
+
+    @Test
+    public void removeAllRemovesEveryAccessory() {
+        registry.setBridge(bridge);
+
+        registry.removeAll();
+
+        assertTrue(registry.getAllAccessories().isEmpty());
+        verify(bridge).removeAccessory(lightPlaceholder);
+        verify(bridge).removeAccessory(fanPlaceholder);
+    }
+}
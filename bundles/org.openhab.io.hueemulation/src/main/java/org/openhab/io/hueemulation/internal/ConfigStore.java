@@ -100,6 +100,11 @@ public class ConfigStore {
             .registerTypeAdapter(HueSuccessResponseStateChanged.class, new HueSuccessResponseStateChanged.Serializer())
             .registerTypeAdapter(HueGroupEntry.class, new HueGroupEntry.Serializer()).create();
 
+    /**
+     * Pre-serialized lights, to answer the frequent polls of the lights without serializing every light again
+     */
+    public final LightsJsonCache lightsJsonCache = new LightsJsonCache();
+
     @Reference
     protected @NonNullByDefault({}) ConfigurationAdmin configAdmin;
 
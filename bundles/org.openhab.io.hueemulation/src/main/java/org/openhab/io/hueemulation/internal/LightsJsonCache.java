@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.GenericItem;
+import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
+import org.openhab.io.hueemulation.internal.dto.HueDataStore;
+import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
+import org.openhab.io.hueemulation.internal.dto.changerequest.HueStateChange;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+
+/**
+ * Hue clients like Echo devices poll the list of lights very frequently. Serializing every light with Gson for each of
+ * those requests is expensive, so this cache keeps the serialized JSON of every light and only serializes a light
+ * again if its item, item state, name or last command changed.
+ * <p>
+ * The response for all lights is assembled from those fragments on byte level and gets an ETag, so that clients can
+ * avoid transferring an unchanged response altogether.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class LightsJsonCache {
+    private static final byte[] EMPTY_OBJECT = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, Fragment> fragments = new HashMap<>();
+    private @Nullable Gson datastoreGson;
+    private @Nullable Gson gson;
+    private Response lightsResponse = new Response(EMPTY_OBJECT);
+
+    /**
+     * A serialized response body and its ETag.
+     */
+    public static class Response {
+        public final byte[] body;
+        public final String etag;
+
+        Response(byte[] body) {
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            this.body = body;
+            this.etag = Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.length);
+        }
+    }
+
+    /**
+     * Returns the JSON object of all given lights, keyed by their hue ID.
+     *
+     * @param gson The gson instance to serialize changed lights with
+     * @param lights The lights of the data store
+     * @return The response body and its ETag
+     */
+    public synchronized Response getLights(Gson gson, Map<String, HueLightEntry> lights) {
+        if (this.gson != gson) {
+            // a new gson instance might serialize differently
+            fragments.clear();
+            datastoreGson = null;
+            this.gson = gson;
+        }
+
+        boolean changed = fragments.keySet().retainAll(lights.keySet());
+        Fragment[] current = new Fragment[lights.size()];
+        int length = 2 + Math.max(0, lights.size() - 1);
+        int i = 0;
+        for (Map.Entry<String, HueLightEntry> entry : lights.entrySet()) {
+            Fragment fragment = fragments.get(entry.getKey());
+            if (fragment == null || !fragment.isValidFor(entry.getValue())) {
+                fragment = new Fragment(gson, entry.getKey(), entry.getValue());
+                fragments.put(entry.getKey(), fragment);
+                changed = true;
+            }
+            current[i++] = fragment;
+            length += fragment.bytes.length;
+        }
+
+        if (!changed && lightsResponse.body.length == length) {
+            return lightsResponse;
+        }
+
+        byte[] body = new byte[length];
+        int pos = 0;
+        body[pos++] = '{';
+        for (int j = 0; j < current.length; j++) {
+            if (j > 0) {
+                body[pos++] = ',';
+            }
+            byte[] bytes = current[j].bytes;
+            System.arraycopy(bytes, 0, body, pos, bytes.length);
+            pos += bytes.length;
+        }
+        body[pos] = '}';
+        lightsResponse = new Response(body);
+        return lightsResponse;
+    }
+
+    /**
+     * Returns the JSON of a single light.
+     *
+     * @param gson The gson instance to serialize a changed light with
+     * @param id The hue ID of the light
+     * @param light The light
+     * @return The serialized light
+     */
+    public synchronized String getLight(Gson gson, String id, HueLightEntry light) {
+        Fragment fragment = fragments.get(id);
+        if (this.gson != gson || fragment == null || !fragment.isValidFor(light)) {
+            return gson.toJson(light);
+        }
+        return fragment.json;
+    }
+
+    /**
+     * Returns the JSON of the full data store. The lights are taken from the cache, all other parts are serialized.
+     *
+     * @param gson The gson instance to serialize with
+     * @param ds The data store
+     * @return The serialized data store
+     */
+    public byte[] getDatastore(Gson gson, HueDataStore ds) {
+        byte[] lights = getLights(gson, ds.lights).body;
+        byte[] rest = getDatastoreGson(gson).toJson(ds).getBytes(StandardCharsets.UTF_8);
+        byte[] prefix = "{\"lights\":".getBytes(StandardCharsets.UTF_8);
+        boolean hasMore = rest.length > 2;
+
+        byte[] body = new byte[prefix.length + lights.length + (hasMore ? 1 : 0) + rest.length - 1];
+        int pos = 0;
+        System.arraycopy(prefix, 0, body, pos, prefix.length);
+        pos += prefix.length;
+        System.arraycopy(lights, 0, body, pos, lights.length);
+        pos += lights.length;
+        if (hasMore) {
+            body[pos++] = ',';
+        }
+        // skip the opening brace of the remaining data store object
+        System.arraycopy(rest, 1, body, pos, rest.length - 1);
+        return body;
+    }
+
+    private synchronized Gson getDatastoreGson(Gson gson) {
+        Gson datastoreGson = this.datastoreGson;
+        if (datastoreGson == null || this.gson != gson) {
+            datastoreGson = gson.newBuilder().addSerializationExclusionStrategy(new ExclusionStrategy() {
+                @Override
+                public boolean shouldSkipField(@Nullable FieldAttributes f) {
+                    return f != null && f.getDeclaringClass() == HueDataStore.class && "lights".equals(f.getName());
+                }
+
+                @Override
+                public boolean shouldSkipClass(@Nullable Class<?> clazz) {
+                    return false;
+                }
+            }).create();
+            this.datastoreGson = datastoreGson;
+        }
+        return datastoreGson;
+    }
+
+    private static class Fragment {
+        private final HueLightEntry light;
+        private final GenericItem item;
+        private final State itemState;
+        private final @Nullable Command lastCommand;
+        private final @Nullable HueStateChange lastHueChange;
+        private final String name;
+        private final String json;
+        private final byte[] bytes;
+
+        Fragment(Gson gson, String id, HueLightEntry light) {
+            this.light = light;
+            this.item = light.item;
+            this.itemState = item.getState();
+            this.lastCommand = light.lastCommand;
+            this.lastHueChange = light.lastHueChange;
+            this.name = light.name;
+            this.json = gson.toJson(light);
+            this.bytes = (gson.toJson(id) + ":" + json).getBytes(StandardCharsets.UTF_8);
+        }
+
+        boolean isValidFor(HueLightEntry light) {
+            return this.light == light && item == light.item && lastCommand == light.lastCommand
+                    && lastHueChange == light.lastHueChange && name.equals(light.name)
+                    && itemState.equals(light.item.getState());
+        }
+    }
+}
@@ -48,6 +48,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
 /**
  * @author David Graeff - Initial contribution
+ * @author Contributors to the openHAB project - Serialize the data store under the lock of the lights
  */
 @Component(immediate = false, service = ConfigurationAccess.class)
 @JaxrsResource
@@ -62,6 +63,8 @@ public class ConfigurationAccess {
     protected @NonNullByDefault({}) UserManagement userManagement;
     @Reference
     protected @NonNullByDefault({}) ConfigurationAdmin configAdmin;
+    @Reference
+    protected @NonNullByDefault({}) LightsAndGroups lightsAndGroups;
 
     @GET
     @Path("config")
@@ -83,7 +86,7 @@ public class ConfigurationAccess {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds)).build();
+        return Response.ok(lightsAndGroups.getDatastore()).build();
     }
 
     @GET
@@ -26,8 +26,11 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -47,6 +50,7 @@ import org.openhab.io.hueemulation.internal.ConfigStore;
 import org.openhab.io.hueemulation.internal.ConfigurationListener;
 import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.HueEmulationService;
+import org.openhab.io.hueemulation.internal.LightsJsonCache;
 import org.openhab.io.hueemulation.internal.NetworkUtils;
 import org.openhab.io.hueemulation.internal.SemanticHueModelBuilder;
 import org.openhab.io.hueemulation.internal.SemanticUtils;
@@ -100,6 +104,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
  *
  * @author David Graeff - Initial contribution
  * @author Florian Schmidt - Removed base type restriction from Group items
+ * @author Contributors to the openHAB project - Serialize the lights and the data store under the model lock
  */
 @Component(immediate = false, service = LightsAndGroups.class)
 @JaxrsResource
@@ -317,12 +322,34 @@ public class LightsAndGroups implements ConfigurationListener, RegistryChangeLis
     @GET
     @Path("{username}/lights")
     @Operation(summary = "Return all lights", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        LightsJsonCache.Response lights;
+        // The lights map is a TreeMap, which is only modified by the synchronized methods updating the model. The
+        // cache iterates it, so it must be done under the same lock. The lock of the cache only guards its fragments.
+        synchronized (this) {
+            lights = cs.lightsJsonCache.getLights(cs.gson, cs.ds.lights);
+        }
+        EntityTag etag = new EntityTag(lights.etag);
+        ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(lights.body).tag(etag).build();
+    }
+
+    /**
+     * Serializes the full data store. Like the lights, it must be serialized under the lock of the model.
+     *
+     * @return The serialized data store
+     */
+    byte[] getDatastore() {
+        synchronized (this) {
+            return cs.lightsJsonCache.getDatastore(cs.gson, cs.ds);
+        }
     }
 
     @GET
@@ -358,7 +385,11 @@ public class LightsAndGroups implements ConfigurationListener, RegistryChangeLis
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights.get(id))).build();
+        HueLightEntry light = cs.ds.lights.get(id);
+        if (light == null) {
+            return Response.ok(cs.gson.toJson(light)).build();
+        }
+        return Response.ok(cs.lightsJsonCache.getLight(cs.gson, id, light)).build();
     }
 
     @DELETE
@@ -62,7 +62,6 @@ import org.eclipse.jetty.io.ByteBufferPool;
 import org.eclipse.jetty.io.Connection;
 import org.eclipse.jetty.io.EndPoint;
 import org.eclipse.jetty.io.RetainableByteBuffer;
-import org.eclipse.jetty.util.BufferUtil;
 import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.jetty.util.thread.Locker;
@@ -112,6 +111,12 @@ public class CloudClient {
 
     private static final long READ_TIMEOUT = 60_0000;
 
+    static final int DEFAULT_PROXY_FRAME_SIZE = 32_768;
+
+    static final long DEFAULT_PROXY_FLUSH_INTERVAL = 20;
+
+    static final long DEFAULT_ITEM_UPDATE_INTERVAL = 100;
+
     /*
      * Logger for this class
      */
@@ -194,6 +199,26 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * Maximum size of a proxied response content frame sent to the openHAB Cloud
+     */
+    private int proxyFrameSize = DEFAULT_PROXY_FRAME_SIZE;
+
+    /*
+     * Maximum time in milliseconds proxied response content is held back before it is sent to the openHAB Cloud
+     */
+    private long proxyFlushInterval = DEFAULT_PROXY_FLUSH_INTERVAL;
+
+    /*
+     * Compress proxied responses if the client accepts it
+     */
+    private boolean proxyCompression = true;
+
+    /*
+     * Collects item updates until they are sent to the openHAB Cloud
+     */
+    private final ItemUpdateBuffer itemUpdateBuffer;
+
     /**
      * Back-off strategy for reconnecting when manual reconnection is needed
      */
@@ -227,6 +252,8 @@ public class CloudClient {
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
         this.jettyClient = httpClient;
+        this.itemUpdateBuffer = new ItemUpdateBuffer(scheduler, this::emitItemUpdates, DEFAULT_ITEM_UPDATE_INTERVAL,
+                0);
         // configure websocket upgrade handler
         jettyClient.getProtocolHandlers()
                 .put(new WebSocketProxyUpgrade(() -> socket, requestIds, websocketConnections, httpClient));
@@ -235,6 +262,29 @@ public class CloudClient {
         reconnectBackoff.setJitter(RECONNECT_JITTER);
     }
 
+    /**
+     * Configures how responses of proxied requests are forwarded to the openHAB Cloud
+     *
+     * @param frameSize Maximum size of a response content frame in bytes
+     * @param flushInterval Maximum time in milliseconds response content is held back to fill a frame
+     * @param compression Compress text based responses if the client accepts gzip encoding
+     */
+    public void setProxyOptions(int frameSize, long flushInterval, boolean compression) {
+        this.proxyFrameSize = frameSize;
+        this.proxyFlushInterval = flushInterval;
+        this.proxyCompression = compression;
+    }
+
+    /**
+     * Configures how item updates are sent to the openHAB Cloud
+     *
+     * @param interval Time in milliseconds item updates are collected before they are sent
+     * @param minInterval Minimum time in milliseconds between two updates of the same item
+     */
+    public void setItemUpdateOptions(long interval, long minInterval) {
+        itemUpdateBuffer.setIntervals(interval, minInterval);
+    }
+
     /**
      * Connect to the openHAB Cloud
      */
@@ -426,6 +476,9 @@ public class CloudClient {
         reconnectBackoff.reset();
         isConnected = true;
         drainPendingWebhookEmits();
+        // the new connection might be to another server, which does not know the states sent before
+        itemUpdateBuffer.reset();
+        scheduler.execute(itemUpdateBuffer::flush);
     }
 
     private void drainPendingWebhookEmits() {
@@ -464,6 +517,7 @@ public class CloudClient {
         logger.info("Disconnected from the openHAB Cloud service (UUID = {}, base URL = {})", censored(this.uuid),
                 this.localBaseUrl);
         isConnected = false;
+        itemUpdateBuffer.reset();
         // And clean up the list of running requests
         runningRequests.clear();
     }
@@ -593,12 +647,21 @@ public class CloudClient {
                 request.content(new BytesContentProvider(requestBody.getBytes()));
             }
 
+            String acceptEncoding = proxyCompression ? request.getHeaders().get(HttpHeader.ACCEPT_ENCODING) : null;
+            ProxyResponseStream responseStream = new ProxyResponseStream(requestId, () -> socket, scheduler,
+                    jettyClient.getByteBufferPool(), proxyFrameSize, proxyFlushInterval);
+
             request.onResponseHeaders(response -> {
                 logger.debug("onHeaders {}", requestId);
                 JSONObject responseJson = new JSONObject();
                 try {
+                    JSONObject headersJson = getJSONHeaders(response.getHeaders());
+                    if (method != HttpMethod.HEAD) {
+                        responseStream.negotiateEncoding(response.getStatus(), acceptEncoding, response.getHeaders(),
+                                headersJson);
+                    }
                     responseJson.put("id", requestId);
-                    responseJson.put("headers", getJSONHeaders(response.getHeaders()));
+                    responseJson.put("headers", headersJson);
                     responseJson.put("responseStatusCode", response.getStatus());
                     responseJson.put("responseStatusText", response.getReason());
                     socket.emit("responseHeader", responseJson);
@@ -609,20 +672,13 @@ public class CloudClient {
                 }
             }).onResponseContent((theResponse, content) -> {
                 logger.debug("onResponseContent: {}, content size {}", requestId, String.valueOf(content.remaining()));
-                JSONObject responseJson = new JSONObject();
-                try {
-                    responseJson.put("id", requestId);
-                    responseJson.put("body", BufferUtil.toArray(content));
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("{}", StandardCharsets.UTF_8.decode(content).toString());
-                    }
-                    socket.emit("responseContentBinary", responseJson);
-                    logger.trace("Sent content to request {}", requestId);
-                } catch (JSONException e) {
-                    logger.debug("{}", e.getMessage());
+                if (logger.isTraceEnabled()) {
+                    logger.trace("{}", StandardCharsets.UTF_8.decode(content.slice()).toString());
                 }
+                responseStream.content(content);
             }).onRequestFailure((origRequest, failure) -> {
                 logger.debug("onRequestFailure: {},  {}", requestId, failure.getMessage());
+                responseStream.close();
                 JSONObject responseJson = new JSONObject();
                 try {
                     responseJson.put("id", requestId);
@@ -647,6 +703,8 @@ public class CloudClient {
                         logger.debug("Response Failure: {}", result.getResponseFailure().getMessage());
                     }
                 }
+                // Send the remaining content before the response is reported as finished
+                responseStream.finish();
                 JSONObject responseJson = new JSONObject();
                 try {
                     responseJson.put("id", requestId);
@@ -905,21 +963,34 @@ public class CloudClient {
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
-        if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
-            JSONObject itemUpdateMessage = new JSONObject();
-            try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
-                socket.emit("itemupdate", itemUpdateMessage);
-            } catch (JSONException e) {
-                logger.debug("{}", e.getMessage());
-            }
-        } else {
-            logger.debug("No connection, Item update is not sent");
+        itemUpdateBuffer.update(itemName, itemState);
+    }
+
+    private boolean emitItemUpdates(Map<String, String> updates) {
+        if (!isConnected()) {
+            logger.debug("No connection, {} item update(s) are held back", updates.size());
+            return false;
+        }
+        updates.forEach(this::emitItemUpdate);
+        return true;
+    }
+
+    private void emitItemUpdate(String itemName, String itemState) {
+        logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
+        try {
+            socket.emit("itemupdate", toItemUpdateMessage(itemName, itemState));
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
         }
     }
 
+    private static JSONObject toItemUpdateMessage(String itemName, String itemState) throws JSONException {
+        JSONObject itemUpdateMessage = new JSONObject();
+        itemUpdateMessage.put("itemName", itemName);
+        itemUpdateMessage.put("itemStatus", itemState);
+        return itemUpdateMessage;
+    }
+
     /**
      * Register a webhook with the openHAB Cloud for the given local path.
      *
@@ -1020,6 +1091,7 @@ public class CloudClient {
         logger.info("Shutting down openHAB Cloud service connection");
         reconnectFuture.get().ifPresent(future -> future.cancel(true));
         failPendingWebhookEmits("Cloud connector shut down");
+        itemUpdateBuffer.stop();
         socket.disconnect();
     }
 
@@ -78,8 +78,13 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     protected static final String CONFIG_URI = "io:openhabcloud";
 
     private static final String CFG_EXPOSE = "expose";
+    private static final String CFG_ITEM_UPDATE_INTERVAL = "itemUpdateInterval";
+    private static final String CFG_ITEM_UPDATE_MIN_INTERVAL = "itemUpdateMinInterval";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_PROXY_COMPRESSION = "proxyCompression";
+    private static final String CFG_PROXY_FLUSH_INTERVAL = "proxyFlushInterval";
+    private static final String CFG_PROXY_FRAME_SIZE = "proxyFrameSize";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
@@ -272,6 +277,20 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
         }
     }
 
+    private int getIntConfig(@Nullable Map<String, ?> config, String key, int defaultValue) {
+        Object value = config == null ? null : config.get(key);
+        if (value instanceof Number number) {
+            return number.intValue();
+        } else if (value instanceof String string && !string.isBlank()) {
+            try {
+                return Integer.parseInt(string.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for {}, using default {}", string, key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Modified
     protected void modified(Map<String, ?> config) {
         if (config != null && config.get(CFG_MODE) instanceof String cfgMode) {
@@ -323,6 +342,13 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
         String localBaseUrl = "http://localhost:" + localPort;
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
                 remoteAccessEnabled, exposedItems);
+        cloudClient.setProxyOptions(
+                getIntConfig(config, CFG_PROXY_FRAME_SIZE, CloudClient.DEFAULT_PROXY_FRAME_SIZE),
+                getIntConfig(config, CFG_PROXY_FLUSH_INTERVAL, (int) CloudClient.DEFAULT_PROXY_FLUSH_INTERVAL),
+                config == null || !"false".equalsIgnoreCase(String.valueOf(config.get(CFG_PROXY_COMPRESSION))));
+        cloudClient.setItemUpdateOptions(
+                getIntConfig(config, CFG_ITEM_UPDATE_INTERVAL, (int) CloudClient.DEFAULT_ITEM_UPDATE_INTERVAL),
+                getIntConfig(config, CFG_ITEM_UPDATE_MIN_INTERVAL, 0));
         cloudClient.connect();
         cloudClient.setListener(this);
         NotificationAction.setCloudService(this);
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the state updates of exposed items before they are sent to the openHAB Cloud.
+ *
+ * Only the latest state of an item is kept. Pending updates are sent together once the flush interval has elapsed,
+ * updates to the state last sent are dropped and an item is not sent more often than the minimum interval allows.
+ * If the updates cannot be sent, e.g. because the connection is down, they are kept until {@link #flush()} is called
+ * again. The states sent are forgotten with {@link #reset()} when the connection changes.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class ItemUpdateBuffer {
+
+    /**
+     * Sends item updates to the openHAB Cloud.
+     */
+    @FunctionalInterface
+    interface Sender {
+        /**
+         * @param updates the states to send, keyed by item name
+         * @return false if the updates could not be sent and should be retried later
+         */
+        boolean send(Map<String, String> updates);
+    }
+
+    private static final long NEVER_SENT = Long.MIN_VALUE / 2;
+
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateBuffer.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Sender sender;
+    private final LongSupplier clock;
+    private final Map<String, ItemState> items = new HashMap<>();
+
+    private long flushInterval;
+    private long minInterval;
+    private @Nullable ScheduledFuture<?> flushJob;
+    private long suppressed = 0;
+
+    /**
+     * @param scheduler the scheduler used to flush pending updates
+     * @param sender sends the pending updates
+     * @param flushInterval time in milliseconds updates are collected before they are sent
+     * @param minInterval minimum time in milliseconds between two updates of the same item
+     */
+    ItemUpdateBuffer(ScheduledExecutorService scheduler, Sender sender, long flushInterval, long minInterval) {
+        this(scheduler, sender, flushInterval, minInterval, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock the time in milliseconds
+     */
+    ItemUpdateBuffer(ScheduledExecutorService scheduler, Sender sender, long flushInterval, long minInterval,
+            LongSupplier clock) {
+        this.scheduler = scheduler;
+        this.sender = sender;
+        this.clock = clock;
+        setIntervals(flushInterval, minInterval);
+    }
+
+    synchronized void setIntervals(long flushInterval, long minInterval) {
+        this.flushInterval = Math.max(0, flushInterval);
+        this.minInterval = Math.max(0, minInterval);
+    }
+
+    /**
+     * Registers a new state of an item.
+     *
+     * @param itemName the name of the item
+     * @param state the new state of the item
+     */
+    synchronized void update(String itemName, String state) {
+        ItemState item = items.computeIfAbsent(itemName, name -> new ItemState());
+        if (state.equals(item.pending) || (item.pending == null && state.equals(item.sent))) {
+            suppressed++;
+            return;
+        }
+        // an update back to the state last sent makes a pending update obsolete
+        item.pending = state.equals(item.sent) ? null : state;
+        if (item.pending == null) {
+            suppressed++;
+        } else if (flushInterval == 0 && minInterval == 0) {
+            flush();
+        } else {
+            scheduleFlush(flushInterval);
+        }
+    }
+
+    /**
+     * Sends all pending updates which are not held back by the minimum interval.
+     */
+    synchronized void flush() {
+        flushJob = null;
+        long now = clock.getAsLong();
+        long nextDue = Long.MAX_VALUE;
+        Map<String, String> updates = new LinkedHashMap<>();
+        for (Map.Entry<String, ItemState> entry : items.entrySet()) {
+            ItemState item = entry.getValue();
+            String pending = item.pending;
+            if (pending == null) {
+                continue;
+            }
+            long due = item.sentTime + minInterval;
+            if (due <= now) {
+                updates.put(entry.getKey(), pending);
+            } else {
+                nextDue = Math.min(nextDue, due);
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            if (!sender.send(updates)) {
+                logger.debug("Holding back {} item update(s) until they can be sent", updates.size());
+                return;
+            }
+            for (Map.Entry<String, String> update : updates.entrySet()) {
+                ItemState item = items.get(update.getKey());
+                if (item != null) {
+                    item.sent = update.getValue();
+                    item.sentTime = now;
+                    item.pending = null;
+                }
+            }
+            logger.trace("Sent {} item update(s), {} unchanged update(s) suppressed so far", updates.size(),
+                    suppressed);
+        }
+        if (nextDue != Long.MAX_VALUE) {
+            scheduleFlush(Math.max(flushInterval, nextDue - now));
+        }
+    }
+
+    /**
+     * Forgets the states sent, so the next update of every item is sent without delay, also if its state was sent
+     * before. Pending updates are kept.
+     */
+    synchronized void reset() {
+        items.values().removeIf(item -> item.pending == null);
+        items.values().forEach(ItemState::reset);
+    }
+
+    /**
+     * Drops all pending updates and stops flushing.
+     */
+    synchronized void stop() {
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        items.clear();
+    }
+
+    private void scheduleFlush(long delay) {
+        if (flushJob == null) {
+            flushJob = scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static class ItemState {
+        private @Nullable String sent;
+        private long sentTime = NEVER_SENT;
+        private @Nullable String pending;
+
+        private void reset() {
+            sent = null;
+            sentTime = NEVER_SENT;
+        }
+    }
+}
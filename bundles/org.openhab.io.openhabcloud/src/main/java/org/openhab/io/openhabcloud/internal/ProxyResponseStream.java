@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.util.BufferUtil;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.socket.client.Socket;
+
+/**
+ * Forwards the content of a proxied response to the openHAB Cloud.
+ *
+ * Instead of emitting every chunk received from the local openHAB instance as a separate Socket.IO packet, the content
+ * is collected in a pooled buffer and emitted once the buffer is full or the flush interval has elapsed. If the client
+ * accepts it and the response is not encoded yet, compressible content is gzip compressed on the way.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class ProxyResponseStream {
+    private static final Set<String> COMPRESSIBLE_TYPES = Set.of("application/javascript", "application/json",
+            "application/xml", "application/xhtml+xml", "application/manifest+json", "image/svg+xml");
+
+    private final Logger logger = LoggerFactory.getLogger(ProxyResponseStream.class);
+
+    private final int requestId;
+    private final Supplier<Socket> socketSupplier;
+    private final ScheduledExecutorService scheduler;
+    private final ByteBufferPool byteBufferPool;
+    private final int frameSize;
+    private final long flushInterval;
+    private final long startTime = System.nanoTime();
+
+    private @Nullable ByteBuffer buffer;
+    private @Nullable GZIPOutputStream gzipStream;
+    private @Nullable ScheduledFuture<?> flushJob;
+    private boolean finished = false;
+
+    private long firstByteTime = -1;
+    private long bytesReceived = 0;
+    private long bytesSent = 0;
+    private int frames = 0;
+
+    /**
+     * @param requestId the id of the proxied request
+     * @param socketSupplier supplies the socket to emit the content to
+     * @param scheduler the scheduler used to flush the content after the flush interval
+     * @param byteBufferPool the pool to take the frame buffer from
+     * @param frameSize the maximum size of a content frame in bytes
+     * @param flushInterval the maximum time in milliseconds content is held back before it is emitted
+     */
+    ProxyResponseStream(int requestId, Supplier<Socket> socketSupplier, ScheduledExecutorService scheduler,
+            ByteBufferPool byteBufferPool, int frameSize, long flushInterval) {
+        this.requestId = requestId;
+        this.socketSupplier = socketSupplier;
+        this.scheduler = scheduler;
+        this.byteBufferPool = byteBufferPool;
+        this.frameSize = Math.max(1024, frameSize);
+        this.flushInterval = Math.max(0, flushInterval);
+    }
+
+    /**
+     * Checks whether the response content should be compressed and adjusts the response headers accordingly.
+     *
+     * Responses without content, not modified responses and partial content are never compressed, as the
+     * Content-Range of a partial response refers to the uncompressed content.
+     *
+     * @param status the status code of the response
+     * @param acceptEncoding the Accept-Encoding header of the client request, if any
+     * @param responseHeaders the headers received from the local openHAB instance
+     * @param headersJson the headers to be sent to the openHAB Cloud
+     */
+    synchronized void negotiateEncoding(int status, @Nullable String acceptEncoding, HttpFields responseHeaders,
+            JSONObject headersJson) throws JSONException {
+        if (status < HttpStatus.OK_200 || status == HttpStatus.NO_CONTENT_204
+                || status == HttpStatus.PARTIAL_CONTENT_206 || status == HttpStatus.NOT_MODIFIED_304
+                || responseHeaders.containsKey(HttpHeader.CONTENT_RANGE.asString())) {
+            return;
+        }
+        if (acceptEncoding == null || !acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")
+                || responseHeaders.containsKey(HttpHeader.CONTENT_ENCODING.asString())
+                || !isCompressible(responseHeaders.get(HttpHeader.CONTENT_TYPE))) {
+            return;
+        }
+
+        String[] names = JSONObject.getNames(headersJson);
+        if (names != null) {
+            for (String name : names) {
+                if (HttpHeader.CONTENT_LENGTH.is(name) || HttpHeader.VARY.is(name)) {
+                    headersJson.remove(name);
+                }
+            }
+        }
+        headersJson.put(HttpHeader.CONTENT_ENCODING.asString(), "gzip");
+        String vary = responseHeaders.get(HttpHeader.VARY);
+        headersJson.put(HttpHeader.VARY.asString(), vary == null ? "Accept-Encoding" : vary + ", Accept-Encoding");
+        try {
+            gzipStream = new GZIPOutputStream(new FrameOutputStream(), 512, true);
+        } catch (IOException e) {
+            logger.debug("Cannot compress response for request {}: {}", requestId, e.getMessage());
+        }
+    }
+
+    /**
+     * Adds content received from the local openHAB instance.
+     *
+     * @param content the received content
+     */
+    synchronized void content(ByteBuffer content) {
+        if (finished) {
+            return;
+        }
+        if (firstByteTime < 0) {
+            firstByteTime = System.nanoTime();
+        }
+        bytesReceived += content.remaining();
+
+        GZIPOutputStream gzipStream = this.gzipStream;
+        if (gzipStream != null) {
+            try {
+                BufferUtil.writeTo(content, gzipStream);
+            } catch (IOException e) {
+                logger.debug("Cannot compress response for request {}: {}", requestId, e.getMessage());
+            }
+        } else {
+            ByteBuffer buffer = this.buffer;
+            if ((buffer == null || buffer.position() == 0) && content.remaining() >= frameSize) {
+                // large chunks are emitted right away, saving the copy into the frame buffer
+                emit(BufferUtil.toArray(content));
+            } else {
+                while (content.hasRemaining()) {
+                    buffer = acquireBuffer();
+                    int length = Math.min(content.remaining(), buffer.remaining());
+                    int limit = content.limit();
+                    content.limit(content.position() + length);
+                    buffer.put(content);
+                    content.limit(limit);
+                    if (!buffer.hasRemaining()) {
+                        emitBuffer();
+                    }
+                }
+            }
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Emits any remaining content and releases the frame buffer. Must be called before the response is reported as
+     * finished to the openHAB Cloud.
+     */
+    synchronized void finish() {
+        if (finished) {
+            return;
+        }
+        GZIPOutputStream gzipStream = this.gzipStream;
+        if (gzipStream != null) {
+            try {
+                gzipStream.finish();
+            } catch (IOException e) {
+                logger.debug("Cannot compress response for request {}: {}", requestId, e.getMessage());
+            }
+        }
+        emitBuffer();
+        close();
+
+        if (logger.isDebugEnabled()) {
+            long now = System.nanoTime();
+            logger.debug(
+                    "Proxied request {}: {} bytes received, {} bytes sent in {} frames{}, first byte after {} ms, completed after {} ms",
+                    requestId, bytesReceived, bytesSent, frames, gzipStream != null ? " (gzip)" : "",
+                    firstByteTime < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(firstByteTime - startTime),
+                    TimeUnit.NANOSECONDS.toMillis(now - startTime));
+        }
+    }
+
+    /**
+     * Discards any remaining content and releases the frame buffer.
+     */
+    synchronized void close() {
+        finished = true;
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        ByteBuffer buffer = this.buffer;
+        if (buffer != null) {
+            byteBufferPool.release(buffer);
+            this.buffer = null;
+        }
+    }
+
+    private static boolean isCompressible(@Nullable String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String mimeType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        // event streams must not be held back by the compressor
+        return (mimeType.startsWith("text/") && !"text/event-stream".equals(mimeType))
+                || COMPRESSIBLE_TYPES.contains(mimeType);
+    }
+
+    private ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            buffer = byteBufferPool.acquire(frameSize, false);
+            buffer.clear();
+            if (buffer.capacity() > frameSize) {
+                buffer.limit(frameSize);
+            }
+            this.buffer = buffer;
+        }
+        return buffer;
+    }
+
+    private void scheduleFlush() {
+        ByteBuffer buffer = this.buffer;
+        if (flushJob != null || finished || gzipStream == null && (buffer == null || buffer.position() == 0)) {
+            return;
+        }
+        if (flushInterval == 0) {
+            flush();
+        } else {
+            flushJob = scheduler.schedule(this::flush, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void flush() {
+        flushJob = null;
+        if (finished) {
+            return;
+        }
+        GZIPOutputStream gzipStream = this.gzipStream;
+        if (gzipStream != null) {
+            try {
+                gzipStream.flush();
+            } catch (IOException e) {
+                logger.debug("Cannot compress response for request {}: {}", requestId, e.getMessage());
+            }
+        }
+        emitBuffer();
+    }
+
+    private void emitBuffer() {
+        ByteBuffer buffer = this.buffer;
+        if (buffer == null || buffer.position() == 0) {
+            return;
+        }
+        byte[] frame = Arrays.copyOfRange(buffer.array(), buffer.arrayOffset(),
+                buffer.arrayOffset() + buffer.position());
+        buffer.clear();
+        if (buffer.capacity() > frameSize) {
+            buffer.limit(frameSize);
+        }
+        emit(frame);
+    }
+
+    private void emit(byte[] frame) {
+        JSONObject responseJson = new JSONObject();
+        try {
+            responseJson.put("id", requestId);
+            responseJson.put("body", frame);
+            socketSupplier.get().emit("responseContentBinary", responseJson);
+            bytesSent += frame.length;
+            frames++;
+            logger.trace("Sent {} bytes of content to request {}", frame.length, requestId);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    /**
+     * Receives the output of the compressor and collects it in the frame buffer.
+     */
+    private class FrameOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+            ByteBuffer buffer = acquireBuffer();
+            buffer.put((byte) b);
+            if (!buffer.hasRemaining()) {
+                emitBuffer();
+            }
+        }
+
+        @Override
+        public void write(byte @Nullable [] b, int off, int len) {
+            if (b == null) {
+                return;
+            }
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                ByteBuffer buffer = acquireBuffer();
+                int length = Math.min(remaining, buffer.remaining());
+                buffer.put(b, offset, length);
+                offset += length;
+                remaining -= length;
+                if (!buffer.hasRemaining()) {
+                    emitBuffer();
+                }
+            }
+        }
+    }
+}
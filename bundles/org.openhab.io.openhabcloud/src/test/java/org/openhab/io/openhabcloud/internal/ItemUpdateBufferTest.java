@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link ItemUpdateBuffer}. The flush interval is long, so the updates are only sent when the test
+ * calls {@link ItemUpdateBuffer#flush()}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class ItemUpdateBufferTest {
+
+    private static final long FLUSH_INTERVAL = 3_600_000;
+    private static final long MIN_INTERVAL = 1000;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<Map<String, String>> sent = new ArrayList<>();
+    private boolean connected = true;
+    private long now = 1_000_000;
+
+    private final ItemUpdateBuffer buffer = new ItemUpdateBuffer(scheduler, updates -> {
+        if (!connected) {
+            return false;
+        }
+        sent.add(Map.copyOf(updates));
+        return true;
+    }, FLUSH_INTERVAL, MIN_INTERVAL, () -> now);
+
+    @AfterEach
+    public void tearDown() {
+        buffer.stop();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void updatesAreCoalescedToTheLatestState() {
+        buffer.update("Switch", "ON");
+        buffer.update("Switch", "OFF");
+        buffer.update("Dimmer", "10");
+        buffer.update("Dimmer", "20");
+        buffer.flush();
+
+        assertEquals(List.of(Map.of("Switch", "OFF", "Dimmer", "20")), sent);
+    }
+
+    @Test
+    public void stateLastSentIsNotSentAgain() {
+        buffer.update("Switch", "ON");
+        buffer.flush();
+        now += MIN_INTERVAL;
+        buffer.update("Switch", "ON");
+        // an update back to the state last sent makes the pending update obsolete
+        buffer.update("Dimmer", "10");
+        buffer.flush();
+        now += MIN_INTERVAL;
+        buffer.update("Switch", "OFF");
+        buffer.update("Switch", "ON");
+        buffer.flush();
+
+        assertEquals(List.of(Map.of("Switch", "ON"), Map.of("Dimmer", "10")), sent);
+    }
+
+    @Test
+    public void updatesAreHeldBackForTheMinimumInterval() {
+        buffer.update("Switch", "ON");
+        buffer.flush();
+        now += MIN_INTERVAL / 2;
+        buffer.update("Switch", "OFF");
+        buffer.update("Dimmer", "10");
+        buffer.flush();
+
+        assertEquals(List.of(Map.of("Switch", "ON"), Map.of("Dimmer", "10")), sent);
+
+        now += MIN_INTERVAL / 2;
+        buffer.flush();
+
+        assertEquals(List.of(Map.of("Switch", "ON"), Map.of("Dimmer", "10"), Map.of("Switch", "OFF")), sent);
+    }
+
+    @Test
+    public void updatesAreRetriedWhenTheyCouldNotBeSent() {
+        connected = false;
+        buffer.update("Switch", "ON");
+        buffer.flush();
+        buffer.update("Dimmer", "10");
+        buffer.flush();
+
+        assertTrue(sent.isEmpty());
+
+        connected = true;
+        buffer.flush();
+
+        assertEquals(List.of(Map.of("Switch", "ON", "Dimmer", "10")), sent);
+    }
+
+    @Test
+    public void statesSentAreForgottenOnReset() {
+        buffer.update("Switch", "ON");
+        buffer.update("Dimmer", "10");
+        buffer.flush();
+        buffer.update("Dimmer", "20");
+
+        // e.g. after a reconnect, the server does not know the states sent before
+        buffer.reset();
+        buffer.update("Switch", "ON");
+        buffer.flush();
+
+        assertEquals(List.of(Map.of("Switch", "ON", "Dimmer", "10"), Map.of("Switch", "ON", "Dimmer", "20")), sent);
+    }
+}
@@ -18,9 +18,18 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
  * Configuration for {@link org.openhab.transform.basicprofiles.internal.profiles.TimeweightedAverageStateProfile}.
  *
  * @author Bernd Weymann - Initial contribution
+ * @author Contributors to the openHAB project - Added the function parameter
  */
 @NonNullByDefault
 public class TimeweightedAverageProfileConfig {
     public String duration = "60s";
     public double delta = 0.0;
+    public Function function = Function.AVERAGE;
+
+    public enum Function {
+        AVERAGE,
+        MIN,
+        MAX,
+        INTEGRAL
+    }
 }
@@ -17,12 +17,13 @@ import static org.openhab.transform.basicprofiles.internal.factory.BasicProfiles
 
 import java.math.BigDecimal;
 import java.math.MathContext;
-import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -49,7 +50,6 @@ import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
 import org.openhab.core.types.UnDefType;
-import org.openhab.core.util.Statistics;
 import org.openhab.transform.basicprofiles.internal.config.StateFilterProfileConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,6 +62,7 @@ import org.slf4j.LoggerFactory;
  * @author Jimmy Tanagra - Expanded the comparison types
  * @author Jimmy Tanagra - Added support for functions
  * @author Andrew Fiddian-Green - Normalise calculations based on the Unit of the linked Item
+ * @author Contributors to the openHAB project - Maintain the function windows incrementally
  */
 @NonNullByDefault
 public class StateFilterProfile implements StateProfile {
@@ -109,10 +110,9 @@ public class StateFilterProfile implements StateProfile {
     // single cached numeric state for use in conjunction with DELTA and DELTA_PERCENT functions
     private Optional<State> acceptedState = Optional.empty();
 
-    // cached list of prior numeric states for use in conjunction with AVG, MEDIAN, STDDEV, MIN, MAX functions
-    private final List<State> previousStates = new LinkedList<>();
-
-    private final int windowSize;
+    // windows of prior numeric values for use in conjunction with AVG, MEDIAN, STDDEV, MIN, MAX functions,
+    // functions with the same window size share a window
+    private final Collection<WindowStatistics> windows;
 
     // reference (zero based) system unit for conversions
     private @Nullable Unit<?> systemUnit = null;
@@ -147,10 +147,27 @@ public class StateFilterProfile implements StateProfile {
             }
         }
 
-        windowSize = maxWindowSize;
+        windows = createWindows(maxWindowSize);
         configMismatchState = parseState(config.mismatchState, context.getAcceptedDataTypes());
     }
 
+    private Collection<WindowStatistics> createWindows(int maxWindowSize) {
+        Map<Integer, WindowStatistics> windowsBySize = new HashMap<>();
+        for (StateCondition condition : conditions) {
+            assignWindow(condition.lhsState, maxWindowSize, windowsBySize);
+            assignWindow(condition.rhsState, maxWindowSize, windowsBySize);
+        }
+        return windowsBySize.values();
+    }
+
+    private void assignWindow(@Nullable State state, int maxWindowSize, Map<Integer, WindowStatistics> windowsBySize) {
+        if (state instanceof FunctionType function && function.getWindowSize() > 0) {
+            // a function without explicit window size is calculated over the largest window
+            int size = function.windowSize.orElse(maxWindowSize);
+            function.window = windowsBySize.computeIfAbsent(size, WindowStatistics::new);
+        }
+    }
+
     private List<StateCondition> parseConditions(List<String> conditions, String separator) {
         List<StateCondition> parsedConditions = new ArrayList<>();
 
@@ -219,11 +236,8 @@ public class StateFilterProfile implements StateProfile {
         } else {
             logger.debug("Received state update from handler: {}, not forwarded to item", state);
         }
-        if (windowSize > 0 && isCacheable(state)) {
-            previousStates.add(state);
-            if (previousStates.size() > windowSize) {
-                previousStates.removeFirst();
-            }
+        if (!windows.isEmpty() && isCacheable(state) && toBigDecimal(state) instanceof BigDecimal value) {
+            windows.forEach(window -> window.add(value));
         }
     }
 
@@ -310,6 +324,8 @@ public class StateFilterProfile implements StateProfile {
         private String rhsString;
         private @Nullable State lhsState;
         private @Nullable State rhsState;
+        // literal values parsed for the accepted data types of the opposite item, so they are not parsed on each check
+        private final Map<String, ParsedLiteral> parsedLiterals = new HashMap<>();
 
         public StateCondition(String lhs, ComparisonType comparisonType, String rhs) {
             this.comparisonType = comparisonType;
@@ -491,9 +507,15 @@ public class StateFilterProfile implements StateProfile {
             }
 
             if (oppositeItem != null) {
-                List<Class<? extends State>> excludeStringType = oppositeItem.getAcceptedDataTypes().stream()
-                        .filter(not(StringType.class::isAssignableFrom)).toList();
-                return TypeParser.parseState(excludeStringType, value);
+                List<Class<? extends State>> acceptedDataTypes = oppositeItem.getAcceptedDataTypes();
+                ParsedLiteral literal = parsedLiterals.get(value);
+                if (literal == null || !literal.acceptedDataTypes().equals(acceptedDataTypes)) {
+                    List<Class<? extends State>> excludeStringType = acceptedDataTypes.stream()
+                            .filter(not(StringType.class::isAssignableFrom)).toList();
+                    literal = new ParsedLiteral(acceptedDataTypes, TypeParser.parseState(excludeStringType, value));
+                    parsedLiterals.put(value, literal);
+                }
+                return literal.state();
             }
 
             return null;
@@ -540,6 +562,9 @@ public class StateFilterProfile implements StateProfile {
         }
     }
 
+    private record ParsedLiteral(List<Class<? extends State>> acceptedDataTypes, @Nullable State state) {
+    }
+
     /**
      * Represents a function to be applied to the previous states.
      */
@@ -557,6 +582,7 @@ public class StateFilterProfile implements StateProfile {
 
         private final Function type;
         private final Optional<Integer> windowSize;
+        private @Nullable WindowStatistics window;
 
         public FunctionType(Function type, Optional<Integer> windowSize) {
             this.type = type;
@@ -570,22 +596,20 @@ public class StateFilterProfile implements StateProfile {
                 case DELTA -> result = calculateDelta();
                 case DELTA_PERCENT -> result = calculateDeltaPercent();
                 default -> {
-                    int size = previousStates.size();
-                    Integer start = windowSize.map(w -> size - w).orElse(0);
-                    List<BigDecimal> values = toBigDecimals(
-                            start == null || start <= 0 ? previousStates : previousStates.subList(start, size));
-                    if (values.isEmpty()) {
+                    WindowStatistics window = this.window;
+                    if (window == null || window.size() == 0) {
                         logger.debug("Not enough states to calculate {}", type);
                         result = null;
                     } else {
-                        switch (type) {
-                            case AVG, AVERAGE -> result = calculateAverage(values);
-                            case MEDIAN -> result = calculateMedian(values);
-                            case STDDEV -> result = calculateStdDev(values);
-                            case MIN -> result = calculateMin(values);
-                            case MAX -> result = calculateMax(values);
-                            default -> result = null;
-                        }
+                        BigDecimal value = switch (type) {
+                            case AVG, AVERAGE -> window.average();
+                            case MEDIAN -> window.median();
+                            case STDDEV -> window.standardDeviation();
+                            case MIN -> window.min();
+                            case MAX -> window.max();
+                            default -> null;
+                        };
+                        result = value != null ? toState(value) : null;
                     }
                 }
             }
@@ -650,40 +674,6 @@ public class StateFilterProfile implements StateProfile {
             return toFullString();
         }
 
-        private @Nullable State calculateAverage(List<BigDecimal> values) {
-            return Optional
-                    .ofNullable(values.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
-                            .divide(BigDecimal.valueOf(values.size()), MathContext.DECIMAL32))
-                    .map(o -> toState(o)).orElse(null);
-        }
-
-        private @Nullable State calculateMedian(List<BigDecimal> values) {
-            return Optional.ofNullable(Statistics.median(values)).map(o -> toState(o)).orElse(null);
-        }
-
-        private @Nullable State calculateStdDev(List<BigDecimal> values) {
-            BigDecimal average = values.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(BigDecimal.valueOf(values.size()), 2, RoundingMode.HALF_EVEN);
-
-            BigDecimal variance = values.stream().map(value -> {
-                BigDecimal delta = value.subtract(average);
-                return delta.multiply(delta);
-            }).reduce(BigDecimal.ZERO, BigDecimal::add).divide(BigDecimal.valueOf(values.size()),
-                    MathContext.DECIMAL32);
-
-            return toState(variance.sqrt(MathContext.DECIMAL32));
-        }
-
-        private @Nullable State calculateMin(List<BigDecimal> values) {
-            return Optional.ofNullable(values.stream().min(BigDecimal::compareTo).orElse(null)).map(o -> toState(o))
-                    .orElse(null);
-        }
-
-        private @Nullable State calculateMax(List<BigDecimal> values) {
-            return Optional.ofNullable(values.stream().max(BigDecimal::compareTo).orElse(null)).map(o -> toState(o))
-                    .orElse(null);
-        }
-
         private @Nullable State calculateDelta() {
             return acceptedState.isPresent() //
                     && toBigDecimal(acceptedState.get()) instanceof BigDecimal acceptedValue
@@ -743,16 +733,6 @@ public class StateFilterProfile implements StateProfile {
                 : null;
     }
 
-    /**
-     * Convert a list of {@link State} to a list of {@link BigDecimal} values.
-     *
-     * @param states list of {@link State} values.
-     * @return list of {@link BigDecimal} values.
-     */
-    protected List<BigDecimal> toBigDecimals(List<? extends State> states) {
-        return states.stream().map(s -> toBigDecimal(s)).filter(Objects::nonNull).toList();
-    }
-
     /**
      * Create a new {@link State} from the given {@link BigDecimal} value. If there is a 'systemUnit' it creates a
      * {@link QuantityType} based on that unit. Otherwise it creates a {@link DecimalType}.
@@ -792,7 +772,7 @@ public class StateFilterProfile implements StateProfile {
 
     /**
      * Check if the given {@link State} is suitable to be cached. This means it is suitable to add to the
-     * 'previousStates' list and/or to set to the 'acceptedState' field. This means that either there is a
+     * function windows and/or to set to the 'acceptedState' field. This means that either there is a
      * 'systemUnit' with which 'state' is compatible, or it can provide a {@link DecimalType} value.
      *
      * @param state the {@link State} to be tested.
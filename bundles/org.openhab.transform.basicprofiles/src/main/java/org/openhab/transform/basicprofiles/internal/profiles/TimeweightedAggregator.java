@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.transform.basicprofiles.internal.config.TimeweightedAverageProfileConfig.Function;
+
+/**
+ * Integrates a step function of values over time, for the aggregates of the {@link TimeweightedAverageStateProfile}.
+ *
+ * Each value is held until the next one is added, so it is weighted with the time until then. The aggregates are
+ * updated with each value, no values are kept.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class TimeweightedAggregator {
+    private static final double MILLIS_PER_HOUR = 3_600_000;
+
+    private boolean started;
+    private long lastTimestamp;
+    private double lastValue;
+    private long totalDuration;
+    private double weightedSum;
+    private double minimum = Double.POSITIVE_INFINITY;
+    private double maximum = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Add a value, which is held from the given time on.
+     *
+     * @param timestamp time in milliseconds
+     * @param value the new value
+     */
+    void add(long timestamp, double value) {
+        integrate(timestamp);
+        started = true;
+        lastTimestamp = timestamp;
+        lastValue = value;
+    }
+
+    /**
+     * End the period with the last value held until the given time. Values added after that are aggregated with
+     * the values before, unless {@link #clear()} is called.
+     *
+     * @param timestamp time in milliseconds
+     * @return true if values were held for some time, so that the aggregates are defined
+     */
+    boolean close(long timestamp) {
+        integrate(timestamp);
+        lastTimestamp = Math.max(lastTimestamp, timestamp);
+        return totalDuration > 0;
+    }
+
+    void clear() {
+        started = false;
+        totalDuration = 0;
+        weightedSum = 0;
+        minimum = Double.POSITIVE_INFINITY;
+        maximum = Double.NEGATIVE_INFINITY;
+    }
+
+    double get(Function function) {
+        return switch (function) {
+            case AVERAGE -> totalDuration > 0 ? weightedSum / totalDuration : 0;
+            case MIN -> minimum;
+            case MAX -> maximum;
+            case INTEGRAL -> weightedSum / MILLIS_PER_HOUR;
+        };
+    }
+
+    private void integrate(long timestamp) {
+        long duration = timestamp - lastTimestamp;
+        // a value held for no time does not contribute, neither does one added before the clock was set back
+        if (started && duration > 0) {
+            weightedSum += lastValue * duration;
+            totalDuration += duration;
+            minimum = Math.min(minimum, lastValue);
+            maximum = Math.max(maximum, lastValue);
+        }
+    }
+}
@@ -15,19 +15,21 @@ package org.openhab.transform.basicprofiles.internal.profiles;
 import static org.openhab.transform.basicprofiles.internal.factory.BasicProfilesFactory.TIME_WEIGHTED_AVERAGE_UID;
 
 import java.time.Duration;
-import java.time.Instant;
-import java.util.Map;
-import java.util.TreeMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
+import javax.measure.IncommensurableException;
+import javax.measure.UnconvertibleException;
 import javax.measure.Unit;
+import javax.measure.UnitConverter;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.unit.Units;
 import org.openhab.core.thing.profiles.ProfileCallback;
 import org.openhab.core.thing.profiles.ProfileContext;
 import org.openhab.core.thing.profiles.ProfileTypeUID;
@@ -36,22 +38,29 @@ import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
 import org.openhab.core.util.DurationUtils;
 import org.openhab.transform.basicprofiles.internal.config.TimeweightedAverageProfileConfig;
+import org.openhab.transform.basicprofiles.internal.config.TimeweightedAverageProfileConfig.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Build time-weighted average {@link State} values.
  *
+ * The updates are integrated when they are received, so only the aggregates of the time frame are kept. Values of
+ * a {@link QuantityType} are converted to the unit of the first update. The integral is delivered for every time
+ * frame, as long as a value is held, also if no updates were received during it.
+ *
  * @author Bernd Weymann - Initial contribution
+ * @author Contributors to the openHAB project - Aggregate incrementally, added min, max and integral functions
  */
 @NonNullByDefault
 public class TimeweightedAverageStateProfile implements StateProfile {
     private static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(1);
 
     private final Logger logger = LoggerFactory.getLogger(TimeweightedAverageStateProfile.class);
-    private final TreeMap<Instant, State> timeframe = new TreeMap<>();
+    private final TimeweightedAggregator timeframe = new TimeweightedAggregator();
     private final TimeweightedAverageProfileConfig config;
     private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
     private final ProfileCallback callback;
 
     private boolean streamingInTimeframe = false;
@@ -59,11 +68,23 @@ public class TimeweightedAverageStateProfile implements StateProfile {
     private String itemName;
     private @Nullable ScheduledFuture<?> twaJob;
     private @Nullable State latestState;
+    private double latestValue;
     private @Nullable Unit<?> stateUnit;
+    // converter of the last unit, which differed from the state unit
+    private @Nullable Unit<?> convertedUnit;
+    private @Nullable UnitConverter unitConverter;
 
     public TimeweightedAverageStateProfile(ProfileCallback callback, ProfileContext context) {
+        this(callback, context, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock the time in milliseconds
+     */
+    TimeweightedAverageStateProfile(ProfileCallback callback, ProfileContext context, LongSupplier clock) {
         this.callback = callback;
         this.scheduler = context.getExecutorService();
+        this.clock = clock;
         this.config = context.getConfiguration().as(TimeweightedAverageProfileConfig.class);
         itemName = callback.getItemChannelLink().getItemName();
         try {
@@ -91,20 +112,43 @@ public class TimeweightedAverageStateProfile implements StateProfile {
                 init(state);
             }
 
+            double value = state2Double(state);
+            if (config.function == Function.INTEGRAL) {
+                integrate(state, value);
+                return;
+            }
             // if state change is above delta threshold, deliver immediately collected values plus latest reported state
-            if (deltaExceeded(state)) {
+            if (deltaExceeded(state, value)) {
                 deliver();
                 callback.sendUpdate(state);
             }
 
             // start new time frame
             startJob();
-            timeframe.put(Instant.now(), state);
+            timeframe.add(clock.getAsLong(), value);
             latestState = state;
+            latestValue = value;
             streamingInTimeframe = true;
         }
     }
 
+    /**
+     * Adds the value to the integral. The states are not forwarded, they are of another dimension than the integral,
+     * so the integral of the time frame up to now is delivered once it reaches the delta.
+     */
+    private void integrate(State state, double value) {
+        timeframe.add(clock.getAsLong(), value);
+        latestState = state;
+        latestValue = value;
+        streamingInTimeframe = true;
+        if (config.delta > 0 && Math.abs(timeframe.get(Function.INTEGRAL)) >= config.delta) {
+            logger.debug("{} integral reached delta {}", itemName, config.delta);
+            deliver();
+        } else {
+            startJob();
+        }
+    }
+
     private void init(State first) {
         if (first instanceof QuantityType<?> qtState) {
             stateUnit = qtState.getUnit();
@@ -118,11 +162,10 @@ public class TimeweightedAverageStateProfile implements StateProfile {
         }
     }
 
-    private boolean deltaExceeded(State state) {
+    private boolean deltaExceeded(State state, double value) {
         if (config.delta > 0) {
-            State localLatestState = latestState;
-            if (localLatestState != null) {
-                double delta = Math.abs(state2Double(state) - state2Double(localLatestState));
+            if (latestState != null) {
+                double delta = Math.abs(value - latestValue);
                 if (delta >= config.delta) {
                     logger.debug("{} rapid change from {} to {}", itemName, latestState, state);
                     return true;
@@ -133,32 +176,35 @@ public class TimeweightedAverageStateProfile implements StateProfile {
     }
 
     private void deliver() {
-        TreeMap<Instant, State> delivery = prepareDelivery();
-        if (delivery.size() <= 1) {
-            logger.debug("Cannot calculate time-weighted average for item {} with {} elements", itemName,
-                    delivery.size());
+        State delivery = prepareDelivery();
+        if (delivery == null) {
+            logger.debug("Cannot calculate time-weighted {} for item {} without states in the time frame",
+                    config.function, itemName);
         } else {
-            callback.sendUpdate(getState(average(delivery)));
+            callback.sendUpdate(delivery);
         }
     }
 
-    private TreeMap<Instant, State> prepareDelivery() {
-        TreeMap<Instant, State> delivery;
+    private @Nullable State prepareDelivery() {
+        State delivery = null;
         // synchronize access to timeframe and latestState to prepare delivery without parallel execution of
         // onStateUpdateFromHandler
         synchronized (timeframe) {
             resetJob();
-            delivery = new TreeMap<>(timeframe);
-            // add termination element
-            Instant now = Instant.now();
-            delivery.put(now, DecimalType.ZERO);
+            // terminate the time frame
+            long now = clock.getAsLong();
+            if (timeframe.close(now)) {
+                double value = timeframe.get(config.function);
+                logger.debug("Time-weighted {} of {} is {}", config.function, itemName, value);
+                delivery = getState(value);
+            }
             // clear time frame and put latest reported state as start point of the next calculation
             timeframe.clear();
             State localState = latestState;
             if (localState != null) {
-                if (streamingInTimeframe) {
-                    // state updates retrieved in time frame, start new job
-                    timeframe.put(now, localState);
+                if (streamingInTimeframe || config.function == Function.INTEGRAL) {
+                    // state updates retrieved in time frame or the held value still adds to the integral, start new job
+                    timeframe.add(now, latestValue);
                     streamingInTimeframe = false;
                     startJob();
                 } else {
@@ -186,6 +232,13 @@ public class TimeweightedAverageStateProfile implements StateProfile {
     }
 
     private double state2Double(State state) {
+        Unit<?> localUnit = stateUnit;
+        if (localUnit != null && state instanceof QuantityType<?> qtState && !localUnit.equals(qtState.getUnit())) {
+            UnitConverter converter = getConverter(qtState.getUnit(), localUnit);
+            if (converter != null) {
+                return converter.convert(qtState.doubleValue());
+            }
+        }
         DecimalType as = state.as(DecimalType.class);
         if (as == null) {
             // may happen if state delivery contains NULL or UNDEF states
@@ -195,32 +248,27 @@ public class TimeweightedAverageStateProfile implements StateProfile {
         return as.doubleValue();
     }
 
-    public double average(TreeMap<Instant, State> values) {
-        Instant previousTimestamp = null;
-        State previousValue = DecimalType.ZERO;
-        double totalWeightedValue = 0;
-        long totalDurationMs = 0;
-
-        for (Map.Entry<Instant, State> entry : values.entrySet()) {
-            if (previousTimestamp != null) {
-                long durationMs = Duration.between(previousTimestamp, entry.getKey()).toMillis();
-                totalWeightedValue += state2Double(previousValue) * durationMs;
-                totalDurationMs += durationMs;
+    private @Nullable UnitConverter getConverter(Unit<?> unit, Unit<?> targetUnit) {
+        if (!unit.equals(convertedUnit)) {
+            try {
+                unitConverter = unit.getConverterToAny(targetUnit);
+            } catch (IncommensurableException | UnconvertibleException e) {
+                logger.debug("Cannot convert {} to {} for item {}", unit, targetUnit, itemName);
+                unitConverter = null;
             }
-            previousTimestamp = entry.getKey();
-            previousValue = entry.getValue();
+            convertedUnit = unit;
         }
-        double average = (totalDurationMs > 0) ? totalWeightedValue / totalDurationMs : 0;
-        logger.debug("Average {} is {} for {} updates", itemName, average, values.size());
-        return average;
+        return unitConverter;
     }
 
-    private State getState(double average) {
+    private State getState(double value) {
         Unit<?> localUnit = stateUnit;
         if (localUnit == null) {
-            return new DecimalType(average);
+            return new DecimalType(value);
+        } else if (config.function == Function.INTEGRAL) {
+            return new QuantityType<>(value, localUnit.multiply(Units.HOUR));
         } else {
-            return new QuantityType<>(average, localUnit);
+            return new QuantityType<>(value, localUnit);
         }
     }
 
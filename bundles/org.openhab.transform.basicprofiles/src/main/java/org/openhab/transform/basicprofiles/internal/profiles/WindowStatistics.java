@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.util.Statistics;
+
+/**
+ * Sliding window over the last values passed to the {@link StateFilterProfile}, which maintains the aggregates of
+ * the window while values are added.
+ *
+ * The sum and the sum of squares are updated on each value, the minimum and the maximum are kept in monotonic
+ * queues, and a sorted copy of the window provides the median. The values are kept as {@link BigDecimal}, so the
+ * results are the same as those calculated from the complete window.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class WindowStatistics {
+    private final BigDecimal[] values;
+    private final BigDecimal[] sorted;
+    private final MonotonicQueue minimum;
+    private final MonotonicQueue maximum;
+
+    // number of values added since creation, the value with sequence number s is stored in values[s % capacity]
+    private long added;
+    private int size;
+    private BigDecimal sum = BigDecimal.ZERO;
+    private BigDecimal sumOfSquares = BigDecimal.ZERO;
+
+    WindowStatistics(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Window capacity must be positive: " + capacity);
+        }
+        values = new BigDecimal[capacity];
+        sorted = new BigDecimal[capacity];
+        minimum = new MonotonicQueue(capacity, 1);
+        maximum = new MonotonicQueue(capacity, -1);
+    }
+
+    /**
+     * Add a value to the window. If the window is full, its oldest value is removed.
+     */
+    void add(BigDecimal value) {
+        int capacity = values.length;
+        int index = (int) (added % capacity);
+        if (size == capacity) {
+            BigDecimal oldest = values[index];
+            sum = sum.subtract(oldest);
+            sumOfSquares = sumOfSquares.subtract(oldest.multiply(oldest));
+            removeSorted(oldest);
+            minimum.evict(added - capacity);
+            maximum.evict(added - capacity);
+        } else {
+            size++;
+        }
+        values[index] = value;
+        sum = sum.add(value);
+        sumOfSquares = sumOfSquares.add(value.multiply(value));
+        insertSorted(value);
+        minimum.push(added);
+        maximum.push(added);
+        added++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @Nullable
+    BigDecimal average() {
+        return size == 0 ? null : sum.divide(BigDecimal.valueOf(size), MathContext.DECIMAL32);
+    }
+
+    /**
+     * The population standard deviation, with the mean rounded to two decimals like the previous implementation,
+     * which summed the squared deviations from it. The sum is derived from the running sums:
+     * Σ(x - m)² = Σx² - 2mΣx + nm²
+     */
+    @Nullable
+    BigDecimal standardDeviation() {
+        if (size == 0) {
+            return null;
+        }
+        BigDecimal count = BigDecimal.valueOf(size);
+        BigDecimal mean = sum.divide(count, 2, RoundingMode.HALF_EVEN);
+        BigDecimal squaredDeviations = sumOfSquares.subtract(mean.multiply(sum).multiply(BigDecimal.TWO))
+                .add(mean.multiply(mean).multiply(count));
+        return squaredDeviations.divide(count, MathContext.DECIMAL32).sqrt(MathContext.DECIMAL32);
+    }
+
+    @Nullable
+    BigDecimal median() {
+        if (size == 0) {
+            return null;
+        }
+        int middle = size / 2;
+        // let the core utility combine the middle values, so that the rounding is the same as for the whole window
+        return size % 2 == 1 ? sorted[middle] : Statistics.median(List.of(sorted[middle - 1], sorted[middle]));
+    }
+
+    @Nullable
+    BigDecimal min() {
+        return size == 0 ? null : minimum.first();
+    }
+
+    @Nullable
+    BigDecimal max() {
+        return size == 0 ? null : maximum.first();
+    }
+
+    private void insertSorted(BigDecimal value) {
+        int index = Arrays.binarySearch(sorted, 0, size - 1, value, BigDecimal::compareTo);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        System.arraycopy(sorted, index, sorted, index + 1, size - 1 - index);
+        sorted[index] = value;
+    }
+
+    private void removeSorted(BigDecimal value) {
+        int index = Arrays.binarySearch(sorted, 0, size, value, BigDecimal::compareTo);
+        System.arraycopy(sorted, index + 1, sorted, index, size - 1 - index);
+    }
+
+    /**
+     * Queue of the sequence numbers of the values, which can still become the minimum (or maximum) of the window.
+     * The values of the queued sequence numbers are ascending (or descending), so the first one is the minimum (or
+     * maximum). Of equal values the oldest one is kept, like {@link java.util.stream.Stream#min} does.
+     */
+    private class MonotonicQueue {
+        private final long[] sequences;
+        private final int order;
+        private int head;
+        private int length;
+
+        MonotonicQueue(int capacity, int order) {
+            this.sequences = new long[capacity];
+            this.order = order;
+        }
+
+        void push(long sequence) {
+            BigDecimal value = valueOf(sequence);
+            while (length > 0 && order * valueOf(sequences[(head + length - 1) % sequences.length])
+                    .compareTo(value) > 0) {
+                length--;
+            }
+            sequences[(head + length) % sequences.length] = sequence;
+            length++;
+        }
+
+        void evict(long sequence) {
+            if (length > 0 && sequences[head] == sequence) {
+                head = (head + 1) % sequences.length;
+                length--;
+            }
+        }
+
+        BigDecimal first() {
+            return valueOf(sequences[head]);
+        }
+
+        private BigDecimal valueOf(long sequence) {
+            return values[(int) (sequence % values.length)];
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.transform.basicprofiles.internal.config.TimeweightedAverageProfileConfig.Function;
+
+/**
+ * Unit test for {@link TimeweightedAggregator}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class TimeweightedAggregatorTest {
+
+    @Test
+    public void testAggregates() {
+        TimeweightedAggregator aggregator = new TimeweightedAggregator();
+        aggregator.add(0, 300);
+        aggregator.add(20_000, 900);
+        // held for no time, does not contribute
+        aggregator.add(40_000, 5000);
+        aggregator.add(40_000, 600);
+
+        assertTrue(aggregator.close(60_000));
+        assertEquals(600.0, aggregator.get(Function.AVERAGE));
+        assertEquals(300.0, aggregator.get(Function.MIN));
+        assertEquals(900.0, aggregator.get(Function.MAX));
+        assertEquals(10.0, aggregator.get(Function.INTEGRAL));
+    }
+
+    @Test
+    public void testNoDuration() {
+        TimeweightedAggregator aggregator = new TimeweightedAggregator();
+        assertFalse(aggregator.close(1000));
+
+        aggregator.add(1000, 42);
+        assertFalse(aggregator.close(1000));
+        assertEquals(0.0, aggregator.get(Function.AVERAGE));
+    }
+
+    @Test
+    public void testClear() {
+        TimeweightedAggregator aggregator = new TimeweightedAggregator();
+        aggregator.add(0, 100);
+        assertTrue(aggregator.close(1000));
+        aggregator.clear();
+
+        aggregator.add(1000, 200);
+        assertTrue(aggregator.close(3000));
+        assertEquals(200.0, aggregator.get(Function.AVERAGE));
+        assertEquals(200.0, aggregator.get(Function.MIN));
+    }
+}
@@ -17,22 +17,29 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.TreeMap;
+import java.util.Optional;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.unit.Units;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.link.ItemChannelLink;
 import org.openhab.core.thing.profiles.ProfileCallback;
@@ -44,6 +51,7 @@ import org.openhab.core.types.UnDefType;
  * Unit test for {@link TimeweightedAverageStateProfile}.
  *
  * @author Bernd Weymann - Initial contribution
+ * @author Contributors to the openHAB project - Test the aggregates on the streaming path
  */
 @ExtendWith(MockitoExtension.class)
 @NonNullByDefault
@@ -56,23 +64,87 @@ class TimeweightedAverageProfileTest {
     private final ChannelUID testChannelUID = new ChannelUID("this:test:channel:uid");
     private ItemChannelLink testLink = new ItemChannelLink(testItemName, testChannelUID);
 
+    // pending jobs of the scheduler, for the profiles running on the test clock
+    private final List<Job> jobs = new ArrayList<>();
+    private long now;
+
+    private record Job(Runnable runnable, long time) {
+    }
+
     private TimeweightedAverageStateProfile initTWAProfile(String duration, double delta) {
+        initMocks(duration, delta, null);
+        when(mockContext.getExecutorService()).thenReturn(mockScheduler);
+        return new TimeweightedAverageStateProfile(mockCallback, mockContext);
+    }
+
+    /**
+     * Creates a profile, which runs on the test clock. The time frames end when the clock is advanced with
+     * {@link #advance(long)}.
+     */
+    private TimeweightedAverageStateProfile initClockedTWAProfile(String duration, double delta,
+            @Nullable String function) {
+        initMocks(duration, delta, function);
+        jobs.clear();
+        now = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+        when(mockContext.getExecutorService()).thenReturn(mockScheduler);
+        when(mockScheduler.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS))).thenAnswer(i -> {
+            Job job = new Job(i.getArgument(0), now + (long) i.getArgument(1));
+            jobs.add(job);
+            ScheduledFuture<?> future = mock(ScheduledFuture.class);
+            lenient().when(future.cancel(anyBoolean())).thenAnswer(c -> jobs.remove(job));
+            return future;
+        });
+        return new TimeweightedAverageStateProfile(mockCallback, mockContext, () -> now);
+    }
+
+    /**
+     * Advances the test clock and runs the jobs, which become due.
+     */
+    private void advance(long millis) {
+        long target = now + millis;
+        while (true) {
+            Optional<Job> due = jobs.stream().filter(job -> job.time() <= target)
+                    .min(Comparator.comparingLong(Job::time));
+            if (due.isEmpty()) {
+                break;
+            }
+            Job job = due.get();
+            jobs.remove(job);
+            now = Math.max(now, job.time());
+            job.runnable().run();
+        }
+        now = target;
+    }
+
+    private List<Double> deliveredEnergy() {
+        ArgumentCaptor<State> captor = ArgumentCaptor.forClass(State.class);
+        verify(mockCallback, atLeast(0)).sendUpdate(captor.capture());
+        List<Double> energy = new ArrayList<>();
+        for (State state : captor.getAllValues()) {
+            QuantityType<?> wattHours = ((QuantityType<?>) state).toUnit(Units.WATT_HOUR);
+            assertNotNull(wattHours);
+            energy.add(Math.round(wattHours.doubleValue() * 1000) / 1000.0);
+        }
+        return energy;
+    }
+
+    private void initMocks(String duration, double delta, @Nullable String function) {
         Configuration config = new Configuration();
         config.put("duration", duration);
         if (delta > 0) {
             config.put("delta", delta);
         }
+        if (function != null) {
+            config.put("function", function);
+        }
 
         reset(mockContext);
         reset(mockCallback);
         reset(mockScheduler);
 
-        when(mockContext.getExecutorService()).thenReturn(mockScheduler);
         when(mockContext.getConfiguration()).thenReturn(config);
         testLink = new ItemChannelLink(testItemName, testChannelUID, config);
         when(mockCallback.getItemChannelLink()).thenReturn(testLink);
-
-        return new TimeweightedAverageStateProfile(mockCallback, mockContext);
     }
 
     public static Stream<Arguments> testTWATimeframe() {
@@ -106,12 +178,19 @@ class TimeweightedAverageProfileTest {
     @ParameterizedTest
     @MethodSource
     public void testTWAAverages(List<String> timeStrings, List<String> stateStrings, double expectedAverage) {
-        TimeweightedAverageStateProfile profile = initTWAProfile("10s", 0);
-        TreeMap<Instant, State> testData = new TreeMap<>();
-        for (int i = 0; i < timeStrings.size(); i++) {
-            testData.put(Instant.parse(timeStrings.get(i)), QuantityType.valueOf(stateStrings.get(i)));
+        TimeweightedAverageStateProfile profile = initClockedTWAProfile("1m", 0, null);
+        // the last entry terminates the time frame, its state is not used
+        for (int i = 0; i < timeStrings.size() - 1; i++) {
+            advance(Instant.parse(timeStrings.get(i)).toEpochMilli() - now);
+            profile.onStateUpdateFromHandler(QuantityType.valueOf(stateStrings.get(i)));
         }
-        assertEquals(expectedAverage, profile.average(testData));
+        advance(Instant.parse(timeStrings.get(timeStrings.size() - 1)).toEpochMilli() - now);
+
+        ArgumentCaptor<State> captor = ArgumentCaptor.forClass(State.class);
+        verify(mockCallback).sendUpdate(captor.capture());
+        QuantityType<?> average = (QuantityType<?>) captor.getValue();
+        assertEquals(expectedAverage, average.doubleValue());
+        assertEquals(Units.WATT, average.getUnit());
     }
 
     public static Stream<Arguments> testTWADelta() {
@@ -141,6 +220,44 @@ class TimeweightedAverageProfileTest {
         reset(mockCallback);
     }
 
+    @Test
+    public void testTWAIntegralQuietTimeframes() {
+        TimeweightedAverageStateProfile profile = initClockedTWAProfile("1m", 0, "INTEGRAL");
+        profile.onStateUpdateFromHandler(QuantityType.valueOf("600 W"));
+
+        // the value is held during the time frames without updates
+        advance(120_000);
+        assertEquals(List.of(10.0, 10.0), deliveredEnergy());
+
+        advance(30_000);
+        profile.onStateUpdateFromHandler(QuantityType.valueOf("0 W"));
+        advance(30_000);
+        assertEquals(List.of(10.0, 10.0, 5.0), deliveredEnergy());
+    }
+
+    @Test
+    public void testTWAIntegralDelta() {
+        TimeweightedAverageStateProfile profile = initClockedTWAProfile("1h", 5, "INTEGRAL");
+        profile.onStateUpdateFromHandler(QuantityType.valueOf("600 W"));
+        advance(20_000);
+        profile.onStateUpdateFromHandler(QuantityType.valueOf("900 W"));
+        verify(mockCallback, never()).sendUpdate(any());
+
+        // the integral reaches the delta, only the integral is delivered
+        advance(20_000);
+        profile.onStateUpdateFromHandler(QuantityType.valueOf("900 W"));
+        assertEquals(List.of(8.333), deliveredEnergy());
+
+        advance(20_000);
+        profile.onStateUpdateFromHandler(QuantityType.valueOf("900 W"));
+        assertEquals(List.of(8.333, 5.0), deliveredEnergy());
+
+        // a change of the state above the delta is not delivered
+        advance(1_000);
+        profile.onStateUpdateFromHandler(QuantityType.valueOf("0 W"));
+        assertEquals(List.of(8.333, 5.0), deliveredEnergy());
+    }
+
     public static Stream<Arguments> testTWAInvalidStates() {
         List<State> statesWithNull = List.of(QuantityType.valueOf("700 W"), UnDefType.NULL,
                 QuantityType.valueOf("900 W"), QuantityType.valueOf("900 W"));
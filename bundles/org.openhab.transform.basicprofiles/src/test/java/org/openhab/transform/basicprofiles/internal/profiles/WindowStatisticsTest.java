@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.util.Statistics;
+
+/**
+ * Tests for {@link WindowStatistics}.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+public class WindowStatisticsTest {
+
+    @Test
+    public void testEmptyWindow() {
+        WindowStatistics window = new WindowStatistics(3);
+
+        assertEquals(0, window.size());
+        assertNull(window.average());
+        assertNull(window.median());
+        assertNull(window.standardDeviation());
+        assertNull(window.min());
+        assertNull(window.max());
+    }
+
+    @Test
+    public void testOldestValueIsRemoved() {
+        WindowStatistics window = new WindowStatistics(3);
+        List.of("1", "5", "3", "2").forEach(value -> window.add(new BigDecimal(value)));
+
+        assertEquals(3, window.size());
+        assertEqualValue(new BigDecimal("3.333333"), window.average());
+        assertEqualValue(new BigDecimal("3"), window.median());
+        assertEqualValue(new BigDecimal("2"), window.min());
+        assertEqualValue(new BigDecimal("5"), window.max());
+    }
+
+    @Test
+    public void testSameResultsAsWholeWindow() {
+        Random random = new Random(4711);
+        for (int capacity : new int[] { 1, 2, 5, 50 }) {
+            WindowStatistics window = new WindowStatistics(capacity);
+            List<BigDecimal> values = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                // few distinct values, so that the window contains duplicates
+                BigDecimal value = BigDecimal.valueOf(random.nextInt(200) - 100, random.nextInt(3));
+                window.add(value);
+                values.add(value);
+                if (values.size() > capacity) {
+                    values.removeFirst();
+                }
+
+                assertEquals(values.size(), window.size());
+                assertEqualValue(values.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
+                        .divide(BigDecimal.valueOf(values.size()), MathContext.DECIMAL32), window.average());
+                assertEqualValue(Statistics.median(values), window.median());
+                assertEqualValue(standardDeviation(values), window.standardDeviation());
+                assertEqualValue(values.stream().min(BigDecimal::compareTo).get(), window.min());
+                assertEqualValue(values.stream().max(BigDecimal::compareTo).get(), window.max());
+            }
+        }
+    }
+
+    private static BigDecimal standardDeviation(List<BigDecimal> values) {
+        BigDecimal average = values.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
+                .divide(BigDecimal.valueOf(values.size()), 2, RoundingMode.HALF_EVEN);
+        return values.stream().map(value -> value.subtract(average).pow(2)).reduce(BigDecimal.ZERO, BigDecimal::add)
+                .divide(BigDecimal.valueOf(values.size()), MathContext.DECIMAL32).sqrt(MathContext.DECIMAL32);
+    }
+
+    private static void assertEqualValue(@Nullable BigDecimal expected, @Nullable BigDecimal actual) {
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals(0, expected.compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+}
@@ -126,6 +126,18 @@ public class WhisperSTTConfiguration {
      * Single phrase mode.
      */
     public boolean singleUtteranceMode = true;
+    /**
+     * Transcribe while the user speaks, requires the model to be preloaded.
+     */
+    public boolean streamingMode;
+    /**
+     * Min seconds of new voice between two partial transcriptions.
+     */
+    public float partialSeconds = 1f;
+    /**
+     * Max number of idle whisper states kept for the preloaded model.
+     */
+    public int statePoolSize = 2;
     /**
      * Message to be told when no results.
      */
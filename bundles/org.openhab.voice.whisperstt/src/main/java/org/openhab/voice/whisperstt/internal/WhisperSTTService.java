@@ -30,7 +30,9 @@ import java.util.Date;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -103,6 +105,7 @@ public class WhisperSTTService implements STTService {
     private final LocaleService localeService;
     private WhisperSTTConfiguration config = new WhisperSTTConfiguration();
     private @Nullable WhisperContext context;
+    private @Nullable WhisperStatePool statePool;
     private @Nullable WhisperGrammar grammar;
     private @Nullable WhisperJNI whisper;
     private boolean isWhisperLibAlreadyLoaded = false;
@@ -339,14 +342,15 @@ public class WhisperSTTService implements STTService {
         WhisperJNI whisper = getWhisper();
         var context = whisper.initNoState(modelPath, getWhisperContextParams());
         logger.debug("Whisper context loaded");
-        if (config.preloadModel) {
-            this.context = context;
-        }
         if (!config.openvinoDevice.isBlank()) {
             // has no effect if OpenVINO is not enabled in whisper.cpp library.
             logger.debug("Init OpenVINO device");
             whisper.initOpenVINO(context, config.openvinoDevice);
         }
+        if (config.preloadModel) {
+            this.statePool = new WhisperStatePool(whisper, context, config.statePoolSize);
+            this.context = context;
+        }
         return context;
     }
 
@@ -357,6 +361,11 @@ public class WhisperSTTService implements STTService {
     }
 
     private void unloadContext() throws IOException {
+        var statePool = this.statePool;
+        if (statePool != null) {
+            statePool.close();
+            this.statePool = null;
+        }
         var context = this.context;
         if (context != null) {
             logger.debug("Unloading model");
@@ -380,8 +389,19 @@ public class WhisperSTTService implements STTService {
         final short[] stepAudioSamples = new short[nSamplesStep];
         // used to store the full retained samples for whisper
         final short[] audioSamples = new short[nSamplesMax];
+        // used to store the retained samples in the local whisper format, converted only once per sample
+        final float[] floatSamples = new float[config.mode == Mode.LOCAL ? nSamplesMax : 0];
+        // transcribe while the user speaks, requires the model to be kept loaded
+        final boolean streaming = config.mode == Mode.LOCAL && config.streamingMode && config.preloadModel;
+        final int nPartialSamples = (int) (config.partialSeconds * (float) WHISPER_SAMPLE_RATE);
+        if (config.streamingMode && !streaming) {
+            logger.debug("Streaming mode requires local mode and a preloaded model, ignoring it");
+        }
         executor.submit(() -> {
             int audioSamplesOffset = 0;
+            int floatSamplesOffset = 0;
+            @Nullable PartialTranscription partial = null;
+            boolean voiceSincePartial = false;
             int silenceSamplesCounter = 0;
             int nProcessedSamples = 0;
             boolean voiceDetected = false;
@@ -429,6 +449,16 @@ public class WhisperSTTService implements STTService {
                                 logger.debug("VAD: voice detected");
                                 silenceSamplesCounter = 0;
                                 firstConsecutiveSilenceVADResult = null;
+                                voiceSincePartial = true;
+                                int nNewSamples = audioSamplesOffset - (partial == null ? 0 : partial.nSamples);
+                                if (streaming && (partial == null || partial.result.isDone())
+                                        && nNewSamples >= nPartialSamples) {
+                                    floatSamplesOffset = toFloatSamples(audioSamples, floatSamples, floatSamplesOffset,
+                                            audioSamplesOffset);
+                                    partial = startPartialTranscription(floatSamples, audioSamplesOffset,
+                                            locale.getLanguage());
+                                    voiceSincePartial = false;
+                                }
                                 continue;
                             } else {
                                 if (firstConsecutiveSilenceVADResult == null) {
@@ -437,6 +467,15 @@ public class WhisperSTTService implements STTService {
                                 silenceSamplesCounter += nSamplesStep;
                                 int maxSilenceSamples = voiceDetected ? nMaxSilenceSamples : nInitSilenceSamples;
                                 if (silenceSamplesCounter < maxSilenceSamples) {
+                                    if (streaming && voiceDetected && voiceSincePartial
+                                            && (partial == null || partial.result.isDone())) {
+                                        // speculatively transcribe the utterance, it is complete if no voice follows
+                                        floatSamplesOffset = toFloatSamples(audioSamples, floatSamples,
+                                                floatSamplesOffset, audioSamplesOffset);
+                                        partial = startPartialTranscription(floatSamples, audioSamplesOffset,
+                                                locale.getLanguage());
+                                        voiceSincePartial = false;
+                                    }
                                     if (logger.isDebugEnabled()) {
                                         int totalSteps = maxSilenceSamples / nSamplesStep;
                                         int currentSteps = totalSteps
@@ -456,6 +495,7 @@ public class WhisperSTTService implements STTService {
                                         } else {
                                             audioSamplesOffset = 0;
                                         }
+                                        floatSamplesOffset = 0;
                                     }
                                     continue;
                                 } else {
@@ -487,9 +527,11 @@ public class WhisperSTTService implements STTService {
                                     }
                                     if (samplesToRemove > 0) {
                                         audioSamplesOffset -= samplesToRemove;
+                                        floatSamplesOffset = Math.min(floatSamplesOffset, audioSamplesOffset);
                                     }
                                 } else {
                                     audioSamplesOffset = 0;
+                                    floatSamplesOffset = 0;
                                 }
                             }
                             if (audioSamplesOffset == 0) {
@@ -503,10 +545,25 @@ public class WhisperSTTService implements STTService {
                             }
                         }
                         // run whisper, either locally or by remote API
-                        String tempTranscription = (switch (config.mode) {
-                            case LOCAL -> recognizeLocal(audioSamplesOffset, audioSamples, locale.getLanguage());
-                            case API -> recognizeAPI(audioSamplesOffset, audioSamples, locale.getLanguage());
-                        });
+                        String tempTranscription;
+                        if (config.mode == Mode.LOCAL) {
+                            // the partial transcription covers the full utterance if no voice was detected after it
+                            // was started
+                            boolean reusable = partial != null && !voiceSincePartial;
+                            String partialTranscription = awaitPartialTranscription(partial);
+                            partial = null;
+                            if (reusable && partialTranscription != null && !partialTranscription.isBlank()) {
+                                logger.debug("Using partial transcription");
+                                tempTranscription = partialTranscription;
+                            } else {
+                                floatSamplesOffset = toFloatSamples(audioSamples, floatSamples, floatSamplesOffset,
+                                        audioSamplesOffset);
+                                tempTranscription = recognizeLocal(audioSamplesOffset, floatSamples,
+                                        locale.getLanguage());
+                            }
+                        } else {
+                            tempTranscription = recognizeAPI(audioSamplesOffset, audioSamples, locale.getLanguage());
+                        }
 
                         if (tempTranscription != null && !tempTranscription.isBlank()) {
                             if (config.createWAVRecord) {
@@ -524,11 +581,16 @@ public class WhisperSTTService implements STTService {
 
                         // reset state to start with next segment
                         voiceDetected = false;
+                        voiceSincePartial = false;
                         silenceSamplesCounter = 0;
                         audioSamplesOffset = 0;
+                        floatSamplesOffset = 0;
                         logger.debug("Partial transcription: {}", tempTranscription);
                         logger.debug("Transcription: {}", transcription);
                     }
+                    if (partial != null) {
+                        partial.result.cancel(false);
+                    }
                 }
                 // emit result
                 if (!aborted.get()) {
@@ -550,31 +612,70 @@ public class WhisperSTTService implements STTService {
         });
     }
 
+    private PartialTranscription startPartialTranscription(float[] samples, int nSamples, String language) {
+        logger.debug("Starting partial transcription of {} samples", nSamples);
+        return new PartialTranscription(nSamples, executor.submit(() -> {
+            String transcription = recognizeLocal(nSamples, samples, language);
+            logger.debug("Partial transcription: '{}'", transcription);
+            return transcription;
+        }));
+    }
+
+    /**
+     * Waits for a running partial transcription. A partial transcription that has not started yet is cancelled, so
+     * the session thread never waits for a queued task.
+     */
+    private @Nullable String awaitPartialTranscription(@Nullable PartialTranscription partial) {
+        if (partial == null || partial.result.cancel(false)) {
+            return null;
+        }
+        try {
+            return partial.result.get();
+        } catch (ExecutionException | CancellationException e) {
+            logger.debug("Partial transcription failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * Converts the samples in the given range to the local whisper format.
+     *
+     * @return the end of the converted range
+     */
+    private static int toFloatSamples(short[] samples, float[] floatSamples, int from, int to) {
+        for (int i = from; i < to; i++) {
+            floatSamples[i] = Float.min(1f, Float.max((float) samples[i] / ((float) Short.MAX_VALUE), -1f));
+        }
+        return Math.max(from, to);
+    }
+
     @Nullable
-    private String recognizeLocal(int audioSamplesOffset, short[] audioSamples, String language) throws STTException {
+    private String recognizeLocal(int nSamples, float[] samples, String language) throws STTException {
         logger.debug("running whisper with {} seconds of audio...",
-                Math.round((((float) audioSamplesOffset) / (float) WHISPER_SAMPLE_RATE) * 100f) / 100f);
+                Math.round((((float) nSamples) / (float) WHISPER_SAMPLE_RATE) * 100f) / 100f);
         var releaseContext = !config.preloadModel;
 
         WhisperJNI whisper = null;
         WhisperContext ctx = null;
+        WhisperStatePool pool = null;
         WhisperState state = null;
         try {
             whisper = getWhisper();
             ctx = getContext();
-            logger.debug("Creating whisper state...");
-            state = whisper.initState(ctx);
-            logger.debug("Whisper state created");
-            WhisperFullParams params = getWhisperFullParams(ctx, language);
-
-            // convert to local whisper format (float)
-            float[] floatArray = new float[audioSamples.length];
-            for (int i = 0; i < audioSamples.length; i++) {
-                floatArray[i] = Float.min(1f, Float.max((float) audioSamples[i] / ((float) Short.MAX_VALUE), -1f));
+            pool = releaseContext ? null : this.statePool;
+            if (pool != null) {
+                state = pool.acquire();
+            } else {
+                logger.debug("Creating whisper state...");
+                state = whisper.initState(ctx);
+                logger.debug("Whisper state created");
             }
+            WhisperFullParams params = getWhisperFullParams(ctx, language);
 
             long execStartTime = System.currentTimeMillis();
-            var result = whisper.fullWithState(ctx, state, params, floatArray, audioSamplesOffset);
+            var result = whisper.fullWithState(ctx, state, params, samples, nSamples);
             logger.debug("whisper ended in {}ms with result code {}", System.currentTimeMillis() - execStartTime,
                     result);
             // process result
@@ -594,11 +695,15 @@ public class WhisperSTTService implements STTService {
                 return null;
             }
         } catch (IOException e) {
-            if (state != null) {
-                state.close();
-            }
             throw new STTException("Cannot use whisper locally", e);
         } finally {
+            if (state != null) {
+                if (pool != null) {
+                    pool.release(state);
+                } else {
+                    state.close();
+                }
+            }
             if (releaseContext && ctx != null) {
                 ctx.close();
             }
@@ -759,6 +864,16 @@ public class WhisperSTTService implements STTService {
         }
     }
 
+    private static class PartialTranscription {
+        private final int nSamples;
+        private final Future<@Nullable String> result;
+
+        private PartialTranscription(int nSamples, Future<@Nullable String> result) {
+            this.nSamples = nSamples;
+            this.result = result;
+        }
+    }
+
     private void onWhisperLog(String text) {
         logger.debug("[whisper.cpp] {}", text);
     }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.whisperstt.internal;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.givimad.whisperjni.WhisperContext;
+import io.github.givimad.whisperjni.WhisperJNI;
+import io.github.givimad.whisperjni.WhisperState;
+
+/**
+ * The {@link WhisperStatePool} class keeps whisper states of a loaded model for reuse.
+ *
+ * All states share the weights of the model context, so several transcriptions can run in parallel while the model is
+ * only loaded once. Creating a state allocates the decoder buffers, so states are kept after use instead of being
+ * recreated for every transcription.
+ *
+ * @author Contributors to the openHAB project - Initial contribution
+ */
+@NonNullByDefault
+class WhisperStatePool implements AutoCloseable {
+    private final Logger logger = LoggerFactory.getLogger(WhisperStatePool.class);
+    private final WhisperJNI whisper;
+    private final WhisperContext context;
+    private final BlockingDeque<WhisperState> states;
+    private volatile boolean closed = false;
+
+    /**
+     * @param whisper the whisper library
+     * @param context the loaded model the states are created for
+     * @param size the max number of idle states to keep
+     */
+    WhisperStatePool(WhisperJNI whisper, WhisperContext context, int size) {
+        this.whisper = whisper;
+        this.context = context;
+        this.states = new LinkedBlockingDeque<>(Math.max(1, size));
+    }
+
+    /**
+     * Takes an idle state or creates a new one if all are in use.
+     *
+     * @return a state to be given back using {@link #release(WhisperState)}
+     * @throws IOException if a new state can not be created
+     */
+    WhisperState acquire() throws IOException {
+        if (closed) {
+            throw new IOException("Whisper model has been unloaded");
+        }
+        WhisperState state = states.pollFirst();
+        if (state == null) {
+            logger.debug("Creating whisper state...");
+            state = whisper.initState(context);
+            logger.debug("Whisper state created");
+        }
+        return state;
+    }
+
+    /**
+     * Gives a state back to the pool. The state is closed if the pool is full or has been closed.
+     *
+     * @param state a state taken from this pool
+     */
+    void release(WhisperState state) {
+        if (closed || !states.offerFirst(state)) {
+            state.close();
+            return;
+        }
+        if (closed && states.remove(state)) {
+            state.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        WhisperState state;
+        while ((state = states.pollFirst()) != null) {
+            state.close();
+        }
+    }
+}